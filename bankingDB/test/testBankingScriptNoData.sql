@@ -401,6 +401,18 @@ AUTO_INCREMENT = 272
 DEFAULT CHARACTER SET = utf8mb3;
 
 
+-- -----------------------------------------------------
+-- Table `test_banking`.`bank_ledger`
+-- -----------------------------------------------------
+CREATE TABLE IF NOT EXISTS `test_banking`.`bank_ledger` (
+  `id_bank_ledger` INT NOT NULL AUTO_INCREMENT,
+  `value` DOUBLE NOT NULL,
+  `folded` TINYINT(1) NOT NULL DEFAULT '0',
+  PRIMARY KEY (`id_bank_ledger`))
+ENGINE = InnoDB
+DEFAULT CHARACTER SET = utf8mb3;
+
+
 -- -----------------------------------------------------
 -- Table `test_banking`.`users_has_accounts`
 -- -----------------------------------------------------
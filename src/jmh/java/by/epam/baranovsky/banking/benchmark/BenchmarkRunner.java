@@ -0,0 +1,35 @@
+package by.epam.baranovsky.banking.benchmark;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs JMH benchmarks once for every number of threads in a list.
+ * <p>
+ *     Arguments are a regular expression selecting benchmarks, {@code .*} by default,
+ *     and a comma-separated list of thread counts, {@code 1,2,4,8,16,32,64} by default.
+ * </p>
+ * @author Baranovsky E. K.
+ * @version 1.0.0
+ */
+public final class BenchmarkRunner {
+
+    private static final String DEFAULT_INCLUDE = ".*";
+    private static final String DEFAULT_THREADS = "1,2,4,8,16,32,64";
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : DEFAULT_INCLUDE;
+        String threads = args.length > 1 ? args[1] : DEFAULT_THREADS;
+        for (String count : threads.split(",")) {
+            Options options = new OptionsBuilder()
+                    .include(include)
+                    .threads(Integer.parseInt(count.trim()))
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package by.epam.baranovsky.banking.dao.connectionpool;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares borrow/return throughput of connection bag
+ * with that of the queue-based pool it replaced.
+ * <p>
+ *     Every invocation borrows an entry, holds it for {@code holdTokens}
+ *     units of CPU work and returns it. Run with
+ *     {@code mvn -Pjmh test-compile exec:exec -Djmh.benchmarks=ConnectionBagBenchmark},
+ *     which repeats it for 1 to 64 threads.
+ * </p>
+ * @author Baranovsky E. K.
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConnectionBagBenchmark {
+
+    private static final long BORROW_TIMEOUT = TimeUnit.SECONDS.toNanos(30);
+
+    @Param({"10"})
+    private int poolSize;
+
+    @Param({"0", "100"})
+    private long holdTokens;
+
+    private ConnectionBag<BenchmarkEntry> bag;
+    private QueueConnectionPool<BenchmarkEntry> queuePool;
+
+    @Setup
+    public void setUp() {
+        bag = new ConnectionBag<>();
+        queuePool = new QueueConnectionPool<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            bag.add(new BenchmarkEntry());
+            queuePool.add(new BenchmarkEntry());
+        }
+    }
+
+    @Benchmark
+    public BenchmarkEntry bag() throws InterruptedException {
+        BenchmarkEntry entry = bag.borrow(BORROW_TIMEOUT);
+        Blackhole.consumeCPU(holdTokens);
+        bag.requite(entry);
+        return entry;
+    }
+
+    @Benchmark
+    public BenchmarkEntry queues() throws InterruptedException {
+        BenchmarkEntry entry = queuePool.takeConnection();
+        Blackhole.consumeCPU(holdTokens);
+        queuePool.releaseConnection(entry);
+        return entry;
+    }
+
+    /**
+     * Entry without a connection.
+     */
+    static class BenchmarkEntry extends ConnectionBag.Entry {
+    }
+}
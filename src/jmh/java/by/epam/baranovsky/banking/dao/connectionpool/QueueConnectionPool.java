@@ -0,0 +1,57 @@
+package by.epam.baranovsky.banking.dao.connectionpool;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Borrowing and returning logic of connection pool as it was
+ * before connection bag was introduced, kept as a benchmark baseline.
+ * <p>
+ *     Free connections are stored in one bounded blocking queue
+ *     and borrowed ones in another, both guarded by their own locks.
+ * </p>
+ * @param <T> Type of pooled objects.
+ * @author Baranovsky E. K.
+ * @version 1.0.0
+ * @see ConnectionBag
+ */
+class QueueConnectionPool<T> {
+
+    /** Blocking queue that stores connections that are open and free. */
+    private final BlockingQueue<T> freeConnectionQueue;
+    /** Blocking queue that stores connections that are open but taken by other objects. */
+    private final BlockingQueue<T> givenAwayConnectionsQueue;
+
+    QueueConnectionPool(int poolSize) {
+        this.freeConnectionQueue = new ArrayBlockingQueue<>(poolSize);
+        this.givenAwayConnectionsQueue = new ArrayBlockingQueue<>(poolSize);
+    }
+
+    void add(T connection) {
+        freeConnectionQueue.add(connection);
+    }
+
+    /**
+     * Takes an available connection, waiting until there is one.
+     * @return Borrowed connection.
+     * @throws InterruptedException if thread was interrupted while waiting.
+     */
+    T takeConnection() throws InterruptedException {
+        T connection = freeConnectionQueue.take();
+        givenAwayConnectionsQueue.add(connection);
+        return connection;
+    }
+
+    /**
+     * Returns borrowed connection, as {@code PooledConnection.close()} did.
+     * @param connection Borrowed connection.
+     */
+    void releaseConnection(T connection) {
+        if (!givenAwayConnectionsQueue.remove(connection)) {
+            throw new IllegalStateException("Error deleting connection from the given away connections pool.");
+        }
+        if (!freeConnectionQueue.offer(connection)) {
+            throw new IllegalStateException("Error allocating connection in the pool.");
+        }
+    }
+}
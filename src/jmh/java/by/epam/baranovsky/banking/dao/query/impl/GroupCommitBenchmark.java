@@ -0,0 +1,80 @@
+package by.epam.baranovsky.banking.dao.query.impl;
+
+import by.epam.baranovsky.banking.dao.connectionpool.ConnectionPool;
+import by.epam.baranovsky.banking.dao.connectionpool.ConnectionPoolException;
+import by.epam.baranovsky.banking.dao.exception.DAOException;
+import by.epam.baranovsky.banking.dao.impl.SqlAccountDAO;
+import by.epam.baranovsky.banking.dao.query.Query;
+import by.epam.baranovsky.banking.dao.query.QueryMaster;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares throughput of transactions committed one by one
+ * with that of transactions committed in groups.
+ * <p>
+ *     Every invocation commits a zero posting to bank's ledger, so that
+ *     the cost is dominated by commit rather than by row locks, and folding
+ *     of the ledger is not affected. Needs the database from {@code db.properties}.
+ *     Run with
+ *     {@code mvn -Pjmh test-compile exec:exec -Djmh.benchmarks=GroupCommitBenchmark -Djmh.threads=1,2,4,8,16,32,64,128,256},
+ *     where thread count is the number of concurrent submitters.
+ * </p>
+ * @author Baranovsky E. K.
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GroupCommitBenchmark {
+
+    private static final List<Query> TRANSACTION = List.of(SqlAccountDAO.getBankPosting(0d));
+
+    @Param({"32"})
+    private int batchSize;
+
+    @Param({"0"})
+    private long maxDelay;
+
+    private QueryMaster<Object> queryMaster;
+    private GroupCommitEngine engine;
+
+    @Setup
+    public void setUp() throws ConnectionPoolException {
+        ConnectionPool.getInstance();
+        queryMaster = new SqlQueryMaster<>(resultSet -> null);
+        engine = new GroupCommitEngine(queryMaster, batchSize, maxDelay);
+    }
+
+    @TearDown
+    public void tearDown() throws ConnectionPoolException {
+        engine.shutdown();
+        ConnectionPool.getInstance().dispose();
+    }
+
+    @Benchmark
+    public int single() throws DAOException {
+        return queryMaster.executeTransaction(TRANSACTION);
+    }
+
+    @Benchmark
+    public int grouped() throws DAOException {
+        return engine.execute(TRANSACTION);
+    }
+}
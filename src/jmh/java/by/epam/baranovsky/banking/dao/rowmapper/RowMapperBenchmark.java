@@ -0,0 +1,89 @@
+package by.epam.baranovsky.banking.dao.rowmapper;
+
+import by.epam.baranovsky.banking.dao.rowmapper.impl.OperationRowMapper;
+import by.epam.baranovsky.banking.entity.Operation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares mapping of operation history by column labels
+ * with mapping by indexes resolved once per SQL text.
+ * <p>
+ *     Every invocation maps all {@code rows} of the {@code SELECT *} join
+ *     of operations and their types. Rows come from {@link ArrayResultSet},
+ *     so absolute times include its reflective dispatch and only the
+ *     difference between methods is meaningful. Run with
+ *     {@code mvn -Pjmh test-compile exec:exec -Djmh.benchmarks=RowMapperBenchmark -Djmh.threads=1}.
+ * </p>
+ * @author Baranovsky E. K.
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowMapperBenchmark {
+
+    private static final String QUERY = "SELECT * FROM operations LEFT JOIN operation_types";
+
+    private static final String[] COLUMNS = {
+            "id_operations", "value", "id_operation_type", "id_account", "id_target_account",
+            "id_bank_card", "id_target_bank_card", "id_bill", "id_penalty", "operation_date",
+            "commission", "id_operation", "description"};
+
+    @Param({"100000"})
+    private int rows;
+
+    private ArrayResultSet data;
+    private final RowMapper<Operation> labelMapper = new LabelOperationRowMapper();
+    private final RowMapper<Operation> indexMapper = new OperationRowMapper();
+
+    @Setup
+    public void setUp() {
+        Object[][] values = new Object[rows][];
+        Timestamp date = new Timestamp(System.currentTimeMillis());
+        for (int i = 0; i < rows; i++) {
+            int type = i % 8 + 1;
+            values[i] = new Object[]{i + 1, 10d + i % 100, type, i % 50 + 1, i % 2 == 0 ? i % 50 + 2 : null,
+                    null, null, i % 5 == 0 ? i % 20 + 1 : null, null, date, i % 3 == 0 ? 0.5d : null,
+                    type, "Operation type " + type};
+        }
+        data = new ArrayResultSet(COLUMNS, values);
+    }
+
+    @Benchmark
+    public void byLabel(Blackhole blackhole) throws SQLException {
+        data.rewind();
+        ResultSet resultSet = data.asResultSet();
+        while (resultSet.next()) {
+            blackhole.consume(labelMapper.map(resultSet));
+        }
+    }
+
+    @Benchmark
+    public void byIndex(Blackhole blackhole) throws SQLException {
+        data.rewind();
+        ResultSet resultSet = data.asResultSet();
+        RowMapper<Operation> mapper = indexMapper.bind(resultSet, QUERY);
+        while (resultSet.next()) {
+            blackhole.consume(mapper.map(resultSet));
+        }
+    }
+}
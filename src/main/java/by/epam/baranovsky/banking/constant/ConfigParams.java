@@ -23,6 +23,7 @@ public final class ConfigParams {
     public static final String BILL_MIN_LENGTH="bills.min.length.months";
     public static final String BILL_HANGING_TIME_LIMIT="bills.hanging.limit.months";
     public static final String BILL_DELAY_TIME="bills.locked.acc.delay.time.days";
+    public static final String OPERATIONS_PAGE_SIZE="operations.page.size";
 
 
     private ConfigParams(){}
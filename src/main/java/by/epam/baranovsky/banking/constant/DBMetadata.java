@@ -53,6 +53,11 @@ public final class DBMetadata {
     public static final String ACCOUNTS_INTEREST = "yearly_interest_rate";
     public static final String ACCOUNTS_ACCOUNT_STATUS_ID = "id_account_status";
 
+    public static final String BANK_LEDGER_TABLE = "bank_ledger";
+    public static final String BANK_LEDGER_ID = "id_bank_ledger";
+    public static final String BANK_LEDGER_VALUE = "value";
+    public static final String BANK_LEDGER_FOLDED = "folded";
+
     public static final String ACCOUNT_STATUS_TABLE = "account_status";
     public static final String ACCOUNT_STATUS_ID = "id_status";
     public static final String ACCOUNT_STATUS_DESC = "description";
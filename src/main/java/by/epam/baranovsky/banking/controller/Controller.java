@@ -2,10 +2,15 @@ package by.epam.baranovsky.banking.controller;
 
 import by.epam.baranovsky.banking.controller.command.Command;
 import by.epam.baranovsky.banking.controller.command.CommandProvider;
+import by.epam.baranovsky.banking.controller.constant.SessionAttributeName;
+import by.epam.baranovsky.banking.dao.connectionpool.ConnectionRouter;
+import by.epam.baranovsky.banking.service.loader.RequestLoaders;
+
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
 import java.io.IOException;
 
 /**
@@ -29,6 +34,16 @@ public class Controller extends HttpServlet {
 
     /**
      * Executes the command from request.
+     * <p>
+     *     If user has changed something in database recently,
+     *     all reads of this request are done on primary database,
+     *     so user sees their changes even if replica lags behind
+     *     (e.g. on a page they are redirected to after a transfer).
+     * </p>
+     * <p>
+     *     Command is executed within request scope, so all its statements
+     *     share one connection per pool, which is released when command is done.
+     * </p>
      * @param request Servlet request.
      * @param response Servlet response.
      * @throws ServletException
@@ -36,7 +51,23 @@ public class Controller extends HttpServlet {
      */
     private void process(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException{
-        Command command = CommandProvider.getInstance().getCommand(request);
-        command.execute(request,response);
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            ConnectionRouter.pinIfRecentlyWritten(
+                    (Long) session.getAttribute(SessionAttributeName.LAST_DB_WRITE_TIME));
+        }
+        ConnectionRouter.beginRequestScope();
+        RequestLoaders.beginRequestScope();
+        try {
+            Command command = CommandProvider.getInstance().getCommand(request);
+            command.execute(request,response);
+        } finally {
+            session = request.getSession(false);
+            if (session != null && ConnectionRouter.hasWritten()) {
+                session.setAttribute(SessionAttributeName.LAST_DB_WRITE_TIME, System.currentTimeMillis());
+            }
+            RequestLoaders.endRequestScope();
+            ConnectionRouter.endRequestScope();
+        }
     }
 }
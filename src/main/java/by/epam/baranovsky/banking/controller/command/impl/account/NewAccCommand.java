@@ -14,7 +14,6 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.List;
 import java.util.Random;
 
 /**
@@ -107,10 +106,7 @@ public class NewAccCommand extends AbstractCommand {
     private boolean tooManyRequests(HttpServletRequest request) throws ServiceException {
         Integer userId = (Integer) request.getSession().getAttribute(SessionAttributeName.USER_ID);
 
-        List<Account> pendingAccounts = accountService.findByUserId(userId);
-        pendingAccounts.removeIf(account -> !account.getStatusId().equals(DBMetadata.ACCOUNT_STATUS_PENDING));
-
-        return pendingAccounts.size() >= MAX_ACC_REQUESTS;
+        return accountService.countByUserAndStatus(userId, DBMetadata.ACCOUNT_STATUS_PENDING) >= MAX_ACC_REQUESTS;
     }
 
 
@@ -207,6 +207,6 @@ public class NewBillCommandNoPenalty extends AbstractCommand {
         criteria.add(EntityParameters.BillParam.STATUS_ID,
                 new SingularValue<>(DBMetadata.BILL_STATUS_PENDING));
 
-        return billService.findByCriteria(criteria).size()<MAX_BILLS;
+        return billService.count(criteria)<MAX_BILLS;
     }
 }
@@ -256,6 +256,6 @@ public class NewCardCommand extends AbstractCommand {
      * @throws ServiceException
      */
     private boolean canHaveMoreCards(Integer userId) throws ServiceException {
-        return cardService.findByUser(userId).size()<MAX_CARDS;
+        return cardService.countByUser(userId)<MAX_CARDS;
     }
 }
@@ -56,18 +56,17 @@ public class GoToUserInfoCommand extends AbstractCommand {
     private List<Penalty> getUserPenalties(Integer userId) throws ServiceException{
         Criteria<EntityParameters.PenaltyParams> criteria = new Criteria<>();
         criteria.add(EntityParameters.PenaltyParams.USER, new SingularValue<>(userId));
+        criteria.orderBy(EntityParameters.PenaltyParams.STATUS_ID, true);
         List<Penalty> result = penaltyService.findByCriteria(criteria);
         result.removeIf(penalty -> penalty.getStatusId().equals(DBMetadata.PENALTY_STATUS_UNASSIGNED));
-        result.sort((o1, o2) -> o2.getStatusId().compareTo(o1.getStatusId()));
         return result;
     }
 
     private List<Loan> getUserLoans(Integer userId) throws ServiceException {
         Criteria<EntityParameters.LoanParams> criteria = new Criteria<>();
         criteria.add(EntityParameters.LoanParams.USER, new SingularValue<>(userId));
-        List<Loan> loans = loanService.findByCriteria(criteria);
-        loans.sort((o1, o2) -> o2.getStatusId().compareTo(o1.getStatusId()));
-        return loans;
+        criteria.orderBy(EntityParameters.LoanParams.STATUS, true);
+        return loanService.findByCriteria(criteria);
     }
 
     private List<Bill> getUserBills(Integer userId) throws ServiceException {
@@ -76,28 +75,25 @@ public class GoToUserInfoCommand extends AbstractCommand {
         criteria.add(EntityParameters.BillParam.STATUS_ID, new SingularValue<>(DBMetadata.BILL_STATUS_PENDING));
         criteria.add(EntityParameters.BillParam.STATUS_ID, new SingularValue<>(DBMetadata.BILL_STATUS_CLOSED));
         criteria.add(EntityParameters.BillParam.STATUS_ID, new SingularValue<>(DBMetadata.BILL_STATUS_OVERDUE));
-        List<Bill> bills= billService.findByCriteria(criteria);
-        bills.sort((o1, o2) -> {
-            if(o1.getStatusId().equals(DBMetadata.BILL_STATUS_OVERDUE)){
-                return 1;
-            }
-            if(o1.getStatusId().equals(DBMetadata.BILL_STATUS_CLOSED)){
-                return 1;
-            }
-            return o1.getDueDate().compareTo(o2.getDueDate());
-        });
-        Collections.reverse(bills);
-        return bills;
+        criteria.orderBy(EntityParameters.BillParam.STATUS_ID, true);
+        criteria.orderBy(EntityParameters.BillParam.DUE_DATE, true);
+        return billService.findByCriteria(criteria);
     }
 
     private Map<BankingCard, String> getUserCards(Integer userId) throws ServiceException{
         List<BankingCard> cards = cardService.findByUser(userId);
 
+        Set<Integer> accountIds = new HashSet<>();
+        for(BankingCard card : cards){
+            accountIds.add(card.getAccountId());
+        }
+        Map<Integer, Account> accounts = accountService.findByIds(accountIds);
+
         Map<BankingCard, String> finalMap = new HashMap<>();
         for(BankingCard card : cards){
             card.setNumber(maskCardNumber(card.getNumber()));
             if(card.getAccountId() != null && card.getAccountId() != 0){
-                finalMap.put(card, accountService.findById(card.getAccountId()).getAccountNumber());
+                finalMap.put(card, accounts.get(card.getAccountId()).getAccountNumber());
             } else{
                 finalMap.put(card, null);
             }
@@ -111,6 +107,17 @@ public class GoToUserInfoCommand extends AbstractCommand {
         List<Integer> userCards = getUserCardsIds(cards);
         List<Operation> operations = getOperations(accounts, cards);
 
+        Set<Integer> accountIds = new HashSet<>();
+        Set<Integer> cardIds = new HashSet<>();
+        for(Operation operation : operations){
+            accountIds.add(operation.getAccountId());
+            accountIds.add(operation.getTargetAccountId());
+            cardIds.add(operation.getBankCardId());
+            cardIds.add(operation.getTargetBankCardId());
+        }
+        Map<Integer, Account> operationAccounts = accountService.findByIds(accountIds);
+        Map<Integer, BankingCard> operationCards = cardService.findByIds(cardIds);
+
         List<OperationTransferObject> operationPackages = new ArrayList<>();
 
         for(Operation operation : operations){
@@ -120,19 +127,19 @@ public class GoToUserInfoCommand extends AbstractCommand {
             oto.setTypeId(operation.getTypeId());
             oto.setValue(operation.getValue());
             if(operation.getAccountId() != null && operation.getAccountId() != 0){
-                oto.setAccountNumber(accountService.findById(
+                oto.setAccountNumber(operationAccounts.get(
                         operation.getAccountId()).getAccountNumber());
             }
             if(operation.getTargetAccountId() != null && operation.getTargetAccountId() != 0){
-                oto.setTargetAccountNumber(accountService.findById(
+                oto.setTargetAccountNumber(operationAccounts.get(
                         operation.getTargetAccountId()).getAccountNumber());
             }
             if(operation.getBankCardId() != null && operation.getBankCardId() != 0){
-                oto.setCardNumber(maskCardNumber(cardService.findById(
+                oto.setCardNumber(maskCardNumber(operationCards.get(
                         operation.getBankCardId()).getNumber()));
             }
             if(operation.getTargetBankCardId() != null && operation.getTargetBankCardId() != 0){
-                oto.setTargetCardNumber(maskCardNumber(cardService.findById(
+                oto.setTargetCardNumber(maskCardNumber(operationCards.get(
                         operation.getTargetBankCardId()).getNumber()));
             }
             oto.setBill(operation.getBillId());
@@ -141,7 +148,6 @@ public class GoToUserInfoCommand extends AbstractCommand {
             oto.setCommission(operation.getCommission());
             operationPackages.add(oto);
         }
-        operationPackages.sort((o1, o2) -> o2.getDate().compareTo(o1.getDate()));
 
         return operationPackages;
     }
@@ -149,6 +155,8 @@ public class GoToUserInfoCommand extends AbstractCommand {
     private List<Operation> getOperations(List<Account> accounts,
                                           Map<BankingCard, String> cards) throws ServiceException {
         Criteria<EntityParameters.OperationParam> criteria = new Criteria<>(Criteria.SQL_OR);
+        criteria.orderBy(EntityParameters.OperationParam.DATE, true);
+        criteria.orderBy(EntityParameters.OperationParam.ID, true);
 
         for(BankingCard card : cards.keySet()){
             criteria.add(
@@ -10,7 +10,7 @@ import by.epam.baranovsky.banking.controller.constant.RequestParamName;
 import by.epam.baranovsky.banking.controller.constant.SessionAttributeName;
 import by.epam.baranovsky.banking.entity.Account;
 import by.epam.baranovsky.banking.entity.BankingCard;
-import by.epam.baranovsky.banking.entity.User;
+import by.epam.baranovsky.banking.entity.projection.UserName;
 import by.epam.baranovsky.banking.service.exception.ServiceException;
 
 import javax.servlet.ServletException;
@@ -110,13 +110,13 @@ public class GoToAccountInfoCommand extends AbstractCommand {
         StringBuilder builder = new StringBuilder();
         for(Integer id: userIds){
             builder.setLength(0);
-            User user = userService.getById(id);
-            builder.append(user.getFirstName())
+            UserName user = userService.getNameById(id);
+            builder.append(user.firstName())
                     .append(" ")
-                    .append(user.getLastName());
+                    .append(user.lastName());
 
-            if(user.getPatronymic() != null){
-                builder.append(" ").append(user.getPatronymic());
+            if(user.patronymic() != null){
+                builder.append(" ").append(user.patronymic());
             }
             userInfo.add(builder.toString());
         }
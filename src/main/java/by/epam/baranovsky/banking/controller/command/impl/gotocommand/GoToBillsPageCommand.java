@@ -8,7 +8,6 @@ import by.epam.baranovsky.banking.controller.constant.SessionAttributeName;
 import by.epam.baranovsky.banking.entity.Account;
 import by.epam.baranovsky.banking.entity.Bill;
 import by.epam.baranovsky.banking.entity.Penalty;
-import by.epam.baranovsky.banking.entity.User;
 import by.epam.baranovsky.banking.entity.criteria.Criteria;
 import by.epam.baranovsky.banking.entity.criteria.EntityParameters;
 import by.epam.baranovsky.banking.entity.criteria.SingularValue;
@@ -21,7 +20,9 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation of Command
@@ -64,6 +65,7 @@ public class GoToBillsPageCommand extends AbstractCommand {
      */
     protected List<BillTransferObject> getBillDTOs(List<Bill> bills) throws ServiceException {
         List<BillTransferObject> dtoList = new ArrayList<>();
+        Map<Integer, String> fullNames = new HashMap<>();
 
         for(Bill bill : bills){
             BillTransferObject bto = new BillTransferObject();
@@ -71,10 +73,10 @@ public class GoToBillsPageCommand extends AbstractCommand {
             bto.setValue(bill.getValue());
 
             bto.setUserId(bill.getUserId());
-            bto.setUserFullName(getFullNameOfUser(bill.getUserId()));
+            bto.setUserFullName(getFullNameOfUser(bill.getUserId(), fullNames));
 
             bto.setBearerId(bill.getBearerId());
-            bto.setBearerFullName(getFullNameOfUser(bill.getBearerId()));
+            bto.setBearerFullName(getFullNameOfUser(bill.getBearerId(), fullNames));
 
             bto.setIssueDate(bill.getIssueDate());
             bto.setDueDate(bill.getDueDate());
@@ -108,16 +110,10 @@ public class GoToBillsPageCommand extends AbstractCommand {
         criteria.add(EntityParameters.BillParam.USER, new SingularValue<>(userId));
         criteria.add(EntityParameters.BillParam.STATUS_ID, new SingularValue<>(DBMetadata.BILL_STATUS_PENDING));
         criteria.add(EntityParameters.BillParam.STATUS_ID, new SingularValue<>(DBMetadata.BILL_STATUS_OVERDUE));
+        criteria.orderBy(EntityParameters.BillParam.STATUS_ID, true);
+        criteria.orderBy(EntityParameters.BillParam.ISSUE_DATE, true);
 
-        List<Bill> bills = billService.findByCriteria(criteria);
-        bills.sort((o1, o2) -> {
-            if(o2.getStatusId().equals(DBMetadata.BILL_STATUS_OVERDUE)){
-                return -1;
-            }
-            return o2.getIssueDate().compareTo(o1.getIssueDate());
-        });
-
-        return bills;
+        return billService.findByCriteria(criteria);
     }
 
     /**
@@ -131,27 +127,26 @@ public class GoToBillsPageCommand extends AbstractCommand {
         criteria.add(EntityParameters.BillParam.BEARER, new SingularValue<>(userId));
         criteria.add(EntityParameters.BillParam.STATUS_ID, new SingularValue<>(DBMetadata.BILL_STATUS_PENDING));
         criteria.add(EntityParameters.BillParam.STATUS_ID, new SingularValue<>(DBMetadata.BILL_STATUS_OVERDUE));
+        criteria.orderBy(EntityParameters.BillParam.STATUS_ID, true);
+        criteria.orderBy(EntityParameters.BillParam.ISSUE_DATE, true);
 
-        List<Bill> bills = billService.findByCriteria(criteria);
-        bills.sort((o1, o2) -> {
-            if(o2.getStatusId().equals(DBMetadata.BILL_STATUS_OVERDUE)){
-                return -1;
-            }
-            return o2.getIssueDate().compareTo(o1.getIssueDate());
-        });
-
-        return bills;
+        return billService.findByCriteria(criteria);
     }
 
     /**
      * Retrieves full name of the user.
      * @param userId User in question.
+     * @param fullNames Names already retrieved while handling current request, by user ID.
      * @return String representation of user's full name.
      * @throws ServiceException
      */
-    private String getFullNameOfUser(Integer userId) throws ServiceException {
-        User user = userService.getById(userId);
-        return user.getLastName() + " " + user.getFirstName() + " " + (user.getPatronymic() != null ? user.getPatronymic() :  "");
+    private String getFullNameOfUser(Integer userId, Map<Integer, String> fullNames) throws ServiceException {
+        String fullName = fullNames.get(userId);
+        if(fullName == null){
+            fullName = userService.getNameById(userId).fullName();
+            fullNames.put(userId, fullName);
+        }
+        return fullName;
     }
 
     /**
@@ -9,7 +9,6 @@ import by.epam.baranovsky.banking.controller.constant.RequestParamName;
 import by.epam.baranovsky.banking.controller.constant.SessionAttributeName;
 import by.epam.baranovsky.banking.entity.Account;
 import by.epam.baranovsky.banking.entity.BankingCard;
-import by.epam.baranovsky.banking.entity.Loan;
 import by.epam.baranovsky.banking.entity.criteria.Criteria;
 import by.epam.baranovsky.banking.entity.criteria.EntityParameters;
 import by.epam.baranovsky.banking.entity.criteria.Range;
@@ -20,7 +19,6 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.List;
 
 /**
  * Implementation of Command
@@ -99,18 +97,12 @@ public class GoToCardInfoCommand extends AbstractCommand {
      * @throws ServiceException
      */
     private Double getOverdraftSum(BankingCard card) throws ServiceException {
-        Double result = 0d;
         Criteria<EntityParameters.LoanParams> criteria = new Criteria<>();
         criteria.add(EntityParameters.LoanParams.CARD_ID, new SingularValue<>(card.getId()));
         criteria.add(
                 EntityParameters.LoanParams.STATUS,
                 new Range<>(DBMetadata.LOAN_STATUS_PENDING, DBMetadata.LOAN_STATUS_OVERDUE));
 
-        List<Loan> loans = loanService.findByCriteria(criteria);
-        for(Loan loan : loans){
-            result += loan.getStartingValue();
-        }
-
-        return result;
+        return loanService.sum(EntityParameters.LoanParams.STARTING_VALUE, criteria);
     }
 }
@@ -254,7 +254,7 @@ public class GoToConfirmTransferCommand extends AbstractCommand {
             return null;
         }
         if(!card.getCardTypeId().equals(DBMetadata.CARD_TYPE_CREDIT)){
-            card.setBalance(accountService.findById(card.getAccountId()).getBalance());
+            card.setBalance(accountService.findBalanceById(card.getAccountId()).balance());
         }
 
         return card;
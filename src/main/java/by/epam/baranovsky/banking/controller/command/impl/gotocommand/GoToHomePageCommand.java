@@ -1,8 +1,11 @@
 package by.epam.baranovsky.banking.controller.command.impl.gotocommand;
 
+import by.epam.baranovsky.banking.constant.ConfigManager;
+import by.epam.baranovsky.banking.constant.ConfigParams;
 import by.epam.baranovsky.banking.controller.command.AbstractCommand;
 import by.epam.baranovsky.banking.controller.constant.PageUrls;
 import by.epam.baranovsky.banking.controller.constant.RequestAttributeNames;
+import by.epam.baranovsky.banking.controller.constant.RequestParamName;
 import by.epam.baranovsky.banking.controller.constant.SessionAttributeName;
 import by.epam.baranovsky.banking.entity.*;
 import by.epam.baranovsky.banking.entity.criteria.Criteria;
@@ -22,11 +25,23 @@ import java.util.*;
 /**
  * Implementation of Command
  * used to forward user to home page.
+ * <p>
+ *     Operation history is shown page by page, newest first.
+ *     Next page is requested with date and ID of the last shown operation,
+ *     previous page with date and ID of the first one,
+ *     so DB returns only operations of that page.
+ *     Number of operations on preceding pages is passed along with them
+ *     to label the page with range of its operations.
+ * </p>
  * @author Baranovsky E. K.
  * @version 1.0.0
  */
 public class GoToHomePageCommand extends AbstractCommand {
 
+    /** Number of operations shown on a single page. */
+    private static final Integer PAGE_SIZE = Integer.valueOf(
+            ConfigManager.getInstance().getValue(ConfigParams.OPERATIONS_PAGE_SIZE));
+
     /**
      * {@inheritDoc}
      */
@@ -41,7 +56,8 @@ public class GoToHomePageCommand extends AbstractCommand {
                 request.setAttribute(RequestAttributeNames.USER_DATA, user);
                 request.setAttribute(
                         RequestAttributeNames.OPERATIONS_DATA,
-                        getUserOperationDTOs(userId));
+                        getUserOperationDTOs(userId, request));
+                request.setAttribute(RequestAttributeNames.OPERATIONS_PAGE_SIZE, PAGE_SIZE);
 
             } catch (ServiceException e) {
                 logger.error(e);
@@ -55,40 +71,54 @@ public class GoToHomePageCommand extends AbstractCommand {
     }
 
     /**
-     * Collects operations tied to user and parses them into DTOs.
+     * Collects a page of operations tied to user and parses them into DTOs.
      * @param id ID of user.
+     * @param request Request that may contain date and ID of the last operation of previous page
+     *                or of the first operation of next page.
      * @return List of Instances of OperationTransferObject
-     * parsed from operations tied to user.
+     * parsed from operations tied to user, newest first.
      * @throws ServiceException
      */
-    private List<OperationTransferObject> getUserOperationDTOs(Integer id) throws ServiceException{
+    private List<OperationTransferObject> getUserOperationDTOs(Integer id, HttpServletRequest request) throws ServiceException{
 
         List<Integer> userAccs = getUserAccountIds(id);
         List<Integer> userCards = getUserCardsIds(id);
-        List<Operation> operations = getOperations(userAccs, userCards);
+        List<Operation> operations = getOperations(userAccs, userCards, request);
+
+        Set<Integer> accountIds = new HashSet<>();
+        Set<Integer> cardIds = new HashSet<>();
+        for(Operation operation : operations){
+            accountIds.add(operation.getAccountId());
+            accountIds.add(operation.getTargetAccountId());
+            cardIds.add(operation.getBankCardId());
+            cardIds.add(operation.getTargetBankCardId());
+        }
+        Map<Integer, Account> accounts = accountService.findByIds(accountIds);
+        Map<Integer, BankingCard> cards = cardService.findByIds(cardIds);
 
         List<OperationTransferObject> operationPackages = new ArrayList<>();
 
         for(Operation operation : operations){
             OperationTransferObject oto = new OperationTransferObject();
 
+            oto.setId(operation.getId());
             oto.setIsAccrual(!userCards.contains(operation.getBankCardId()) && !userAccs.contains(operation.getAccountId()));
             oto.setTypeId(operation.getTypeId());
             oto.setValue(operation.getValue());
             if(operation.getAccountId() != null && operation.getAccountId() != 0){
-                oto.setAccountNumber(accountService.findById(
+                oto.setAccountNumber(accounts.get(
                         operation.getAccountId()).getAccountNumber());
             }
             if(operation.getTargetAccountId() != null && operation.getTargetAccountId() != 0){
-                oto.setTargetAccountNumber(accountService.findById(
+                oto.setTargetAccountNumber(accounts.get(
                         operation.getTargetAccountId()).getAccountNumber());
             }
             if(operation.getBankCardId() != null && operation.getBankCardId() != 0){
-                oto.setCardNumber(maskCardNumber(cardService.findById(
+                oto.setCardNumber(maskCardNumber(cards.get(
                         operation.getBankCardId()).getNumber()));
             }
             if(operation.getTargetBankCardId() != null && operation.getTargetBankCardId() != 0){
-                oto.setTargetCardNumber(maskCardNumber(cardService.findById(
+                oto.setTargetCardNumber(maskCardNumber(cards.get(
                         operation.getTargetBankCardId()).getNumber()));
             }
             oto.setBill(operation.getBillId());
@@ -97,21 +127,56 @@ public class GoToHomePageCommand extends AbstractCommand {
             oto.setCommission(operation.getCommission());
             operationPackages.add(oto);
         }
-        operationPackages.sort((o1, o2) -> o2.getDate().compareTo(o1.getDate()));
 
         return operationPackages;
     }
 
     /**
-     * Retrieves all operations related to passed lists of accounts and cards.
+     * Retrieves a page of operations related to passed lists of accounts and cards.
+     * <p>
+     *     Previous page is read backwards from the first operation of next page.
+     *     If it turns out to be incomplete, first page is shown instead.
+     *     Sets attributes telling whether there is a previous page
+     *     and how many operations precede the page.
+     * </p>
      * @param accountIds List of account IDs.
      * @param cardIds List of cards IDs.
-     * @return List of operations that include any cards of account from passed lists.
+     * @param request Request that may contain date and ID of the last operation of previous page
+     *                or of the first operation of next page.
+     * @return List of operations that include any cards of account from passed lists,
+     * newest first.
      * @throws ServiceException
      */
     private List<Operation> getOperations(List<Integer> accountIds,
-                                          List<Integer> cardIds) throws ServiceException {
+                                          List<Integer> cardIds,
+                                          HttpServletRequest request) throws ServiceException {
         Criteria<EntityParameters.OperationParam> criteria = new Criteria<>(Criteria.SQL_OR);
+        criteria.orderBy(EntityParameters.OperationParam.DATE, true);
+        criteria.orderBy(EntityParameters.OperationParam.ID, true);
+        criteria.setLimit(PAGE_SIZE);
+
+        String afterDate = request.getParameter(RequestParamName.OPERATIONS_AFTER_DATE);
+        String afterId = request.getParameter(RequestParamName.OPERATIONS_AFTER_ID);
+        String beforeDate = request.getParameter(RequestParamName.OPERATIONS_BEFORE_DATE);
+        String beforeId = request.getParameter(RequestParamName.OPERATIONS_BEFORE_ID);
+        int start = 0;
+        boolean hasPrevPage = false;
+        try {
+            if(beforeDate != null && beforeId != null){
+                criteria.seekBefore(new Date(Long.parseLong(beforeDate)), Integer.valueOf(beforeId));
+            } else if(afterDate != null && afterId != null){
+                criteria.seekAfter(new Date(Long.parseLong(afterDate)), Integer.valueOf(afterId));
+                hasPrevPage = true;
+            }
+            String pageStart = request.getParameter(RequestParamName.OPERATIONS_PAGE_START);
+            if(pageStart != null){
+                start = Math.max(0, Integer.parseInt(pageStart));
+            }
+        } catch (NumberFormatException e) {
+            logger.debug("Invalid operation page parameters, showing first page.");
+            criteria.seekAfter();
+            hasPrevPage = false;
+        }
 
         for(Integer id : cardIds){
             criteria.add(
@@ -131,8 +196,22 @@ public class GoToHomePageCommand extends AbstractCommand {
                     new SingularValue<>(id));
         }
 
-        return operationService.findByCriteria(criteria);
+        List<Operation> operations = operationService.findByCriteria(criteria);
+        if(criteria.isSeekingBackward()){
+            if(operations.size() < PAGE_SIZE){
+                criteria.seekAfter();
+                operations = operationService.findByCriteria(criteria);
+                start = 0;
+            } else {
+                operations = new ArrayList<>(operations);
+                Collections.reverse(operations);
+                hasPrevPage = true;
+            }
+        }
 
+        request.setAttribute(RequestAttributeNames.OPERATIONS_HAS_PREV_PAGE, hasPrevPage);
+        request.setAttribute(RequestAttributeNames.OPERATIONS_PAGE_START, hasPrevPage ? start : 0);
+        return operations;
     }
 
     /**
@@ -12,6 +12,7 @@ import by.epam.baranovsky.banking.entity.criteria.Criteria;
 import by.epam.baranovsky.banking.entity.criteria.EntityParameters;
 import by.epam.baranovsky.banking.entity.criteria.Range;
 import by.epam.baranovsky.banking.entity.criteria.SingularValue;
+import by.epam.baranovsky.banking.entity.projection.AccountBalance;
 import by.epam.baranovsky.banking.service.exception.ServiceException;
 
 import javax.servlet.RequestDispatcher;
@@ -70,20 +71,21 @@ public class GoToTransferPageCommand extends AbstractCommand {
         cards.removeIf(card -> !card.getStatusId().equals(DBMetadata.CARD_STATUS_UNLOCKED));
         Map<String, BankingCard> resultMap = new HashMap<>();
         for(BankingCard card : cards){
-            if(card.getAccountId() != null
-                    && accountService.findById(card.getAccountId())
-                    .getStatusId().equals(DBMetadata.ACCOUNT_STATUS_BLOCKED)){
+            AccountBalance account = card.getAccountId() != null
+                    ? accountService.findBalanceById(card.getAccountId())
+                    : null;
+            if(account != null && account.statusId().equals(DBMetadata.ACCOUNT_STATUS_BLOCKED)){
                 continue;
             }
 
             String balance;
             card.setNumber(maskCardNumber(card.getNumber()));
             if(card.getCardTypeId().equals(DBMetadata.CARD_TYPE_DEBIT)){
-                balance = accountService.findById(card.getAccountId()).getBalance().toString();
+                balance = account.balance().toString();
             } else if(card.getCardTypeId().equals(DBMetadata.CARD_TYPE_CREDIT)){
                 balance = card.getBalance().toString();
             }else{
-                balance = accountService.findById(card.getAccountId()).getBalance() + " + " + getUnspentOverdraft(card) + " overdraft";
+                balance = account.balance() + " + " + getUnspentOverdraft(card) + " overdraft";
             }
             resultMap.put(balance, card);
 
@@ -115,17 +117,13 @@ public class GoToTransferPageCommand extends AbstractCommand {
      * @throws ServiceException
      */
     private Double getUnspentOverdraft(BankingCard card) throws ServiceException {
-        Double overdraftSum = 0d;
         Criteria<EntityParameters.LoanParams> criteria = new Criteria<>();
         criteria.add(EntityParameters.LoanParams.CARD_ID, new SingularValue<>(card.getId()));
         criteria.add(
                 EntityParameters.LoanParams.STATUS,
                 new Range<>(DBMetadata.LOAN_STATUS_PENDING, DBMetadata.LOAN_STATUS_OVERDUE));
 
-        List<Loan> loans = loanService.findByCriteria(criteria);
-        for(Loan loan : loans){
-            overdraftSum += loan.getStartingValue();
-        }
+        Double overdraftSum = loanService.sum(EntityParameters.LoanParams.STARTING_VALUE, criteria);
 
         return card.getOverdraftMax()-overdraftSum;
     }
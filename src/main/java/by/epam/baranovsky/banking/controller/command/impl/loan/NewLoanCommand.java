@@ -78,12 +78,12 @@ public class NewLoanCommand extends AbstractCommand {
             return;
         }
         try{
-            if(!accountService.findUsers(accountService.findById(accountId).getId()).contains(currentUser)){
+            if(!accountService.findUsers(accountId).contains(currentUser)){
                 request.setAttribute(RequestAttributeNames.ERROR_MSG, Message.LOAN_NOT_FOR_YOUR_ACCOUNT);
                 request.getRequestDispatcher(getPreviousRequestAddress(request)).forward(request,response);
                 return;
             }
-            if(accountService.findById(DBMetadata.BANK_ACCOUNT_ID).getBalance()<startingValue){
+            if(accountService.findBalanceById(DBMetadata.BANK_ACCOUNT_ID).balance()<startingValue){
                 request.setAttribute(RequestAttributeNames.ERROR_MSG, Message.NO_MONEY);
                 request.getRequestDispatcher(getPreviousRequestAddress(request)).forward(request,response);
                 return;
@@ -126,7 +126,7 @@ public class NewLoanCommand extends AbstractCommand {
         criteria.add(EntityParameters.LoanParams.STATUS,
                 new SingularValue<>(DBMetadata.LOAN_STATUS_OVERDUE));
 
-        return  loanService.findByCriteria(criteria).size()<MAX_ACTIVE_LOANS;
+        return loanService.count(criteria)<MAX_ACTIVE_LOANS;
     }
 
     /**
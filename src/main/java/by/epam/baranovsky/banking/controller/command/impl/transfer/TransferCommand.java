@@ -6,21 +6,16 @@ import by.epam.baranovsky.banking.controller.constant.PageUrls;
 import by.epam.baranovsky.banking.controller.constant.RequestAttributeNames;
 import by.epam.baranovsky.banking.controller.constant.RequestParamName;
 import by.epam.baranovsky.banking.controller.constant.SessionAttributeName;
-import by.epam.baranovsky.banking.entity.Account;
+import by.epam.baranovsky.banking.dao.exception.TransferRejectedException;
 import by.epam.baranovsky.banking.entity.BankingCard;
-import by.epam.baranovsky.banking.entity.Loan;
 import by.epam.baranovsky.banking.entity.Operation;
-import by.epam.baranovsky.banking.entity.criteria.Criteria;
-import by.epam.baranovsky.banking.entity.criteria.EntityParameters;
-import by.epam.baranovsky.banking.entity.criteria.Range;
-import by.epam.baranovsky.banking.entity.criteria.SingularValue;
 import by.epam.baranovsky.banking.service.exception.ServiceException;
+import by.epam.baranovsky.banking.service.exception.ValidationException;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.List;
 
 /**
  * Implementation of Command
@@ -38,7 +33,14 @@ public class TransferCommand extends AbstractCommand {
      * {@inheritDoc}
      * <p>
      *     Redirects to transfer success page if transfer was successful,
-     *     forwards to transfer failure page otherwise.
+     *     forwards to transfer failure page if it was rejected
+     *     (by checks of this command or by the transfer itself),
+     *     forwards to error page otherwise.
+     * </p>
+     * <p>
+     *     Balances and statuses of sender and receiver are not read beforehand:
+     *     they are checked by the transfer itself, which is rejected as a whole
+     *     if sender has not enough money or either side is locked.
      * </p>
      */
     @Override
@@ -57,6 +59,14 @@ public class TransferCommand extends AbstractCommand {
             operationService.create(operation);
             response.sendRedirect(REDIRECT_TO_SUCCESS);
 
+        } catch (ValidationException e) {
+            if(!(e.getCause() instanceof TransferRejectedException)){
+                logger.error(e);
+                request.getRequestDispatcher(PageUrls.ERROR_PAGE).forward(request, response);
+                return;
+            }
+            request.setAttribute(RequestAttributeNames.ERROR_MSG, e.getMessage());
+            request.getRequestDispatcher(PageUrls.TRANSFER_FAILURE_PAGE).forward(request,response);
         } catch (ServiceException e) {
             logger.error(e);
             request.getRequestDispatcher(PageUrls.ERROR_PAGE).forward(request, response);
@@ -134,7 +144,7 @@ public class TransferCommand extends AbstractCommand {
     }
 
     /**
-     * Validates fields of an operation.
+     * Validates fields of an operation and checks that current user may perform it.
      * @param operation Operation to validate.
      * @param currentUser ID of current user.
      * @return Error message string if any errors have occurred,
@@ -144,52 +154,34 @@ public class TransferCommand extends AbstractCommand {
      */
     private String checkOperation(Operation operation, Integer currentUser) throws ServiceException {
 
-        if(checkNullParams(operation) != null){
-            return checkNullParams(operation);
-        }
-
-        String lockedOrSuspendedError = checkIfAccLockedOrSuspended(operation);
-        if( lockedOrSuspendedError != null){
-            return lockedOrSuspendedError;
-        }
-
-        String targetLockedError = checkIfTargetIsLocked(operation);
-        if( targetLockedError != null){
-            return targetLockedError;
+        String nullParamsError = checkNullParams(operation);
+        if(nullParamsError != null){
+            return nullParamsError;
         }
 
         if(operation.getTypeId().equals(DBMetadata.OPERATION_TYPE_TRANSFER_A_A)){
-            if(!accountService.findUsers(accountService.findById(operation.getAccountId()).getId()).contains(currentUser)){
+            if(!accountService.findUsers(operation.getAccountId()).contains(currentUser)){
                 return Message.NOT_YOUR_ACCOUNT;
             }
             if(operation.getAccountId().equals(operation.getTargetAccountId())){
                 return Message.OPERATION_TRANSFER_TO_SELF;
             }
-            if(!checkAgainstAccountBalance(accountService.findById(operation.getAccountId()), operation.getValue())){
-                return Message.NO_MONEY;
-            }
         } else if(operation.getTypeId().equals(DBMetadata.OPERATION_TYPE_TRANSFER_A_C)){
-            if(!accountService.findUsers(accountService.findById(operation.getAccountId()).getId()).contains(currentUser)){
+            if(!accountService.findUsers(operation.getAccountId()).contains(currentUser)){
                 return Message.NOT_YOUR_ACCOUNT;
             }
             BankingCard target = cardService.findById(operation.getTargetBankCardId());
             if(operation.getAccountId().equals(target.getAccountId())){
                 return Message.OPERATION_TRANSFER_TO_SELF;
             }
-            if(!checkAgainstAccountBalance(accountService.findById(operation.getAccountId()), operation.getValue())){
-                return Message.NO_MONEY;
-            }
         } else if(operation.getTypeId().equals(DBMetadata.OPERATION_TYPE_TRANSFER_C_A)){
             BankingCard card = cardService.findById(operation.getBankCardId());
             if(!card.getUserId().equals(currentUser)){
                 return Message.CARD_NOT_YOURS;
             }
-            if(card.getAccountId().equals(operation.getTargetAccountId())){
+            if(operation.getTargetAccountId().equals(card.getAccountId())){
                 return Message.OPERATION_TRANSFER_TO_SELF;
             }
-            if(!checkAgainstCardBalance(card, operation.getValue())){
-                return Message.NO_MONEY;
-            }
         }else if(operation.getTypeId().equals(DBMetadata.OPERATION_TYPE_TRANSFER_C_C)){
             BankingCard card = cardService.findById(operation.getBankCardId());
             BankingCard target = cardService.findById(operation.getTargetBankCardId());
@@ -197,12 +189,9 @@ public class TransferCommand extends AbstractCommand {
                 return Message.CARD_NOT_YOURS;
             }
             if(card.getId().equals(target.getId())
-                    || card.getAccountId().equals(target.getAccountId())){
+                    || (card.getAccountId() != null && card.getAccountId().equals(target.getAccountId()))){
                 return Message.OPERATION_TRANSFER_TO_SELF;
             }
-            if(!checkAgainstCardBalance(card, operation.getValue())){
-                return Message.NO_MONEY;
-            }
         } else{
             return Message.OPERATION_ILLEGAL;
         }
@@ -250,136 +239,4 @@ public class TransferCommand extends AbstractCommand {
         }
         return null;
     }
-
-    /**
-     * Checks if account entity, that is linked to operation's account ID
-     * or to the bank card, that is tied to operation's card ID,
-     * is blocked or suspended.
-     * @param operation Operation to check.
-     * @return Error message string if account is locked or suspended,
-     * {@code null} otherwise.
-     * @throws ServiceException
-     */
-    private String checkIfAccLockedOrSuspended(Operation operation) throws ServiceException {
-
-        if(operation.getBillId() != null || operation.getPenaltyId() != null){
-            return null;
-        }
-        int accId = 0;
-
-        if(operation.getAccountId() != null){
-            accId = operation.getAccountId();
-        }
-
-        if(operation.getBankCardId() != null){
-            BankingCard card = cardService.findById(operation.getBankCardId());
-            if(card.getAccountId() == null || card.getAccountId() == 0){
-                return Message.CREDIT_CARD;
-            }
-            accId = card.getAccountId();
-        }
-
-        Account acc = accountService.findById(accId);
-        if(acc != null && acc.getStatusId().equals(DBMetadata.ACCOUNT_STATUS_SUSPENDED)) {
-            return Message.ACC_SUSPENDED;
-        }
-        if(acc != null && acc.getStatusId().equals(DBMetadata.ACCOUNT_STATUS_BLOCKED)) {
-            return Message.ACC_LOCKED;
-        }
-
-        return null;
-    }
-
-    /**
-     * Checks if the target of operation (be it card or account) is locked.
-     * @param operation Operation to check.
-     * @return Error message string if target of operation is locked
-     * {@code null} otherwise.
-     * @throws ServiceException
-     */
-    private String checkIfTargetIsLocked(Operation operation) throws ServiceException{
-        int targetAcc = 0;
-
-        if(operation.getTargetAccountId() != null){
-            targetAcc = operation.getTargetAccountId();
-        }
-        if(operation.getTargetBankCardId() != null){
-            BankingCard card = cardService.findById(operation.getTargetBankCardId());
-            if(card.getAccountId() == null || card.getAccountId() == 0){
-                return Message.CREDIT_CARD;
-            }
-            if(card.getStatusId().equals(DBMetadata.CARD_STATUS_LOCKED)
-                    || card.getStatusId().equals(DBMetadata.CARD_STATUS_EXPIRED)){
-                return Message.CARD_LOCKED;
-            }
-            targetAcc = card.getAccountId();
-        }
-
-        Account acc = accountService.findById(targetAcc);
-
-        if(acc != null && acc.getStatusId().equals(DBMetadata.ACCOUNT_STATUS_BLOCKED)) {
-            return Message.ACC_LOCKED;
-        }
-
-
-        return null;
-    }
-
-    /**
-     * Checks if sender account has enough money to do a transaction.
-     * @param account Account to check.
-     * @param value Value of the transfer.
-     * @return {@code true} if balance is sufficient, {@code false} otherwise
-     */
-    private boolean checkAgainstAccountBalance(Account account, Double value){
-        return account.getBalance()>value;
-    }
-
-    /**
-     * Checks if sender card has enough money to do a transaction.
-     * @param card Card to check.
-     * @param value Value of the transfer.
-     * @return {@code true} if balance is sufficient, {@code false} otherwise
-     */
-    private boolean checkAgainstCardBalance(BankingCard card, Double value) throws ServiceException {
-        if(card.getCardTypeId().equals(DBMetadata.CARD_TYPE_DEBIT)){
-            if(accountService.findById(card.getAccountId()).getBalance()<value){
-                return false;
-            }
-        }
-        if(card.getCardTypeId().equals(DBMetadata.CARD_TYPE_CREDIT)){
-            if(card.getBalance()<value){
-                return false;
-            }
-        }
-        if(card.getCardTypeId().equals(DBMetadata.CARD_TYPE_OVERDRAFT)){
-            if(accountService.findById(card.getAccountId()).getBalance() + getUnspentOverdraft(card) < value){
-                return false;
-            }
-        }
-
-        return true;
-    }
-
-    /**
-     * Calculates overdraft sum that can be spent from a card.
-     * @param card Card to check.
-     * @return Sum available for overdraft.
-     * @throws ServiceException
-     */
-    private Double getUnspentOverdraft(BankingCard card) throws ServiceException {
-        Double overdraftSum = 0d;
-        Criteria<EntityParameters.LoanParams> criteria = new Criteria<>();
-        criteria.add(EntityParameters.LoanParams.CARD_ID, new SingularValue<>(card.getId()));
-        criteria.add(
-                EntityParameters.LoanParams.STATUS,
-                new Range<>(DBMetadata.LOAN_STATUS_PENDING, DBMetadata.LOAN_STATUS_OVERDUE));
-
-        List<Loan> loans = loanService.findByCriteria(criteria);
-        for(Loan loan : loans){
-            overdraftSum += loan.getStartingValue();
-        }
-
-        return card.getOverdraftMax()-overdraftSum;
-    }
 }
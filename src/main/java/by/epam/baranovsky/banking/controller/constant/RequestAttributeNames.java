@@ -10,6 +10,9 @@ public final class RequestAttributeNames {
 
     public static final String USER_DATA = "USER_DATA";
     public static final String OPERATIONS_DATA = "OPERATIONS_DATA";
+    public static final String OPERATIONS_PAGE_SIZE = "OPERATIONS_PAGE_SIZE";
+    public static final String OPERATIONS_PAGE_START = "OPERATIONS_PAGE_START";
+    public static final String OPERATIONS_HAS_PREV_PAGE = "OPERATIONS_HAS_PREV_PAGE";
     public static final String ERROR_MSG = "ERROR_MSG";
 
     public static final String UNLOCKED_ACCS = "UNLOCKED_ACCS";
@@ -10,6 +10,11 @@ public final class RequestParamName {
     public static final String CONTROLLER="controller";
     public static final String COMMAND_NAME="command";
     public static final String LOCALE="locale";
+    public static final String OPERATIONS_AFTER_DATE="after_date";
+    public static final String OPERATIONS_AFTER_ID="after_id";
+    public static final String OPERATIONS_BEFORE_DATE="before_date";
+    public static final String OPERATIONS_BEFORE_ID="before_id";
+    public static final String OPERATIONS_PAGE_START="start";
 
     public static final String EMAIL = "email";
     public static final String PASSWORD = "password";
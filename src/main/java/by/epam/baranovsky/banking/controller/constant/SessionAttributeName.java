@@ -11,6 +11,7 @@ public final class SessionAttributeName {
     public static final String LAST_REQUEST="LAST_REQUEST";
     public static final String USER_ID = "USER_ID";
     public static final String USER_ROLE_ID = "USER_ROLE_ID";
+    public static final String LAST_DB_WRITE_TIME = "LAST_DB_WRITE_TIME";
 
     private SessionAttributeName(){}
 }
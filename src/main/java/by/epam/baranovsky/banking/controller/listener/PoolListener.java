@@ -2,6 +2,7 @@ package by.epam.baranovsky.banking.controller.listener;
 
 import by.epam.baranovsky.banking.dao.connectionpool.ConnectionPool;
 import by.epam.baranovsky.banking.dao.connectionpool.ConnectionPoolException;
+import by.epam.baranovsky.banking.dao.query.impl.GroupCommitEngine;
 import org.apache.log4j.Logger;
 
 import javax.servlet.ServletContextEvent;
@@ -20,7 +21,7 @@ public class PoolListener implements ServletContextListener {
     /**
      * {@inheritDoc}
      * <p>
-     *     Creates an instance of connection pool and initializes it.
+     *     Creates instances of primary and replica connection pools and initializes them.
      *     If ConnectionPool was unable to initialize,
      *     throws RuntimeException to stop the execution of an application.
      * </p>
@@ -30,6 +31,7 @@ public class PoolListener implements ServletContextListener {
         logger.info("Application is starting.");
         try {
             ConnectionPool.getInstance();
+            ConnectionPool.getReplicaInstance();
         } catch (ConnectionPoolException e) {
             logger.error("Unable to initialize connection pool",e);
             throw new RuntimeException("Unable to initialize connection pool.", e);
@@ -39,19 +41,14 @@ public class PoolListener implements ServletContextListener {
     /**
      * {@inheritDoc}
      * <p>
-     *     Disposes of connection pool.
-     *     If ConnectionPool was unable to shut down, throws RuntimeException.
+     *     Stops group commit engine and disposes of connection pools.
      * </p>
      */
     @Override
     public void contextDestroyed(ServletContextEvent servletContextEvent) {
 
         logger.info("Application is shutting down.");
-        try {
-            ConnectionPool.getInstance().dispose();
-        } catch (ConnectionPoolException e) {
-            logger.error("Unable to dispose of a connection pool.",e);
-            throw new RuntimeException("Unable to dispose of a connection pool.", e);
-        }
+        GroupCommitEngine.getInstance().shutdown();
+        ConnectionPool.disposeAll();
     }
 }
@@ -3,12 +3,15 @@ package by.epam.baranovsky.banking.dao;
 import by.epam.baranovsky.banking.dao.connectionpool.ConnectionPool;
 import by.epam.baranovsky.banking.dao.connectionpool.ConnectionPoolException;
 import by.epam.baranovsky.banking.dao.exception.DAOException;
+import by.epam.baranovsky.banking.dao.query.RowCallback;
 import by.epam.baranovsky.banking.entity.Entity;
 
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.Statement;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interface for DAOs.
@@ -42,6 +45,15 @@ public interface AbstractDAO<T extends Entity> {
      */
     T findEntityById(Integer id) throws DAOException;
 
+    /**
+     * Retrieves entities from data source by their IDs.
+     * @param ids IDs of entities.
+     * @return Map of retrieved entities by their IDs.
+     * IDs that no entities were found for are absent from it.
+     * @throws DAOException
+     */
+    Map<Integer, T> findByIds(Collection<Integer> ids) throws DAOException;
+
     /**
      * Deletes entity from data source.
      * @param id ID of entity to delete.
@@ -65,5 +77,15 @@ public interface AbstractDAO<T extends Entity> {
      */
     List<T> findAll() throws DAOException;
 
+    /**
+     * Passes every entity in data source to callback,
+     * without loading all of them into memory at once.
+     * @param callback Callback to pass entities to.
+     * @param <E> Type of exception callback may throw.
+     * @throws DAOException
+     * @throws E if callback throws it.
+     */
+    <E extends Exception> void forEach(RowCallback<? super T, E> callback) throws DAOException, E;
+
 
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package by.epam.baranovsky.banking.dao;
 
 import by.epam.baranovsky.banking.dao.exception.DAOException;
 import by.epam.baranovsky.banking.entity.Account;
+import by.epam.baranovsky.banking.entity.projection.AccountBalance;
 
 import java.util.List;
 
@@ -29,6 +30,15 @@ public interface AccountDAO extends AbstractDAO<Account> {
      */
     List<Account> findByUserId(Integer id) throws DAOException;
 
+    /**
+     * Counts Accounts of a user that have given status.
+     * @param userId ID of user of accounts.
+     * @param statusId ID of status of accounts.
+     * @return Number of such Accounts.
+     * @throws DAOException
+     */
+    Integer countByUserAndStatus(Integer userId, Integer statusId) throws DAOException;
+
     /**
      * Retrieves Accounts by their status ID.
      * @param id ID of status of an account.
@@ -45,4 +55,26 @@ public interface AccountDAO extends AbstractDAO<Account> {
      */
     List<Integer> findUsers(Integer id) throws DAOException;
 
+    /**
+     * Retrieves balance and status of an account with specified id,
+     * without the rest of its data.
+     * <p>Balance of bank's own account includes postings to bank's ledger
+     * that are not folded yet.</p>
+     * @param id ID of account.
+     * @return AccountBalance of the account or {@code null} if none were found.
+     * @throws DAOException
+     */
+    AccountBalance findBalanceById(Integer id) throws DAOException;
+
+    /**
+     * Adds all postings of bank's ledger to balance of bank's own account
+     * and removes them from ledger.
+     * <p>Bank's own account is changed by money movements only through
+     * the ledger, so that they do not contend for its row.
+     * Every read of its balance includes postings that are not folded yet,
+     * so folding does not change balance that is seen.</p>
+     * @throws DAOException
+     */
+    void foldBankLedger() throws DAOException;
+
 }
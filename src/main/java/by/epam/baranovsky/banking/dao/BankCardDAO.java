@@ -49,6 +49,14 @@ public interface BankCardDAO extends AbstractDAO<BankingCard> {
      */
     List<BankingCard> findByUser(Integer userId) throws DAOException;
 
+    /**
+     * Counts BankingCards of a user.
+     * @param userId BankingCard's user ID
+     * @return Number of BankingCards with this user.
+     * @throws DAOException
+     */
+    Integer countByUser(Integer userId) throws DAOException;
+
     /**
      * Retrieves BankingCards from data source by account they are tied to.
      * @param accountId BankingCard's account ID
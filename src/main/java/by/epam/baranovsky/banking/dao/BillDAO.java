@@ -25,4 +25,38 @@ public interface BillDAO extends AbstractDAO<Bill> {
      */
     List<Bill> findByCriteria(Criteria<? extends EntityParameters.BillParam> criteria) throws DAOException;
 
+    /**
+     * Sums values of a column over Bills satisfying given criteria.
+     * @param column Parameter whose column is summed.
+     * @param criteria Criteria to search by.
+     * @return Sum of column values, 0 if no Bills satisfy criteria.
+     * @throws DAOException
+     */
+    Double sum(EntityParameters.BillParam column,
+               Criteria<? extends EntityParameters.BillParam> criteria) throws DAOException;
+
+    /**
+     * Counts Bills satisfying given criteria.
+     * @param criteria Criteria to search by.
+     * @return Number of Bills satisfying criteria.
+     * @throws DAOException
+     */
+    Integer count(Criteria<? extends EntityParameters.BillParam> criteria) throws DAOException;
+
+    /**
+     * Checks if any Bills satisfy given criteria.
+     * @param criteria Criteria to search by.
+     * @return {@code true} if at least one of Bills satisfies criteria.
+     * @throws DAOException
+     */
+    boolean exists(Criteria<? extends EntityParameters.BillParam> criteria) throws DAOException;
+
+    /**
+     * Deletes Bills from data source in a single batch.
+     * @param ids IDs of Bills to delete.
+     * @return Number of deleted Bills.
+     * @throws DAOException
+     */
+    Integer deleteAll(List<Integer> ids) throws DAOException;
+
 }
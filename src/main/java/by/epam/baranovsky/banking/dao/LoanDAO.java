@@ -25,4 +25,30 @@ public interface LoanDAO extends AbstractDAO<Loan> {
      */
     List<Loan> findByCriteria(Criteria<? extends EntityParameters.LoanParams> criteria) throws DAOException;
 
+    /**
+     * Sums values of a column over Loans satisfying given criteria.
+     * @param column Parameter whose column is summed.
+     * @param criteria Criteria to search by.
+     * @return Sum of column values, 0 if no Loans satisfy criteria.
+     * @throws DAOException
+     */
+    Double sum(EntityParameters.LoanParams column,
+               Criteria<? extends EntityParameters.LoanParams> criteria) throws DAOException;
+
+    /**
+     * Counts Loans satisfying given criteria.
+     * @param criteria Criteria to search by.
+     * @return Number of Loans satisfying criteria.
+     * @throws DAOException
+     */
+    Integer count(Criteria<? extends EntityParameters.LoanParams> criteria) throws DAOException;
+
+    /**
+     * Checks if any Loans satisfy given criteria.
+     * @param criteria Criteria to search by.
+     * @return {@code true} if at least one of Loans satisfies criteria.
+     * @throws DAOException
+     */
+    boolean exists(Criteria<? extends EntityParameters.LoanParams> criteria) throws DAOException;
+
 }
@@ -25,4 +25,38 @@ public interface OperationDAO extends AbstractDAO<Operation> {
      */
     List<Operation> findByCriteria(Criteria<? extends EntityParameters.OperationParam> criteria) throws DAOException;
 
+    /**
+     * Sums values of a column over Operations satisfying given criteria.
+     * @param column Parameter whose column is summed.
+     * @param criteria Criteria to search by.
+     * @return Sum of column values, 0 if no Operations satisfy criteria.
+     * @throws DAOException
+     */
+    Double sum(EntityParameters.OperationParam column,
+               Criteria<? extends EntityParameters.OperationParam> criteria) throws DAOException;
+
+    /**
+     * Counts Operations satisfying given criteria.
+     * @param criteria Criteria to search by.
+     * @return Number of Operations satisfying criteria.
+     * @throws DAOException
+     */
+    Integer count(Criteria<? extends EntityParameters.OperationParam> criteria) throws DAOException;
+
+    /**
+     * Checks if any Operations satisfy given criteria.
+     * @param criteria Criteria to search by.
+     * @return {@code true} if at least one of Operations satisfies criteria.
+     * @throws DAOException
+     */
+    boolean exists(Criteria<? extends EntityParameters.OperationParam> criteria) throws DAOException;
+
+    /**
+     * Saves accrual Operations and applies them to their accounts in a single transaction.
+     * @param operations Accrual Operations to save.
+     * @return Number of saved Operations.
+     * @throws DAOException
+     */
+    Integer createAccruals(List<Operation> operations) throws DAOException;
+
 }
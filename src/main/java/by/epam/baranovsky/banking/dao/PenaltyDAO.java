@@ -24,4 +24,30 @@ public interface PenaltyDAO extends AbstractDAO<Penalty> {
      * @throws DAOException
      */
     List<Penalty> findByCriteria(Criteria<? extends EntityParameters.PenaltyParams> criteria) throws DAOException;
+
+    /**
+     * Sums values of a column over Penalties satisfying given criteria.
+     * @param column Parameter whose column is summed.
+     * @param criteria Criteria to search by.
+     * @return Sum of column values, 0 if no Penalties satisfy criteria.
+     * @throws DAOException
+     */
+    Double sum(EntityParameters.PenaltyParams column,
+               Criteria<? extends EntityParameters.PenaltyParams> criteria) throws DAOException;
+
+    /**
+     * Counts Penalties satisfying given criteria.
+     * @param criteria Criteria to search by.
+     * @return Number of Penalties satisfying criteria.
+     * @throws DAOException
+     */
+    Integer count(Criteria<? extends EntityParameters.PenaltyParams> criteria) throws DAOException;
+
+    /**
+     * Checks if any Penalties satisfy given criteria.
+     * @param criteria Criteria to search by.
+     * @return {@code true} if at least one of Penalties satisfies criteria.
+     * @throws DAOException
+     */
+    boolean exists(Criteria<? extends EntityParameters.PenaltyParams> criteria) throws DAOException;
 }
@@ -5,6 +5,7 @@ import by.epam.baranovsky.banking.entity.Account;
 import by.epam.baranovsky.banking.entity.User;
 import by.epam.baranovsky.banking.entity.criteria.Criteria;
 import by.epam.baranovsky.banking.entity.criteria.EntityParameters;
+import by.epam.baranovsky.banking.entity.projection.UserName;
 import by.epam.baranovsky.banking.service.exception.ServiceException;
 
 import java.util.List;
@@ -25,6 +26,15 @@ public interface UserDAO extends AbstractDAO<User> {
      */
     User findByEmail(String userEmail) throws DAOException;
 
+    /**
+     * Retrieves name of a user from data source by id,
+     * without the rest of user's data.
+     * @param id ID of the user
+     * @return UserName of user with given id or {@code null} if none were found
+     * @throws DAOException
+     */
+    UserName findNameById(Integer id) throws DAOException;
+
     /**
      * Retrieves users from data source by criteria filled with parameters.
      * @param criteria Criteria to search by.
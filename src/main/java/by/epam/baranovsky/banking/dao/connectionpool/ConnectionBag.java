@@ -0,0 +1,236 @@
+package by.epam.baranovsky.banking.dao.connectionpool;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free container of pooled connections.
+ * <p>
+ *     Every entry carries its own atomic state, so borrowing and returning
+ *     an entry is a single compare-and-set and borrowed entries need no
+ *     separate bookkeeping. A thread first tries the entry it used last,
+ *     then scans the shared list. Threads that found nothing wait on a fair
+ *     synchronous queue, and returned entries are handed directly
+ *     to the longest waiting thread. While some threads are queued,
+ *     newly arriving threads join the queue without scanning, so they
+ *     can not take a returned entry ahead of threads that came earlier.
+ * </p>
+ * @param <T> Type of stored entries.
+ * @author Baranovsky E. K.
+ * @version 1.0.0
+ */
+class ConnectionBag<T extends ConnectionBag.Entry> {
+
+    static final int STATE_FREE = 0;
+    static final int STATE_IN_USE = 1;
+    static final int STATE_RESERVED = -1;
+    static final int STATE_REMOVED = -2;
+
+    /** All entries of the bag. Rarely modified, iterated on every borrow. */
+    private final CopyOnWriteArrayList<T> sharedList = new CopyOnWriteArrayList<>();
+    /** Entry last returned by current thread. */
+    private final ThreadLocal<WeakReference<T>> lastUsed = new ThreadLocal<>();
+    /** Queue that hands returned entries over to waiting threads in FIFO order. */
+    private final SynchronousQueue<T> handoffQueue = new SynchronousQueue<>(true);
+    /** Number of threads that are looking for or waiting for an entry. */
+    private final AtomicInteger waiters = new AtomicInteger();
+    /** Number of threads that are waiting on handoff queue. */
+    private final AtomicInteger queued = new AtomicInteger();
+
+    /**
+     * Takes a free entry without waiting.
+     * @return Borrowed entry or {@code null} if all entries are in use.
+     */
+    T poll() {
+        WeakReference<T> reference = lastUsed.get();
+        if (reference != null) {
+            T entry = reference.get();
+            if (entry != null && entry.compareAndSetState(STATE_FREE, STATE_IN_USE)) {
+                return entry;
+            }
+        }
+        for (T entry : sharedList) {
+            if (entry.compareAndSetState(STATE_FREE, STATE_IN_USE)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Takes a free entry, waiting for one to be returned if necessary.
+     * <p>
+     *     If other threads are already waiting, joins the queue behind them
+     *     instead of looking for a free entry.
+     * </p>
+     * @param timeoutNanos Maximal time to wait, in nanoseconds.
+     * @return Borrowed entry or {@code null} if the time has run out.
+     * @throws InterruptedException if thread was interrupted while waiting.
+     */
+    T borrow(long timeoutNanos) throws InterruptedException {
+        waiters.incrementAndGet();
+        try {
+            long deadline = System.nanoTime() + timeoutNanos;
+            T entry = hasQueuedWaiters() ? null : poll();
+            if (entry != null) {
+                return entry;
+            }
+            queued.incrementAndGet();
+            try {
+                while (true) {
+                    long left = deadline - System.nanoTime();
+                    if (left <= 0) {
+                        return null;
+                    }
+                    T handedOver = handoffQueue.poll(left, TimeUnit.NANOSECONDS);
+                    if (handedOver == null) {
+                        return null;
+                    }
+                    if (handedOver.compareAndSetState(STATE_FREE, STATE_IN_USE)) {
+                        return handedOver;
+                    }
+                }
+            } finally {
+                queued.decrementAndGet();
+            }
+        } finally {
+            waiters.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns borrowed or reserved entry to the bag.
+     * <p>
+     *     If there are waiting threads, tries to hand entry over to one of them,
+     *     otherwise remembers it as last used by current thread.
+     * </p>
+     * @param entry Entry to return.
+     */
+    void requite(T entry) {
+        entry.setState(STATE_FREE);
+        handOver(entry);
+        lastUsed.set(new WeakReference<>(entry));
+    }
+
+    /**
+     * Adds new free entry to the bag.
+     * @param entry Entry to add.
+     */
+    void add(T entry) {
+        sharedList.add(entry);
+        handOver(entry);
+    }
+
+    /**
+     * Removes entry from the bag.
+     * @param entry Borrowed or reserved entry.
+     * @return {@code true} if entry was removed,
+     * {@code false} if it was neither borrowed nor reserved.
+     */
+    boolean remove(T entry) {
+        if (!entry.compareAndSetState(STATE_IN_USE, STATE_REMOVED)
+                && !entry.compareAndSetState(STATE_RESERVED, STATE_REMOVED)) {
+            return false;
+        }
+        return sharedList.remove(entry);
+    }
+
+    /**
+     * Reserves free entry, so it can't be borrowed until it is returned or removed.
+     * @param entry Entry to reserve.
+     * @return {@code true} if entry was free and is now reserved.
+     */
+    boolean reserve(T entry) {
+        return entry.compareAndSetState(STATE_FREE, STATE_RESERVED);
+    }
+
+    /**
+     * Takes all entries out of the bag regardless of their state.
+     * @return List of removed entries.
+     */
+    List<T> drain() {
+        List<T> entries = new ArrayList<>(sharedList);
+        entries.forEach(entry -> entry.setState(STATE_REMOVED));
+        sharedList.removeAll(entries);
+        return entries;
+    }
+
+    /**
+     * @return Snapshot of all entries in the bag.
+     */
+    List<T> values() {
+        return new ArrayList<>(sharedList);
+    }
+
+    /**
+     * @param state State to count.
+     * @return Number of entries in given state.
+     */
+    int count(int state) {
+        int count = 0;
+        for (T entry : sharedList) {
+            if (entry.getState() == state) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return Number of threads that are waiting for an entry.
+     */
+    int getWaiters() {
+        return waiters.get();
+    }
+
+    /**
+     * @return {@code true} if some threads are queued for a returned entry.
+     */
+    boolean hasQueuedWaiters() {
+        return queued.get() > 0;
+    }
+
+    /**
+     * Offers free entry to waiting threads until one takes it,
+     * somebody else borrows it or there is no one left waiting.
+     * @param entry Free entry.
+     */
+    private void handOver(T entry) {
+        for (int i = 0; waiters.get() > 0; i++) {
+            if (entry.getState() != STATE_FREE || handoffQueue.offer(entry)) {
+                return;
+            }
+            if ((i & 0xff) == 0xff) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(10));
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * Base class of bag entries that holds entry state.
+     */
+    abstract static class Entry {
+
+        private final AtomicInteger state = new AtomicInteger(STATE_FREE);
+
+        int getState() {
+            return state.get();
+        }
+
+        void setState(int newState) {
+            state.set(newState);
+        }
+
+        boolean compareAndSetState(int expected, int newState) {
+            return state.compareAndSet(expected, newState);
+        }
+    }
+}
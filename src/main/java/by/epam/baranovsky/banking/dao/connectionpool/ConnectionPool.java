@@ -2,30 +2,80 @@ package by.epam.baranovsky.banking.dao.connectionpool;
 
 import org.apache.log4j.Logger;
 
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Class that stores and manages JDBC connections to database.
+ * <p>
+ *     There are two pools: the primary one, which is used for all changes in database,
+ *     and the read-only one, connected to a replica of primary database.
+ *     If no replica is configured, both pools are the same instance.
+ * </p>
+ * <p>
+ *     Pool keeps at least {@code minPoolSize} connections open,
+ *     opens new ones on demand up to {@code maxPoolSize}
+ *     and closes connections that stayed idle for longer than {@code idleTimeout},
+ *     as long as there are more than {@code minPoolSize} of them.
+ * </p>
  * @author Baranovsky E. K.
  * @version 1.0.0
  */
 public final class ConnectionPool {
 
     private static final Integer DEFAULT_POOL_SIZE = 5;
+    private static final long DEFAULT_IDLE_TIMEOUT = 600000L;
+    private static final long DEFAULT_HOUSEKEEPING_PERIOD = 30000L;
+    private static final long DEFAULT_ACQUIRE_TIMEOUT = 30000L;
+    private static final long DEFAULT_VALIDATION_THRESHOLD = 5000L;
+    private static final int DEFAULT_VALIDATION_TIMEOUT = 3;
+    private static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+    private static final long DEFAULT_LEAK_DETECTION_THRESHOLD = 0L;
+    private static final int DEFAULT_WARMUP_THREADS = 8;
+    private static final String MBEAN_NAME_PATTERN = "by.epam.baranovsky.banking:type=ConnectionPool,name=%s";
     private static final Logger logger = Logger.getLogger(ConnectionPool.class);
-    /** Singleton instance */
+    /** Singleton instance of primary pool */
     private static volatile ConnectionPool instance = null;
-
-    /**Blocking queue that stores connections that are open and free.*/
-    private BlockingQueue<Connection> freeConnectionQueue;
-    /**Blocking queue that stores connections that are open but taken by other objects.*/
-    private BlockingQueue<Connection> givenAwayConnectionsQueue;
+    /** Singleton instance of replica pool */
+    private static volatile ConnectionPool replicaInstance = null;
+
+    /**Lock-free bag that stores open connections, both free and taken by other objects.*/
+    private final ConnectionBag<PooledConnection> connectionBag = new ConnectionBag<>();
+    /**Number of connections that are currently open, both free and given away.*/
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    /**Statistics of time spent by threads waiting for a connection.*/
+    private final WaitTimeStatistics waitTimeStatistics = new WaitTimeStatistics();
+    /**Number of connection requests that timed out.*/
+    private final AtomicLong timeoutCount = new AtomicLong();
+    /**Number of prepared statements taken from statement caches.*/
+    private final LongAdder statementCacheHits = new LongAdder();
+    /**Number of prepared statements that were not found in statement caches.*/
+    private final LongAdder statementCacheMisses = new LongAdder();
+    /**Name under which pool monitor is registered in MBean server, {@code null} if it is not registered.*/
+    private ObjectName mBeanName;
+    /**Executor that periodically closes idle connections.*/
+    private ScheduledExecutorService housekeeper;
+    /**Name of this pool, used in logs and thread names.*/
+    private final String name;
     /**Name of JDBC driver.*/
     private String driverName;
     /**URL of database to connect.*/
@@ -34,52 +84,164 @@ public final class ConnectionPool {
     private String user;
     /**Database connection password.*/
     private String password;
-    /**Number of connections stored in the pool.*/
-    private int poolSize;
+    /**Number of connections that are kept open even when idle.*/
+    private volatile int minPoolSize;
+    /**Maximal number of connections pool is allowed to open.*/
+    private volatile int maxPoolSize;
+    /**Number of connections opened before pool is ready, the rest of minimum is opened in background.*/
+    private int initialPoolSize;
+    /**Number of threads that open connections in parallel during warm-up.*/
+    private int warmUpThreads;
+    /**Time in milliseconds after which an idle connection above minimum is closed.*/
+    private long idleTimeout;
+    /**Time in milliseconds a thread may wait for a free connection.*/
+    private long acquireTimeout;
+    /**Time in milliseconds a connection may stay unused before it is validated.*/
+    private long validationThreshold;
+    /**Time in seconds to wait for database to respond during validation.*/
+    private int validationTimeout;
+    /**Maximal number of prepared statements cached by each connection, 0 disables caching.*/
+    private int statementCacheSize;
+    /**Time in milliseconds a connection may be held before it is reported as leaked, 0 disables detection.*/
+    private long leakDetectionThreshold;
+    /**Whether to capture stack trace of the code that borrows a connection.*/
+    private boolean captureBorrowStackTrace;
+    /**Period in milliseconds between idle connection checks.*/
+    private long housekeepingPeriod;
 
     /**
-     * Default constructor.
+     * Constructor.
      * <p>
-     *     Retrieves database parameters from database resource bundle.
-     *     If poolsize could not be retrieved, sets it to 5.
+     *     Retrieves pool parameters from database resource bundle.
+     *     Minimal pool size defaults to poolsize parameter or to 5 if it is absent,
+     *     maximal pool size defaults to minimal pool size.
      *     Initializes connection pool on call.
      * </p>
+     * @param name Name of pool.
+     * @param databaseURL URL of database to connect.
+     * @param user Database connection username.
+     * @param password Database connection password.
      * @throws ConnectionPoolException if initialization fails.
      */
-    private ConnectionPool() throws ConnectionPoolException {
+    private ConnectionPool(String name, String databaseURL, String user, String password)
+            throws ConnectionPoolException {
 
         DBResourceManager dbResourceManager = DBResourceManager.getInstance();
+        this.name = name;
         this.driverName = dbResourceManager.getValue(DBParameter.DB_DRIVER);
-        this.databaseURL = dbResourceManager.getValue(DBParameter.DB_URL);
-        this.user = dbResourceManager.getValue(DBParameter.DB_USER);
-        this.password = dbResourceManager.getValue(DBParameter.DB_PASSWORD);
-
-        try {
-            this.poolSize = Integer.parseInt(dbResourceManager.getValue(DBParameter.DB_POOL_SIZE));
-        } catch (NumberFormatException e) {
-            poolSize = DEFAULT_POOL_SIZE;
+        this.databaseURL = databaseURL;
+        this.user = user;
+        this.password = password;
+
+        int poolSize = (int) dbResourceManager.getLongValue(DBParameter.DB_POOL_SIZE, DEFAULT_POOL_SIZE);
+        this.minPoolSize = (int) dbResourceManager.getLongValue(DBParameter.DB_POOL_MIN_SIZE, poolSize);
+        this.maxPoolSize = (int) dbResourceManager.getLongValue(DBParameter.DB_POOL_MAX_SIZE, minPoolSize);
+        this.initialPoolSize = (int) dbResourceManager.getLongValue(DBParameter.DB_POOL_INITIAL_SIZE, minPoolSize);
+        this.warmUpThreads = (int) dbResourceManager.getLongValue(
+                DBParameter.DB_POOL_WARMUP_THREADS, DEFAULT_WARMUP_THREADS);
+        this.idleTimeout = dbResourceManager.getLongValue(
+                DBParameter.DB_POOL_IDLE_TIMEOUT, DEFAULT_IDLE_TIMEOUT);
+        this.acquireTimeout = dbResourceManager.getLongValue(
+                DBParameter.DB_POOL_ACQUIRE_TIMEOUT, DEFAULT_ACQUIRE_TIMEOUT);
+        this.validationThreshold = dbResourceManager.getLongValue(
+                DBParameter.DB_POOL_VALIDATION_THRESHOLD, DEFAULT_VALIDATION_THRESHOLD);
+        this.validationTimeout = (int) dbResourceManager.getLongValue(
+                DBParameter.DB_POOL_VALIDATION_TIMEOUT, DEFAULT_VALIDATION_TIMEOUT);
+        this.statementCacheSize = (int) dbResourceManager.getLongValue(
+                DBParameter.DB_POOL_STATEMENT_CACHE_SIZE, DEFAULT_STATEMENT_CACHE_SIZE);
+        this.leakDetectionThreshold = dbResourceManager.getLongValue(
+                DBParameter.DB_POOL_LEAK_DETECTION_THRESHOLD, DEFAULT_LEAK_DETECTION_THRESHOLD);
+        this.captureBorrowStackTrace = Boolean.parseBoolean(dbResourceManager.getValue(
+                DBParameter.DB_POOL_LEAK_DETECTION_STACKTRACE, Boolean.FALSE.toString()));
+        this.housekeepingPeriod = dbResourceManager.getLongValue(
+                DBParameter.DB_POOL_HOUSEKEEPING_PERIOD, DEFAULT_HOUSEKEEPING_PERIOD);
+
+        if (minPoolSize < 0) {
+            minPoolSize = 0;
         }
+        if (maxPoolSize < Math.max(minPoolSize, 1)) {
+            maxPoolSize = Math.max(minPoolSize, 1);
+        }
+        initialPoolSize = Math.max(0, Math.min(initialPoolSize, minPoolSize));
+        warmUpThreads = Math.max(warmUpThreads, 1);
 
         initPoolData();
     }
 
+    /**
+     * Retrieves primary connection pool, creating it if necessary.
+     * @return Pool of connections to primary database.
+     * @throws ConnectionPoolException if pool initialization fails.
+     */
     public static ConnectionPool getInstance() throws ConnectionPoolException {
         if (instance == null) {
             synchronized (ConnectionPool.class) {
                 if (instance == null) {
-                    instance = new ConnectionPool();
+                    DBResourceManager dbResourceManager = DBResourceManager.getInstance();
+                    instance = new ConnectionPool("primary",
+                            dbResourceManager.getValue(DBParameter.DB_URL),
+                            dbResourceManager.getValue(DBParameter.DB_USER),
+                            dbResourceManager.getValue(DBParameter.DB_PASSWORD));
                 }
             }
         }
         return instance;
     }
 
+    /**
+     * Retrieves read-only connection pool, creating it if necessary.
+     * <p>
+     *     Replica credentials default to primary database credentials.
+     *     If replica URL is not configured, returns primary pool.
+     * </p>
+     * @return Pool of connections to replica database.
+     * @throws ConnectionPoolException if pool initialization fails.
+     */
+    public static ConnectionPool getReplicaInstance() throws ConnectionPoolException {
+        if (replicaInstance == null) {
+            DBResourceManager dbResourceManager = DBResourceManager.getInstance();
+            String replicaURL = dbResourceManager.getValue(DBParameter.DB_REPLICA_URL, "");
+            if (replicaURL.isBlank()) {
+                return getInstance();
+            }
+            synchronized (ConnectionPool.class) {
+                if (replicaInstance == null) {
+                    replicaInstance = new ConnectionPool("replica", replicaURL,
+                            dbResourceManager.getValue(DBParameter.DB_REPLICA_USER,
+                                    dbResourceManager.getValue(DBParameter.DB_USER)),
+                            dbResourceManager.getValue(DBParameter.DB_REPLICA_PASSWORD,
+                                    dbResourceManager.getValue(DBParameter.DB_PASSWORD)));
+                }
+            }
+        }
+        return replicaInstance;
+    }
+
+    /**
+     * Shuts down all pools that were created.
+     */
+    public static void disposeAll() {
+        ConnectionPool primary;
+        ConnectionPool replica;
+        synchronized (ConnectionPool.class) {
+            primary = instance;
+            replica = replicaInstance;
+        }
+        if (replica != null) {
+            replica.dispose();
+        }
+        if (primary != null) {
+            primary.dispose();
+        }
+    }
+
     /**
      * Initializes this connection pool.
      * <p>
      *     Connects to the database via driver,
-     *     created a number of JDBC connections
-     *     equal to poolSize variable.
+     *     opens {@code initialPoolSize} JDBC connections in parallel and waits for them,
+     *     then opens the rest of {@code minPoolSize} connections in background
+     *     and starts idle connection eviction.
      * </p>
      * @throws ConnectionPoolException if driver was not found of if JDBc connection
      * could not be opened.
@@ -90,81 +252,638 @@ public final class ConnectionPool {
 
         try{
             Class.forName(driverName);
-            givenAwayConnectionsQueue = new ArrayBlockingQueue<>(poolSize);
-            freeConnectionQueue = new ArrayBlockingQueue<>(poolSize);
-            for (int i = 0; i < poolSize; i++) {
-                Connection connection = DriverManager.getConnection(databaseURL, user, password);
-                PooledConnection pooledConnection = new PooledConnection(connection);
-                freeConnectionQueue.add(pooledConnection);
-            }
-        } catch (SQLException e) {
-            throw new ConnectionPoolException("SQLException in connectionpool", e);
         } catch (ClassNotFoundException e) {
             throw new ConnectionPoolException("Can't find database driver class", e);
         }
+
+        ExecutorService warmUpExecutor = Executors.newFixedThreadPool(warmUpThreads, runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-warmup-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            warmUp(warmUpExecutor);
+            fillInBackground(warmUpExecutor);
+        } finally {
+            warmUpExecutor.shutdown();
+        }
+
+        housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-housekeeper-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        housekeeper.scheduleWithFixedDelay(this::maintainPool,
+                housekeepingPeriod, housekeepingPeriod, TimeUnit.MILLISECONDS);
+
+        registerMBean();
+    }
+
+    /**
+     * Registers monitor of this pool in platform MBean server.
+     * Failure to register is logged, but does not prevent pool from working.
+     * @see ConnectionPoolMXBean
+     */
+    private void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(String.format(MBEAN_NAME_PATTERN, name));
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(new ConnectionPoolMonitor(this), objectName);
+            mBeanName = objectName;
+        } catch (JMException e) {
+            logger.warn("Unable to register connection pool MBean.", e);
+        }
+    }
+
+    /**
+     * Removes monitor of this pool from platform MBean server.
+     */
+    private void unregisterMBean() {
+        if (mBeanName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(mBeanName);
+        } catch (JMException e) {
+            logger.warn("Unable to unregister connection pool MBean.", e);
+        }
+        mBeanName = null;
+    }
+
+    /**
+     * Opens {@code initialPoolSize} connections in parallel and waits until all of them are open.
+     * @param executor Executor to open connections on.
+     * @throws ConnectionPoolException if any of connections could not be opened.
+     * All opened connections are closed in this case.
+     */
+    private void warmUp(ExecutorService executor) throws ConnectionPoolException {
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < initialPoolSize; i++) {
+            futures.add(executor.submit(() -> {
+                addNewConnection();
+                return null;
+            }));
+        }
+
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            clearConnectionBag();
+            throw new ConnectionPoolException("SQLException in connectionpool", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            clearConnectionBag();
+            throw new ConnectionPoolException("Interrupted while opening connections.", e);
+        }
+
+        logger.info(String.format("Pool '%s' opened %d connections in %d ms.",
+                name, initialPoolSize, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+    }
+
+    /**
+     * Opens the rest of {@code minPoolSize} connections in parallel without waiting for them.
+     * Failures are logged, missing connections are reopened during pool maintenance.
+     * @param executor Executor to open connections on.
+     */
+    private void fillInBackground(ExecutorService executor) {
+        int remaining = minPoolSize - initialPoolSize;
+        if (remaining <= 0) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[remaining];
+        for (int i = 0; i < remaining; i++) {
+            futures[i] = CompletableFuture.runAsync(() -> {
+                try {
+                    addNewConnection();
+                } catch (SQLException e) {
+                    logger.error("Unable to open connection during background warm-up.", e);
+                }
+            }, executor);
+        }
+        CompletableFuture.allOf(futures).thenRun(() -> logger.info(String.format(
+                "Pool '%s' finished background warm-up in %d ms, %d connections open.",
+                name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), totalConnections.get())));
+    }
+
+    /**
+     * Opens a new connection and puts it into the pool as a free one,
+     * unless pool has reached its maximal size.
+     * @throws SQLException if connection could not be opened.
+     */
+    private void addNewConnection() throws SQLException {
+        PooledConnection connection = tryGrow();
+        if (connection != null) {
+            connectionBag.add(connection);
+        }
+    }
+
+    /**
+     * Opens new JDBC connection and wraps it.
+     * @return New instance of PooledConnection.
+     * @throws SQLException if JDBC connection could not be opened.
+     */
+    private PooledConnection openConnection() throws SQLException {
+        Connection connection = DriverManager.getConnection(databaseURL, user, password);
+        return new PooledConnection(connection);
     }
 
     /**
      * Shuts connection pool down.
-     * @see ConnectionPool#clearConnectionQueue()  Clears connections from both queues.
+     * <p>
+     *     Stops idle connection eviction and resets singleton instance,
+     *     so next call to {@link #getInstance()} or {@link #getReplicaInstance()}
+     *     creates a new pool.
+     * </p>
+     * @see ConnectionPool#clearConnectionBag()  Closes all connections.
      */
     public void dispose() {
-        clearConnectionQueue();
+        if (housekeeper != null) {
+            housekeeper.shutdownNow();
+        }
+        unregisterMBean();
+        clearConnectionBag();
+        synchronized (ConnectionPool.class) {
+            if (instance == this) {
+                instance = null;
+            }
+            if (replicaInstance == this) {
+                replicaInstance = null;
+            }
+        }
     }
 
     /**
-     * Closes all connections in both queues.
-     * @see ConnectionPool#closeConnectionsQueue(BlockingQueue)
+     * Closes all connections, both free and taken away.
+     * <p>
+     *     If connection has auto-commit mode disabled,
+     *     commits any changes made in connection and releases any DB locks it had.
+     * </p>
      */
-    private void clearConnectionQueue() {
-        try {
-            closeConnectionsQueue(givenAwayConnectionsQueue);
-            closeConnectionsQueue(freeConnectionQueue);
-        } catch (SQLException e) {
-            logger.error("Error closing the connection.", e);
+    private void clearConnectionBag() {
+        for (PooledConnection connection : connectionBag.drain()) {
+            totalConnections.decrementAndGet();
+            try {
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+                connection.reallyClose();
+            } catch (SQLException e) {
+                logger.error("Error closing the connection.", e);
+            }
         }
     }
 
     /**
      * Borrows connection from the pool.
      * <p>
-     *  Takes an available connection from  freeConnectionQueue.
-     *  If there are none available, waits until there is.
-     *  Adds taken connection to givenAwayConnectionsQueue.
+     *  Takes an available connection from connection bag,
+     *  preferring the one current thread has used last.
+     *  If there are none available and pool has not reached its maximal size,
+     *  opens a new connection. Otherwise waits until a connection is returned,
+     *  but no longer than {@code acquireTimeout}. Waiting threads are served in FIFO order:
+     *  while some threads are waiting, a newly arriving thread neither takes an available
+     *  connection nor keeps a newly opened one, but queues up behind them,
+     *  handing a connection it opened to the longest waiting thread.
+     * </p>
+     * <p>
+     *  A connection that was not used for longer than {@code validationThreshold}
+     *  is validated before being handed out. Broken connections are closed
+     *  and replaced without the caller noticing.
      * </p>
      * @return Instance of Connection that is open.
-     * @throws ConnectionPoolException if connection could not be retrieved.
+     * @throws ConnectionPoolException if connection could not be retrieved
+     * or if waiting for it has timed out.
      */
     public Connection takeConnection() throws ConnectionPoolException {
-        Connection connection;
+        PooledConnection connection;
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(acquireTimeout);
         try {
-            connection = freeConnectionQueue.take();
-            givenAwayConnectionsQueue.add(connection);
+            while (true) {
+                boolean queued = connectionBag.hasQueuedWaiters();
+                connection = queued ? null : connectionBag.poll();
+                if (connection == null) {
+                    PooledConnection grown = tryGrow();
+                    if (grown != null && !queued) {
+                        grown.setState(ConnectionBag.STATE_IN_USE);
+                        connectionBag.add(grown);
+                        connection = grown;
+                        break;
+                    }
+                    if (grown != null) {
+                        connectionBag.add(grown);
+                    }
+                    connection = awaitConnection(deadline - System.nanoTime());
+                }
+                if (isAlive(connection)) {
+                    break;
+                }
+                connectionBag.remove(connection);
+                discardConnection(connection);
+            }
+            waitTimeStatistics.record(System.nanoTime() - start);
+            connection.markBorrowed();
         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             throw new ConnectionPoolException(
                     "Could not take a connection.", e);
+        } catch (SQLException e) {
+            throw new ConnectionPoolException(
+                    "Could not open a new connection.", e);
+        }
+        return connection;
+    }
+
+    /**
+     * Waits for a connection to be returned to the pool.
+     * @param timeoutNanos Time left to wait, in nanoseconds.
+     * @return Connection that was returned to the pool.
+     * @throws InterruptedException if thread was interrupted while waiting.
+     * @throws ConnectionPoolException if no connection was returned within {@code acquireTimeout}.
+     */
+    private PooledConnection awaitConnection(long timeoutNanos)
+            throws InterruptedException, ConnectionPoolException {
+        PooledConnection connection = connectionBag.borrow(timeoutNanos);
+        if (connection == null) {
+            timeoutCount.incrementAndGet();
+            logger.warn(String.format(
+                    "Timed out after %d ms waiting for a %s connection; %d threads waiting, wait times: %s",
+                    acquireTimeout, name, connectionBag.getWaiters(), waitTimeStatistics));
+            throw new ConnectionPoolException(String.format(
+                    "Timed out after %d ms waiting for a connection.", acquireTimeout));
         }
         return connection;
     }
 
     /**
-     * Closes all connections in passed queue.
+     * @return Name of this pool.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return Number of open connections, both free and taken away.
+     */
+    public int getTotalConnections() {
+        return totalConnections.get();
+    }
+
+    /**
+     * @return Number of free connections.
+     */
+    public int getIdleConnections() {
+        return connectionBag.count(ConnectionBag.STATE_FREE);
+    }
+
+    /**
+     * @return Number of connections that are taken away.
+     */
+    public int getActiveConnections() {
+        return connectionBag.count(ConnectionBag.STATE_IN_USE);
+    }
+
+    /**
+     * @return Age of the oldest open connection in milliseconds, 0 if there are none.
+     */
+    public long getOldestConnectionAgeMillis() {
+        long now = System.currentTimeMillis();
+        long oldest = 0;
+        for (PooledConnection connection : connectionBag.values()) {
+            oldest = Math.max(oldest, now - connection.creationTime);
+        }
+        return oldest;
+    }
+
+    /**
+     * @return Average age of open connections in milliseconds, 0 if there are none.
+     */
+    public long getAverageConnectionAgeMillis() {
+        long now = System.currentTimeMillis();
+        List<PooledConnection> connections = connectionBag.values();
+        if (connections.isEmpty()) {
+            return 0;
+        }
+        long total = 0;
+        for (PooledConnection connection : connections) {
+            total += now - connection.creationTime;
+        }
+        return total / connections.size();
+    }
+
+    /**
+     * @return Number of connections that are kept open even when idle.
+     */
+    public int getMinPoolSize() {
+        return minPoolSize;
+    }
+
+    /**
+     * Changes minimal size of the pool.
+     * Missing connections are opened during next pool maintenance.
+     * @param minPoolSize New minimal size, not greater than maximal size.
+     * @throws IllegalArgumentException if size is negative or greater than maximal size.
+     */
+    public synchronized void setMinPoolSize(int minPoolSize) {
+        if (minPoolSize < 0 || minPoolSize > maxPoolSize) {
+            throw new IllegalArgumentException(String.format(
+                    "Minimal pool size must be between 0 and %d.", maxPoolSize));
+        }
+        logger.info(String.format("Pool '%s' minimal size changed from %d to %d.",
+                name, this.minPoolSize, minPoolSize));
+        this.minPoolSize = minPoolSize;
+    }
+
+    /**
+     * @return Maximal number of connections pool is allowed to open.
+     */
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    /**
+     * Changes maximal size of the pool.
      * <p>
-     *     If connection has auto-commit mode disabled,
-     *     commits any changes made in connection and releases any DB locks it had.
+     *     If pool shrinks, excess idle connections are closed immediately
+     *     and excess taken away connections are closed when they are returned.
+     * </p>
+     * @param maxPoolSize New maximal size, not less than minimal size and not less than 1.
+     * @throws IllegalArgumentException if size is less than minimal size or less than 1.
+     */
+    public synchronized void setMaxPoolSize(int maxPoolSize) {
+        if (maxPoolSize < Math.max(minPoolSize, 1)) {
+            throw new IllegalArgumentException(String.format(
+                    "Maximal pool size must be at least %d.", Math.max(minPoolSize, 1)));
+        }
+        logger.info(String.format("Pool '%s' maximal size changed from %d to %d.",
+                name, this.maxPoolSize, maxPoolSize));
+        this.maxPoolSize = maxPoolSize;
+        for (PooledConnection connection : connectionBag.values()) {
+            if (totalConnections.get() <= maxPoolSize) {
+                break;
+            }
+            if (connectionBag.reserve(connection) && connectionBag.remove(connection)) {
+                discardConnection(connection);
+            }
+        }
+    }
+
+    /**
+     * Closes all free connections above minimal pool size, regardless of how long they were idle.
+     * @return Number of closed connections.
+     */
+    public int evictIdleConnections() {
+        return evictConnectionsIdleFor(0);
+    }
+
+    /**
+     * @return Statistics of time spent by threads waiting for a connection.
+     */
+    public WaitTimeStatistics getWaitTimeStatistics() {
+        return waitTimeStatistics;
+    }
+
+    /**
+     * @return Number of threads currently waiting for a connection.
+     */
+    public int getWaitingThreads() {
+        return connectionBag.getWaiters();
+    }
+
+    /**
+     * @return Number of connection requests that timed out since pool was created.
+     */
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    /**
+     * @return Number of prepared statements taken from statement caches since pool was created.
+     */
+    public long getStatementCacheHits() {
+        return statementCacheHits.sum();
+    }
+
+    /**
+     * @return Number of prepared statements that had to be prepared anew since pool was created.
+     */
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.sum();
+    }
+
+    /**
+     * Opens a new connection if pool is below its maximal size.
+     * @return New connection or {@code null} if pool is already full.
+     * @throws SQLException if connection could not be opened.
+     */
+    private PooledConnection tryGrow() throws SQLException {
+        int current;
+        do {
+            current = totalConnections.get();
+            if (current >= maxPoolSize) {
+                return null;
+            }
+        } while (!totalConnections.compareAndSet(current, current + 1));
+
+        try {
+            return openConnection();
+        } catch (SQLException e) {
+            totalConnections.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Checks if connection is still usable.
+     * <p>
+     *     Connections used more recently than {@code validationThreshold}
+     *     are trusted without a round trip to database.
      * </p>
-     * @param queue The queue of JDBC connections to clear.
-     * @throws SQLException if closing connection failed, or if committing was unsuccessful.
-     */
-    private void closeConnectionsQueue(BlockingQueue<Connection> queue)
-            throws SQLException {
-        Connection connection;
-        while ((connection = queue.poll()) != null) {
-            if (!connection.getAutoCommit()) {
-                connection.commit();
+     * @param connection Connection to check.
+     * @return {@code true} if connection is usable, {@code false} otherwise.
+     */
+    private boolean isAlive(PooledConnection connection) {
+        if (System.currentTimeMillis() - connection.lastValidationTime < validationThreshold) {
+            return true;
+        }
+        return validate(connection);
+    }
+
+    /**
+     * Validates connection using {@link Connection#isValid(int)}.
+     * @param connection Connection to validate.
+     * @return {@code true} if database has responded in time, {@code false} otherwise.
+     */
+    private boolean validate(PooledConnection connection) {
+        try {
+            if (connection.connection.isValid(validationTimeout)) {
+                connection.lastValidationTime = System.currentTimeMillis();
+                return true;
             }
-            ((PooledConnection) connection).reallyClose();
+        } catch (SQLException e) {
+            logger.debug("Connection validation failed.", e);
         }
+        logger.warn("Discarding broken connection.");
+        return false;
+    }
+
+    /**
+     * Closes connection that is no longer usable and removes it from the pool.
+     * @param connection Connection to discard. Must be already removed from connection bag.
+     */
+    private void discardConnection(PooledConnection connection) {
+        totalConnections.decrementAndGet();
+        try {
+            connection.reallyClose();
+        } catch (SQLException e) {
+            logger.debug("Error closing broken connection.", e);
+        }
+    }
+
+    /**
+     * Periodic pool maintenance.
+     * <p>
+     *     Closes idle connections, validates connections that stayed unused
+     *     for longer than {@code validationThreshold}
+     *     and reopens connections if there are less than {@code minPoolSize} of them.
+     * </p>
+     */
+    private void maintainPool() {
+        try {
+            evictConnectionsIdleFor(idleTimeout);
+            validateIdleConnections();
+            fillPool();
+            detectLeaks();
+        } catch (RuntimeException e) {
+            logger.error("Connection pool maintenance failed.", e);
+        }
+    }
+
+    /**
+     * Validates free connections that were not used for longer than {@code validationThreshold}.
+     * <p>
+     *     Connection is reserved while being validated,
+     *     so no other thread can take it. Broken connections are discarded.
+     * </p>
+     */
+    private void validateIdleConnections() {
+        long now = System.currentTimeMillis();
+        for (PooledConnection connection : connectionBag.values()) {
+            if (now - connection.lastValidationTime < validationThreshold
+                    || !connectionBag.reserve(connection)) {
+                continue;
+            }
+            if (validate(connection)) {
+                connectionBag.requite(connection);
+            } else if (connectionBag.remove(connection)) {
+                discardConnection(connection);
+            }
+        }
+    }
+
+    /**
+     * Opens connections until pool has at least {@code minPoolSize} of them.
+     */
+    private void fillPool() {
+        while (totalConnections.get() < minPoolSize) {
+            try {
+                addNewConnection();
+            } catch (SQLException e) {
+                logger.error("Unable to open connection to refill the pool.", e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Logs connections that were held for longer than {@code leakDetectionThreshold}.
+     * Every borrow is reported only once.
+     */
+    private void detectLeaks() {
+        if (leakDetectionThreshold <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (PooledConnection connection : connectionBag.values()) {
+            if (connection.getState() == ConnectionBag.STATE_IN_USE
+                    && !connection.leakReported
+                    && now - connection.borrowTime >= leakDetectionThreshold) {
+                connection.leakReported = true;
+                logger.warn("Possible connection leak: " + connection.describeBorrow(now),
+                        connection.borrowSite);
+            }
+        }
+    }
+
+    /**
+     * Builds report of all connections that are currently taken away.
+     * <p>
+     *     Report contains the thread that took each connection, how long ago it did
+     *     and, if stack trace capturing is enabled, where the connection was taken.
+     *     Connections held longer than leak detection threshold are marked as suspected leaks.
+     * </p>
+     * @return Human-readable report, one connection per paragraph.
+     */
+    public String getLeakReport() {
+        long now = System.currentTimeMillis();
+        StringBuilder report = new StringBuilder();
+        for (PooledConnection connection : connectionBag.values()) {
+            if (connection.getState() != ConnectionBag.STATE_IN_USE) {
+                continue;
+            }
+            if (leakDetectionThreshold > 0 && now - connection.borrowTime >= leakDetectionThreshold) {
+                report.append("[SUSPECTED LEAK] ");
+            }
+            report.append(connection.describeBorrow(now)).append(System.lineSeparator());
+            if (connection.borrowSite != null) {
+                for (StackTraceElement element : connection.borrowSite.getStackTrace()) {
+                    report.append("\tat ").append(element).append(System.lineSeparator());
+                }
+            }
+            report.append(System.lineSeparator());
+        }
+        return report.length() == 0 ? "No connections are taken away." : report.toString();
+    }
+
+    /**
+     * Closes connections that stayed free
+     * for longer than given time, leaving at least {@code minPoolSize}
+     * connections open.
+     * @param minIdleTime Time in milliseconds connection has to be idle to be closed.
+     * @return Number of closed connections.
+     */
+    private int evictConnectionsIdleFor(long minIdleTime) {
+        long now = System.currentTimeMillis();
+        int evicted = 0;
+        for (PooledConnection connection : connectionBag.values()) {
+            if (totalConnections.get() <= minPoolSize) {
+                break;
+            }
+            if (now - connection.lastReleaseTime < minIdleTime
+                    || !connectionBag.reserve(connection)) {
+                continue;
+            }
+            if (connectionBag.remove(connection)) {
+                totalConnections.decrementAndGet();
+                evicted++;
+                try {
+                    connection.reallyClose();
+                } catch (SQLException e) {
+                    logger.warn("Error closing idle connection.", e);
+                }
+            }
+        }
+        return evicted;
     }
 
     /**
@@ -172,9 +891,25 @@ public final class ConnectionPool {
      * @author Baranovsky E. K.
      * @version 1.0.0
      */
-    private class PooledConnection implements Connection {
+    private class PooledConnection extends ConnectionBag.Entry implements Connection {
         /**Connection that is wrapped.*/
         private Connection connection;
+        /**Time in milliseconds when connection was opened.*/
+        private final long creationTime = System.currentTimeMillis();
+        /**Time in milliseconds when connection was last returned to the pool.*/
+        private volatile long lastReleaseTime;
+        /**Time in milliseconds when connection was last known to be usable.*/
+        private volatile long lastValidationTime;
+        /**Time in milliseconds when connection was last taken away.*/
+        private volatile long borrowTime;
+        /**Name of the thread that took connection away.*/
+        private volatile String borrowThread;
+        /**Stack trace of the code that took connection away, {@code null} if not captured.*/
+        private volatile Throwable borrowSite;
+        /**Whether current borrow was already reported as a leak.*/
+        private volatile boolean leakReported;
+        /**Cache of prepared statements, {@code null} if caching is disabled.*/
+        private final StatementCache statementCache;
 
         /**
          * Constructor that accept an instance of connection.
@@ -185,14 +920,42 @@ public final class ConnectionPool {
         public PooledConnection(Connection c) throws SQLException {
             this.connection = c;
             this.connection.setAutoCommit(true);
+            this.lastReleaseTime = System.currentTimeMillis();
+            this.lastValidationTime = lastReleaseTime;
+            this.statementCache = statementCacheSize > 0
+                    ? new StatementCache(c, this, statementCacheSize, statementCacheHits, statementCacheMisses)
+                    : null;
+        }
+
+        /**
+         * Records who took connection away and when.
+         */
+        private void markBorrowed() {
+            borrowTime = System.currentTimeMillis();
+            borrowThread = Thread.currentThread().getName();
+            borrowSite = captureBorrowStackTrace ? new Throwable("Connection borrowed here") : null;
+            leakReported = false;
+        }
+
+        /**
+         * @param now Current time in milliseconds.
+         * @return Description of current borrow of this connection.
+         */
+        private String describeBorrow(long now) {
+            return String.format("connection taken by thread '%s' %d ms ago",
+                    borrowThread, now - borrowTime);
         }
 
         /**
          * Releases {@code connection}'s database and JDBC resources
          * immediately instead of waiting for them to be automatically released.
+         * Closes all cached statements.
          * @throws SQLException if DB access error occurs.
          */
         public void reallyClose() throws SQLException {
+            if (statementCache != null) {
+                statementCache.clear();
+            }
             connection.close();
         }
 
@@ -205,29 +968,38 @@ public final class ConnectionPool {
         }
 
         /**
-         * Puts {@code connection} that's been taken away  back to freeConnectionsQueue.
+         * Returns {@code connection} that's been taken away back to the pool.
+         * <p>
+         *     If {@code connection} was closed for good while being taken away
+         *     (e.g. because of a network failure), it is removed from the pool instead.
+         * </p>
          * @throws SQLException if: <ul>
-         *     <li>Connection was closed for good.</li>
+         *     <li>Connection was closed for good and is not taken away.</li>
          *     <li>{@code connection} was not taken away</li>
-         *     <li>Removing {@code connection} from queue of given away connections failed</li>
-         *     <li>Adding {@code connection} to free connection queue failed</li>
          * </ul>
          */
         @Override
         public void close() throws SQLException {
             if (connection.isClosed()) {
+                if (connectionBag.remove(this)) {
+                    discardConnection(this);
+                    return;
+                }
                 throw new SQLException("Attempting to close a closed connection.");
             }
+            if (getState() != ConnectionBag.STATE_IN_USE) {
+                throw new SQLException("Attempting to return a connection that was not taken away.");
+            }
             if (connection.isReadOnly()) {
                 connection.setReadOnly(false);
             }
-            if (!givenAwayConnectionsQueue.remove(this)) {
-                throw new SQLException("Error deleting connection from the given away connections pool.");
-            }
-            if (!freeConnectionQueue.offer(this)) {
-                throw new SQLException(
-                        "Error allocating connection in the pool.");
+            if (totalConnections.get() > maxPoolSize && connectionBag.remove(this)) {
+                discardConnection(this);
+                return;
             }
+            lastReleaseTime = System.currentTimeMillis();
+            lastValidationTime = lastReleaseTime;
+            connectionBag.requite(this);
         }
 
         /**
@@ -452,19 +1224,24 @@ public final class ConnectionPool {
 
         /**
          * {@inheritDoc}
+         * <p>Takes statement from statement cache if caching is enabled.</p>
          */
         @Override
         public PreparedStatement prepareStatement(String sql)
                 throws SQLException {
-            return connection.prepareStatement(sql);
+            return prepareStatement(sql, Statement.NO_GENERATED_KEYS);
         }
 
         /**
          * {@inheritDoc}
+         * <p>Takes statement from statement cache if caching is enabled.</p>
          */
         @Override
         public PreparedStatement prepareStatement(String sql,
                                                   int autoGeneratedKeys) throws SQLException {
+            if (statementCache != null) {
+                return statementCache.prepare(sql, autoGeneratedKeys);
+            }
             return connection.prepareStatement(sql, autoGeneratedKeys);
         }
 
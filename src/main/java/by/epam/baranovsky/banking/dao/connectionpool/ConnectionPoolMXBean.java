@@ -0,0 +1,113 @@
+package by.epam.baranovsky.banking.dao.connectionpool;
+
+/**
+ * Management interface of a connection pool,
+ * registered in platform MBean server as
+ * {@code by.epam.baranovsky.banking:type=ConnectionPool,name=<pool name>}.
+ * @author Baranovsky E. K.
+ * @version 1.0.0
+ */
+public interface ConnectionPoolMXBean {
+
+    /**
+     * @return Number of open connections, both idle and active.
+     */
+    int getTotalConnections();
+
+    /**
+     * @return Number of connections that are free.
+     */
+    int getIdleConnections();
+
+    /**
+     * @return Number of connections that are taken away.
+     */
+    int getActiveConnections();
+
+    /**
+     * @return Number of threads waiting for a connection.
+     */
+    int getWaitingThreads();
+
+    /**
+     * @return Number of connections handed out since pool was created.
+     */
+    long getTotalBorrows();
+
+    /**
+     * @return Number of connection requests that timed out since pool was created.
+     */
+    long getTotalTimeouts();
+
+    /**
+     * @return Median time of waiting for a connection, in milliseconds.
+     */
+    double getBorrowLatencyP50Millis();
+
+    /**
+     * @return 99th percentile of time of waiting for a connection, in milliseconds.
+     */
+    double getBorrowLatencyP99Millis();
+
+    /**
+     * @return Longest time of waiting for a connection, in milliseconds.
+     */
+    double getBorrowLatencyMaxMillis();
+
+    /**
+     * @return Age of the oldest open connection, in milliseconds.
+     */
+    long getOldestConnectionAgeMillis();
+
+    /**
+     * @return Average age of open connections, in milliseconds.
+     */
+    long getAverageConnectionAgeMillis();
+
+    /**
+     * @return Number of prepared statements taken from statement caches.
+     */
+    long getStatementCacheHits();
+
+    /**
+     * @return Number of prepared statements that had to be prepared anew.
+     */
+    long getStatementCacheMisses();
+
+    /**
+     * @return Number of connections kept open even when idle.
+     */
+    int getMinPoolSize();
+
+    /**
+     * @param minPoolSize New minimal number of open connections.
+     */
+    void setMinPoolSize(int minPoolSize);
+
+    /**
+     * @return Maximal number of connections pool may open.
+     */
+    int getMaxPoolSize();
+
+    /**
+     * @param maxPoolSize New maximal number of open connections.
+     */
+    void setMaxPoolSize(int maxPoolSize);
+
+    /**
+     * Closes all idle connections above minimal pool size, regardless of how long they were idle.
+     * @return Number of closed connections.
+     */
+    int evictIdleConnections();
+
+    /**
+     * @return Report of connections that are taken away.
+     * @see ConnectionPool#getLeakReport()
+     */
+    String getLeakReport();
+
+    /**
+     * Resets statistics of time spent waiting for a connection.
+     */
+    void resetBorrowLatencyStatistics();
+}
@@ -0,0 +1,116 @@
+package by.epam.baranovsky.banking.dao.connectionpool;
+
+/**
+ * Implementation of ConnectionPoolMXBean that exposes a connection pool via JMX.
+ * @author Baranovsky E. K.
+ * @version 1.0.0
+ */
+class ConnectionPoolMonitor implements ConnectionPoolMXBean {
+
+    /** Monitored pool. */
+    private final ConnectionPool pool;
+
+    ConnectionPoolMonitor(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public int getTotalConnections() {
+        return pool.getTotalConnections();
+    }
+
+    @Override
+    public int getIdleConnections() {
+        return pool.getIdleConnections();
+    }
+
+    @Override
+    public int getActiveConnections() {
+        return pool.getActiveConnections();
+    }
+
+    @Override
+    public int getWaitingThreads() {
+        return pool.getWaitingThreads();
+    }
+
+    @Override
+    public long getTotalBorrows() {
+        return pool.getWaitTimeStatistics().getCount();
+    }
+
+    @Override
+    public long getTotalTimeouts() {
+        return pool.getTimeoutCount();
+    }
+
+    @Override
+    public double getBorrowLatencyP50Millis() {
+        return pool.getWaitTimeStatistics().getPercentileMillis(50);
+    }
+
+    @Override
+    public double getBorrowLatencyP99Millis() {
+        return pool.getWaitTimeStatistics().getPercentileMillis(99);
+    }
+
+    @Override
+    public double getBorrowLatencyMaxMillis() {
+        return pool.getWaitTimeStatistics().getMaxMillis();
+    }
+
+    @Override
+    public long getOldestConnectionAgeMillis() {
+        return pool.getOldestConnectionAgeMillis();
+    }
+
+    @Override
+    public long getAverageConnectionAgeMillis() {
+        return pool.getAverageConnectionAgeMillis();
+    }
+
+    @Override
+    public long getStatementCacheHits() {
+        return pool.getStatementCacheHits();
+    }
+
+    @Override
+    public long getStatementCacheMisses() {
+        return pool.getStatementCacheMisses();
+    }
+
+    @Override
+    public int getMinPoolSize() {
+        return pool.getMinPoolSize();
+    }
+
+    @Override
+    public void setMinPoolSize(int minPoolSize) {
+        pool.setMinPoolSize(minPoolSize);
+    }
+
+    @Override
+    public int getMaxPoolSize() {
+        return pool.getMaxPoolSize();
+    }
+
+    @Override
+    public void setMaxPoolSize(int maxPoolSize) {
+        pool.setMaxPoolSize(maxPoolSize);
+    }
+
+    @Override
+    public int evictIdleConnections() {
+        return pool.evictIdleConnections();
+    }
+
+    @Override
+    public String getLeakReport() {
+        return pool.getLeakReport();
+    }
+
+    @Override
+    public void resetBorrowLatencyStatistics() {
+        pool.getWaitTimeStatistics().reset();
+    }
+}
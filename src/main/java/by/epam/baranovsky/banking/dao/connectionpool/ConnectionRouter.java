@@ -0,0 +1,276 @@
+package by.epam.baranovsky.banking.dao.connectionpool;
+
+import org.apache.log4j.Logger;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Utility class that decides which connection pool serves a statement.
+ * <p>
+ *     Reads are served by replica pool and writes by primary pool.
+ *     Once current thread has written something, or was explicitly pinned,
+ *     its reads go to primary pool too, so it always sees its own changes
+ *     despite replication lag. Pin is held until {@link #reset()} is called,
+ *     which should be done at the end of every request.
+ * </p>
+ * <p>
+ *     Within a request scope every pool hands out at most one connection per thread:
+ *     the first statement binds a connection to the thread and all subsequent
+ *     statements reuse it instead of borrowing from the pool again.
+ *     Bound connections ignore {@code close()} and are returned to their pools
+ *     only when the scope ends.
+ * </p>
+ * @author Baranovsky E. K.
+ * @version 1.0.0
+ * @see ConnectionPool#getReplicaInstance()
+ */
+public final class ConnectionRouter {
+
+    private static final long DEFAULT_PIN_WINDOW = 5000L;
+    private static final Logger logger = Logger.getLogger(ConnectionRouter.class);
+
+    /** Time in milliseconds after a write during which reads of the same user go to primary. */
+    private static final long PIN_WINDOW = DBResourceManager.getInstance()
+            .getLongValue(DBParameter.DB_REPLICA_PIN_WINDOW, DEFAULT_PIN_WINDOW);
+
+    /** Whether reads of current thread go to primary pool. */
+    private static final ThreadLocal<Boolean> pinnedToPrimary = ThreadLocal.withInitial(() -> false);
+    /** Whether current thread has written to primary database since last reset. */
+    private static final ThreadLocal<Boolean> written = ThreadLocal.withInitial(() -> false);
+    /** Number of write connections taken by current thread. Never reset, only compared. */
+    private static final ThreadLocal<long[]> writeCount = ThreadLocal.withInitial(() -> new long[1]);
+    /** Connections bound to current thread by pool, {@code null} if there is no request scope. */
+    private static final ThreadLocal<Map<ConnectionPool, Connection>> boundConnections = new ThreadLocal<>();
+
+    private ConnectionRouter() {}
+
+    /**
+     * Takes a connection for SELECT statements.
+     * @return Connection from replica pool, or from primary pool if current thread is pinned to it.
+     * @throws ConnectionPoolException if connection could not be retrieved.
+     */
+    public static Connection takeReadConnection() throws ConnectionPoolException {
+        if (pinnedToPrimary.get()) {
+            return takeConnection(ConnectionPool.getInstance());
+        }
+        return takeConnection(ConnectionPool.getReplicaInstance());
+    }
+
+    /**
+     * Takes a connection for data manipulation statements
+     * and pins subsequent reads of current thread to primary pool.
+     * @return Connection from primary pool.
+     * @throws ConnectionPoolException if connection could not be retrieved.
+     */
+    public static Connection takeWriteConnection() throws ConnectionPoolException {
+        pinnedToPrimary.set(true);
+        written.set(true);
+        writeCount.get()[0]++;
+        return takeConnection(ConnectionPool.getInstance());
+    }
+
+    /**
+     * Marks current thread as having written to primary database
+     * and pins its subsequent reads to primary pool,
+     * for writes that were done on its behalf by another thread.
+     */
+    public static void markWritten() {
+        pinnedToPrimary.set(true);
+        written.set(true);
+        writeCount.get()[0]++;
+    }
+
+    /**
+     * Starts request scope on current thread.
+     * Until {@link #endRequestScope()} is called, connections are bound to this thread.
+     */
+    public static void beginRequestScope() {
+        boundConnections.set(new IdentityHashMap<>());
+    }
+
+    /**
+     * Ends request scope on current thread.
+     * <p>
+     *     Returns all bound connections to their pools,
+     *     rolling back transactions that were left unfinished,
+     *     and resets routing of current thread.
+     * </p>
+     * @see #reset()
+     */
+    public static void endRequestScope() {
+        Map<ConnectionPool, Connection> bound = boundConnections.get();
+        boundConnections.remove();
+        reset();
+        if (bound == null) {
+            return;
+        }
+        for (Connection connection : bound.values()) {
+            try {
+                if (!connection.isClosed() && !connection.getAutoCommit()) {
+                    logger.warn("Rolling back transaction left unfinished at the end of request.");
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
+                connection.close();
+            } catch (SQLException e) {
+                logger.error("Unable to release connection bound to request.", e);
+            }
+        }
+    }
+
+    /**
+     * Returns connections bound to current thread to their pools,
+     * except those with an unfinished transaction, so that thread does not
+     * hold them while waiting for something other than DB.
+     * Request scope goes on: subsequent statements bind new connections.
+     */
+    public static void releaseBoundConnections() {
+        Map<ConnectionPool, Connection> bound = boundConnections.get();
+        if (bound == null) {
+            return;
+        }
+        Iterator<Connection> iterator = bound.values().iterator();
+        while (iterator.hasNext()) {
+            Connection connection = iterator.next();
+            if (isInTransaction(connection)) {
+                continue;
+            }
+            iterator.remove();
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.error("Unable to release connection bound to request.", e);
+            }
+        }
+    }
+
+    /**
+     * Takes connection from pool, or reuses the one bound to current thread.
+     * @param pool Pool to take connection from.
+     * @return Pooled connection outside of request scope,
+     * a non-closing view of bound connection within it.
+     * @throws ConnectionPoolException if connection could not be retrieved.
+     */
+    private static Connection takeConnection(ConnectionPool pool) throws ConnectionPoolException {
+        Map<ConnectionPool, Connection> bound = boundConnections.get();
+        if (bound == null) {
+            return pool.takeConnection();
+        }
+
+        Connection connection = bound.get(pool);
+        if (connection != null && isBroken(connection)) {
+            bound.remove(pool);
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.debug("Unable to release broken connection.", e);
+            }
+            connection = null;
+        }
+        if (connection == null) {
+            connection = pool.takeConnection();
+            bound.put(pool, connection);
+        }
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new BoundConnectionHandler(connection));
+    }
+
+    private static boolean isInTransaction(Connection connection) {
+        try {
+            return !connection.isClosed() && !connection.getAutoCommit();
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static boolean isBroken(Connection connection) {
+        try {
+            return connection.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Makes subsequent reads of current thread go to primary pool.
+     */
+    public static void pinToPrimary() {
+        pinnedToPrimary.set(true);
+    }
+
+    /**
+     * Pins current thread to primary pool if the last write was recent enough
+     * for replica to possibly not have received it yet.
+     * @param lastWriteTime Time of last write in milliseconds, may be {@code null}.
+     */
+    public static void pinIfRecentlyWritten(Long lastWriteTime) {
+        if (lastWriteTime != null && System.currentTimeMillis() - lastWriteTime < PIN_WINDOW) {
+            pinnedToPrimary.set(true);
+        }
+    }
+
+    /**
+     * @return {@code true} if current thread has written to database since last reset.
+     */
+    public static boolean hasWritten() {
+        return written.get();
+    }
+
+    /**
+     * Allows to detect that data could have been changed by current thread
+     * since some moment, e.g. to invalidate data cached since then.
+     * @return Number of write connections taken by current thread so far.
+     */
+    public static long getWriteCount() {
+        return writeCount.get()[0];
+    }
+
+    /**
+     * Removes pin and write mark of current thread.
+     */
+    public static void reset() {
+        pinnedToPrimary.remove();
+        written.remove();
+    }
+
+    /**
+     * Handler of bound connection proxy that ignores closing.
+     */
+    private static class BoundConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+
+        BoundConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    return null;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
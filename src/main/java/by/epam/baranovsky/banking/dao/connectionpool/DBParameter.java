@@ -12,7 +12,33 @@ public final class DBParameter {
     public static final String DB_URL = "db.url";
     public static final String DB_USER = "db.user";
     public static final String DB_PASSWORD = "db.password";
+    public static final String DB_REPLICA_URL = "db.replica.url";
+    public static final String DB_REPLICA_USER = "db.replica.user";
+    public static final String DB_REPLICA_PASSWORD = "db.replica.password";
+    public static final String DB_REPLICA_PIN_WINDOW = "db.replica.pin.window";
     public static final String DB_POOL_SIZE  = "db.poolsize";
+    public static final String DB_POOL_MIN_SIZE = "db.pool.minsize";
+    public static final String DB_POOL_MAX_SIZE = "db.pool.maxsize";
+    public static final String DB_POOL_INITIAL_SIZE = "db.pool.initial.size";
+    public static final String DB_POOL_WARMUP_THREADS = "db.pool.warmup.threads";
+    public static final String DB_POOL_IDLE_TIMEOUT = "db.pool.idle.timeout";
+    public static final String DB_POOL_ACQUIRE_TIMEOUT = "db.pool.acquire.timeout";
+    public static final String DB_POOL_VALIDATION_THRESHOLD = "db.pool.validation.threshold";
+    public static final String DB_POOL_VALIDATION_TIMEOUT = "db.pool.validation.timeout";
+    public static final String DB_POOL_STATEMENT_CACHE_SIZE = "db.pool.statement.cache.size";
+    public static final String DB_POOL_LEAK_DETECTION_THRESHOLD = "db.pool.leak.detection.threshold";
+    public static final String DB_POOL_LEAK_DETECTION_STACKTRACE = "db.pool.leak.detection.stacktrace";
+    public static final String DB_POOL_HOUSEKEEPING_PERIOD = "db.pool.housekeeping.period";
+    public static final String DB_FETCH_SIZE = "db.fetch.size";
+    public static final String DB_BATCH_SIZE = "db.batch.size";
+    public static final String DB_IN_LIST_SIZE = "db.in.list.size";
+    public static final String DB_GROUP_COMMIT_ENABLED = "db.group.commit.enabled";
+    public static final String DB_GROUP_COMMIT_BATCH_SIZE = "db.group.commit.batch.size";
+    public static final String DB_GROUP_COMMIT_MAX_DELAY = "db.group.commit.max.delay";
+    public static final String DB_TRANSACTION_RETRIES = "db.transaction.retries";
+    public static final String DB_TRANSACTION_RETRY_BACKOFF = "db.transaction.retry.backoff";
+    public static final String DB_ACCOUNT_LOCKS_ENABLED = "db.account.locks.enabled";
+    public static final String DB_ACCOUNT_LOCKS_STRIPES = "db.account.locks.stripes";
 
     private DBParameter(){}
 }
@@ -24,4 +24,29 @@ public class DBResourceManager {
         return resourceBundle.getString(key);
     }
 
+    /**
+     * Retrieves value of optional parameter.
+     * @param key Name of parameter.
+     * @param defaultValue Value to return if bundle has no such parameter.
+     * @return Value of parameter or {@code defaultValue} if it is absent.
+     */
+    public String getValue(String key, String defaultValue) {
+        return resourceBundle.containsKey(key) ? resourceBundle.getString(key) : defaultValue;
+    }
+
+    /**
+     * Retrieves value of optional numeric parameter.
+     * @param key Name of parameter.
+     * @param defaultValue Value to return if bundle has no such parameter
+     *                     or if its value is not a number.
+     * @return Value of parameter or {@code defaultValue}.
+     */
+    public long getLongValue(String key, long defaultValue) {
+        try {
+            return Long.parseLong(getValue(key, String.valueOf(defaultValue)).trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
 }
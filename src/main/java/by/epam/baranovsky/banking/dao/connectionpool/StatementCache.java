@@ -0,0 +1,249 @@
+package by.epam.baranovsky.banking.dao.connectionpool;
+
+import org.apache.log4j.Logger;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache of prepared statements of a single pooled connection.
+ * <p>
+ *     Statements are keyed by SQL text and auto-generated keys flag.
+ *     Statement handed out by the cache is a proxy, whose {@code close()}
+ *     puts underlying statement back into the cache instead of closing it.
+ *     Statement that is in use is not present in the cache, so if the same SQL
+ *     is prepared twice at once, the second statement is prepared anew.
+ * </p>
+ * <p>
+ *     Fetch size, fetch direction, row and field size limits and query timeout
+ *     set by a borrower are reset when statement is returned. Statement whose
+ *     other settings were changed, e.g. cursor name or escape processing,
+ *     is closed instead of being cached. Result sets a borrower left open
+ *     are closed before statement is put back, so that an idle cached statement
+ *     does not hold a server-side cursor.
+ * </p>
+ * <p>
+ *     Cache is not thread-safe, as connection is used by one thread at a time.
+ * </p>
+ * @author Baranovsky E. K.
+ * @version 1.0.0
+ */
+class StatementCache {
+
+    private static final Logger logger = Logger.getLogger(StatementCache.class);
+    /** Statement methods whose result sets are closed when statement is returned. */
+    private static final Set<String> RESULT_SET_METHODS = Set.of(
+            "executeQuery", "getResultSet", "getGeneratedKeys");
+    /** Statement settings that are reset to their defaults when statement is returned. */
+    private static final Set<String> RESETTABLE_SETTINGS = Set.of(
+            "setFetchSize", "setFetchDirection", "setMaxRows", "setLargeMaxRows",
+            "setMaxFieldSize", "setQueryTimeout");
+
+    /** Connection that statements are prepared on. */
+    private final Connection connection;
+    /** Pooled connection that is returned by {@code getConnection()} of cached statements. */
+    private final Connection owner;
+    /** Free statements in access order. */
+    private final Map<StatementKey, PreparedStatement> statements;
+    /** Number of statements taken from cache. */
+    private final LongAdder hits;
+    /** Number of statements that had to be prepared. */
+    private final LongAdder misses;
+
+    /**
+     * Constructor.
+     * @param connection Physical connection to prepare statements on.
+     * @param owner Pooled connection that wraps {@code connection}.
+     * @param maxSize Maximal number of free statements kept in cache.
+     * @param hits Counter of cache hits, shared by all connections of a pool.
+     * @param misses Counter of cache misses, shared by all connections of a pool.
+     */
+    StatementCache(Connection connection, Connection owner, int maxSize,
+                   LongAdder hits, LongAdder misses) {
+        this.connection = connection;
+        this.owner = owner;
+        this.hits = hits;
+        this.misses = misses;
+        this.statements = new LinkedHashMap<>(maxSize, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<StatementKey, PreparedStatement> eldest) {
+                if (size() > maxSize) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Retrieves statement from cache or prepares a new one.
+     * @param sql SQL statement text.
+     * @param autoGeneratedKeys Auto-generated keys flag,
+     *                          as in {@link Connection#prepareStatement(String, int)}.
+     * @return Prepared statement whose {@code close()} returns it to the cache.
+     * @throws SQLException if statement could not be prepared.
+     */
+    PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        StatementKey key = new StatementKey(sql, autoGeneratedKeys);
+        PreparedStatement statement = statements.remove(key);
+        if (statement == null) {
+            misses.increment();
+            statement = connection.prepareStatement(sql, autoGeneratedKeys);
+        } else {
+            hits.increment();
+        }
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                new CachedStatementHandler(key, statement));
+    }
+
+    /**
+     * Closes all cached statements.
+     */
+    void clear() {
+        List<PreparedStatement> toClose = new ArrayList<>(statements.values());
+        statements.clear();
+        toClose.forEach(this::closeQuietly);
+    }
+
+    /**
+     * Puts statement that is no longer used back into the cache.
+     * @param key Key of statement.
+     * @param statement Statement to put back.
+     * @param resultSets Result sets obtained from statement by borrower.
+     * @param settingsChanged Whether borrower changed resettable settings of statement.
+     * @param reusable Whether borrower left statement in a state it can be reused in.
+     */
+    private void release(StatementKey key, PreparedStatement statement, List<ResultSet> resultSets,
+                         boolean settingsChanged, boolean reusable) {
+        try {
+            if (statement.isClosed() || connection.isClosed()) {
+                return;
+            }
+            if (!reusable) {
+                closeQuietly(statement);
+                return;
+            }
+            for (ResultSet resultSet : resultSets) {
+                resultSet.close();
+            }
+            if (settingsChanged) {
+                resetSettings(statement);
+            }
+            statement.clearParameters();
+            statement.clearBatch();
+            statement.clearWarnings();
+        } catch (SQLException e) {
+            closeQuietly(statement);
+            return;
+        }
+        if (statements.containsKey(key)) {
+            closeQuietly(statement);
+        } else {
+            statements.put(key, statement);
+        }
+    }
+
+    private static void resetSettings(PreparedStatement statement) throws SQLException {
+        statement.setFetchSize(0);
+        statement.setFetchDirection(ResultSet.FETCH_FORWARD);
+        statement.setMaxRows(0);
+        statement.setMaxFieldSize(0);
+        statement.setQueryTimeout(0);
+    }
+
+    private void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            logger.debug("Error closing cached statement.", e);
+        }
+    }
+
+    /**
+     * Key of cached statement.
+     * @param sql SQL statement text.
+     * @param autoGeneratedKeys Auto-generated keys flag.
+     */
+    private record StatementKey(String sql, int autoGeneratedKeys) {}
+
+    /**
+     * Handler of statement proxy that intercepts closing of a statement.
+     */
+    private class CachedStatementHandler implements InvocationHandler {
+
+        private final StatementKey key;
+        private final PreparedStatement statement;
+        /** Result sets obtained from statement, closed when statement is returned. */
+        private final List<ResultSet> resultSets = new ArrayList<>();
+        private boolean closed;
+        /** Whether settings that can be reset were changed. */
+        private boolean settingsChanged;
+        /** Whether settings that can not be reset were changed. */
+        private boolean reusable = true;
+
+        CachedStatementHandler(StatementKey key, PreparedStatement statement) {
+            this.key = key;
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        release(key, statement, resultSets, settingsChanged, reusable);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || statement.isClosed();
+                case "getConnection":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Statement is closed.");
+            }
+            if (method.getDeclaringClass() == Statement.class) {
+                if (RESETTABLE_SETTINGS.contains(method.getName())) {
+                    settingsChanged = true;
+                } else if (method.getName().startsWith("set")
+                        || method.getName().equals("closeOnCompletion")) {
+                    reusable = false;
+                }
+            }
+            Object result;
+            try {
+                result = method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof ResultSet resultSet
+                    && RESULT_SET_METHODS.contains(method.getName())) {
+                resultSets.add(resultSet);
+            }
+            return result;
+        }
+    }
+}
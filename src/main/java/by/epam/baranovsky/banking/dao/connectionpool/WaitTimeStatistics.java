@@ -0,0 +1,116 @@
+package by.epam.baranovsky.banking.dao.connectionpool;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free statistics of time threads spent waiting for a connection.
+ * <p>
+ *     Wait times are recorded in microseconds into buckets
+ *     whose borders are powers of two, so percentiles are approximate
+ *     (never more than twice the real value) but recording never blocks.
+ * </p>
+ * @author Baranovsky E. K.
+ * @version 1.0.0
+ */
+public class WaitTimeStatistics {
+
+    /** Number of buckets; the last one holds waits longer than ~18 minutes. */
+    private static final int BUCKET_COUNT = 32;
+
+    /** Number of recorded waits in each bucket. */
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    /** Total number of recorded waits. */
+    private final LongAdder count = new LongAdder();
+    /** Sum of all recorded waits in microseconds. */
+    private final LongAdder totalMicros = new LongAdder();
+    /** Longest recorded wait in microseconds. */
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Records a single wait.
+     * @param nanos Duration of wait in nanoseconds.
+     */
+    public void record(long nanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(Math.max(nanos, 0L));
+        int bucket = Math.min(64 - Long.numberOfLeadingZeros(micros), BUCKET_COUNT - 1);
+        buckets.incrementAndGet(bucket);
+        count.increment();
+        totalMicros.add(micros);
+        maxMicros.accumulate(micros);
+    }
+
+    /**
+     * @return Number of recorded waits.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return Longest recorded wait in milliseconds.
+     */
+    public double getMaxMillis() {
+        return maxMicros.get() / 1000d;
+    }
+
+    /**
+     * @return Average recorded wait in milliseconds, 0 if nothing was recorded.
+     */
+    public double getMeanMillis() {
+        long recorded = count.sum();
+        return recorded == 0 ? 0d : totalMicros.sum() / 1000d / recorded;
+    }
+
+    /**
+     * Estimates a percentile of recorded waits.
+     * @param percentile Percentile to estimate, between 0 and 100.
+     * @return Upper border of bucket that contains given percentile, in milliseconds,
+     * capped by longest recorded wait. 0 if nothing was recorded.
+     */
+    public double getPercentileMillis(double percentile) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0d;
+        }
+
+        long rank = (long) Math.ceil(total * Math.min(Math.max(percentile, 0d), 100d) / 100d);
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += snapshot[i];
+            if (cumulative >= rank && snapshot[i] > 0) {
+                long upperMicros = i == 0 ? 0L : (1L << i) - 1;
+                return Math.min(upperMicros, maxMicros.get()) / 1000d;
+            }
+        }
+        return getMaxMillis();
+    }
+
+    /**
+     * Resets all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0L);
+        }
+        count.reset();
+        totalMicros.reset();
+        maxMicros.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ENGLISH,
+                "count=%d, mean=%.3fms, p50=%.3fms, p99=%.3fms, max=%.3fms",
+                getCount(), getMeanMillis(), getPercentileMillis(50),
+                getPercentileMillis(99), getMaxMillis());
+    }
+}
@@ -0,0 +1,29 @@
+package by.epam.baranovsky.banking.dao.exception;
+
+import by.epam.baranovsky.banking.dao.query.Query;
+
+/**
+ * Exception that is thrown when guarded statement of a transaction
+ * affects no rows. Transaction is rolled back before it is thrown.
+ *
+ * @author Baranovsky E. K.
+ * @version 1.0.0
+ * @see Query#guarded(String, Object...)
+ */
+public class GuardFailedException extends DAOException {
+
+    /** Statement that affected no rows. */
+    private final transient Query query;
+
+    public GuardFailedException(Query query) {
+        super("Guarded statement affected no rows: " + query.getSqlQueryString());
+        this.query = query;
+    }
+
+    /**
+     * @return Statement that affected no rows.
+     */
+    public Query getQuery() {
+        return query;
+    }
+}
@@ -0,0 +1,43 @@
+package by.epam.baranovsky.banking.dao.exception;
+
+/**
+ * Exception that is thrown when transfer is rejected by database,
+ * e.g. because sender has not enough money. Nothing is changed in that case.
+ *
+ * @author Baranovsky E. K.
+ * @version 1.0.0
+ */
+public class TransferRejectedException extends DAOException {
+
+    /**
+     * Reasons of rejection.
+     */
+    public enum Reason {
+        /** Sender has not enough money. */
+        INSUFFICIENT_FUNDS,
+        /** Sender or receiver account is locked. */
+        ACCOUNT_LOCKED,
+        /** Sender account is suspended. */
+        ACCOUNT_SUSPENDED,
+        /** Receiver card is locked or expired. */
+        CARD_LOCKED,
+        /** Sender or receiver card is not tied to an account. */
+        CREDIT_CARD,
+        /** Sender or receiver does not exist. */
+        NOT_FOUND
+    }
+
+    private final Reason reason;
+
+    public TransferRejectedException(Reason reason, Throwable cause) {
+        super("Transfer rejected: " + reason, cause);
+        this.reason = reason;
+    }
+
+    /**
+     * @return Reason of rejection.
+     */
+    public Reason getReason() {
+        return reason;
+    }
+}
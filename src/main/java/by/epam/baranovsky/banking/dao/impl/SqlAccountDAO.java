@@ -5,11 +5,14 @@ import by.epam.baranovsky.banking.dao.AccountDAO;
 import by.epam.baranovsky.banking.dao.exception.DAOException;
 import by.epam.baranovsky.banking.dao.query.Query;
 import by.epam.baranovsky.banking.dao.query.QueryMaster;
+import by.epam.baranovsky.banking.dao.query.RowCallback;
 import by.epam.baranovsky.banking.dao.query.impl.SqlQueryMaster;
 import by.epam.baranovsky.banking.dao.rowmapper.RowMapper;
 import by.epam.baranovsky.banking.dao.rowmapper.RowMapperFactory;
 import by.epam.baranovsky.banking.entity.Account;
+import by.epam.baranovsky.banking.entity.projection.AccountBalance;
 
+import java.sql.Connection;
 import java.util.*;
 
 /**
@@ -25,11 +28,40 @@ public class SqlAccountDAO implements AccountDAO {
     /** Object that executes SQL queries. */
     private static final QueryMaster<Account> queryMaster = new SqlQueryMaster<>(mapper);
 
+    /** Object that executes SQL queries selecting IDs of users of accounts. */
+    private static final QueryMaster<Integer> userIdQueryMaster =
+            new SqlQueryMaster<>(resultSet -> resultSet.getInt(1));
+
+    /** Object that executes SQL queries selecting balances of accounts. */
+    private static final QueryMaster<AccountBalance> balanceQueryMaster =
+            new SqlQueryMaster<>(resultSet -> new AccountBalance(
+                    resultSet.getInt(1), resultSet.getDouble(2), resultSet.getInt(3)));
+
+    /**
+     * Balance of account, which for bank's own account
+     * includes postings to bank's ledger that are not folded yet.
+     */
+    private static final String SQL_BALANCE = String.format(
+            "IF(%1$s.%2$s=%3$d, %1$s.%4$s+COALESCE((SELECT SUM(%5$s) FROM %6$s),0), %1$s.%4$s)",
+            DBMetadata.ACCOUNTS_TABLE, DBMetadata.ACCOUNTS_ID, DBMetadata.BANK_ACCOUNT_ID,
+            DBMetadata.ACCOUNTS_BALANCE, DBMetadata.BANK_LEDGER_VALUE, DBMetadata.BANK_LEDGER_TABLE);
+
+    private static final String SQL_ACCOUNT_COLUMNS = String.format(
+            "%1$s.%2$s, %1$s.%3$s, %4$s AS %5$s, %1$s.%6$s, %1$s.%7$s, %8$s.%9$s",
+            DBMetadata.ACCOUNTS_TABLE, DBMetadata.ACCOUNTS_ID, DBMetadata.ACCOUNTS_NUMBER,
+            SQL_BALANCE, DBMetadata.ACCOUNTS_BALANCE, DBMetadata.ACCOUNTS_INTEREST,
+            DBMetadata.ACCOUNTS_ACCOUNT_STATUS_ID, DBMetadata.ACCOUNT_STATUS_TABLE,
+            DBMetadata.ACCOUNT_STATUS_DESC);
+
     private static final String SQL_FIND_ALL = String.format(
-            "SELECT * FROM %s LEFT JOIN %s ON %s=%s",
-            DBMetadata.ACCOUNTS_TABLE, DBMetadata.ACCOUNT_STATUS_TABLE,
+            "SELECT %s FROM %s LEFT JOIN %s ON %s=%s",
+            SQL_ACCOUNT_COLUMNS, DBMetadata.ACCOUNTS_TABLE, DBMetadata.ACCOUNT_STATUS_TABLE,
             DBMetadata.ACCOUNT_STATUS_ID, DBMetadata.ACCOUNTS_ACCOUNT_STATUS_ID);
 
+    private static final String SQL_SELECT_BY_IDS = String.format(
+            "%s WHERE %s.%s IN (%%s)",
+            SQL_FIND_ALL, DBMetadata.ACCOUNTS_TABLE, DBMetadata.ACCOUNTS_ID);
+
     private static final String SQL_FIND_BY_ID = String.format(
             "%s WHERE %s=? LIMIT 1",
             SQL_FIND_ALL, DBMetadata.ACCOUNTS_ID);
@@ -43,21 +75,68 @@ public class SqlAccountDAO implements AccountDAO {
             SQL_FIND_ALL, DBMetadata.ACCOUNT_STATUS_ID);
 
     private static final String SQL_FIND_BY_USER= String.format(
-            "SELECT * FROM %s LEFT JOIN (%s LEFT JOIN %s ON %s=%s) ON %s=%s WHERE %s=?",
-            DBMetadata.USERS_HAS_ACCOUNTS_TABLE, DBMetadata.ACCOUNTS_TABLE,
+            "SELECT %s FROM %s LEFT JOIN (%s LEFT JOIN %s ON %s=%s) ON %s=%s WHERE %s=?",
+            SQL_ACCOUNT_COLUMNS, DBMetadata.USERS_HAS_ACCOUNTS_TABLE, DBMetadata.ACCOUNTS_TABLE,
             DBMetadata.ACCOUNT_STATUS_TABLE, DBMetadata.ACCOUNT_STATUS_ID,
             DBMetadata.ACCOUNTS_ACCOUNT_STATUS_ID, DBMetadata.ACCOUNTS_ID,
             DBMetadata.USERS_HAS_ACCOUNTS_ACCOUNT_ID, DBMetadata.USERS_HAS_ACCOUNTS_USER_ID);
 
-    private static final String SQL_FIND_USERS = String.format(
-            "SELECT * FROM %s LEFT JOIN %s ON %s=%s WHERE %s=?",
+    private static final String SQL_COUNT_BY_USER_AND_STATUS = String.format(
+            "SELECT COUNT(*) FROM %s JOIN %s ON %s=%s WHERE %s=? AND %s=?",
             DBMetadata.USERS_HAS_ACCOUNTS_TABLE, DBMetadata.ACCOUNTS_TABLE,
-            DBMetadata.USERS_HAS_ACCOUNTS_ACCOUNT_ID, DBMetadata.ACCOUNTS_ID,
+            DBMetadata.ACCOUNTS_ID, DBMetadata.USERS_HAS_ACCOUNTS_ACCOUNT_ID,
+            DBMetadata.USERS_HAS_ACCOUNTS_USER_ID, DBMetadata.ACCOUNTS_ACCOUNT_STATUS_ID);
+
+    private static final String SQL_FIND_USERS = String.format(
+            "SELECT %s FROM %s WHERE %s=?",
+            DBMetadata.USERS_HAS_ACCOUNTS_USER_ID, DBMetadata.USERS_HAS_ACCOUNTS_TABLE,
+            DBMetadata.USERS_HAS_ACCOUNTS_ACCOUNT_ID);
+
+    private static final String SQL_FIND_BALANCE = String.format(
+            "SELECT %s, %s, %s FROM %s WHERE %s=?",
+            DBMetadata.ACCOUNTS_ID, SQL_BALANCE,
+            DBMetadata.ACCOUNTS_ACCOUNT_STATUS_ID, DBMetadata.ACCOUNTS_TABLE,
+            DBMetadata.ACCOUNTS_ID);
+
+    /**
+     * Ledger is folded at READ COMMITTED, so that it locks only postings it folds
+     * and takes no gap locks that would block new postings.
+     */
+    static final int FOLD_ISOLATION = Connection.TRANSACTION_READ_COMMITTED;
+
+    private static final String SQL_MARK_BANK_POSTINGS = String.format(
+            "UPDATE %s SET %s=TRUE WHERE %s=FALSE",
+            DBMetadata.BANK_LEDGER_TABLE, DBMetadata.BANK_LEDGER_FOLDED,
+            DBMetadata.BANK_LEDGER_FOLDED);
+
+    private static final String SQL_FOLD_BANK_POSTINGS = String.format(
+            "UPDATE %s SET %s=%s+COALESCE((SELECT SUM(%s) FROM %s WHERE %s=TRUE),0) WHERE %s=?",
+            DBMetadata.ACCOUNTS_TABLE, DBMetadata.ACCOUNTS_BALANCE,
+            DBMetadata.ACCOUNTS_BALANCE, DBMetadata.BANK_LEDGER_VALUE,
+            DBMetadata.BANK_LEDGER_TABLE, DBMetadata.BANK_LEDGER_FOLDED,
             DBMetadata.ACCOUNTS_ID);
 
+    private static final String SQL_DELETE_BANK_POSTINGS = String.format(
+            "DELETE FROM %s WHERE %s=TRUE",
+            DBMetadata.BANK_LEDGER_TABLE, DBMetadata.BANK_LEDGER_FOLDED);
+
+    /**
+     * Appends a posting to bank's ledger instead of updating bank's own account,
+     * so that concurrent transfers do not contend for its row.
+     */
+    private static final String SQL_INSERT_BANK_POSTING = String.format(
+            "INSERT INTO %s (%s) VALUES (?)",
+            DBMetadata.BANK_LEDGER_TABLE, DBMetadata.BANK_LEDGER_VALUE);
+
+    /**
+     * Updates account. Balance of bank's own account is passed
+     * with unfolded postings, as it is read, so they are subtracted back.
+     */
     private static final String SQL_UPDATE_ACCOUNT = String.format(
-            "UPDATE %s SET %s=?, %s=?, %s=?, %s=? WHERE %s=?",
+            "UPDATE %s SET %s=?-IF(%s=%d, COALESCE((SELECT SUM(%s) FROM %s),0), 0), %s=?, %s=?, %s=? WHERE %s=?",
             DBMetadata.ACCOUNTS_TABLE, DBMetadata.ACCOUNTS_BALANCE,
+            DBMetadata.ACCOUNTS_ID, DBMetadata.BANK_ACCOUNT_ID,
+            DBMetadata.BANK_LEDGER_VALUE, DBMetadata.BANK_LEDGER_TABLE,
             DBMetadata.ACCOUNTS_NUMBER, DBMetadata.ACCOUNTS_INTEREST,
             DBMetadata.ACCOUNTS_ACCOUNT_STATUS_ID, DBMetadata.ACCOUNTS_ID
     );
@@ -182,6 +261,19 @@ public class SqlAccountDAO implements AccountDAO {
         return queryMaster.executeSingleEntityQuery(SQL_FIND_BY_ID, id);
     }
 
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public Map<Integer, Account> findByIds(Collection<Integer> ids) throws DAOException {
+        Map<Integer, Account> result = new HashMap<>();
+        for (Account entity : queryMaster.executeInQuery(SQL_SELECT_BY_IDS, ids)) {
+            result.put(entity.getId(), entity);
+        }
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      * @return Number of rows affected in DB.
@@ -211,6 +303,15 @@ public class SqlAccountDAO implements AccountDAO {
         return queryMaster.executeQuery(SQL_FIND_ALL);
     }
 
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public <E extends Exception> void forEach(RowCallback<? super Account, E> callback) throws DAOException, E {
+        queryMaster.forEach(SQL_FIND_ALL, callback);
+    }
+
     /**
      * {@inheritDoc}
      * @throws DAOException if QueryMaster throws DAOException
@@ -229,6 +330,16 @@ public class SqlAccountDAO implements AccountDAO {
         return queryMaster.executeQuery(SQL_FIND_BY_USER, id);
     }
 
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public Integer countByUserAndStatus(Integer userId, Integer statusId) throws DAOException {
+        Number count = queryMaster.executeAggregateQuery(SQL_COUNT_BY_USER_AND_STATUS, userId, statusId);
+        return count == null ? 0 : count.intValue();
+    }
+
     /**
      * {@inheritDoc}
      * @throws DAOException if QueryMaster throws DAOException
@@ -244,12 +355,53 @@ public class SqlAccountDAO implements AccountDAO {
      */
     @Override
     public List<Integer> findUsers(Integer id) throws DAOException {
+        return userIdQueryMaster.executeQuery(SQL_FIND_USERS, id);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public AccountBalance findBalanceById(Integer id) throws DAOException {
+        return balanceQueryMaster.executeSingleEntityQuery(SQL_FIND_BALANCE, id);
+    }
 
-        RowMapper<Integer> userIdMapper = resultSet ->
-                resultSet.getInt(DBMetadata.USERS_HAS_ACCOUNTS_USER_ID);
+    /**
+     * Builds a Query that changes balance of bank's own account.
+     * Change is posted to bank's ledger and gets to the account
+     * when ledger is folded.
+     * @param value Value to add to bank's balance, negative to subtract.
+     * @return Instance of Query with prepared SQL INSERT statement.
+     * @see #foldBankLedger()
+     */
+    public static Query getBankPosting(double value) {
+        return new Query(SQL_INSERT_BANK_POSTING, value);
+    }
 
-        QueryMaster<Integer> userIdQueryMaster = new SqlQueryMaster<>(userIdMapper);
+    /**
+     * {@inheritDoc}
+     * <p>
+     *     Committed postings are marked first and only marked ones are folded
+     *     and deleted, all in one transaction on primary DB. Transaction runs
+     *     at {@link #FOLD_ISOLATION}: marking skips postings that are not
+     *     committed yet instead of waiting for them, and postings made while
+     *     folding are neither blocked nor lost, they wait for the next fold.
+     * </p>
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public void foldBankLedger() throws DAOException {
+        queryMaster.executeTransaction(getFoldQueries(), FOLD_ISOLATION);
+    }
 
-        return userIdQueryMaster.executeQuery(SQL_FIND_USERS, id);
+    /**
+     * @return Queries of transaction that folds bank's ledger.
+     */
+    static List<Query> getFoldQueries() {
+        return List.of(
+                new Query(SQL_MARK_BANK_POSTINGS),
+                new Query(SQL_FOLD_BANK_POSTINGS, DBMetadata.BANK_ACCOUNT_ID),
+                new Query(SQL_DELETE_BANK_POSTINGS));
     }
 }
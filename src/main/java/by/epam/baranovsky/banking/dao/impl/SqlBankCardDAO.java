@@ -4,13 +4,18 @@ import by.epam.baranovsky.banking.constant.DBMetadata;
 import by.epam.baranovsky.banking.dao.BankCardDAO;
 import by.epam.baranovsky.banking.dao.exception.DAOException;
 import by.epam.baranovsky.banking.dao.query.QueryMaster;
+import by.epam.baranovsky.banking.dao.query.RowCallback;
 import by.epam.baranovsky.banking.dao.query.impl.SqlQueryMaster;
 import by.epam.baranovsky.banking.dao.rowmapper.RowMapper;
 import by.epam.baranovsky.banking.dao.rowmapper.RowMapperFactory;
 import by.epam.baranovsky.banking.entity.BankingCard;
 
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
 
 /**
  * Implementation of BankCardDAO for use with MySQL DB.
@@ -33,6 +38,10 @@ public class SqlBankCardDAO  implements BankCardDAO {
             DBMetadata.CARD_TYPE_ID,
             DBMetadata.BANK_CARDS_TABLE, DBMetadata.BANK_CARDS_TYPE_ID);
 
+    private static final String SQL_SELECT_BY_IDS = String.format(
+            "%s WHERE %s.%s IN (%%s)",
+            SQL_SELECT_ALL, DBMetadata.BANK_CARDS_TABLE, DBMetadata.BANK_CARDS_ID);
+
     private static final String SQL_SELECT_BY_ID = String.format(
             "%s WHERE %s=?", SQL_SELECT_ALL, DBMetadata.BANK_CARDS_ID);
 
@@ -47,6 +56,10 @@ public class SqlBankCardDAO  implements BankCardDAO {
     private static final String SQL_SELECT_BY_USER = String.format(
             "%s WHERE %s=?", SQL_SELECT_ALL, DBMetadata.BANK_CARDS_USER_ID);
 
+    private static final String SQL_COUNT_BY_USER = String.format(
+            "SELECT COUNT(*) FROM %s WHERE %s=?",
+            DBMetadata.BANK_CARDS_TABLE, DBMetadata.BANK_CARDS_USER_ID);
+
     private static final String SQL_SELECT_BY_ACC = String.format(
             "%s WHERE %s=?", SQL_SELECT_ALL, DBMetadata.BANK_CARDS_ACCOUNT_ID);
 
@@ -143,6 +156,19 @@ public class SqlBankCardDAO  implements BankCardDAO {
         return queryMaster.executeSingleEntityQuery(SQL_SELECT_BY_ID, id);
     }
 
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public Map<Integer, BankingCard> findByIds(Collection<Integer> ids) throws DAOException {
+        Map<Integer, BankingCard> result = new HashMap<>();
+        for (BankingCard entity : queryMaster.executeInQuery(SQL_SELECT_BY_IDS, ids)) {
+            result.put(entity.getId(), entity);
+        }
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      * @return Number of rows affected in DB.
@@ -172,6 +198,15 @@ public class SqlBankCardDAO  implements BankCardDAO {
         return queryMaster.executeQuery(SQL_SELECT_ALL);
     }
 
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public <E extends Exception> void forEach(RowCallback<? super BankingCard, E> callback) throws DAOException, E {
+        queryMaster.forEach(SQL_SELECT_ALL, callback);
+    }
+
     /**
      * {@inheritDoc}
      * @throws DAOException if DAOException is thrown by QueryMaster.
@@ -211,6 +246,16 @@ public class SqlBankCardDAO  implements BankCardDAO {
         return queryMaster.executeQuery(SQL_SELECT_BY_USER, userId);
     }
 
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public Integer countByUser(Integer userId) throws DAOException {
+        Number count = queryMaster.executeAggregateQuery(SQL_COUNT_BY_USER, userId);
+        return count == null ? 0 : count.intValue();
+    }
+
     /**
      * {@inheritDoc}
      * @throws DAOException if DAOException is thrown by QueryMaster.
@@ -5,6 +5,7 @@ import by.epam.baranovsky.banking.dao.BillDAO;
 import by.epam.baranovsky.banking.dao.exception.DAOException;
 import by.epam.baranovsky.banking.dao.query.Query;
 import by.epam.baranovsky.banking.dao.query.QueryMaster;
+import by.epam.baranovsky.banking.dao.query.RowCallback;
 import by.epam.baranovsky.banking.dao.query.impl.SqlQueryMaster;
 import by.epam.baranovsky.banking.dao.rowmapper.RowMapper;
 import by.epam.baranovsky.banking.dao.rowmapper.RowMapperFactory;
@@ -13,7 +14,11 @@ import by.epam.baranovsky.banking.entity.criteria.Criteria;
 import by.epam.baranovsky.banking.entity.criteria.EntityParameters;
 
 import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation of BillDAO for use with MySQL DB.
@@ -28,12 +33,24 @@ public class SqlBillDAO implements BillDAO {
     /** Object that executes SQL queries. */
     private static final QueryMaster<Bill> queryMaster = new SqlQueryMaster<>(mapper);
 
-    private static final String SQL_SELECT_ALL = String.format(
-            "SELECT * FROM %s LEFT JOIN %s on %s.%s=%s.%s",
+    private static final String SQL_FROM = String.format(
+            "FROM %s LEFT JOIN %s on %s.%s=%s.%s",
             DBMetadata.BILLS_TABLE, DBMetadata.BILL_STATUS_TABLE,
             DBMetadata.BILLS_TABLE, DBMetadata.BILLS_STATUS_ID,
             DBMetadata.BILL_STATUS_TABLE, DBMetadata.BILL_STATUS_ID);
 
+    private static final String SQL_SELECT_ALL = "SELECT * " + SQL_FROM;
+
+    private static final String SQL_SELECT_BY_IDS = String.format(
+            "%s WHERE %s.%s IN (%%s)",
+            SQL_SELECT_ALL, DBMetadata.BILLS_TABLE, DBMetadata.BILLS_ID);
+
+    private static final String SQL_SELECT_SUM = "SELECT SUM(%s) " + SQL_FROM;
+
+    private static final String SQL_SELECT_COUNT = "SELECT COUNT(*) " + SQL_FROM;
+
+    private static final String SQL_SELECT_ANY = "SELECT 1 " + SQL_FROM;
+
     private static final String SQL_SELECT_BY_ID = String.format(
             "%s WHERE %s=?", SQL_SELECT_ALL, DBMetadata.BILLS_ID);
 
@@ -114,6 +131,19 @@ public class SqlBillDAO implements BillDAO {
         return queryMaster.executeSingleEntityQuery(SQL_SELECT_BY_ID, id);
     }
 
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public Map<Integer, Bill> findByIds(Collection<Integer> ids) throws DAOException {
+        Map<Integer, Bill> result = new HashMap<>();
+        for (Bill entity : queryMaster.executeInQuery(SQL_SELECT_BY_IDS, ids)) {
+            result.put(entity.getId(), entity);
+        }
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      * @return Number of rows affected in DB.
@@ -124,6 +154,19 @@ public class SqlBillDAO implements BillDAO {
         return queryMaster.executeUpdate(SQL_DELETE, id);
     }
 
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public Integer deleteAll(List<Integer> ids) throws DAOException {
+        List<Object[]> params = new ArrayList<>();
+        for (Integer id : ids) {
+            params.add(new Object[]{id});
+        }
+        return queryMaster.executeBatch(SQL_DELETE, params).getTotalUpdateCount();
+    }
+
     /**
      * {@inheritDoc}
      * @return Number of rows affected in DB.
@@ -143,6 +186,15 @@ public class SqlBillDAO implements BillDAO {
         return queryMaster.executeQuery(SQL_SELECT_ALL);
     }
 
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public <E extends Exception> void forEach(RowCallback<? super Bill, E> callback) throws DAOException, E {
+        queryMaster.forEach(SQL_SELECT_ALL, callback);
+    }
+
     /**
      * {@inheritDoc}
      * @throws DAOException if QueryMaster throws DAOException
@@ -152,4 +204,37 @@ public class SqlBillDAO implements BillDAO {
         Query query = criteria.generateQuery(SQL_SELECT_ALL);
         return queryMaster.executeQuery(query.getSqlQueryString(), query.getParameters());
     }
+
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public Double sum(EntityParameters.BillParam column,
+                      Criteria<? extends EntityParameters.BillParam> criteria) throws DAOException {
+        Query query = criteria.generateQuery(String.format(SQL_SELECT_SUM, column.getColumn()));
+        Number sum = queryMaster.executeAggregateQuery(query.getSqlQueryString(), query.getParameters());
+        return sum == null ? 0d : sum.doubleValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public Integer count(Criteria<? extends EntityParameters.BillParam> criteria) throws DAOException {
+        Query query = criteria.generateQuery(SQL_SELECT_COUNT);
+        Number count = queryMaster.executeAggregateQuery(query.getSqlQueryString(), query.getParameters());
+        return count == null ? 0 : count.intValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public boolean exists(Criteria<? extends EntityParameters.BillParam> criteria) throws DAOException {
+        Query query = criteria.generateQuery(SQL_SELECT_ANY);
+        return queryMaster.executeExistsQuery(query.getSqlQueryString(), query.getParameters());
+    }
 }
@@ -5,6 +5,7 @@ import by.epam.baranovsky.banking.dao.LoanDAO;
 import by.epam.baranovsky.banking.dao.exception.DAOException;
 import by.epam.baranovsky.banking.dao.query.Query;
 import by.epam.baranovsky.banking.dao.query.QueryMaster;
+import by.epam.baranovsky.banking.dao.query.RowCallback;
 import by.epam.baranovsky.banking.dao.query.impl.SqlQueryMaster;
 import by.epam.baranovsky.banking.dao.rowmapper.RowMapper;
 import by.epam.baranovsky.banking.dao.rowmapper.RowMapperFactory;
@@ -14,7 +15,10 @@ import by.epam.baranovsky.banking.entity.criteria.EntityParameters;
 
 import java.sql.Date;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation of LoanDAO for use with MySQL DB.
@@ -29,11 +33,23 @@ public class SqlLoanDAO implements LoanDAO {
     /** Object that executes SQL queries. */
     private static final QueryMaster<Loan> queryMaster = new SqlQueryMaster<>(mapper);
 
-    private static final String SQL_SELECT_ALL = String.format(
-            "SELECT * FROM %s LEFT JOIN %s ON %s=%s",
+    private static final String SQL_FROM = String.format(
+            "FROM %s LEFT JOIN %s ON %s=%s",
             DBMetadata.LOANS_TABLE, DBMetadata.LOAN_STATUS_TABLE,
             DBMetadata.LOANS_STATUS_ID, DBMetadata.LOAN_STATUS_ID);
 
+    private static final String SQL_SELECT_ALL = "SELECT * " + SQL_FROM;
+
+    private static final String SQL_SELECT_BY_IDS = String.format(
+            "%s WHERE %s.%s IN (%%s)",
+            SQL_SELECT_ALL, DBMetadata.LOANS_TABLE, DBMetadata.LOANS_ID);
+
+    private static final String SQL_SELECT_SUM = "SELECT SUM(%s) " + SQL_FROM;
+
+    private static final String SQL_SELECT_COUNT = "SELECT COUNT(*) " + SQL_FROM;
+
+    private static final String SQL_SELECT_ANY = "SELECT 1 " + SQL_FROM;
+
     private static final String SQL_SELECT_BY_ID = String.format("" +
             "%s WHERE %s=?", SQL_SELECT_ALL, DBMetadata.LOANS_ID);
 
@@ -90,8 +106,8 @@ public class SqlLoanDAO implements LoanDAO {
      * {@inheritDoc}
      * <p>
      *     Inserts a row into loans table,
-     *     as well as subtracts the value of a loan
-     *     from bank own account and adds it to
+     *     as well as posts subtraction of the value of a loan
+     *     to bank's ledger and adds it to
      *     a borrower's account.
      * </p>
      * @return Generated key of inserted loan row.
@@ -111,10 +127,7 @@ public class SqlLoanDAO implements LoanDAO {
                 entity.getStatusId(),
                 entity.getCardId(),
                 entity.getAccountId()));
-        queries.add(new Query(
-                SQL_UPDATE_ACC,
-                -entity.getStartingValue(),
-                DBMetadata.BANK_ACCOUNT_ID));
+        queries.add(SqlAccountDAO.getBankPosting(-entity.getStartingValue()));
         queries.add(new Query(SQL_UPDATE_ACC,
                 entity.getStartingValue(),
                 entity.getAccountId()));
@@ -131,6 +144,19 @@ public class SqlLoanDAO implements LoanDAO {
         return queryMaster.executeSingleEntityQuery(SQL_SELECT_BY_ID, id);
     }
 
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public Map<Integer, Loan> findByIds(Collection<Integer> ids) throws DAOException {
+        Map<Integer, Loan> result = new HashMap<>();
+        for (Loan entity : queryMaster.executeInQuery(SQL_SELECT_BY_IDS, ids)) {
+            result.put(entity.getId(), entity);
+        }
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      * @return Number of rows affected in DB.
@@ -160,6 +186,15 @@ public class SqlLoanDAO implements LoanDAO {
         return queryMaster.executeQuery(SQL_SELECT_ALL);
     }
 
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public <E extends Exception> void forEach(RowCallback<? super Loan, E> callback) throws DAOException, E {
+        queryMaster.forEach(SQL_SELECT_ALL, callback);
+    }
+
     /**
      * {@inheritDoc}
      * @throws DAOException if QueryMaster throws DAOException
@@ -169,4 +204,37 @@ public class SqlLoanDAO implements LoanDAO {
         Query query = criteria.generateQuery(SQL_SELECT_ALL);
         return queryMaster.executeQuery(query.getSqlQueryString(), query.getParameters());
     }
+
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public Double sum(EntityParameters.LoanParams column,
+                      Criteria<? extends EntityParameters.LoanParams> criteria) throws DAOException {
+        Query query = criteria.generateQuery(String.format(SQL_SELECT_SUM, column.getColumn()));
+        Number sum = queryMaster.executeAggregateQuery(query.getSqlQueryString(), query.getParameters());
+        return sum == null ? 0d : sum.doubleValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public Integer count(Criteria<? extends EntityParameters.LoanParams> criteria) throws DAOException {
+        Query query = criteria.generateQuery(SQL_SELECT_COUNT);
+        Number count = queryMaster.executeAggregateQuery(query.getSqlQueryString(), query.getParameters());
+        return count == null ? 0 : count.intValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public boolean exists(Criteria<? extends EntityParameters.LoanParams> criteria) throws DAOException {
+        Query query = criteria.generateQuery(SQL_SELECT_ANY);
+        return queryMaster.executeExistsQuery(query.getSqlQueryString(), query.getParameters());
+    }
 }
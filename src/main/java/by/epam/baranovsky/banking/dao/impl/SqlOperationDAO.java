@@ -4,8 +4,10 @@ import by.epam.baranovsky.banking.constant.DBMetadata;
 import by.epam.baranovsky.banking.dao.OperationDAO;
 import by.epam.baranovsky.banking.dao.exception.DAOException;
 import by.epam.baranovsky.banking.dao.impl.command.OperationCommandEnum;
+import by.epam.baranovsky.banking.dao.impl.command.TransferAccrualCommand;
 import by.epam.baranovsky.banking.dao.query.Query;
 import by.epam.baranovsky.banking.dao.query.QueryMaster;
+import by.epam.baranovsky.banking.dao.query.RowCallback;
 import by.epam.baranovsky.banking.dao.query.impl.SqlQueryMaster;
 import by.epam.baranovsky.banking.dao.rowmapper.RowMapper;
 import by.epam.baranovsky.banking.dao.rowmapper.RowMapperFactory;
@@ -13,7 +15,11 @@ import by.epam.baranovsky.banking.entity.Operation;
 import by.epam.baranovsky.banking.entity.criteria.Criteria;
 import by.epam.baranovsky.banking.entity.criteria.EntityParameters;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
 
 /**
  * Implementation of OperationDAO for use with MySQL DB.
@@ -27,12 +33,25 @@ public class SqlOperationDAO implements OperationDAO {
 
     /** Object that executes SQL queries. */
     private static final QueryMaster<Operation> queryMaster = new SqlQueryMaster<>(mapper);
+    private static final TransferAccrualCommand accrualCommand = new TransferAccrualCommand();
 
-    private static final String SQL_SELECT_ALL = String.format(
-            "SELECT * FROM %s LEFT JOIN %s ON %s=%s",
+    private static final String SQL_FROM = String.format(
+            "FROM %s LEFT JOIN %s ON %s=%s",
             DBMetadata.OPERATIONS_TABLE, DBMetadata.OPERATION_TYPES_TABLE,
             DBMetadata.OPERATIONS_TYPE_ID,DBMetadata.OPERATION_TYPES_ID);
 
+    private static final String SQL_SELECT_ALL = "SELECT * " + SQL_FROM;
+
+    private static final String SQL_SELECT_BY_IDS = String.format(
+            "%s WHERE %s.%s IN (%%s)",
+            SQL_SELECT_ALL, DBMetadata.OPERATIONS_TABLE, DBMetadata.OPERATIONS_ID);
+
+    private static final String SQL_SELECT_SUM = "SELECT SUM(%s) " + SQL_FROM;
+
+    private static final String SQL_SELECT_COUNT = "SELECT COUNT(*) " + SQL_FROM;
+
+    private static final String SQL_SELECT_ANY = "SELECT 1 " + SQL_FROM;
+
     private static final String SQL_SELECT_BY_ID = String.format(
             "%s WHERE %s=?", SQL_SELECT_ALL, DBMetadata.OPERATIONS_ID);
 
@@ -109,6 +128,19 @@ public class SqlOperationDAO implements OperationDAO {
         return queryMaster.executeSingleEntityQuery(SQL_SELECT_BY_ID, id);
     }
 
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public Map<Integer, Operation> findByIds(Collection<Integer> ids) throws DAOException {
+        Map<Integer, Operation> result = new HashMap<>();
+        for (Operation entity : queryMaster.executeInQuery(SQL_SELECT_BY_IDS, ids)) {
+            result.put(entity.getId(), entity);
+        }
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -146,6 +178,15 @@ public class SqlOperationDAO implements OperationDAO {
         return queryMaster.executeQuery(SQL_SELECT_ALL);
     }
 
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public <E extends Exception> void forEach(RowCallback<? super Operation, E> callback) throws DAOException, E {
+        queryMaster.forEach(SQL_SELECT_ALL, callback);
+    }
+
     /**
      * {@inheritDoc}
      * @throws DAOException if QueryMaster throws DAOException
@@ -155,4 +196,47 @@ public class SqlOperationDAO implements OperationDAO {
         Query query = criteria.generateQuery(SQL_SELECT_ALL);
         return queryMaster.executeQuery(query.getSqlQueryString(), query.getParameters());
     }
+
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public Double sum(EntityParameters.OperationParam column,
+                      Criteria<? extends EntityParameters.OperationParam> criteria) throws DAOException {
+        Query query = criteria.generateQuery(String.format(SQL_SELECT_SUM, column.getColumn()));
+        Number sum = queryMaster.executeAggregateQuery(query.getSqlQueryString(), query.getParameters());
+        return sum == null ? 0d : sum.doubleValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public Integer count(Criteria<? extends EntityParameters.OperationParam> criteria) throws DAOException {
+        Query query = criteria.generateQuery(SQL_SELECT_COUNT);
+        Number count = queryMaster.executeAggregateQuery(query.getSqlQueryString(), query.getParameters());
+        return count == null ? 0 : count.intValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public boolean exists(Criteria<? extends EntityParameters.OperationParam> criteria) throws DAOException {
+        Query query = criteria.generateQuery(SQL_SELECT_ANY);
+        return queryMaster.executeExistsQuery(query.getSqlQueryString(), query.getParameters());
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     * @see TransferAccrualCommand#createAll(List)
+     */
+    @Override
+    public Integer createAccruals(List<Operation> operations) throws DAOException {
+        return accrualCommand.createAll(operations);
+    }
 }
\ No newline at end of file
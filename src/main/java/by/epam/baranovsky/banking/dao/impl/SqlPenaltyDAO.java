@@ -5,6 +5,7 @@ import by.epam.baranovsky.banking.dao.PenaltyDAO;
 import by.epam.baranovsky.banking.dao.exception.DAOException;
 import by.epam.baranovsky.banking.dao.query.Query;
 import by.epam.baranovsky.banking.dao.query.QueryMaster;
+import by.epam.baranovsky.banking.dao.query.RowCallback;
 import by.epam.baranovsky.banking.dao.query.impl.SqlQueryMaster;
 import by.epam.baranovsky.banking.dao.rowmapper.RowMapper;
 import by.epam.baranovsky.banking.dao.rowmapper.RowMapperFactory;
@@ -12,7 +13,11 @@ import by.epam.baranovsky.banking.entity.Penalty;
 import by.epam.baranovsky.banking.entity.criteria.Criteria;
 import by.epam.baranovsky.banking.entity.criteria.EntityParameters;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
 
 /**
  * Implementation of PenaltyDAO for use with MySQL DB.
@@ -27,14 +32,26 @@ public class SqlPenaltyDAO implements PenaltyDAO {
     /** Object that executes SQL queries. */
     private static final QueryMaster<Penalty> queryMaster = new SqlQueryMaster<>(mapper);
 
-    private static final String SQL_SELECT_ALL = String.format(
-            "SELECT * FROM %s LEFT JOIN %s ON %s.%s=%s.%s LEFT JOIN %s ON %s=%s",
+    private static final String SQL_FROM = String.format(
+            "FROM %s LEFT JOIN %s ON %s.%s=%s.%s LEFT JOIN %s ON %s=%s",
             DBMetadata.PENALTIES_TABLE, DBMetadata.PENALTY_TYPE_TABLE,
             DBMetadata.PENALTIES_TABLE, DBMetadata.PENALTIES_TYPE_ID,
             DBMetadata.PENALTY_TYPE_TABLE, DBMetadata.PENALTY_TYPE_ID,
             DBMetadata.PENALTY_STATUS_TABLE, DBMetadata.PENALTY_STATUS_ID,
             DBMetadata.PENALTIES_STATUS_ID);
 
+    private static final String SQL_SELECT_ALL = "SELECT * " + SQL_FROM;
+
+    private static final String SQL_SELECT_BY_IDS = String.format(
+            "%s WHERE %s.%s IN (%%s)",
+            SQL_SELECT_ALL, DBMetadata.PENALTIES_TABLE, DBMetadata.PENALTIES_ID);
+
+    private static final String SQL_SELECT_SUM = "SELECT SUM(%s) " + SQL_FROM;
+
+    private static final String SQL_SELECT_COUNT = "SELECT COUNT(*) " + SQL_FROM;
+
+    private static final String SQL_SELECT_ANY = "SELECT 1 " + SQL_FROM;
+
     private static final String SQL_SELECT_BY_ID = String.format(
             "%s WHERE %s=?", SQL_SELECT_ALL, DBMetadata.PENALTIES_ID);
 
@@ -99,6 +116,19 @@ public class SqlPenaltyDAO implements PenaltyDAO {
         return queryMaster.executeSingleEntityQuery(SQL_SELECT_BY_ID,id);
     }
 
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public Map<Integer, Penalty> findByIds(Collection<Integer> ids) throws DAOException {
+        Map<Integer, Penalty> result = new HashMap<>();
+        for (Penalty entity : queryMaster.executeInQuery(SQL_SELECT_BY_IDS, ids)) {
+            result.put(entity.getId(), entity);
+        }
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      * @return Number of rows affected in DB.
@@ -128,6 +158,15 @@ public class SqlPenaltyDAO implements PenaltyDAO {
         return queryMaster.executeQuery(SQL_SELECT_ALL);
     }
 
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public <E extends Exception> void forEach(RowCallback<? super Penalty, E> callback) throws DAOException, E {
+        queryMaster.forEach(SQL_SELECT_ALL, callback);
+    }
+
     /**
      * {@inheritDoc}
      * @throws DAOException if QueryMaster throws DAOException
@@ -137,4 +176,37 @@ public class SqlPenaltyDAO implements PenaltyDAO {
         Query query = criteria.generateQuery(SQL_SELECT_ALL);
         return queryMaster.executeQuery(query.getSqlQueryString(), query.getParameters());
     }
+
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public Double sum(EntityParameters.PenaltyParams column,
+                      Criteria<? extends EntityParameters.PenaltyParams> criteria) throws DAOException {
+        Query query = criteria.generateQuery(String.format(SQL_SELECT_SUM, column.getColumn()));
+        Number sum = queryMaster.executeAggregateQuery(query.getSqlQueryString(), query.getParameters());
+        return sum == null ? 0d : sum.doubleValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public Integer count(Criteria<? extends EntityParameters.PenaltyParams> criteria) throws DAOException {
+        Query query = criteria.generateQuery(SQL_SELECT_COUNT);
+        Number count = queryMaster.executeAggregateQuery(query.getSqlQueryString(), query.getParameters());
+        return count == null ? 0 : count.intValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public boolean exists(Criteria<? extends EntityParameters.PenaltyParams> criteria) throws DAOException {
+        Query query = criteria.generateQuery(SQL_SELECT_ANY);
+        return queryMaster.executeExistsQuery(query.getSqlQueryString(), query.getParameters());
+    }
 }
\ No newline at end of file
@@ -5,14 +5,20 @@ import by.epam.baranovsky.banking.dao.UserDAO;
 import by.epam.baranovsky.banking.dao.exception.DAOException;
 import by.epam.baranovsky.banking.dao.query.Query;
 import by.epam.baranovsky.banking.dao.query.QueryMaster;
+import by.epam.baranovsky.banking.dao.query.RowCallback;
 import by.epam.baranovsky.banking.dao.query.impl.SqlQueryMaster;
 import by.epam.baranovsky.banking.dao.rowmapper.RowMapper;
 import by.epam.baranovsky.banking.dao.rowmapper.RowMapperFactory;
 import by.epam.baranovsky.banking.entity.User;
 import by.epam.baranovsky.banking.entity.criteria.Criteria;
 import by.epam.baranovsky.banking.entity.criteria.EntityParameters;
+import by.epam.baranovsky.banking.entity.projection.UserName;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
 
 /**
  * Implementation of UserDAO for use with MySQL DB.
@@ -28,15 +34,31 @@ public class SqlUserDAO implements UserDAO {
     /** Object that executes SQL queries. */
     private static final QueryMaster<User> queryMaster = new SqlQueryMaster<>(mapper);
 
+    /** Object that executes SQL queries selecting names of users. */
+    private static final QueryMaster<UserName> nameQueryMaster =
+            new SqlQueryMaster<>(resultSet -> new UserName(
+                    resultSet.getInt(1), resultSet.getString(2),
+                    resultSet.getString(3), resultSet.getString(4)));
+
     private static final String SQL_SELECT_ALL = String.format(
             "SELECT * FROM %s LEFT JOIN %s ON %s=%s",
             DBMetadata.USERS_TABLE, DBMetadata.USER_ROLES_TABLE,
             DBMetadata.USERS_ROLE_ID, DBMetadata.USER_ROLES_ID);
 
+    private static final String SQL_SELECT_BY_IDS = String.format(
+            "%s WHERE %s.%s IN (%%s)",
+            SQL_SELECT_ALL, DBMetadata.USERS_TABLE, DBMetadata.USERS_ID);
+
     private static final String SQL_FIND_BY_ID = String.format(
             "%s WHERE %s=?",
             SQL_SELECT_ALL, DBMetadata.USERS_ID);
 
+    private static final String SQL_FIND_NAME_BY_ID = String.format(
+            "SELECT %s, %s, %s, %s FROM %s WHERE %s=?",
+            DBMetadata.USERS_ID, DBMetadata.USERS_NAME,
+            DBMetadata.USERS_SURNAME, DBMetadata.USERS_PATRONYMIC,
+            DBMetadata.USERS_TABLE, DBMetadata.USERS_ID);
+
     private static final String SQL_FIND_BY_EMAIL = String.format(
             "%s WHERE %s=?",
             SQL_SELECT_ALL, DBMetadata.USERS_EMAIL);
@@ -77,6 +99,15 @@ public class SqlUserDAO implements UserDAO {
                 userEmail);
     }
 
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public UserName findNameById(Integer id) throws DAOException {
+        return nameQueryMaster.executeSingleEntityQuery(SQL_FIND_NAME_BY_ID, id);
+    }
+
     /**
      * {@inheritDoc}
      * @throws DAOException if QueryMaster throws DAOException
@@ -98,6 +129,19 @@ public class SqlUserDAO implements UserDAO {
                 id);
     }
 
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public Map<Integer, User> findByIds(Collection<Integer> ids) throws DAOException {
+        Map<Integer, User> result = new HashMap<>();
+        for (User entity : queryMaster.executeInQuery(SQL_SELECT_BY_IDS, ids)) {
+            result.put(entity.getId(), entity);
+        }
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      * @throws DAOException if QueryMaster throws DAOException
@@ -107,6 +151,15 @@ public class SqlUserDAO implements UserDAO {
         return queryMaster.executeQuery(SQL_SELECT_ALL);
     }
 
+    /**
+     * {@inheritDoc}
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    @Override
+    public <E extends Exception> void forEach(RowCallback<? super User, E> callback) throws DAOException, E {
+        queryMaster.forEach(SQL_SELECT_ALL, callback);
+    }
+
     /**
      * {@inheritDoc}
      * @return Number of rows affected in DB.
@@ -1,14 +1,22 @@
 package by.epam.baranovsky.banking.dao.impl.command;
 
 import by.epam.baranovsky.banking.constant.DBMetadata;
+import by.epam.baranovsky.banking.dao.connectionpool.ConnectionRouter;
 import by.epam.baranovsky.banking.dao.exception.DAOException;
+import by.epam.baranovsky.banking.dao.exception.GuardFailedException;
+import by.epam.baranovsky.banking.dao.exception.TransferRejectedException;
+import by.epam.baranovsky.banking.dao.impl.SqlAccountDAO;
 import by.epam.baranovsky.banking.dao.query.Query;
 import by.epam.baranovsky.banking.dao.query.QueryMaster;
+import by.epam.baranovsky.banking.dao.query.impl.GroupCommitEngine;
 import by.epam.baranovsky.banking.dao.query.impl.SqlQueryMaster;
 import by.epam.baranovsky.banking.dao.rowmapper.RowMapperFactory;
 import by.epam.baranovsky.banking.entity.Operation;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * Skeletal implementation of OperationCommand
@@ -32,13 +40,117 @@ public abstract class AbstractTransferCommand extends AbstractOperationCommand{
             DBMetadata.ACCOUNTS_TABLE, DBMetadata.ACCOUNTS_BALANCE,
             DBMetadata.ACCOUNTS_BALANCE, DBMetadata.ACCOUNTS_ID);
 
-    protected static final String SQL_UPDATE_ACC_FROM_CARD = String.format(
-            "UPDATE %s SET %s=%s+? WHERE %s=(SELECT %s FROM %s WHERE %s=? LIMIT 1)",
-            DBMetadata.ACCOUNTS_TABLE, DBMetadata.ACCOUNTS_BALANCE,
-            DBMetadata.ACCOUNTS_BALANCE, DBMetadata.ACCOUNTS_ID,
+    /**
+     * Debits sender account if it has enough money.
+     * Status of account is not checked, as bills and penalties
+     * are to be paid even from locked accounts.
+     */
+    protected static final String SQL_DEBIT_ACC_ANY_STATUS = String.format(
+            "UPDATE %1$s SET %2$s=%2$s-? WHERE %3$s=? AND %2$s>=?",
+            DBMetadata.ACCOUNTS_TABLE, DBMetadata.ACCOUNTS_BALANCE, DBMetadata.ACCOUNTS_ID);
+
+    /**
+     * Debits sender account if it has enough money and is neither locked nor suspended.
+     */
+    protected static final String SQL_DEBIT_ACC = String.format(
+            "%s AND %s NOT IN (%s,%s)",
+            SQL_DEBIT_ACC_ANY_STATUS, DBMetadata.ACCOUNTS_ACCOUNT_STATUS_ID,
+            DBMetadata.ACCOUNT_STATUS_BLOCKED, DBMetadata.ACCOUNT_STATUS_SUSPENDED);
+
+    /**
+     * Debits account that is tied to sender card if it has enough money,
+     * counting in overdraft that is not spent yet for overdraft cards.
+     * Status of account is not checked.
+     */
+    protected static final String SQL_DEBIT_ACC_FROM_CARD_ANY_STATUS = String.format(
+            "UPDATE %1$s JOIN %2$s ON %2$s.%3$s=%1$s.%4$s SET %1$s.%5$s=%1$s.%5$s-? " +
+                    "WHERE %2$s.%6$s=? AND %1$s.%5$s+IF(%2$s.%7$s=%8$s, %2$s.%9$s-COALESCE(" +
+                    "(SELECT SUM(%10$s.%11$s) FROM %10$s WHERE %10$s.%12$s=%2$s.%6$s " +
+                    "AND %10$s.%13$s BETWEEN %14$s AND %15$s),0), 0)>=?",
+            DBMetadata.ACCOUNTS_TABLE, DBMetadata.BANK_CARDS_TABLE,
+            DBMetadata.BANK_CARDS_ACCOUNT_ID, DBMetadata.ACCOUNTS_ID,
+            DBMetadata.ACCOUNTS_BALANCE, DBMetadata.BANK_CARDS_ID,
+            DBMetadata.BANK_CARDS_TYPE_ID, DBMetadata.CARD_TYPE_OVERDRAFT,
+            DBMetadata.BANK_CARDS_OVERDRAFT_MAXIMUM, DBMetadata.LOANS_TABLE,
+            DBMetadata.LOANS_STARTING_VALUE, DBMetadata.LOANS_CARD_ID,
+            DBMetadata.LOANS_STATUS_ID, DBMetadata.LOAN_STATUS_PENDING,
+            DBMetadata.LOAN_STATUS_OVERDUE);
+
+    /**
+     * Debits account that is tied to sender card if it has enough money
+     * and is neither locked nor suspended.
+     */
+    protected static final String SQL_DEBIT_ACC_FROM_CARD = String.format(
+            "%s AND %s.%s NOT IN (%s,%s)",
+            SQL_DEBIT_ACC_FROM_CARD_ANY_STATUS,
+            DBMetadata.ACCOUNTS_TABLE, DBMetadata.ACCOUNTS_ACCOUNT_STATUS_ID,
+            DBMetadata.ACCOUNT_STATUS_BLOCKED, DBMetadata.ACCOUNT_STATUS_SUSPENDED);
+
+    /**
+     * Credits receiver account if it is not locked.
+     */
+    protected static final String SQL_CREDIT_ACC = String.format(
+            "UPDATE %1$s SET %2$s=%2$s+? WHERE %3$s=? AND %4$s<>%5$s",
+            DBMetadata.ACCOUNTS_TABLE, DBMetadata.ACCOUNTS_BALANCE, DBMetadata.ACCOUNTS_ID,
+            DBMetadata.ACCOUNTS_ACCOUNT_STATUS_ID, DBMetadata.ACCOUNT_STATUS_BLOCKED);
+
+    /**
+     * Credits account that is tied to receiver card
+     * if neither card nor account are locked.
+     */
+    protected static final String SQL_CREDIT_ACC_FROM_CARD = String.format(
+            "UPDATE %1$s SET %2$s=%2$s+? WHERE %3$s=(SELECT %4$s FROM %5$s WHERE %6$s=? " +
+                    "AND %7$s NOT IN (%8$s,%9$s) LIMIT 1) AND %10$s<>%11$s",
+            DBMetadata.ACCOUNTS_TABLE, DBMetadata.ACCOUNTS_BALANCE, DBMetadata.ACCOUNTS_ID,
             DBMetadata.BANK_CARDS_ACCOUNT_ID, DBMetadata.BANK_CARDS_TABLE,
+            DBMetadata.BANK_CARDS_ID, DBMetadata.BANK_CARDS_STATUS_ID,
+            DBMetadata.CARD_STATUS_LOCKED, DBMetadata.CARD_STATUS_EXPIRED,
+            DBMetadata.ACCOUNTS_ACCOUNT_STATUS_ID, DBMetadata.ACCOUNT_STATUS_BLOCKED);
+
+    /** Selects status of a card, its account and status of that account. */
+    private static final String SQL_FIND_CARD_STATE = String.format(
+            "SELECT %2$s.%3$s, %2$s.%4$s, %1$s.%5$s FROM %2$s LEFT JOIN %1$s ON %1$s.%6$s=%2$s.%4$s " +
+                    "WHERE %2$s.%7$s=?",
+            DBMetadata.ACCOUNTS_TABLE, DBMetadata.BANK_CARDS_TABLE,
+            DBMetadata.BANK_CARDS_STATUS_ID, DBMetadata.BANK_CARDS_ACCOUNT_ID,
+            DBMetadata.ACCOUNTS_ACCOUNT_STATUS_ID, DBMetadata.ACCOUNTS_ID,
             DBMetadata.BANK_CARDS_ID);
 
+    /** Selects account and its status in the same layout as {@link #SQL_FIND_CARD_STATE}. */
+    private static final String SQL_FIND_ACC_STATE = String.format(
+            "SELECT NULL, %s, %s FROM %s WHERE %s=?",
+            DBMetadata.ACCOUNTS_ID, DBMetadata.ACCOUNTS_ACCOUNT_STATUS_ID,
+            DBMetadata.ACCOUNTS_TABLE, DBMetadata.ACCOUNTS_ID);
+
+    private static final Set<String> DEBITS = Set.of(
+            SQL_DEBIT_ACC, SQL_DEBIT_ACC_ANY_STATUS,
+            SQL_DEBIT_ACC_FROM_CARD, SQL_DEBIT_ACC_FROM_CARD_ANY_STATUS);
+
+    private static final Set<String> CARD_UPDATES = Set.of(
+            SQL_DEBIT_ACC_FROM_CARD, SQL_DEBIT_ACC_FROM_CARD_ANY_STATUS, SQL_CREDIT_ACC_FROM_CARD);
+
+    /** Object that executes SQL queries selecting state of sender or receiver. */
+    private static final QueryMaster<Integer[]> stateQueryMaster = new SqlQueryMaster<>(
+            resultSet -> new Integer[]{
+                    (Integer) resultSet.getObject(1),
+                    (Integer) resultSet.getObject(2),
+                    (Integer) resultSet.getObject(3)});
+
+    /**
+     * Locks account row without changing it.
+     */
+    protected static final String SQL_LOCK_ACC = String.format(
+            "UPDATE %1$s SET %2$s=%2$s WHERE %3$s=?",
+            DBMetadata.ACCOUNTS_TABLE, DBMetadata.ACCOUNTS_BALANCE, DBMetadata.ACCOUNTS_ID);
+
+    private static final String SQL_FIND_CARD_ACCOUNTS = String.format(
+            "SELECT %s FROM %s WHERE %s IN (%%s)",
+            DBMetadata.BANK_CARDS_ACCOUNT_ID, DBMetadata.BANK_CARDS_TABLE, DBMetadata.BANK_CARDS_ID);
+
+    /** Object that executes SQL queries selecting IDs of accounts tied to cards. */
+    private static final QueryMaster<Integer> accountIdQueryMaster =
+            new SqlQueryMaster<>(resultSet -> resultSet.getInt(1));
+
     /**
      * Builds a Query object with SQL INSERT statement for passed operation.
      * @param operation Operation to insert.
@@ -60,6 +172,62 @@ public abstract class AbstractTransferCommand extends AbstractOperationCommand{
                 operation.getCommission());
     }
 
+    /**
+     * Builds a Query object that changes balance of bank's own account.
+     * Change is posted to bank's ledger and gets to the account
+     * when ledger is folded.
+     * @param value Value to add to bank's balance, negative to subtract.
+     * @return Instance of Query with prepared SQL INSERT statement.
+     * @see SqlAccountDAO#getBankPosting(double)
+     */
+    protected static Query getBankPosting(double value){
+        return SqlAccountDAO.getBankPosting(value);
+    }
+
+    /**
+     * Builds a guarded Query that subtracts money from operation's sender account.
+     * @param operation Operation whose account is debited.
+     * @param amount Value to subtract.
+     * @return Query that affects no rows if account has not enough money
+     * or, unless operation pays a bill or a penalty, is locked or suspended.
+     */
+    protected static Query getAccountDebit(Operation operation, double amount){
+        return Query.guarded(isPayment(operation) ? SQL_DEBIT_ACC_ANY_STATUS : SQL_DEBIT_ACC,
+                amount, operation.getAccountId(), amount);
+    }
+
+    /**
+     * Builds a guarded Query that subtracts money from account tied to operation's sender card.
+     * @param operation Operation whose card is debited.
+     * @param amount Value to subtract.
+     * @return Query that affects no rows if card is not tied to an account,
+     * account has not enough money or, unless operation pays a bill or a penalty,
+     * is locked or suspended.
+     */
+    protected static Query getCardDebit(Operation operation, double amount){
+        return Query.guarded(isPayment(operation) ? SQL_DEBIT_ACC_FROM_CARD_ANY_STATUS : SQL_DEBIT_ACC_FROM_CARD,
+                amount, operation.getBankCardId(), amount);
+    }
+
+    /**
+     * Builds a guarded Query that adds operation's value to its receiver account.
+     * @param operation Operation whose target account is credited.
+     * @return Query that affects no rows if account is locked.
+     */
+    protected static Query getAccountCredit(Operation operation){
+        return Query.guarded(SQL_CREDIT_ACC, operation.getValue(), operation.getTargetAccountId());
+    }
+
+    /**
+     * Builds a guarded Query that adds operation's value to account tied to its receiver card.
+     * @param operation Operation whose target card is credited.
+     * @return Query that affects no rows if card is locked, expired
+     * or not tied to an account, or if account is locked.
+     */
+    protected static Query getCardCredit(Operation operation){
+        return Query.guarded(SQL_CREDIT_ACC_FROM_CARD, operation.getValue(), operation.getTargetBankCardId());
+    }
+
     /**
      * Prepares a list of queries for transactional update.
      * @param operation operation to prepare transaction for.
@@ -68,4 +236,143 @@ public abstract class AbstractTransferCommand extends AbstractOperationCommand{
      * @see QueryMaster#executeTransaction(List)
      */
     protected abstract List<Query> prepareTransaction(Operation operation) throws DAOException;
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     *     Transaction starts with locking of all involved accounts
+     *     in ascending order of their IDs, so that concurrent transfers between
+     *     the same accounts wait for each other instead of deadlocking.
+     * </p>
+     * <p>
+     *     Before transaction is started, transfer waits in JVM for concurrent
+     *     transfers of the same accounts, so that they queue up on in-process locks
+     *     rather than on DB row locks. Connections bound to the request are returned
+     *     to their pools before waiting, so that a waiting transfer holds none.
+     * </p>
+     * <p>
+     *     Transaction is committed together with concurrent transfers
+     *     if group commit is enabled.
+     * </p>
+     * @throws TransferRejectedException if sender or receiver state does not allow transfer.
+     * @throws DAOException if QueryMaster throws DAOException
+     * @see GroupCommitEngine
+     */
+    @Override
+    public int create(Operation operation) throws DAOException {
+        Set<Integer> accountIds = getAccountIds(operation);
+        List<Query> queries = getAccountLocks(accountIds);
+        queries.addAll(prepareTransaction(operation));
+        ConnectionRouter.releaseBoundConnections();
+        try (AccountLockTable.Lease lease = AccountLockTable.getInstance().lock(accountIds)) {
+            GroupCommitEngine groupCommit = GroupCommitEngine.getInstance();
+            if (groupCommit.isEnabled()) {
+                return groupCommit.execute(queries);
+            }
+            return queryMaster.executeTransaction(queries);
+        } catch (GuardFailedException e) {
+            throw new TransferRejectedException(diagnose(e.getQuery()), e);
+        }
+    }
+
+    /**
+     * Finds accounts involved in operation, including accounts tied to its cards.
+     * <p>
+     *     Accounts of cards are read from primary database, as replica may lag behind
+     *     and miss a card or its new account, so that wrong accounts would be locked.
+     *     Current thread is pinned to primary, as it is about to write there anyway.
+     * </p>
+     * @param operation Operation to find accounts of.
+     * @return IDs of accounts in ascending order.
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    private static Set<Integer> getAccountIds(Operation operation) throws DAOException {
+        Set<Integer> accountIds = new TreeSet<>();
+        addAccountId(accountIds, operation.getAccountId());
+        addAccountId(accountIds, operation.getTargetAccountId());
+
+        List<Integer> cardIds = new ArrayList<>();
+        if (operation.getBankCardId() != null) {
+            cardIds.add(operation.getBankCardId());
+        }
+        if (operation.getTargetBankCardId() != null) {
+            cardIds.add(operation.getTargetBankCardId());
+        }
+        if (!cardIds.isEmpty()) {
+            ConnectionRouter.pinToPrimary();
+            for (Integer accountId : accountIdQueryMaster.executeInQuery(SQL_FIND_CARD_ACCOUNTS, cardIds)) {
+                addAccountId(accountIds, accountId);
+            }
+        }
+        return accountIds;
+    }
+
+    /**
+     * Builds queries that lock accounts in DB in given order.
+     * @param accountIds IDs of accounts in ascending order.
+     * @return Modifiable list of lock queries, empty if there is a single account.
+     */
+    private static List<Query> getAccountLocks(Set<Integer> accountIds) {
+        List<Query> locks = new ArrayList<>();
+        if (accountIds.size() > 1) {
+            accountIds.forEach(accountId -> locks.add(new Query(SQL_LOCK_ACC, accountId)));
+        }
+        return locks;
+    }
+
+    private static void addAccountId(Set<Integer> accountIds, Integer accountId) {
+        if (accountId != null && accountId != 0) {
+            accountIds.add(accountId);
+        }
+    }
+
+    /**
+     * Finds out why guarded query of a rolled back transfer affected no rows.
+     * @param failed Guarded query that affected no rows.
+     * @return Reason of rejection.
+     * @throws DAOException if QueryMaster throws DAOException
+     */
+    private static TransferRejectedException.Reason diagnose(Query failed) throws DAOException {
+        String sql = failed.getSqlQueryString();
+        boolean debit = DEBITS.contains(sql);
+        Integer[] state = stateQueryMaster.executeSingleEntityQuery(
+                CARD_UPDATES.contains(sql) ? SQL_FIND_CARD_STATE : SQL_FIND_ACC_STATE,
+                failed.getParameters()[1]);
+
+        if (state == null) {
+            return TransferRejectedException.Reason.NOT_FOUND;
+        }
+        Integer cardStatus = state[0];
+        Integer accountId = state[1];
+        Integer accountStatus = state[2];
+        if (accountId == null || accountId == 0) {
+            return TransferRejectedException.Reason.CREDIT_CARD;
+        }
+        if (!debit && (DBMetadata.CARD_STATUS_LOCKED.equals(cardStatus)
+                || DBMetadata.CARD_STATUS_EXPIRED.equals(cardStatus))) {
+            return TransferRejectedException.Reason.CARD_LOCKED;
+        }
+        if (accountStatus == null) {
+            return TransferRejectedException.Reason.NOT_FOUND;
+        }
+        if (DBMetadata.ACCOUNT_STATUS_BLOCKED.equals(accountStatus)
+                && (sql.equals(SQL_DEBIT_ACC) || sql.equals(SQL_DEBIT_ACC_FROM_CARD) || !debit)) {
+            return TransferRejectedException.Reason.ACCOUNT_LOCKED;
+        }
+        if (DBMetadata.ACCOUNT_STATUS_SUSPENDED.equals(accountStatus)
+                && (sql.equals(SQL_DEBIT_ACC) || sql.equals(SQL_DEBIT_ACC_FROM_CARD))) {
+            return TransferRejectedException.Reason.ACCOUNT_SUSPENDED;
+        }
+        return debit
+                ? TransferRejectedException.Reason.INSUFFICIENT_FUNDS
+                : TransferRejectedException.Reason.ACCOUNT_LOCKED;
+    }
+
+    /**
+     * @param operation Operation to check.
+     * @return {@code true} if operation pays a bill or a penalty.
+     */
+    private static boolean isPayment(Operation operation){
+        return operation.getBillId() != null || operation.getPenaltyId() != null;
+    }
 }
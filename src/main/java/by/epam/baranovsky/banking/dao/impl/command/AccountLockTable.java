@@ -0,0 +1,212 @@
+package by.epam.baranovsky.banking.dao.impl.command;
+
+import by.epam.baranovsky.banking.dao.connectionpool.DBParameter;
+import by.epam.baranovsky.banking.dao.connectionpool.DBResourceManager;
+import by.epam.baranovsky.banking.dao.exception.DAOException;
+import org.apache.log4j.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Table of in-process locks that serializes operations on the same accounts
+ * before they reach DB.
+ * <p>
+ *     Account IDs are spread over {@code db.account.locks.stripes} stripes,
+ *     each guarded by its own lock. Operation takes locks of stripes of all its accounts
+ *     in ascending order of stripe indexes, so operations on the same account
+ *     wait for each other in JVM without holding DB connections or row locks,
+ *     and operations on accounts of disjoint stripes proceed in parallel.
+ * </p>
+ * <p>
+ *     Locks only serialize operations of this JVM; DB row locks still
+ *     guard against other instances of application.
+ *     Table is disabled if {@code db.account.locks.enabled} is {@code false}.
+ * </p>
+ * @author Baranovsky E. K.
+ * @version 1.0.0
+ */
+final class AccountLockTable implements AccountLockTableMXBean {
+
+    private static final Logger logger = Logger.getLogger(AccountLockTable.class);
+    private static final String MBEAN_NAME = "by.epam.baranovsky.banking:type=AccountLocks";
+    private static final int DEFAULT_STRIPES = 256;
+
+    private static final AccountLockTable instance = new AccountLockTable();
+
+    private final boolean enabled;
+    private final ReentrantLock[] locks;
+    /** Number of contentions by stripe. */
+    private final AtomicLongArray stripeContentions;
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder contentions = new LongAdder();
+    /** Time in nanoseconds spent waiting for contended locks. */
+    private final LongAdder waitTime = new LongAdder();
+
+    private AccountLockTable() {
+        this(Boolean.parseBoolean(DBResourceManager.getInstance().getValue(
+                        DBParameter.DB_ACCOUNT_LOCKS_ENABLED, Boolean.TRUE.toString())),
+                (int) DBResourceManager.getInstance().getLongValue(
+                        DBParameter.DB_ACCOUNT_LOCKS_STRIPES, DEFAULT_STRIPES));
+        registerMBean();
+    }
+
+    /**
+     * Creates table that is not configured from properties nor registered as MBean.
+     * @param enabled Whether locks are to be taken.
+     * @param stripes Number of stripes.
+     */
+    AccountLockTable(boolean enabled, int stripes) {
+        this.enabled = enabled;
+        int count = Math.max(1, stripes);
+        this.locks = new ReentrantLock[count];
+        for (int i = 0; i < count; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.stripeContentions = new AtomicLongArray(count);
+    }
+
+    static AccountLockTable getInstance() {
+        return instance;
+    }
+
+    /**
+     * Locks stripes of given accounts, waiting for them if they are held by other threads.
+     * @param accountIds IDs of accounts.
+     * @return Lease that releases acquired locks when closed.
+     * @throws DAOException if thread is interrupted while waiting.
+     */
+    Lease lock(Collection<Integer> accountIds) throws DAOException {
+        if (!enabled || accountIds.isEmpty()) {
+            return () -> {};
+        }
+        TreeSet<Integer> stripes = new TreeSet<>();
+        for (Integer accountId : accountIds) {
+            stripes.add(Math.floorMod(accountId, locks.length));
+        }
+
+        int[] acquired = new int[stripes.size()];
+        int count = 0;
+        try {
+            for (int stripe : stripes) {
+                lockStripe(stripe);
+                acquired[count++] = stripe;
+            }
+        } catch (InterruptedException e) {
+            unlock(acquired, count);
+            Thread.currentThread().interrupt();
+            throw new DAOException("Interrupted while waiting for account lock.", e);
+        }
+        int held = count;
+        return () -> unlock(acquired, held);
+    }
+
+    private void lockStripe(int stripe) throws InterruptedException {
+        ReentrantLock lock = locks[stripe];
+        acquisitions.increment();
+        if (lock.tryLock()) {
+            return;
+        }
+        contentions.increment();
+        stripeContentions.incrementAndGet(stripe);
+        long start = System.nanoTime();
+        lock.lockInterruptibly();
+        waitTime.add(System.nanoTime() - start);
+    }
+
+    private void unlock(int[] stripes, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            locks[stripes[i]].unlock();
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public int getStripes() {
+        return locks.length;
+    }
+
+    @Override
+    public long getAcquisitions() {
+        return acquisitions.sum();
+    }
+
+    @Override
+    public long getContentions() {
+        return contentions.sum();
+    }
+
+    @Override
+    public long getWaitTime() {
+        return waitTime.sum() / 1_000_000L;
+    }
+
+    @Override
+    public int getContendedStripes() {
+        int contended = 0;
+        for (int i = 0; i < stripeContentions.length(); i++) {
+            if (stripeContentions.get(i) > 0) {
+                contended++;
+            }
+        }
+        return contended;
+    }
+
+    @Override
+    public long getMaxStripeContentions() {
+        long max = 0;
+        for (int i = 0; i < stripeContentions.length(); i++) {
+            max = Math.max(max, stripeContentions.get(i));
+        }
+        return max;
+    }
+
+    @Override
+    public int getQueuedThreads() {
+        int queued = 0;
+        for (ReentrantLock lock : locks) {
+            queued += lock.getQueueLength();
+        }
+        return queued;
+    }
+
+    /**
+     * Registers table in platform MBean server.
+     * Failure to register is logged, but does not prevent locking.
+     */
+    private void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(MBEAN_NAME);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(this, objectName);
+        } catch (JMException e) {
+            logger.warn("Unable to register account lock MBean.", e);
+        }
+    }
+
+    /**
+     * Locks held by an operation.
+     */
+    interface Lease extends AutoCloseable {
+
+        /**
+         * Releases locks.
+         */
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,51 @@
+package by.epam.baranovsky.banking.dao.impl.command;
+
+/**
+ * Management interface of account lock table,
+ * registered in platform MBean server as
+ * {@code by.epam.baranovsky.banking:type=AccountLocks}.
+ * @author Baranovsky E. K.
+ * @version 1.0.0
+ */
+public interface AccountLockTableMXBean {
+
+    /**
+     * @return {@code true} if operations are serialized by account locks.
+     */
+    boolean isEnabled();
+
+    /**
+     * @return Number of stripes that account IDs are spread over.
+     */
+    int getStripes();
+
+    /**
+     * @return Number of stripe locks acquired.
+     */
+    long getAcquisitions();
+
+    /**
+     * @return Number of stripe locks that were held by another thread when requested.
+     */
+    long getContentions();
+
+    /**
+     * @return Total time in milliseconds spent waiting for contended stripe locks.
+     */
+    long getWaitTime();
+
+    /**
+     * @return Number of distinct stripes that have been contended at least once.
+     */
+    int getContendedStripes();
+
+    /**
+     * @return Number of contentions of the most contended stripe.
+     */
+    long getMaxStripeContentions();
+
+    /**
+     * @return Number of threads currently waiting for stripe locks.
+     */
+    int getQueuedThreads();
+}
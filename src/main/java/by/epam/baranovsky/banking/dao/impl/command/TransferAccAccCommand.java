@@ -1,6 +1,5 @@
 package by.epam.baranovsky.banking.dao.impl.command;
 
-import by.epam.baranovsky.banking.constant.DBMetadata;
 import by.epam.baranovsky.banking.dao.exception.DAOException;
 import by.epam.baranovsky.banking.dao.query.Query;
 import by.epam.baranovsky.banking.entity.Operation;
@@ -24,7 +23,7 @@ public class TransferAccAccCommand extends AbstractTransferCommand {
      * </p>
      * <p>
      *     If operation has a commission, it is further subtracted
-     *     from sender account and added to bank's own account.
+     *     from sender account and posted to bank's ledger.
      * </p>
      * @throws DAOException if operation's value, account id or target account id are {@code null}.
      */
@@ -35,27 +34,11 @@ public class TransferAccAccCommand extends AbstractTransferCommand {
                 operation.getTargetAccountId(), operation.getAccountId());
         List<Query> queries = new ArrayList<>();
         queries.add(getBasicInsert(operation));
-        queries.add(new Query(
-                SQL_UPDATE_ACC,
-                operation.getValue(),
-                operation.getTargetAccountId()));
-        queries.add(new Query(
-                SQL_UPDATE_ACC,
-                -(operation.getValue()+comm),
-                operation.getAccountId()));
-        queries.add(new Query(
-                SQL_UPDATE_ACC,
-                comm,
-                DBMetadata.BANK_ACCOUNT_ID));
+        queries.add(getAccountDebit(operation, operation.getValue()+comm));
+        queries.add(getAccountCredit(operation));
+        if (comm != 0) {
+            queries.add(getBankPosting(comm));
+        }
         return queries;
     }
-
-    /**
-     * {@inheritDoc}
-     * @throws DAOException if QueryMaster throws DAOException
-     */
-    @Override
-    public int create(Operation operation) throws DAOException {
-        return queryMaster.executeTransaction(prepareTransaction(operation));
-    }
 }
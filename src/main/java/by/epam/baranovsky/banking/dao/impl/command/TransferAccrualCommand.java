@@ -1,11 +1,11 @@
 package by.epam.baranovsky.banking.dao.impl.command;
 
-import by.epam.baranovsky.banking.constant.DBMetadata;
 import by.epam.baranovsky.banking.dao.exception.DAOException;
 import by.epam.baranovsky.banking.dao.query.Query;
 import by.epam.baranovsky.banking.entity.Operation;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -20,7 +20,7 @@ public class TransferAccrualCommand extends AbstractTransferCommand{
      * {@inheritDoc}
      * <p>
      *     Transaction includes insertion of an operation,
-     *     updating receiver account and bank's own account.
+     *     updating receiver account and posting to bank's ledger.
      *     Value of transfer is subtracted from bank and
      *     added to receiver.<b> Receiver is identified  by accountId of operation.</b>
      * </p>
@@ -34,19 +34,49 @@ public class TransferAccrualCommand extends AbstractTransferCommand{
         queries.add(new Query(SQL_UPDATE_ACC,
                 operation.getValue(),
                 operation.getAccountId()));
-        queries.add(new Query(
-                SQL_UPDATE_ACC,
-                -operation.getValue(),
-                DBMetadata.BANK_ACCOUNT_ID));
+        queries.add(getBankPosting(-operation.getValue()));
         return queries;
     }
 
     /**
-     * {@inheritDoc}
-     * @throws DAOException if QueryMaster throws DAOException
+     * Saves accrual operations to DB in a single transaction.
+     * <p>
+     *     Receiver accounts are updated first, in ascending order of their IDs,
+     *     then all operations are inserted, and their total is posted to bank's ledger once.
+     *     Statements of each kind share SQL, so they are sent to DB as JDBC batches.
+     * </p>
+     * <p>
+     *     Accounts are locked by their updates in the same order transfers lock them,
+     *     so in-JVM account locks are not taken: they would block all transfers
+     *     for the whole batch.
+     * </p>
+     * @param operations Accrual operations.
+     * @return Number of saved operations.
+     * @throws DAOException if value or account id of any operation is {@code null},
+     * or if QueryMaster throws DAOException
+     * @see by.epam.baranovsky.banking.dao.query.QueryMaster#executeTransaction(List)
      */
-    @Override
-    public int create(Operation operation) throws DAOException {
-        return queryMaster.executeTransaction(prepareTransaction(operation));
+    public int createAll(List<Operation> operations) throws DAOException {
+        if (operations.isEmpty()) {
+            return 0;
+        }
+        List<Operation> sorted = new ArrayList<>(operations);
+        sorted.sort(Comparator.comparing(Operation::getAccountId,
+                Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        List<Query> queries = new ArrayList<>();
+        double total = 0;
+        for (Operation operation : sorted) {
+            OperationCommand.testNonNull(operation.getValue(), operation.getAccountId());
+            queries.add(new Query(SQL_UPDATE_ACC, operation.getValue(), operation.getAccountId()));
+            total += operation.getValue();
+        }
+        for (Operation operation : sorted) {
+            queries.add(getBasicInsert(operation));
+        }
+        queries.add(getBankPosting(-total));
+
+        queryMaster.executeTransaction(queries);
+        return sorted.size();
     }
 }
@@ -1,6 +1,5 @@
 package by.epam.baranovsky.banking.dao.impl.command;
 
-import by.epam.baranovsky.banking.constant.DBMetadata;
 import by.epam.baranovsky.banking.dao.exception.DAOException;
 import by.epam.baranovsky.banking.dao.query.Query;
 import by.epam.baranovsky.banking.entity.Operation;
@@ -25,7 +24,7 @@ public class TransferCardAccCommand extends AbstractTransferCommand{
      * </p>
      * <p>
      *     If operation has a commission, it is further subtracted
-     *     from sender account and added to bank's own account.
+     *     from sender account and posted to bank's ledger.
      * </p>
      * @throws DAOException if operation's value, card id or target account id are {@code null}.
      */
@@ -36,27 +35,11 @@ public class TransferCardAccCommand extends AbstractTransferCommand{
                 operation.getBankCardId(), operation.getTargetAccountId());
         List<Query> queries = new ArrayList<>();
         queries.add(getBasicInsert(operation));
-        queries.add(new Query(
-                SQL_UPDATE_ACC,
-                operation.getValue(),
-                operation.getTargetAccountId()));
-        queries.add(new Query(
-                SQL_UPDATE_ACC_FROM_CARD,
-                -(operation.getValue()+comm),
-                operation.getBankCardId()));
-        queries.add(new Query(
-                SQL_UPDATE_ACC,
-                comm,
-                DBMetadata.BANK_ACCOUNT_ID));
+        queries.add(getCardDebit(operation, operation.getValue()+comm));
+        queries.add(getAccountCredit(operation));
+        if (comm != 0) {
+            queries.add(getBankPosting(comm));
+        }
         return queries;
     }
-
-    /**
-     * {@inheritDoc}
-     * @throws DAOException if QueryMaster throws DAOException
-     */
-    @Override
-    public int create(Operation operation) throws DAOException {
-        return queryMaster.executeTransaction(prepareTransaction(operation));
-    }
 }
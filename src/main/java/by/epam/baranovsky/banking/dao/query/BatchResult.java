@@ -0,0 +1,41 @@
+package by.epam.baranovsky.banking.dao.query;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Result of a batch execution of a single SQL statement.
+ * @author Baranovsky E. K.
+ * @version 1.0.0
+ * @see QueryMaster#executeBatch(String, List)
+ */
+@Data
+public class BatchResult {
+
+    /**
+     * Number of rows affected by each set of parameters, in order.
+     * May be {@link java.sql.Statement#SUCCESS_NO_INFO} if driver rewrote the batch
+     * into a single statement.
+     */
+    private final int[] updateCounts;
+    /**
+     * Keys generated by the statement, in order of insertion.
+     * Empty for statements other than INSERT.
+     */
+    private final List<Integer> generatedKeys;
+
+    /**
+     * @return Total number of affected rows,
+     * not counting statements whose count is unknown.
+     */
+    public int getTotalUpdateCount() {
+        int total = 0;
+        for (int count : updateCounts) {
+            if (count > 0) {
+                total += count;
+            }
+        }
+        return total;
+    }
+}
@@ -18,9 +18,27 @@ public class Query {
      * Parameters that are to be set in prepared statement in order.
      */
     private Object[] parameters;
+    /**
+     * Whether transaction is to be rolled back if statement affects no rows.
+     */
+    private boolean guarded;
 
     public Query(String query, Object... parameters) {
         this.sqlQueryString = query;
         this.parameters = parameters;
     }
+
+    /**
+     * Builds a Query that is required to affect at least one row,
+     * e.g. conditional UPDATE that checks balance before changing it.
+     * @param query SQL statement.
+     * @param parameters Parameters of statement.
+     * @return Guarded Query.
+     * @see QueryMaster#executeTransaction(java.util.List)
+     */
+    public static Query guarded(String query, Object... parameters) {
+        Query guardedQuery = new Query(query, parameters);
+        guardedQuery.setGuarded(true);
+        return guardedQuery;
+    }
 }
@@ -4,6 +4,7 @@ import by.epam.baranovsky.banking.dao.exception.DAOException;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -43,6 +44,61 @@ public interface QueryMaster<T> {
      */
     T executeSingleEntityQuery(String query, Object... params) throws DAOException;
 
+    /**
+     * Executes SQL query selecting rows whose column is in given collection of values.
+     * <p>
+     *     Values are split into chunks of at most {@code db.in.list.size},
+     *     and every chunk is selected by a single query.
+     * </p>
+     * @param query SQL SELECT statement to execute, with a single {@code %s}
+     *              in place of the list of values, as in {@code WHERE id IN (%s)}
+     * @param values values to look for; duplicates and {@code null}s are ignored
+     * @return List of entities extracted from BD by all chunks.
+     * @throws DAOException if SQLException or ConnectionPoolException occur
+     */
+    List<T> executeInQuery(String query, Collection<?> values) throws DAOException;
+
+    /**
+     * Executes SQL aggregate query (such as COUNT or SUM) with given parameters.
+     * @param query SQL SELECT statement to execute
+     *              (should be a prepared statement if there are parameters)
+     * @param params parameters to be put into a statement
+     * @return Value of the first column of the first row,
+     * {@code null} if it is SQL NULL or there are no rows.
+     * @throws DAOException if SQLException or ConnectionPoolException occur
+     */
+    Number executeAggregateQuery(String query, Object... params) throws DAOException;
+
+    /**
+     * Checks whether SQL query with given parameters returns any rows,
+     * without retrieving them.
+     * @param query SQL SELECT statement to check
+     *              (should be a prepared statement if there are parameters)
+     * @param params parameters to be put into a statement
+     * @return {@code true} if query returns at least one row.
+     * @throws DAOException if SQLException or ConnectionPoolException occur
+     */
+    boolean executeExistsQuery(String query, Object... params) throws DAOException;
+
+    /**
+     * Executes SQL query with given parameters, passing entities to callback
+     * as soon as they are read, without keeping whole result in memory.
+     * <p>
+     *     Rows are fetched from DB in portions, so memory used by a scan
+     *     does not depend on size of result set.
+     *     Connection is held until iteration is over.
+     * </p>
+     * @param query SQL SELECT statement to execute
+     *              (should be a prepared statement if there are parameters)
+     * @param callback callback to pass entities to
+     * @param params parameters to be put into a statement
+     * @param <E> Type of exception callback may throw.
+     * @throws DAOException if SQLException or ConnectionPoolException occur
+     * @throws E if callback throws it
+     */
+    <E extends Exception> void forEach(String query, RowCallback<? super T, E> callback, Object... params)
+            throws DAOException, E;
+
     /**
      * Executes SQL data manipulation statements with given parameters.
      * @param query SQL DML statement to execute
@@ -54,14 +110,63 @@ public interface QueryMaster<T> {
      */
     int executeUpdate(String query, Object... params) throws DAOException;
 
+    /**
+     * Executes SQL data manipulation statement once for every set of parameters,
+     * sending parameter sets to DB in batches.
+     * <p>
+     *     All parameter sets are executed in a single transaction.
+     * </p>
+     * @param query SQL DML statement to execute
+     * @param params List of parameter sets, one per execution.
+     * @return Update counts and generated keys of executed statements.
+     * @throws DAOException if SQLException or ConnectionPoolException occur
+     * @see BatchResult
+     */
+    BatchResult executeBatch(String query, List<Object[]> params) throws DAOException;
+
     /**
      * Executes transactional update in DB.
+     * <p>
+     *     Consecutive queries with identical SQL are sent to DB as a single batch,
+     *     unless they are guarded.
+     * </p>
      * @param queries List of Query objects, in order.
      * @return Generated key of the first executed INSERT statement,
      * -1 if no inserts were done
+     * @throws by.epam.baranovsky.banking.dao.exception.GuardFailedException
+     * if a guarded query affects no rows, after transaction is rolled back.
      * @throws DAOException if SQLException or ConnectionPoolException occur
      * @see Query
      */
     int executeTransaction(List<Query> queries) throws DAOException;
 
+    /**
+     * Executes transactional update in DB at given isolation level.
+     * Connection gets its own isolation level back afterwards.
+     * @param queries List of Query objects, in order.
+     * @param isolationLevel One of {@code Connection.TRANSACTION_*} constants.
+     * @return Generated key of the first executed INSERT statement,
+     * -1 if no inserts were done
+     * @throws DAOException if SQLException or ConnectionPoolException occur
+     * @see #executeTransaction(List)
+     */
+    int executeTransaction(List<Query> queries, int isolationLevel) throws DAOException;
+
+    /**
+     * Executes several independent transactions within a single DB transaction,
+     * so that they are committed at once.
+     * <p>
+     *     Every transaction is isolated by a savepoint: if any of its queries fails,
+     *     its changes are rolled back and the rest are still committed.
+     * </p>
+     * @param transactions Lists of Query objects, each list in order.
+     * @return Results of transactions in order of passed lists.
+     * @throws DAOException if DB transaction as a whole fails,
+     * in which case nothing is committed. That includes a transaction
+     * aborted by DB because of a deadlock or lock wait timeout,
+     * as DB may have rolled back the others too.
+     * @see #executeTransaction(List)
+     */
+    List<TransactionResult> executeTransactions(List<List<Query>> transactions) throws DAOException;
+
 }
@@ -0,0 +1,21 @@
+package by.epam.baranovsky.banking.dao.query;
+
+/**
+ * Callback that processes entities of a result set one at a time.
+ * @param <T> Type of processed entity.
+ * @param <E> Type of exception callback may throw.
+ * @author Baranovsky E. K.
+ * @version 1.0.0
+ * @see QueryMaster#forEach(String, RowCallback, Object...)
+ */
+@FunctionalInterface
+public interface RowCallback<T, E extends Exception> {
+
+    /**
+     * Processes a single entity.
+     * @param entity Entity mapped from current row.
+     * @throws E if processing fails; iteration is stopped then.
+     */
+    void process(T entity) throws E;
+
+}
@@ -0,0 +1,33 @@
+package by.epam.baranovsky.banking.dao.query;
+
+import by.epam.baranovsky.banking.dao.exception.DAOException;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Result of one of transactions executed together.
+ * @author Baranovsky E. K.
+ * @version 1.0.0
+ * @see QueryMaster#executeTransactions(List)
+ */
+@Data
+public class TransactionResult {
+
+    /**
+     * Generated key of the first executed INSERT statement,
+     * -1 if no inserts were done, {@code null} if transaction failed.
+     */
+    private final Integer generatedKey;
+    /**
+     * Exception transaction failed with, {@code null} if it succeeded.
+     */
+    private final DAOException error;
+
+    /**
+     * @return {@code true} if transaction succeeded.
+     */
+    public boolean isSuccessful() {
+        return error == null;
+    }
+}
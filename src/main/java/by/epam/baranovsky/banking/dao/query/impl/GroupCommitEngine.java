@@ -0,0 +1,276 @@
+package by.epam.baranovsky.banking.dao.query.impl;
+
+import by.epam.baranovsky.banking.dao.connectionpool.ConnectionRouter;
+import by.epam.baranovsky.banking.dao.connectionpool.DBParameter;
+import by.epam.baranovsky.banking.dao.connectionpool.DBResourceManager;
+import by.epam.baranovsky.banking.dao.exception.DAOException;
+import by.epam.baranovsky.banking.dao.query.Query;
+import by.epam.baranovsky.banking.dao.query.QueryMaster;
+import by.epam.baranovsky.banking.dao.query.TransactionResult;
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Engine that commits transactions submitted by concurrent threads in groups.
+ * <p>
+ *     Submitted transactions are queued and applied by a single writer thread:
+ *     it takes all queued transactions, up to {@code db.group.commit.batch.size},
+ *     waiting at most {@code db.group.commit.max.delay} milliseconds for more to arrive,
+ *     and executes them within one DB transaction, so that they share one commit.
+ *     Transactions are isolated from each other by savepoints. If the group fails
+ *     as a whole, e.g. due to a deadlock in any of its transactions, they are
+ *     executed again one by one, with retries of {@link QueryMaster#executeTransaction(List)}.
+ * </p>
+ * <p>
+ *     Engine is disabled unless {@code db.group.commit.enabled} is {@code true}.
+ *     Writer thread is started on first submission.
+ * </p>
+ * @author Baranovsky E. K.
+ * @version 1.0.0
+ * @see QueryMaster#executeTransactions(List)
+ */
+public final class GroupCommitEngine {
+
+    private static final Logger logger = Logger.getLogger(GroupCommitEngine.class);
+    private static final String WRITER_NAME = "Group commit writer";
+    private static final int DEFAULT_BATCH_SIZE = 32;
+    private static final long DEFAULT_MAX_DELAY = 0L;
+
+    private static final GroupCommitEngine instance = new GroupCommitEngine();
+
+    private final boolean enabled;
+    /** Maximal number of transactions committed at once. */
+    private final int batchSize;
+    /** Maximal time in nanoseconds to wait for more transactions to join a group. */
+    private final long maxDelay;
+    private final BlockingQueue<PendingTransaction> queue = new LinkedBlockingQueue<>();
+    private final QueryMaster<Object> queryMaster;
+    /** Number of committed groups. */
+    private final LongAdder groups = new LongAdder();
+    /** Number of transactions in committed groups. */
+    private final LongAdder transactions = new LongAdder();
+
+    private Thread writer;
+    private volatile boolean shutdown;
+
+    private GroupCommitEngine() {
+        DBResourceManager dbResourceManager = DBResourceManager.getInstance();
+        this.enabled = Boolean.parseBoolean(dbResourceManager.getValue(
+                DBParameter.DB_GROUP_COMMIT_ENABLED, Boolean.FALSE.toString()));
+        this.queryMaster = new SqlQueryMaster<>(resultSet -> null);
+        this.batchSize = Math.max(1, (int) dbResourceManager.getLongValue(
+                DBParameter.DB_GROUP_COMMIT_BATCH_SIZE, DEFAULT_BATCH_SIZE));
+        this.maxDelay = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, dbResourceManager.getLongValue(
+                DBParameter.DB_GROUP_COMMIT_MAX_DELAY, DEFAULT_MAX_DELAY)));
+    }
+
+    /**
+     * Creates enabled engine that is not configured from properties.
+     * @param queryMaster Object that executes groups of transactions.
+     * @param batchSize Maximal number of transactions committed at once.
+     * @param maxDelay Maximal time in milliseconds to wait for more transactions to join a group.
+     */
+    GroupCommitEngine(QueryMaster<Object> queryMaster, int batchSize, long maxDelay) {
+        this.enabled = true;
+        this.queryMaster = queryMaster;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxDelay = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, maxDelay));
+    }
+
+    public static GroupCommitEngine getInstance() {
+        return instance;
+    }
+
+    /**
+     * @return {@code true} if transactions are to be committed through this engine.
+     */
+    public boolean isEnabled() {
+        return enabled && !shutdown;
+    }
+
+    /**
+     * Queues transaction for group commit.
+     * @param queries Queries of transaction, in order.
+     * @return Future completed with generated key of the first executed INSERT statement,
+     * or exceptionally with DAOException if transaction failed.
+     */
+    public CompletableFuture<Integer> submit(List<Query> queries) {
+        PendingTransaction pending = new PendingTransaction(queries, new CompletableFuture<>());
+        synchronized (this) {
+            if (shutdown) {
+                pending.fail();
+                return pending.future;
+            }
+            if (writer == null) {
+                writer = new Thread(this::runWriter, WRITER_NAME);
+                writer.setDaemon(true);
+                writer.start();
+            }
+            queue.add(pending);
+        }
+        return pending.future;
+    }
+
+    /**
+     * Queues transaction for group commit and waits for it to be committed.
+     * Marks current thread as having written to database.
+     * @param queries Queries of transaction, in order.
+     * @return Generated key of the first executed INSERT statement,
+     * -1 if no inserts were done
+     * @throws DAOException if transaction failed, as thrown by QueryMaster.
+     * @see QueryMaster#executeTransaction(List)
+     */
+    public int execute(List<Query> queries) throws DAOException {
+        ConnectionRouter.markWritten();
+        try {
+            return submit(queries).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DAOException) {
+                throw (DAOException) e.getCause();
+            }
+            throw new DAOException("Unable to execute transaction.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DAOException("Interrupted while waiting for transaction to commit.", e);
+        }
+    }
+
+    /**
+     * Stops writer thread. Transactions that are still queued fail.
+     */
+    public void shutdown() {
+        Thread current;
+        synchronized (this) {
+            shutdown = true;
+            current = writer;
+        }
+        if (current != null) {
+            current.interrupt();
+            try {
+                current.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        failQueued();
+    }
+
+    /**
+     * @return Number of committed groups.
+     */
+    public long getGroupCount() {
+        return groups.sum();
+    }
+
+    /**
+     * @return Number of transactions in committed groups.
+     */
+    public long getTransactionCount() {
+        return transactions.sum();
+    }
+
+    private void runWriter() {
+        List<PendingTransaction> group = new ArrayList<>(batchSize);
+        try {
+            while (!shutdown) {
+                group.add(queue.take());
+                queue.drainTo(group, batchSize - group.size());
+                long deadline = System.nanoTime() + maxDelay;
+                while (group.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingTransaction next = remaining > 0
+                            ? queue.poll(remaining, TimeUnit.NANOSECONDS)
+                            : null;
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                    queue.drainTo(group, batchSize - group.size());
+                }
+                commit(group);
+                group.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        group.forEach(PendingTransaction::fail);
+    }
+
+    /**
+     * Commits group of transactions, completing their futures.
+     * @param group Transactions to commit.
+     */
+    private void commit(List<PendingTransaction> group) {
+        List<List<Query>> groupQueries = new ArrayList<>(group.size());
+        group.forEach(pending -> groupQueries.add(pending.queries));
+        try {
+            List<TransactionResult> results = queryMaster.executeTransactions(groupQueries);
+            groups.increment();
+            transactions.add(group.size());
+            for (int i = 0; i < group.size(); i++) {
+                group.get(i).complete(results.get(i));
+            }
+        } catch (DAOException e) {
+            if (group.size() == 1 && !TransactionRetryPolicy.getInstance().isRetryable(e.getCause())) {
+                group.get(0).future.completeExceptionally(e);
+                return;
+            }
+            logger.warn("Group commit failed, executing transactions one by one.", e);
+            group.forEach(this::commitAlone);
+        } catch (RuntimeException e) {
+            logger.error("Unexpected error in group commit.", e);
+            group.forEach(pending -> pending.future.completeExceptionally(
+                    new DAOException("Unable to execute transaction.", e)));
+        }
+    }
+
+    private void commitAlone(PendingTransaction pending) {
+        try {
+            pending.future.complete(queryMaster.executeTransaction(pending.queries));
+        } catch (DAOException e) {
+            pending.future.completeExceptionally(e);
+        } catch (RuntimeException e) {
+            pending.future.completeExceptionally(new DAOException("Unable to execute transaction.", e));
+        }
+    }
+
+    private void failQueued() {
+        List<PendingTransaction> left = new ArrayList<>();
+        queue.drainTo(left);
+        left.forEach(PendingTransaction::fail);
+    }
+
+    /**
+     * Transaction waiting to be committed.
+     */
+    private static final class PendingTransaction {
+
+        private final List<Query> queries;
+        private final CompletableFuture<Integer> future;
+
+        PendingTransaction(List<Query> queries, CompletableFuture<Integer> future) {
+            this.queries = queries;
+            this.future = future;
+        }
+
+        void complete(TransactionResult result) {
+            if (result.isSuccessful()) {
+                future.complete(result.getGeneratedKey());
+            } else {
+                future.completeExceptionally(result.getError());
+            }
+        }
+
+        void fail() {
+            future.completeExceptionally(new DAOException("Group commit engine is shut down."));
+        }
+    }
+}
@@ -1,20 +1,34 @@
 package by.epam.baranovsky.banking.dao.query.impl;
 
-import by.epam.baranovsky.banking.dao.connectionpool.ConnectionPool;
 import by.epam.baranovsky.banking.dao.connectionpool.ConnectionPoolException;
+import by.epam.baranovsky.banking.dao.connectionpool.ConnectionRouter;
+import by.epam.baranovsky.banking.dao.connectionpool.DBParameter;
+import by.epam.baranovsky.banking.dao.connectionpool.DBResourceManager;
 import by.epam.baranovsky.banking.dao.exception.DAOException;
+import by.epam.baranovsky.banking.dao.exception.GuardFailedException;
+import by.epam.baranovsky.banking.dao.query.BatchResult;
 import by.epam.baranovsky.banking.dao.query.Query;
 import by.epam.baranovsky.banking.dao.query.QueryMaster;
+import by.epam.baranovsky.banking.dao.query.RowCallback;
+import by.epam.baranovsky.banking.dao.query.TransactionResult;
 import by.epam.baranovsky.banking.dao.rowmapper.RowMapper;
 import com.mysql.cj.jdbc.result.ResultSetImpl;
 import org.apache.log4j.Logger;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Implementation of QueryMaster suited for use with MySql DB.
+ * <p>
+ *     SELECT statements are executed on replica database,
+ *     data manipulation statements - on primary database.
+ * </p>
  * @param <T> Type of entity to operate in DB.
  * @author Baranovsky E. K.
  * @version 1.0.0
@@ -22,6 +36,28 @@ import java.util.List;
 public class SqlQueryMaster<T> implements QueryMaster<T> {
 
     private static final Logger logger = Logger.getLogger(SqlQueryMaster.class);
+    private static final String SQL_EXISTS = "SELECT EXISTS(%s)";
+    private static final int DEFAULT_FETCH_SIZE = 500;
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    private static final int DEFAULT_IN_LIST_SIZE = 500;
+    /**
+     * Number of rows fetched from DB at once by streaming queries.
+     * Requires {@code useCursorFetch=true} in connection URL to take effect.
+     */
+    private static final int FETCH_SIZE = (int) DBResourceManager.getInstance()
+            .getLongValue(DBParameter.DB_FETCH_SIZE, DEFAULT_FETCH_SIZE);
+    /**
+     * Maximal number of parameter sets sent to DB in one batch.
+     * Driver may additionally rewrite each batch into a single statement
+     * if {@code rewriteBatchedStatements=true} is set in connection URL.
+     */
+    private static final int BATCH_SIZE = Math.max(1, (int) DBResourceManager.getInstance()
+            .getLongValue(DBParameter.DB_BATCH_SIZE, DEFAULT_BATCH_SIZE));
+    /**
+     * Maximal number of values put into one IN list.
+     */
+    private static final int IN_LIST_SIZE = Math.max(1, (int) DBResourceManager.getInstance()
+            .getLongValue(DBParameter.DB_IN_LIST_SIZE, DEFAULT_IN_LIST_SIZE));
     /**
      * Mapper that is used to map entities from ResultSet objects.
      */
@@ -51,13 +87,14 @@ public class SqlQueryMaster<T> implements QueryMaster<T> {
     public List<T> executeQuery(String query, Object... params) throws DAOException {
         List<T> result = new ArrayList<>();
 
-        try (Connection connection = ConnectionPool.getInstance().takeConnection();
+        try (Connection connection = ConnectionRouter.takeReadConnection();
              PreparedStatement statement = connection.prepareStatement(query);) {
 
             setStatementParams(statement, params);
             try(ResultSet resultSet = statement.executeQuery()){
+                RowMapper<T> rowMapper = mapper.bind(resultSet, query);
                 while (resultSet.next()) {
-                    T entity = mapper.map(resultSet);
+                    T entity = rowMapper.map(resultSet);
                     result.add(entity);
                 }
             }
@@ -87,13 +124,114 @@ public class SqlQueryMaster<T> implements QueryMaster<T> {
 
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     *     Length of each IN list is rounded up to a power of two by repeating
+     *     the last value of a chunk, so only a few distinct statements
+     *     are prepared and cached for any number of values.
+     * </p>
+     */
+    @Override
+    public List<T> executeInQuery(String query, Collection<?> values) throws DAOException {
+        List<Object> distinct = new ArrayList<>(new LinkedHashSet<>(values));
+        distinct.removeIf(Objects::isNull);
+
+        List<T> result = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += IN_LIST_SIZE) {
+            List<Object> chunk = distinct.subList(from, Math.min(from + IN_LIST_SIZE, distinct.size()));
+            int size = chunk.size() == 1
+                    ? 1
+                    : Math.min(Integer.highestOneBit(chunk.size() - 1) << 1, IN_LIST_SIZE);
+
+            Object[] params = new Object[size];
+            for (int i = 0; i < size; i++) {
+                params[i] = chunk.get(Math.min(i, chunk.size() - 1));
+            }
+            String placeholders = String.join(",", Collections.nCopies(size, "?"));
+            result.addAll(executeQuery(String.format(query, placeholders), params));
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Number executeAggregateQuery(String query, Object... params) throws DAOException {
+
+        try (Connection connection = ConnectionRouter.takeReadConnection();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+
+            setStatementParams(statement, params);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    return (Number) resultSet.getObject(1);
+                }
+                return null;
+            }
+
+        } catch (SQLException e) {
+            logger.error("Unable to execute aggregate query.", e);
+            throw new DAOException("Unable to execute aggregate query.", e);
+        } catch (ConnectionPoolException e) {
+            logger.error("Unable to get connection.", e);
+            throw new DAOException("Unable to get connection.", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     *     Query is wrapped into {@code SELECT EXISTS(...)},
+     *     so DB stops at the first matching row.
+     * </p>
+     */
+    @Override
+    public boolean executeExistsQuery(String query, Object... params) throws DAOException {
+        Number result = executeAggregateQuery(String.format(SQL_EXISTS, query), params);
+        return result != null && result.intValue() != 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     *     Statement uses MySQL cursor fetch, so only {@code db.fetch.size} rows
+     *     are held in memory at once.
+     * </p>
+     */
+    @Override
+    public <E extends Exception> void forEach(String query, RowCallback<? super T, E> callback, Object... params)
+            throws DAOException, E {
+
+        try (Connection connection = ConnectionRouter.takeReadConnection();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+
+            setStatementParams(statement, params);
+            statement.setFetchSize(FETCH_SIZE);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                RowMapper<T> rowMapper = mapper.bind(resultSet, query);
+                while (resultSet.next()) {
+                    callback.process(rowMapper.map(resultSet));
+                }
+            }
+
+        } catch (SQLException e) {
+            logger.error("Unable to execute select query.", e);
+            throw new DAOException("Unable to execute select query.", e);
+        } catch (ConnectionPoolException e) {
+            logger.error("Unable to get connection.", e);
+            throw new DAOException("Unable to get connection.", e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public int executeUpdate(String query, Object... params) throws DAOException {
 
-        try (Connection connection = ConnectionPool.getInstance().takeConnection();
+        try (Connection connection = ConnectionRouter.takeWriteConnection();
              PreparedStatement statement
                      = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
 
@@ -120,39 +258,150 @@ public class SqlQueryMaster<T> implements QueryMaster<T> {
 
     /**
      * {@inheritDoc}
+     * <p>
+     *     Parameter sets are sent in chunks of {@code db.batch.size}.
+     * </p>
      */
     @Override
-    public int executeTransaction(List<Query> queries) throws DAOException {
-        Connection connection = null;
+    public BatchResult executeBatch(String query, List<Object[]> params) throws DAOException {
+        if (params.isEmpty()) {
+            return new BatchResult(new int[0], new ArrayList<>());
+        }
 
+        Connection connection = null;
         try {
-            connection = ConnectionPool.getInstance().takeConnection();
+            connection = ConnectionRouter.takeWriteConnection();
             connection.setAutoCommit(false);
-            int firstQueryGeneratedKey = -1;
-            boolean idSet = false;
-            for (Query query : queries) {
-                try(PreparedStatement statement = connection.prepareStatement(
-                        query.getSqlQueryString(),
-                        Statement.RETURN_GENERATED_KEYS)){
-
-                    setStatementParams(statement, query.getParameters());
-                    statement.executeUpdate();
-
-                    try(ResultSet generatedKeys = statement.getGeneratedKeys()){
-                        if (!idSet && generatedKeys != null && generatedKeys.next()) {
-                            firstQueryGeneratedKey = generatedKeys.getInt(1);
-                            idSet = true;
+            int[] updateCounts = new int[params.size()];
+            List<Integer> generatedKeys = new ArrayList<>();
+
+            try (PreparedStatement statement
+                         = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < params.size(); from += BATCH_SIZE) {
+                    int to = Math.min(from + BATCH_SIZE, params.size());
+                    for (Object[] rowParams : params.subList(from, to)) {
+                        setStatementParams(statement, rowParams);
+                        statement.addBatch();
+                    }
+                    int[] chunkCounts = statement.executeBatch();
+                    System.arraycopy(chunkCounts, 0, updateCounts, from, chunkCounts.length);
+
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        while (keys != null && keys.next()) {
+                            generatedKeys.add(keys.getInt(1));
                         }
                     }
                 }
+            }
+            connection.commit();
+            return new BatchResult(updateCounts, generatedKeys);
+        } catch (SQLException e) {
+            logger.error("Unable to execute batch update.", e);
+            rollbackTransaction(connection);
+            throw new DAOException("Unable to execute batch update.", e);
+        } catch (ConnectionPoolException e) {
+            logger.error("Unable to take connection.", e);
+            throw new DAOException("Unable to take connection.", e);
+        } finally {
+            releaseConnection(connection);
+        }
+    }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     *     Transaction that is aborted by DB because of a deadlock or lock wait timeout
+     *     is retried after a random delay, as configured by {@link TransactionRetryPolicy}.
+     * </p>
+     */
+    @Override
+    public int executeTransaction(List<Query> queries) throws DAOException {
+        return runTransaction(queries, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int executeTransaction(List<Query> queries, int isolationLevel) throws DAOException {
+        return runTransaction(queries, isolationLevel);
+    }
+
+    /**
+     * Executes transaction, retrying it as configured by {@link TransactionRetryPolicy}.
+     * @param queries Queries to execute, in order.
+     * @param isolationLevel Isolation level of transaction,
+     * {@code null} for that of connection.
+     * @return Generated key of the first executed INSERT statement,
+     * -1 if no inserts were done
+     * @throws DAOException if transaction failed
+     */
+    private int runTransaction(List<Query> queries, Integer isolationLevel) throws DAOException {
+        return TransactionRetryPolicy.getInstance().execute(() -> {
+            Connection connection = null;
+            Integer connectionIsolation = null;
+            try {
+                connection = ConnectionRouter.takeWriteConnection();
+                if (isolationLevel != null) {
+                    connectionIsolation = connection.getTransactionIsolation();
+                    connection.setTransactionIsolation(isolationLevel);
+                }
+                connection.setAutoCommit(false);
+                int firstQueryGeneratedKey = executeQueries(connection, queries);
+                connection.commit();
+                return firstQueryGeneratedKey;
+            } catch (GuardFailedException | SQLException e) {
+                rollbackTransaction(connection);
+                throw e;
+            } catch (ConnectionPoolException e) {
+                logger.error("Unable to take connection.", e);
+                throw new DAOException("Unable to take connection.", e);
+            } finally {
+                try {
+                    restoreIsolation(connection, connectionIsolation);
+                } finally {
+                    releaseConnection(connection);
+                }
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<TransactionResult> executeTransactions(List<List<Query>> transactions) throws DAOException {
+        TransactionRetryPolicy retryPolicy = TransactionRetryPolicy.getInstance();
+        Connection connection = null;
+
+        try {
+            connection = ConnectionRouter.takeWriteConnection();
+            connection.setAutoCommit(false);
+            List<TransactionResult> results = new ArrayList<>(transactions.size());
+            for (List<Query> transaction : transactions) {
+                Savepoint savepoint = connection.setSavepoint();
+                try {
+                    results.add(new TransactionResult(executeQueries(connection, transaction), null));
+                    connection.releaseSavepoint(savepoint);
+                } catch (GuardFailedException e) {
+                    connection.rollback(savepoint);
+                    results.add(new TransactionResult(null, e));
+                } catch (SQLException e) {
+                    if (retryPolicy.isRetryable(e)) {
+                        throw e;
+                    }
+                    logger.error("Unable to execute update query.", e);
+                    connection.rollback(savepoint);
+                    results.add(new TransactionResult(null,
+                            new DAOException("Unable to execute update query.", e)));
+                }
             }
             connection.commit();
-            return firstQueryGeneratedKey;
+            return results;
         } catch (SQLException e) {
-            logger.error("Unable to execute update query.", e);
+            logger.error("Unable to execute group of transactions.", e);
             rollbackTransaction(connection);
-            throw new DAOException("Unable to execute update query.", e);
+            throw new DAOException("Unable to execute group of transactions.", e);
         } catch (ConnectionPoolException e) {
             logger.error("Unable to take connection.", e);
             throw new DAOException("Unable to take connection.", e);
@@ -161,6 +410,95 @@ public class SqlQueryMaster<T> implements QueryMaster<T> {
         }
     }
 
+    /**
+     * Executes queries on a connection whose transaction is already started.
+     * @param connection Connection to execute queries on.
+     * @param queries Queries to execute, in order.
+     * @return Generated key of the first executed INSERT statement,
+     * -1 if no inserts were done
+     * @throws SQLException if any statement fails
+     * @throws GuardFailedException if a guarded query affects no rows
+     */
+    private int executeQueries(Connection connection, List<Query> queries)
+            throws SQLException, GuardFailedException {
+        int firstQueryGeneratedKey = -1;
+        boolean idSet = false;
+        int runStart = 0;
+        while (runStart < queries.size()) {
+            Query first = queries.get(runStart);
+            String sql = first.getSqlQueryString();
+            int runEnd = runStart + 1;
+            while (!first.isGuarded() && runEnd < queries.size()
+                    && !queries.get(runEnd).isGuarded()
+                    && sql.equals(queries.get(runEnd).getSqlQueryString())) {
+                runEnd++;
+            }
+
+            try(PreparedStatement statement = connection.prepareStatement(sql,
+                    idSet ? Statement.NO_GENERATED_KEYS : Statement.RETURN_GENERATED_KEYS)){
+
+                Integer generatedKey = executeRun(statement, queries.subList(runStart, runEnd), !idSet);
+                if (generatedKey != null) {
+                    firstQueryGeneratedKey = generatedKey;
+                    idSet = true;
+                }
+            }
+            runStart = runEnd;
+        }
+        return firstQueryGeneratedKey;
+    }
+
+    /**
+     * Executes a run of queries that share the same SQL statement.
+     * A single query is executed as is, longer runs are sent as JDBC batches
+     * of at most {@code db.batch.size} queries.
+     * @param statement Statement prepared for SQL of the run.
+     * @param run Queries to execute, in order.
+     * @param needKey Whether generated key is to be retrieved.
+     * @return First key generated by the run,
+     * {@code null} if it was not needed or no keys were generated.
+     * @throws SQLException if statement fails
+     * @throws GuardFailedException if run is a guarded query that affected no rows
+     */
+    private Integer executeRun(PreparedStatement statement, List<Query> run, boolean needKey)
+            throws SQLException, GuardFailedException {
+        Integer generatedKey = null;
+        if (run.size() == 1) {
+            Query query = run.get(0);
+            setStatementParams(statement, query.getParameters());
+            if (statement.executeUpdate() == 0 && query.isGuarded()) {
+                throw new GuardFailedException(query);
+            }
+            return needKey ? readFirstKey(statement) : null;
+        }
+
+        for (int from = 0; from < run.size(); from += BATCH_SIZE) {
+            for (Query query : run.subList(from, Math.min(from + BATCH_SIZE, run.size()))) {
+                setStatementParams(statement, query.getParameters());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            if (needKey && generatedKey == null) {
+                generatedKey = readFirstKey(statement);
+            }
+        }
+        return generatedKey;
+    }
+
+    /**
+     * @param statement Executed statement.
+     * @return First key generated by statement, {@code null} if there are none.
+     * @throws SQLException if keys could not be retrieved
+     */
+    private Integer readFirstKey(PreparedStatement statement) throws SQLException {
+        try(ResultSet generatedKeys = statement.getGeneratedKeys()){
+            if (generatedKeys != null && generatedKeys.next()) {
+                return generatedKeys.getInt(1);
+            }
+        }
+        return null;
+    }
+
     /**
      * Undoes all changes in the transaction that is going on inside Connection.
      * @param connection connection in which the transaction is happening
@@ -177,6 +515,24 @@ public class SqlQueryMaster<T> implements QueryMaster<T> {
         }
     }
 
+    /**
+     * Sets isolation level of a Connection back to its own.
+     * @param connection Connection to restore, may be {@code null}.
+     * @param isolationLevel Own isolation level of connection,
+     * {@code null} if it was not changed.
+     * @throws DAOException if SQLException occurs
+     */
+    private void restoreIsolation(Connection connection, Integer isolationLevel) throws DAOException {
+        if (connection != null && isolationLevel != null) {
+            try {
+                connection.setTransactionIsolation(isolationLevel);
+            } catch (SQLException e) {
+                logger.error("Unable to restore transaction isolation.", e);
+                throw new DAOException("Unable to restore transaction isolation.", e);
+            }
+        }
+    }
+
     /**
      * Enables auto commit on a Connection and closes it.
      * @param connection connection to close
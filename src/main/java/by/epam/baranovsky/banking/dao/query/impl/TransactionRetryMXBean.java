@@ -0,0 +1,36 @@
+package by.epam.baranovsky.banking.dao.query.impl;
+
+/**
+ * Management interface of transaction retry policy,
+ * registered in platform MBean server as
+ * {@code by.epam.baranovsky.banking:type=TransactionRetry}.
+ * @author Baranovsky E. K.
+ * @version 1.0.0
+ */
+public interface TransactionRetryMXBean {
+
+    /**
+     * @return Number of transactions aborted by DB because of a deadlock.
+     */
+    long getDeadlocks();
+
+    /**
+     * @return Number of transactions aborted by DB because of lock wait timeout.
+     */
+    long getLockWaitTimeouts();
+
+    /**
+     * @return Number of times aborted transactions were retried.
+     */
+    long getRetries();
+
+    /**
+     * @return Number of transactions that failed after all retries.
+     */
+    long getRetriesExhausted();
+
+    /**
+     * @return Maximal number of retries of a single transaction.
+     */
+    int getMaxRetries();
+}
@@ -0,0 +1,222 @@
+package by.epam.baranovsky.banking.dao.query.impl;
+
+import by.epam.baranovsky.banking.dao.connectionpool.DBParameter;
+import by.epam.baranovsky.banking.dao.connectionpool.DBResourceManager;
+import by.epam.baranovsky.banking.dao.exception.DAOException;
+import org.apache.log4j.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Policy of retrying transactions that were aborted by DB
+ * because of a deadlock or lock wait timeout.
+ * <p>
+ *     Transaction is retried at most {@code db.transaction.retries} times.
+ *     Before n-th retry thread sleeps for a random time of up to
+ *     {@code db.transaction.retry.backoff * 2^(n-1)} milliseconds,
+ *     so that transactions that collided do not collide again.
+ * </p>
+ * @author Baranovsky E. K.
+ * @version 1.0.0
+ */
+final class TransactionRetryPolicy implements TransactionRetryMXBean {
+
+    private static final Logger logger = Logger.getLogger(TransactionRetryPolicy.class);
+    private static final String MBEAN_NAME = "by.epam.baranovsky.banking:type=TransactionRetry";
+    private static final int DEFAULT_RETRIES = 3;
+    private static final long DEFAULT_BACKOFF = 10L;
+    /** Maximal exponent of backoff growth. */
+    private static final int MAX_BACKOFF_SHIFT = 6;
+    private static final int ER_LOCK_DEADLOCK = 1213;
+    private static final int ER_LOCK_WAIT_TIMEOUT = 1205;
+    private static final String SQL_STATE_DEADLOCK = "40001";
+
+    private static final TransactionRetryPolicy instance = new TransactionRetryPolicy();
+
+    private final int maxRetries;
+    /** Base backoff time in milliseconds. */
+    private final long backoff;
+    private final LongAdder deadlocks = new LongAdder();
+    private final LongAdder lockWaitTimeouts = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder retriesExhausted = new LongAdder();
+
+    private TransactionRetryPolicy() {
+        this((int) DBResourceManager.getInstance().getLongValue(
+                        DBParameter.DB_TRANSACTION_RETRIES, DEFAULT_RETRIES),
+                DBResourceManager.getInstance().getLongValue(
+                        DBParameter.DB_TRANSACTION_RETRY_BACKOFF, DEFAULT_BACKOFF));
+        registerMBean();
+    }
+
+    /**
+     * Creates policy that is not configured from properties nor registered as MBean.
+     * @param maxRetries Maximal number of retries of a transaction.
+     * @param backoff Base backoff time in milliseconds.
+     */
+    TransactionRetryPolicy(int maxRetries, long backoff) {
+        this.maxRetries = Math.max(0, maxRetries);
+        this.backoff = Math.max(1L, backoff);
+    }
+
+    static TransactionRetryPolicy getInstance() {
+        return instance;
+    }
+
+    /**
+     * Executes transaction, retrying it while it is aborted by DB
+     * because of a deadlock or lock wait timeout.
+     * <p>
+     *     Only SQLException causes a retry. DAOException, including
+     *     GuardFailedException of a rejected transaction, is thrown as is.
+     * </p>
+     * @param transaction Transaction to execute. It must roll back
+     * its changes before throwing.
+     * @param <T> Type of transaction result.
+     * @return Result of the first successful execution.
+     * @throws DAOException if transaction failed and is not to be retried,
+     * or thread was interrupted while waiting to retry.
+     */
+    <T> T execute(Transaction<T> transaction) throws DAOException {
+        int attempt = 0;
+        while (true) {
+            try {
+                return transaction.execute();
+            } catch (SQLException e) {
+                if (!shouldRetry(e, attempt)) {
+                    logger.error("Unable to execute update query.", e);
+                    throw new DAOException("Unable to execute update query.", e);
+                }
+            }
+            backOff(attempt++);
+        }
+    }
+
+    /**
+     * @param e Exception transaction failed with, may be {@code null}.
+     * @return {@code true} if transaction was aborted because of a deadlock
+     * or lock wait timeout, so it may succeed if executed again.
+     */
+    boolean isRetryable(Throwable e) {
+        if (!(e instanceof SQLException)) {
+            return false;
+        }
+        SQLException sqlException = (SQLException) e;
+        return sqlException.getErrorCode() == ER_LOCK_WAIT_TIMEOUT
+                || sqlException.getErrorCode() == ER_LOCK_DEADLOCK
+                || SQL_STATE_DEADLOCK.equals(sqlException.getSQLState());
+    }
+
+    /**
+     * Decides whether failed transaction is to be retried, counting the failure.
+     * @param e Exception transaction failed with.
+     * @param attempt Number of retries of transaction done so far.
+     * @return {@code true} if transaction was aborted because of a deadlock
+     * or lock wait timeout and may be retried once more.
+     */
+    boolean shouldRetry(SQLException e, int attempt) {
+        if (!isRetryable(e)) {
+            return false;
+        }
+        if (e.getErrorCode() == ER_LOCK_WAIT_TIMEOUT) {
+            lockWaitTimeouts.increment();
+        } else {
+            deadlocks.increment();
+        }
+        if (attempt >= maxRetries) {
+            retriesExhausted.increment();
+            return false;
+        }
+        retries.increment();
+        logger.debug(String.format("Transaction aborted by DB, retry %d of %d.", attempt + 1, maxRetries));
+        return true;
+    }
+
+    /**
+     * Sleeps for a random time before retrying a transaction.
+     * @param attempt Number of retries of transaction done so far.
+     * @throws DAOException if thread is interrupted while sleeping.
+     */
+    void backOff(int attempt) throws DAOException {
+        try {
+            Thread.sleep(getDelay(attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DAOException("Interrupted while waiting to retry transaction.", e);
+        }
+    }
+
+    /**
+     * @param attempt Number of retries of transaction done so far.
+     * @return Random time in milliseconds to wait before next retry,
+     * from 1 to {@code backoff * 2^attempt}, growth being capped at {@code 2^6}.
+     */
+    long getDelay(int attempt) {
+        long bound = backoff << Math.min(attempt, MAX_BACKOFF_SHIFT);
+        return ThreadLocalRandom.current().nextLong(bound) + 1;
+    }
+
+    @Override
+    public long getDeadlocks() {
+        return deadlocks.sum();
+    }
+
+    @Override
+    public long getLockWaitTimeouts() {
+        return lockWaitTimeouts.sum();
+    }
+
+    @Override
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    @Override
+    public long getRetriesExhausted() {
+        return retriesExhausted.sum();
+    }
+
+    @Override
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Registers policy in platform MBean server.
+     * Failure to register is logged, but does not prevent retries.
+     */
+    private void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(MBEAN_NAME);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(this, objectName);
+        } catch (JMException e) {
+            logger.warn("Unable to register transaction retry MBean.", e);
+        }
+    }
+
+    /**
+     * Unit of work that may be aborted by DB and executed again.
+     * @param <T> Type of result.
+     */
+    @FunctionalInterface
+    interface Transaction<T> {
+
+        /**
+         * Executes and commits transaction, rolling it back on failure.
+         * @return Result of transaction.
+         * @throws SQLException if DB failed or aborted transaction.
+         * @throws DAOException if transaction failed for any other reason.
+         */
+        T execute() throws SQLException, DAOException;
+    }
+}
@@ -0,0 +1,141 @@
+package by.epam.baranovsky.banking.dao.rowmapper;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Base class for row mappers that read columns by index.
+ * <p>
+ *     Mapper declares labels of columns it reads. Indexes of those columns
+ *     are resolved from ResultSetMetaData once per ResultSet and cached
+ *     by SQL text, so rows are read without looking columns up by label.
+ *     Label that occurs more than once resolves to its first occurrence,
+ *     as {@link ResultSet#findColumn(String)} does.
+ * </p>
+ *
+ * @param <T> Type of entity to build
+ * @author Baranovsky E. K.
+ * @version 1.0.0
+ */
+public abstract class AbstractRowMapper<T> implements RowMapper<T> {
+
+    /** Maximal number of cached column layouts per mapper. */
+    private static final int MAX_CACHED_LAYOUTS = 256;
+
+    /** Labels of columns read by mapper. */
+    private final String[] columns;
+    /** Resolved column indexes by SQL text. */
+    private final Map<String, int[]> layouts = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     * @param columns Labels of columns read by mapper,
+     *                in order of indexes passed to {@link #map(ResultSet, int[])}.
+     */
+    protected AbstractRowMapper(String... columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>Resolves column indexes anew, so {@link #bind(ResultSet, String)}
+     * should be preferred when reading many rows.</p>
+     */
+    @Override
+    public T map(ResultSet resultSet) throws SQLException {
+        return map(resultSet, resolve(resultSet.getMetaData()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RowMapper<T> bind(ResultSet resultSet, String query) throws SQLException {
+        int[] indexes = query == null ? null : layouts.get(query);
+        if (indexes == null) {
+            indexes = resolve(resultSet.getMetaData());
+            if (query != null) {
+                if (layouts.size() >= MAX_CACHED_LAYOUTS) {
+                    layouts.clear();
+                }
+                layouts.put(query, indexes);
+            }
+        }
+        int[] resolved = indexes;
+        return rs -> map(rs, resolved);
+    }
+
+    /**
+     * Builds an entity based on data from current row of ResultSet.
+     * @param resultSet JDBC ResultSet of a query.
+     * @param indexes Indexes of columns in order they were passed to constructor.
+     * @return Instance of entity
+     * @throws SQLException
+     */
+    protected abstract T map(ResultSet resultSet, int[] indexes) throws SQLException;
+
+    /**
+     * Reads integer column where 0 stands for absent value.
+     * @param resultSet JDBC ResultSet of a query.
+     * @param index Index of column.
+     * @return Column value, or {@code null} if it is 0 or SQL NULL.
+     * @throws SQLException
+     */
+    protected static Integer getNullableInt(ResultSet resultSet, int index) throws SQLException {
+        int value = resultSet.getInt(index);
+        return value != 0 ? value : null;
+    }
+
+    /**
+     * Reads floating point column where 0 stands for absent value.
+     * @param resultSet JDBC ResultSet of a query.
+     * @param index Index of column.
+     * @return Column value, or {@code null} if it is 0 or SQL NULL.
+     * @throws SQLException
+     */
+    protected static Double getNullableDouble(ResultSet resultSet, int index) throws SQLException {
+        double value = resultSet.getDouble(index);
+        return value != 0 ? value : null;
+    }
+
+    /**
+     * Finds indexes of mapper's columns.
+     * @param metaData Metadata of ResultSet.
+     * @return Indexes of columns in order of their labels.
+     * @throws SQLException if some column is not present in ResultSet.
+     */
+    private int[] resolve(ResultSetMetaData metaData) throws SQLException {
+        int count = metaData.getColumnCount();
+        String[] labels = new String[count];
+        String[] names = new String[count];
+        for (int i = 0; i < count; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1);
+            names[i] = metaData.getColumnName(i + 1);
+        }
+
+        int[] indexes = new int[columns.length];
+        for (int c = 0; c < columns.length; c++) {
+            int index = indexOf(labels, columns[c]);
+            if (index == 0) {
+                index = indexOf(names, columns[c]);
+            }
+            if (index == 0) {
+                throw new SQLException(String.format("Column '%s' not found.", columns[c]));
+            }
+            indexes[c] = index;
+        }
+        return indexes;
+    }
+
+    private static int indexOf(String[] labels, String column) {
+        for (int i = 0; i < labels.length; i++) {
+            if (column.equalsIgnoreCase(labels[i])) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+}
@@ -23,4 +23,17 @@ public interface RowMapper<T> {
      */
     T map(ResultSet resultSet) throws SQLException;
 
+    /**
+     * Prepares mapper for reading all rows of given ResultSet.
+     * <p>Mapper may use metadata of ResultSet to avoid
+     * looking columns up on every row.</p>
+     * @param resultSet JDBC ResultSet of a query.
+     * @param query SQL text of a query, used as cache key; may be {@code null}.
+     * @return Mapper to be used for rows of this ResultSet only.
+     * @throws SQLException
+     */
+    default RowMapper<T> bind(ResultSet resultSet, String query) throws SQLException {
+        return this;
+    }
+
 }
@@ -1,7 +1,7 @@
 package by.epam.baranovsky.banking.dao.rowmapper.impl;
 
 import by.epam.baranovsky.banking.constant.DBMetadata;
-import by.epam.baranovsky.banking.dao.rowmapper.RowMapper;
+import by.epam.baranovsky.banking.dao.rowmapper.AbstractRowMapper;
 import by.epam.baranovsky.banking.entity.Account;
 
 import java.sql.ResultSet;
@@ -14,28 +14,44 @@ import java.sql.SQLException;
  * @author Baranovsky E. K.
  * @version 1.0.0
  */
-public class AccountRowMapper implements RowMapper<Account> {
+public class AccountRowMapper extends AbstractRowMapper<Account> {
+
+    private static final int ID = 0;
+    private static final int NUMBER = 1;
+    private static final int BALANCE = 2;
+    private static final int INTEREST = 3;
+    private static final int STATUS_ID = 4;
+    private static final int STATUS_NAME = 5;
+
+    public AccountRowMapper() {
+        super(
+                DBMetadata.ACCOUNTS_ID,
+                DBMetadata.ACCOUNTS_NUMBER,
+                DBMetadata.ACCOUNTS_BALANCE,
+                DBMetadata.ACCOUNTS_INTEREST,
+                DBMetadata.ACCOUNTS_ACCOUNT_STATUS_ID,
+                DBMetadata.ACCOUNT_STATUS_DESC);
+    }
 
     /**
      * {@inheritDoc}
      * @param resultSet JDBC ResultSet of a query.
+     * @param indexes Indexes of columns.
      * @return instance of Account.
      * @throws SQLException
      */
     @Override
-    public Account map(ResultSet resultSet) throws SQLException {
-
+    protected Account map(ResultSet resultSet, int[] indexes) throws SQLException {
         Account account = new Account();
 
-        account.setId(resultSet.getInt(DBMetadata.ACCOUNTS_ID));
-        account.setAccountNumber(resultSet.getString(DBMetadata.ACCOUNTS_NUMBER));
-        account.setBalance(resultSet.getDouble(DBMetadata.ACCOUNTS_BALANCE));
-        account.setYearlyInterestRate(resultSet.getDouble(DBMetadata.ACCOUNTS_INTEREST));
-        account.setStatusId(resultSet.getInt(DBMetadata.ACCOUNTS_ACCOUNT_STATUS_ID));
-        account.setStatusName(resultSet.getString(DBMetadata.ACCOUNT_STATUS_DESC));
+        account.setId(resultSet.getInt(indexes[ID]));
+        account.setAccountNumber(resultSet.getString(indexes[NUMBER]));
+        account.setBalance(resultSet.getDouble(indexes[BALANCE]));
+        account.setYearlyInterestRate(resultSet.getDouble(indexes[INTEREST]));
+        account.setStatusId(resultSet.getInt(indexes[STATUS_ID]));
+        account.setStatusName(resultSet.getString(indexes[STATUS_NAME]));
         account.setUsers(null);
 
         return account;
     }
 }
-
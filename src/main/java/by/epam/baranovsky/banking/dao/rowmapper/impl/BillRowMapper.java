@@ -1,7 +1,7 @@
 package by.epam.baranovsky.banking.dao.rowmapper.impl;
 
 import by.epam.baranovsky.banking.constant.DBMetadata;
-import by.epam.baranovsky.banking.dao.rowmapper.RowMapper;
+import by.epam.baranovsky.banking.dao.rowmapper.AbstractRowMapper;
 import by.epam.baranovsky.banking.entity.Bill;
 
 import java.sql.ResultSet;
@@ -14,42 +14,60 @@ import java.sql.SQLException;
  * @author Baranovsky E. K.
  * @version 1.0.0
  */
-public class BillRowMapper implements RowMapper<Bill> {
+public class BillRowMapper extends AbstractRowMapper<Bill> {
+
+    private static final int ID = 0;
+    private static final int VALUE = 1;
+    private static final int ISSUE_DATE = 2;
+    private static final int DUE_DATE = 3;
+    private static final int USER_ID = 4;
+    private static final int PAYMENT_ACC_ID = 5;
+    private static final int STATUS_ID = 6;
+    private static final int STATUS_NAME = 7;
+    private static final int NOTICE = 8;
+    private static final int BEARER_ID = 9;
+    private static final int PENALTY_ID = 10;
+    private static final int LOAN_ID = 11;
+
+    public BillRowMapper() {
+        super(
+                DBMetadata.BILLS_ID,
+                DBMetadata.BILLS_VALUE,
+                DBMetadata.BILLS_ISSUE_DATE,
+                DBMetadata.BILLS_DUE_DATE,
+                DBMetadata.BILLS_USER_ID,
+                DBMetadata.BILLS_PAYMENT_ACC_ID,
+                DBMetadata.BILL_STATUS_ID,
+                DBMetadata.BILL_STATUS_NAME,
+                DBMetadata.BILLS_NOTICE,
+                DBMetadata.BILLS_BEARER_ID,
+                DBMetadata.BILLS_PENALTY_ID,
+                DBMetadata.BILLS_LOAN_ID);
+    }
 
     /**
      * {@inheritDoc}
      * @param resultSet JDBC ResultSet of a query.
+     * @param indexes Indexes of columns.
      * @return instance of Bill.
      * @throws SQLException
      */
     @Override
-    public Bill map(ResultSet resultSet) throws SQLException {
+    protected Bill map(ResultSet resultSet, int[] indexes) throws SQLException {
         Bill bill = new Bill();
 
-        bill.setId(resultSet.getInt(DBMetadata.BILLS_ID));
-        bill.setValue(resultSet.getDouble(DBMetadata.BILLS_VALUE));
-
-        bill.setIssueDate(resultSet.getDate(DBMetadata.BILLS_ISSUE_DATE));
-        bill.setDueDate(resultSet.getDate(DBMetadata.BILLS_DUE_DATE));
-
-        bill.setUserId(resultSet.getInt(DBMetadata.BILLS_USER_ID));
-        bill.setPaymentAccountId(resultSet.getInt(DBMetadata.BILLS_PAYMENT_ACC_ID));
-
-        bill.setStatusId(resultSet.getInt(DBMetadata.BILL_STATUS_ID));
-        bill.setStatusName(resultSet.getString(DBMetadata.BILL_STATUS_NAME));
-
-        bill.setNotice(resultSet.getString(DBMetadata.BILLS_NOTICE));
-        bill.setBearerId(resultSet.getInt(DBMetadata.BILLS_BEARER_ID));
-
-        bill.setPenaltyId(
-                resultSet.getInt(DBMetadata.BILLS_PENALTY_ID) != 0
-                        ? resultSet.getInt(DBMetadata.BILLS_PENALTY_ID)
-                        : null);
-
-        bill.setLoanId(
-                resultSet.getInt(DBMetadata.BILLS_LOAN_ID) != 0
-                        ? resultSet.getInt(DBMetadata.BILLS_LOAN_ID)
-                        : null);
+        bill.setId(resultSet.getInt(indexes[ID]));
+        bill.setValue(resultSet.getDouble(indexes[VALUE]));
+        bill.setIssueDate(resultSet.getDate(indexes[ISSUE_DATE]));
+        bill.setDueDate(resultSet.getDate(indexes[DUE_DATE]));
+        bill.setUserId(resultSet.getInt(indexes[USER_ID]));
+        bill.setPaymentAccountId(resultSet.getInt(indexes[PAYMENT_ACC_ID]));
+        bill.setStatusId(resultSet.getInt(indexes[STATUS_ID]));
+        bill.setStatusName(resultSet.getString(indexes[STATUS_NAME]));
+        bill.setNotice(resultSet.getString(indexes[NOTICE]));
+        bill.setBearerId(resultSet.getInt(indexes[BEARER_ID]));
+        bill.setPenaltyId(getNullableInt(resultSet, indexes[PENALTY_ID]));
+        bill.setLoanId(getNullableInt(resultSet, indexes[LOAN_ID]));
 
         return bill;
     }
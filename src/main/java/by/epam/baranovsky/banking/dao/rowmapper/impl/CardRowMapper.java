@@ -1,7 +1,7 @@
 package by.epam.baranovsky.banking.dao.rowmapper.impl;
 
 import by.epam.baranovsky.banking.constant.DBMetadata;
-import by.epam.baranovsky.banking.dao.rowmapper.RowMapper;
+import by.epam.baranovsky.banking.dao.rowmapper.AbstractRowMapper;
 import by.epam.baranovsky.banking.entity.BankingCard;
 
 import java.sql.ResultSet;
@@ -13,52 +13,69 @@ import java.sql.SQLException;
  * @author Baranovsky E. K.
  * @version 1.0.0
  */
-public class CardRowMapper implements RowMapper<BankingCard> {
+public class CardRowMapper extends AbstractRowMapper<BankingCard> {
+
+    private static final int ID = 0;
+    private static final int CVC = 1;
+    private static final int NUMBER = 2;
+    private static final int PIN = 3;
+    private static final int REGISTRATION_DATE = 4;
+    private static final int EXPIRATION_DATE = 5;
+    private static final int USER_ID = 6;
+    private static final int STATUS_ID = 7;
+    private static final int STATUS_NAME = 8;
+    private static final int TYPE_ID = 9;
+    private static final int TYPE_NAME = 10;
+    private static final int ACCOUNT_ID = 11;
+    private static final int OVERDRAFT_MAX = 12;
+    private static final int OVERDRAFT_INTEREST = 13;
+    private static final int BALANCE = 14;
+
+    public CardRowMapper() {
+        super(
+                DBMetadata.BANK_CARDS_ID,
+                DBMetadata.BANK_CARDS_CVC,
+                DBMetadata.BANK_CARDS_NUMBER,
+                DBMetadata.BANK_CARDS_PIN,
+                DBMetadata.BANK_CARDS_REGISTRATION_DATE,
+                DBMetadata.BANK_CARDS_EXPIRATION_DATE,
+                DBMetadata.BANK_CARDS_USER_ID,
+                DBMetadata.BANK_CARDS_STATUS_ID,
+                DBMetadata.CARD_STATUS_NAME,
+                DBMetadata.BANK_CARDS_TYPE_ID,
+                DBMetadata.CARD_TYPE_NAME,
+                DBMetadata.BANK_CARDS_ACCOUNT_ID,
+                DBMetadata.BANK_CARDS_OVERDRAFT_MAXIMUM,
+                DBMetadata.BANK_CARDS_OVERDRAFT_INTEREST,
+                DBMetadata.BANK_CARDS_BALANCE);
+    }
 
     /**
      * {@inheritDoc}
      * @param resultSet JDBC ResultSet of a query.
+     * @param indexes Indexes of columns.
      * @return instance of BankingCard.
      * @throws SQLException
      */
     @Override
-    public BankingCard map(ResultSet resultSet) throws SQLException {
+    protected BankingCard map(ResultSet resultSet, int[] indexes) throws SQLException {
         BankingCard card = new BankingCard();
 
-        card.setId(resultSet.getInt(DBMetadata.BANK_CARDS_ID));
-
-        card.setCvc(resultSet.getString(DBMetadata.BANK_CARDS_CVC));
-        card.setNumber(resultSet.getString(DBMetadata.BANK_CARDS_NUMBER));
-        card.setPin(resultSet.getString(DBMetadata.BANK_CARDS_PIN));
-
-        card.setRegistrationDate(resultSet.getDate(DBMetadata.BANK_CARDS_REGISTRATION_DATE));
-        card.setExpirationDate(resultSet.getDate(DBMetadata.BANK_CARDS_EXPIRATION_DATE));
-
-        card.setUserId(resultSet.getInt(DBMetadata.BANK_CARDS_USER_ID));
-
-        card.setStatusId(resultSet.getInt(DBMetadata.BANK_CARDS_STATUS_ID));
-        card.setStatusName(resultSet.getString(DBMetadata.CARD_STATUS_NAME));
-
-        card.setCardTypeId(resultSet.getInt(DBMetadata.BANK_CARDS_TYPE_ID));
-        card.setCardTypeName(resultSet.getString(DBMetadata.CARD_TYPE_NAME));
-
-        card.setAccountId(
-                resultSet.getInt(DBMetadata.BANK_CARDS_ACCOUNT_ID) != 0
-                        ? resultSet.getInt(DBMetadata.BANK_CARDS_ACCOUNT_ID)
-                        : null);
-        card.setOverdraftMax(
-                resultSet.getDouble(DBMetadata.BANK_CARDS_OVERDRAFT_MAXIMUM) != 0
-                        ? resultSet.getDouble(DBMetadata.BANK_CARDS_OVERDRAFT_MAXIMUM)
-                        : null);
-        card.setOverdraftInterestRate(
-                resultSet.getDouble(DBMetadata.BANK_CARDS_OVERDRAFT_INTEREST) != 0
-                        ? resultSet.getDouble(DBMetadata.BANK_CARDS_OVERDRAFT_INTEREST)
-                        : null);
-        card.setBalance(
-                resultSet.getDouble(DBMetadata.BANK_CARDS_BALANCE) != 0
-                        ? resultSet.getDouble(DBMetadata.BANK_CARDS_BALANCE)
-                        : null);
-
+        card.setId(resultSet.getInt(indexes[ID]));
+        card.setCvc(resultSet.getString(indexes[CVC]));
+        card.setNumber(resultSet.getString(indexes[NUMBER]));
+        card.setPin(resultSet.getString(indexes[PIN]));
+        card.setRegistrationDate(resultSet.getDate(indexes[REGISTRATION_DATE]));
+        card.setExpirationDate(resultSet.getDate(indexes[EXPIRATION_DATE]));
+        card.setUserId(resultSet.getInt(indexes[USER_ID]));
+        card.setStatusId(resultSet.getInt(indexes[STATUS_ID]));
+        card.setStatusName(resultSet.getString(indexes[STATUS_NAME]));
+        card.setCardTypeId(resultSet.getInt(indexes[TYPE_ID]));
+        card.setCardTypeName(resultSet.getString(indexes[TYPE_NAME]));
+        card.setAccountId(getNullableInt(resultSet, indexes[ACCOUNT_ID]));
+        card.setOverdraftMax(getNullableDouble(resultSet, indexes[OVERDRAFT_MAX]));
+        card.setOverdraftInterestRate(getNullableDouble(resultSet, indexes[OVERDRAFT_INTEREST]));
+        card.setBalance(getNullableDouble(resultSet, indexes[BALANCE]));
 
         return card;
     }
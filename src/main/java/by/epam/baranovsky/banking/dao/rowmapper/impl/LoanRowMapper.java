@@ -1,7 +1,7 @@
 package by.epam.baranovsky.banking.dao.rowmapper.impl;
 
 import by.epam.baranovsky.banking.constant.DBMetadata;
-import by.epam.baranovsky.banking.dao.rowmapper.RowMapper;
+import by.epam.baranovsky.banking.dao.rowmapper.AbstractRowMapper;
 import by.epam.baranovsky.banking.entity.Loan;
 
 import java.sql.ResultSet;
@@ -14,40 +14,61 @@ import java.sql.SQLException;
  * @author Baranovsky E. K.
  * @version 1.0.0
  */
-public class LoanRowMapper implements RowMapper<Loan> {
+public class LoanRowMapper extends AbstractRowMapper<Loan> {
+
+    private static final int ID = 0;
+    private static final int SINGLE_PAYMENT = 1;
+    private static final int STARTING_VALUE = 2;
+    private static final int TOTAL_VALUE = 3;
+    private static final int INTEREST = 4;
+    private static final int ISSUE_DATE = 5;
+    private static final int DUE_DATE = 6;
+    private static final int USER_ID = 7;
+    private static final int STATUS_ID = 8;
+    private static final int STATUS_NAME = 9;
+    private static final int ACCOUNT_ID = 10;
+    private static final int CARD_ID = 11;
+
+    public LoanRowMapper() {
+        super(
+                DBMetadata.LOANS_ID,
+                DBMetadata.LOANS_SINGLE_PAYMENT_VALUE,
+                DBMetadata.LOANS_STARTING_VALUE,
+                DBMetadata.LOANS_TOTAL_VALUE,
+                DBMetadata.LOANS_INTEREST,
+                DBMetadata.LOANS_ISSUE_DATE,
+                DBMetadata.LOANS_DUE_DATE,
+                DBMetadata.LOANS_USER_ID,
+                DBMetadata.LOANS_STATUS_ID,
+                DBMetadata.LOAN_STATUS_NAME,
+                DBMetadata.LOANS_ACCOUNT_ID,
+                DBMetadata.LOANS_CARD_ID);
+    }
 
     /**
      * {@inheritDoc}
      * @param resultSet JDBC ResultSet of a query.
+     * @param indexes Indexes of columns.
      * @return instance of Loan.
      * @throws SQLException
      */
     @Override
-    public Loan map(ResultSet resultSet) throws SQLException {
+    protected Loan map(ResultSet resultSet, int[] indexes) throws SQLException {
         Loan loan = new Loan();
 
-        loan.setId(resultSet.getInt(DBMetadata.LOANS_ID));
-
-        loan.setSinglePaymentValue(resultSet.getDouble(DBMetadata.LOANS_SINGLE_PAYMENT_VALUE));
-        loan.setStartingValue(resultSet.getDouble(DBMetadata.LOANS_STARTING_VALUE));
-        loan.setTotalPaymentValue(resultSet.getDouble(DBMetadata.LOANS_TOTAL_VALUE));
-        loan.setYearlyInterestRate(resultSet.getDouble(DBMetadata.LOANS_INTEREST));
-
-        loan.setIssueDate(resultSet.getDate(DBMetadata.LOANS_ISSUE_DATE));
-        loan.setDueDate(resultSet.getDate(DBMetadata.LOANS_DUE_DATE));
-
-        loan.setUserId(resultSet.getInt(DBMetadata.LOANS_USER_ID));
-
-        loan.setStatusId(resultSet.getInt(DBMetadata.LOANS_STATUS_ID));
-        loan.setStatusName(resultSet.getString(DBMetadata.LOAN_STATUS_NAME));
-        loan.setAccountId(resultSet.getInt(DBMetadata.LOANS_ACCOUNT_ID));
-
-        loan.setCardId(
-                resultSet.getInt(DBMetadata.LOANS_CARD_ID) != 0
-                        ? resultSet.getInt(DBMetadata.LOANS_CARD_ID)
-                        : null);
+        loan.setId(resultSet.getInt(indexes[ID]));
+        loan.setSinglePaymentValue(resultSet.getDouble(indexes[SINGLE_PAYMENT]));
+        loan.setStartingValue(resultSet.getDouble(indexes[STARTING_VALUE]));
+        loan.setTotalPaymentValue(resultSet.getDouble(indexes[TOTAL_VALUE]));
+        loan.setYearlyInterestRate(resultSet.getDouble(indexes[INTEREST]));
+        loan.setIssueDate(resultSet.getDate(indexes[ISSUE_DATE]));
+        loan.setDueDate(resultSet.getDate(indexes[DUE_DATE]));
+        loan.setUserId(resultSet.getInt(indexes[USER_ID]));
+        loan.setStatusId(resultSet.getInt(indexes[STATUS_ID]));
+        loan.setStatusName(resultSet.getString(indexes[STATUS_NAME]));
+        loan.setAccountId(resultSet.getInt(indexes[ACCOUNT_ID]));
+        loan.setCardId(getNullableInt(resultSet, indexes[CARD_ID]));
 
         return loan;
     }
-
 }
@@ -1,7 +1,7 @@
 package by.epam.baranovsky.banking.dao.rowmapper.impl;
 
 import by.epam.baranovsky.banking.constant.DBMetadata;
-import by.epam.baranovsky.banking.dao.rowmapper.RowMapper;
+import by.epam.baranovsky.banking.dao.rowmapper.AbstractRowMapper;
 import by.epam.baranovsky.banking.entity.Operation;
 
 import java.sql.ResultSet;
@@ -14,64 +14,60 @@ import java.sql.SQLException;
  * @author Baranovsky E. K.
  * @version 1.0.0
  */
-public class OperationRowMapper implements RowMapper<Operation> {
-
+public class OperationRowMapper extends AbstractRowMapper<Operation> {
+
+    private static final int ID = 0;
+    private static final int TYPE_ID = 1;
+    private static final int TYPE_NAME = 2;
+    private static final int DATE = 3;
+    private static final int VALUE = 4;
+    private static final int ACC_ID = 5;
+    private static final int TARGET_ACC_ID = 6;
+    private static final int CARD_ID = 7;
+    private static final int TARGET_CARD_ID = 8;
+    private static final int BILL_ID = 9;
+    private static final int PENALTY_ID = 10;
+    private static final int COMMISSION = 11;
+
+    public OperationRowMapper() {
+        super(
+                DBMetadata.OPERATIONS_ID,
+                DBMetadata.OPERATION_TYPES_ID,
+                DBMetadata.OPERATION_TYPES_NAME,
+                DBMetadata.OPERATIONS_DATE,
+                DBMetadata.OPERATIONS_VALUE,
+                DBMetadata.OPERATIONS_ACC_ID,
+                DBMetadata.OPERATIONS_TARGET_ACC_ID,
+                DBMetadata.OPERATIONS_CARD_ID,
+                DBMetadata.OPERATIONS_TARGET_CARD_ID,
+                DBMetadata.OPERATIONS_BILL_ID,
+                DBMetadata.OPERATIONS_PENALTY_ID,
+                DBMetadata.OPERATIONS_COMMISSION);
+    }
 
     /**
      * {@inheritDoc}
      * @param resultSet JDBC ResultSet of a query.
+     * @param indexes Indexes of columns.
      * @return instance of Operation.
      * @throws SQLException
      */
     @Override
-    public Operation map(ResultSet resultSet) throws SQLException {
+    protected Operation map(ResultSet resultSet, int[] indexes) throws SQLException {
         Operation operation = new Operation();
 
-        operation.setId(resultSet.getInt(DBMetadata.OPERATIONS_ID));
-
-        operation.setTypeId(resultSet.getInt(DBMetadata.OPERATION_TYPES_ID));
-        operation.setTypeName(resultSet.getString(DBMetadata.OPERATION_TYPES_NAME));
-        operation.setOperationDate(resultSet.getTimestamp(DBMetadata.OPERATIONS_DATE));
-
-        operation.setValue(
-                resultSet.getDouble(DBMetadata.OPERATIONS_VALUE) !=0
-                        ? resultSet.getDouble(DBMetadata.OPERATIONS_VALUE)
-                        : null);
-
-        operation.setAccountId(
-                resultSet.getInt(DBMetadata.OPERATIONS_ACC_ID) !=0
-                        ?  resultSet.getInt(DBMetadata.OPERATIONS_ACC_ID)
-                        : null);
-
-        operation.setTargetAccountId(
-                resultSet.getInt(DBMetadata.OPERATIONS_TARGET_ACC_ID) !=0
-                        ?  resultSet.getInt(DBMetadata.OPERATIONS_TARGET_ACC_ID)
-                        : null);
-
-        operation.setBankCardId(
-                resultSet.getInt(DBMetadata.OPERATIONS_CARD_ID) !=0
-                        ?  resultSet.getInt(DBMetadata.OPERATIONS_CARD_ID)
-                        : null);
-
-        operation.setTargetBankCardId(
-                resultSet.getInt(DBMetadata.OPERATIONS_TARGET_CARD_ID) !=0
-                        ?  resultSet.getInt(DBMetadata.OPERATIONS_TARGET_CARD_ID)
-                        : null);
-
-        operation.setBillId(
-                resultSet.getInt(DBMetadata.OPERATIONS_BILL_ID) !=0
-                        ?  resultSet.getInt(DBMetadata.OPERATIONS_BILL_ID)
-                        : null);
-
-        operation.setPenaltyId(
-                resultSet.getInt(DBMetadata.OPERATIONS_PENALTY_ID) !=0
-                        ?  resultSet.getInt(DBMetadata.OPERATIONS_PENALTY_ID)
-                        : null);
-
-        operation.setCommission(
-                resultSet.getDouble(DBMetadata.OPERATIONS_COMMISSION) != 0
-                        ? resultSet.getDouble(DBMetadata.OPERATIONS_COMMISSION)
-                        : null);
+        operation.setId(resultSet.getInt(indexes[ID]));
+        operation.setTypeId(resultSet.getInt(indexes[TYPE_ID]));
+        operation.setTypeName(resultSet.getString(indexes[TYPE_NAME]));
+        operation.setOperationDate(resultSet.getTimestamp(indexes[DATE]));
+        operation.setValue(getNullableDouble(resultSet, indexes[VALUE]));
+        operation.setAccountId(getNullableInt(resultSet, indexes[ACC_ID]));
+        operation.setTargetAccountId(getNullableInt(resultSet, indexes[TARGET_ACC_ID]));
+        operation.setBankCardId(getNullableInt(resultSet, indexes[CARD_ID]));
+        operation.setTargetBankCardId(getNullableInt(resultSet, indexes[TARGET_CARD_ID]));
+        operation.setBillId(getNullableInt(resultSet, indexes[BILL_ID]));
+        operation.setPenaltyId(getNullableInt(resultSet, indexes[PENALTY_ID]));
+        operation.setCommission(getNullableDouble(resultSet, indexes[COMMISSION]));
 
         return operation;
     }
@@ -1,7 +1,7 @@
 package by.epam.baranovsky.banking.dao.rowmapper.impl;
 
 import by.epam.baranovsky.banking.constant.DBMetadata;
-import by.epam.baranovsky.banking.dao.rowmapper.RowMapper;
+import by.epam.baranovsky.banking.dao.rowmapper.AbstractRowMapper;
 import by.epam.baranovsky.banking.entity.Penalty;
 
 import java.sql.ResultSet;
@@ -14,37 +14,51 @@ import java.sql.SQLException;
  * @author Baranovsky E. K.
  * @version 1.0.0
  */
-public class PenaltyRowMapper implements RowMapper<Penalty> {
+public class PenaltyRowMapper extends AbstractRowMapper<Penalty> {
+
+    private static final int ID = 0;
+    private static final int TYPE_ID = 1;
+    private static final int TYPE_NAME = 2;
+    private static final int NOTICE = 3;
+    private static final int USER_ID = 4;
+    private static final int STATUS_ID = 5;
+    private static final int STATUS_NAME = 6;
+    private static final int VALUE = 7;
+    private static final int PAYMENT_ACC_ID = 8;
+
+    public PenaltyRowMapper() {
+        super(
+                DBMetadata.PENALTIES_ID,
+                DBMetadata.PENALTIES_TYPE_ID,
+                DBMetadata.PENALTY_TYPE_NAME,
+                DBMetadata.PENALTIES_NOTICE,
+                DBMetadata.PENALTIES_USER_ID,
+                DBMetadata.PENALTIES_STATUS_ID,
+                DBMetadata.PENALTY_STATUS_NAME,
+                DBMetadata.PENALTIES_VALUE,
+                DBMetadata.PENALTIES_PAYMENT_ACC_ID);
+    }
 
     /**
      * {@inheritDoc}
      * @param resultSet JDBC ResultSet of a query.
+     * @param indexes Indexes of columns.
      * @return instance of Penalty.
      * @throws SQLException
      */
     @Override
-    public Penalty map(ResultSet resultSet) throws SQLException {
+    protected Penalty map(ResultSet resultSet, int[] indexes) throws SQLException {
         Penalty penalty = new Penalty();
 
-        penalty.setId(resultSet.getInt(DBMetadata.PENALTIES_ID));
-
-        penalty.setTypeId(resultSet.getInt(DBMetadata.PENALTIES_TYPE_ID));
-        penalty.setTypeName(resultSet.getString(DBMetadata.PENALTY_TYPE_NAME));
-
-        penalty.setNotice(resultSet.getString(DBMetadata.PENALTIES_NOTICE));
-        penalty.setUserId(resultSet.getInt(DBMetadata.PENALTIES_USER_ID));
-
-        penalty.setStatusId(resultSet.getInt(DBMetadata.PENALTIES_STATUS_ID));
-        penalty.setStatusName(resultSet.getString(DBMetadata.PENALTY_STATUS_NAME));
-
-        penalty.setValue(
-                resultSet.getDouble(DBMetadata.PENALTIES_VALUE) != 0
-                        ? resultSet.getDouble(DBMetadata.PENALTIES_VALUE)
-                        : null);
-        penalty.setPaymentAccountId(
-                resultSet.getInt(DBMetadata.PENALTIES_PAYMENT_ACC_ID) != 0
-                        ? resultSet.getInt(DBMetadata.PENALTIES_PAYMENT_ACC_ID)
-                        : null );
+        penalty.setId(resultSet.getInt(indexes[ID]));
+        penalty.setTypeId(resultSet.getInt(indexes[TYPE_ID]));
+        penalty.setTypeName(resultSet.getString(indexes[TYPE_NAME]));
+        penalty.setNotice(resultSet.getString(indexes[NOTICE]));
+        penalty.setUserId(resultSet.getInt(indexes[USER_ID]));
+        penalty.setStatusId(resultSet.getInt(indexes[STATUS_ID]));
+        penalty.setStatusName(resultSet.getString(indexes[STATUS_NAME]));
+        penalty.setValue(getNullableDouble(resultSet, indexes[VALUE]));
+        penalty.setPaymentAccountId(getNullableInt(resultSet, indexes[PAYMENT_ACC_ID]));
 
         return penalty;
     }
@@ -1,7 +1,7 @@
 package by.epam.baranovsky.banking.dao.rowmapper.impl;
 
 import by.epam.baranovsky.banking.constant.DBMetadata;
-import by.epam.baranovsky.banking.dao.rowmapper.RowMapper;
+import by.epam.baranovsky.banking.dao.rowmapper.AbstractRowMapper;
 import by.epam.baranovsky.banking.entity.User;
 
 import java.sql.ResultSet;
@@ -14,37 +14,64 @@ import java.sql.SQLException;
  * @author Baranovsky E. K.
  * @version 1.0.0
  */
-public class UserRowMapper implements RowMapper<User> {
+public class UserRowMapper extends AbstractRowMapper<User> {
+
+    private static final int ID = 0;
+    private static final int EMAIL = 1;
+    private static final int PASSWORD = 2;
+    private static final int ROLE_ID = 3;
+    private static final int ROLE_NAME = 4;
+    private static final int NAME = 5;
+    private static final int SURNAME = 6;
+    private static final int PATRONYMIC = 7;
+    private static final int PASS_SERIES = 8;
+    private static final int PASS_NUMBER = 9;
+    private static final int BIRTHDATE = 10;
+    private static final int LAST_LOGIN = 11;
+    private static final int DATE_CREATED = 12;
+
+    public UserRowMapper() {
+        super(
+                DBMetadata.USERS_ID,
+                DBMetadata.USERS_EMAIL,
+                DBMetadata.USERS_PASSWORD,
+                DBMetadata.USERS_ROLE_ID,
+                DBMetadata.USER_ROLES_DESC,
+                DBMetadata.USERS_NAME,
+                DBMetadata.USERS_SURNAME,
+                DBMetadata.USERS_PATRONYMIC,
+                DBMetadata.USERS_PASS_SERIES,
+                DBMetadata.USERS_PASS_NUMBER,
+                DBMetadata.USERS_BIRTHDATE,
+                DBMetadata.USERS_LAST_LOGIN,
+                DBMetadata.USERS_DATE_CREATED);
+    }
 
     /**
      * {@inheritDoc}
      * @param resultSet JDBC ResultSet of a query.
+     * @param indexes Indexes of columns.
      * @return instance of User.
      * @throws SQLException
      */
     @Override
-    public User map(ResultSet resultSet) throws SQLException {
+    protected User map(ResultSet resultSet, int[] indexes) throws SQLException {
         User user = new User();
 
-        user.setId(resultSet.getInt(DBMetadata.USERS_ID));
-        user.setEmail(resultSet.getString(DBMetadata.USERS_EMAIL));
-        user.setPassword(resultSet.getString(DBMetadata.USERS_PASSWORD));
-
-        user.setRoleId(resultSet.getInt(DBMetadata.USERS_ROLE_ID));
-        user.setRoleName(resultSet.getString(DBMetadata.USER_ROLES_DESC));
-
-        user.setFirstName(resultSet.getString(DBMetadata.USERS_NAME));
-        user.setLastName(resultSet.getString(DBMetadata.USERS_SURNAME));
-        user.setPatronymic(resultSet.getString(DBMetadata.USERS_PATRONYMIC));
-
-        user.setPassportSeries(resultSet.getString(DBMetadata.USERS_PASS_SERIES));
-        user.setPassportNumber(resultSet.getString(DBMetadata.USERS_PASS_NUMBER));
-
-        user.setBirthDate(resultSet.getDate(DBMetadata.USERS_BIRTHDATE));
-        user.setLastLogin(resultSet.getDate(DBMetadata.USERS_LAST_LOGIN));
-        user.setDateCreated(resultSet.getDate(DBMetadata.USERS_DATE_CREATED));
+        user.setId(resultSet.getInt(indexes[ID]));
+        user.setEmail(resultSet.getString(indexes[EMAIL]));
+        user.setPassword(resultSet.getString(indexes[PASSWORD]));
+        user.setRoleId(resultSet.getInt(indexes[ROLE_ID]));
+        user.setRoleName(resultSet.getString(indexes[ROLE_NAME]));
+        user.setFirstName(resultSet.getString(indexes[NAME]));
+        user.setLastName(resultSet.getString(indexes[SURNAME]));
+        user.setPatronymic(resultSet.getString(indexes[PATRONYMIC]));
+        user.setPassportSeries(resultSet.getString(indexes[PASS_SERIES]));
+        user.setPassportNumber(resultSet.getString(indexes[PASS_NUMBER]));
+        user.setBirthDate(resultSet.getDate(indexes[BIRTHDATE]));
+        user.setLastLogin(resultSet.getDate(indexes[LAST_LOGIN]));
+        user.setDateCreated(resultSet.getDate(indexes[DATE_CREATED]));
 
         return user;
     }
-
 }
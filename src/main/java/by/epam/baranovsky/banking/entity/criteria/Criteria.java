@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.Getter;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Criteria class that is used to retrieve DB entities by parameters.
@@ -18,6 +19,16 @@ import java.util.*;
  *     However, if criteria has to accept multiple values for same DB column,
  *     an entity will have to satisfy only one of such values.
  * </p>
+ * <p>
+ *     Criteria may also order results by any parameter, limit their number
+ *     and continue from a given row (keyset pagination): rows that come
+ *     after the passed values of ordering columns are retrieved,
+ *     so a page is read straight from an index instead of skipping preceding rows.
+ *     Last ordering column should be unique (e.g. ID) for pages to be exact.
+ *     Previous page is read the same way, by seeking before the first row
+ *     of current page: rows are then retrieved in reverse order,
+ *     so that the closest ones come first, and are to be reversed by caller.
+ * </p>
  *
  * @param <T> the type of enum that serves as a source of entity's parameters,
  *          so criteria won't include parameters for different entities.
@@ -35,6 +46,12 @@ public class Criteria<T extends EntityEnum> {
      * Constant to enable 'satisfy one' algorithm.
      */
     public static final String SQL_OR = "OR";
+    /**
+     * Cache of generated query strings by shape of criteria.
+     * Cleared entirely once it reaches {@code MAX_CACHED_TEMPLATES}.
+     */
+    private static final Map<String, String> QUERY_TEMPLATES = new ConcurrentHashMap<>();
+    private static final int MAX_CACHED_TEMPLATES = 1024;
     /**
      * List of parameters of criteria.
      * @see Parameter
@@ -45,6 +62,26 @@ public class Criteria<T extends EntityEnum> {
      * between parameters.
      */
     private final String particle;
+    /**
+     * Columns to order results by, in order of precedence.
+     * @see Order
+     */
+    private final List<Order> orders = new ArrayList<>();
+    /**
+     * Values of ordering columns of the row after which results start.
+     * Empty if results start from the first row.
+     */
+    private final List<Object> seekValues = new ArrayList<>();
+    /**
+     * Whether results are rows that come before {@code seekValues}, in reverse order.
+     */
+    @Getter
+    private boolean seekingBackward;
+    /**
+     * Maximal number of results, {@code null} if not limited.
+     */
+    @Getter
+    private Integer limit;
 
     public Criteria(){
         this(SQL_AND);
@@ -79,6 +116,57 @@ public class Criteria<T extends EntityEnum> {
         return true;
     }
 
+    /**
+     * Adds a column to order results by.
+     * Columns are applied in order they were added.
+     * @param name Name of parameter retrieved from corresponding EntityEnum.
+     * @param descending {@code true} for descending order, {@code false} for ascending.
+     */
+    public void orderBy(T name, boolean descending){
+        orders.add(new Order(name, descending));
+    }
+
+    /**
+     * Limits number of results.
+     * @param limit Maximal number of results, {@code null} to remove limit.
+     */
+    public void setLimit(Integer limit){
+        this.limit = limit;
+    }
+
+    /**
+     * Makes results start right after the row with given values of ordering columns.
+     * @param lastValues Values of ordering columns of the last row of previous page,
+     *                   in order ordering columns were added.
+     *                   Pass nothing to start from the first row.
+     */
+    public void seekAfter(Object... lastValues){
+        seek(false, lastValues);
+    }
+
+    /**
+     * Makes results be the rows right before the row with given values of ordering columns,
+     * retrieved in reverse order, nearest first.
+     * @param firstValues Values of ordering columns of the first row of next page,
+     *                    in order ordering columns were added.
+     *                    Pass nothing to start from the first row.
+     */
+    public void seekBefore(Object... firstValues){
+        seek(true, firstValues);
+    }
+
+    private void seek(boolean backward, Object... values){
+        seekValues.clear();
+        seekingBackward = backward && values.length > 0;
+        for(Object value : values){
+            if(value instanceof Date && !(value instanceof java.sql.Timestamp)
+                    && !(value instanceof java.sql.Date)){
+                value = new java.sql.Timestamp(((Date) value).getTime());
+            }
+            seekValues.add(value);
+        }
+    }
+
     /**
      * Generates SQL query for a criteria.
      * <p>
@@ -90,48 +178,96 @@ public class Criteria<T extends EntityEnum> {
      *     Generation algorithm:
      *     <ul>
      *         <li>Divides list of parameters into groups of eponymous parameters.</li>
-     *         <li>For each parameter in each group calls for generateSqlCondition() method
+     *         <li>Collapses all singular values of a group into a single
+     *         {@code column IN (?,?,...)} condition.</li>
+     *         <li>For each other parameter in each group calls for generateSqlCondition() method
      *         to generate single condition string.</li>
      *         <li>Puts values of parameters into a list.</li>
-     *         <li>Puts 'OR' between parameters in group of there are more than one.</li>
+     *         <li>Puts 'OR' between conditions in group of there are more than one.</li>
      *         <li>Unites all groups into a single condition string, putting @{code particle}
      *         between groups.</li>
      *         <li>Appends this string to a starting query.</li>
+     *         <li>If criteria continues from a given row, adds condition
+     *         that selects rows after it.</li>
+     *         <li>Appends ORDER BY and LIMIT clauses, if set.</li>
      *         <li>Creates an instance of Query using generated query string and list of parameters.</li>
      *     </ul>
      * </p>
+     * <p>
+     *     Query strings are cached by shape of criteria (columns, kinds of conditions
+     *     and number of values), so criteria of the same shape produce
+     *     the same string without building it again.
+     * </p>
      * @see Parameter#generateSqlCondition()
      * @param sqlQueryStart A query to append generated parameters to.
      * @return Instance of Query with a prepared statement
      * and an array of parameters for that statement in correct order.
+     * @throws IllegalStateException if number of values to seek after
+     * differs from number of ordering columns.
      */
     public Query generateQuery(String sqlQueryStart){
-
-        StringBuilder builder = new StringBuilder(sqlQueryStart);
-        builder.append(" WHERE ");
+        if(!seekValues.isEmpty() && seekValues.size() != orders.size()){
+            throw new IllegalStateException("Values to seek after do not match ordering columns.");
+        }
 
         if(parameters.isEmpty()){
-            return new Query(builder.append("FALSE").toString());
+            return new Query(sqlQueryStart + " WHERE FALSE");
         }
 
-        Map<T, List<Parameter>> eponymousGroups = new HashMap<>();
+        Map<T, ConditionGroup> groups = new LinkedHashMap<>();
         for(Parameter parameter : parameters){
-            eponymousGroups.computeIfAbsent(parameter.name, k -> new ArrayList<>());
-            eponymousGroups.get(parameter.name).add(parameter);
+            groups.computeIfAbsent(parameter.name, ConditionGroup::new).add(parameter);
         }
 
-        List<List<Parameter>> groups = eponymousGroups.values().stream().toList();
         List<Object> queryParams = new ArrayList<>();
+        StringBuilder shape = new StringBuilder(sqlQueryStart).append('\u0000').append(particle);
+        for(ConditionGroup group : groups.values()){
+            group.appendShape(shape);
+            queryParams.addAll(group.equalValues);
+            for(Parameter parameter : group.otherParameters){
+                queryParams.addAll(parameter.getValue().getAllValues());
+            }
+        }
 
-        for(List<Parameter> group : groups){
-            builder.append("(").append(group.get(0).generateSqlCondition());
-            queryParams.addAll(group.get(0).getValue().getAllValues());
+        for(int i = 0; i < seekValues.size(); i++){
+            queryParams.addAll(seekValues.subList(0, i + 1));
+        }
+        shape.append(seekValues.isEmpty() ? "" : seekingBackward ? "|seek<" : "|seek>");
+        for(Order order : orders){
+            shape.append('|').append(order.name.getColumn()).append(order.descending ? '-' : '+');
+        }
+        if(limit != null){
+            shape.append("|limit");
+            queryParams.add(limit);
+        }
 
-            for(int i = 1; i<group.size(); i++){
-                builder.append(" OR ").append(group.get(i).generateSqlCondition());
-                queryParams.addAll(group.get(i).getValue().getAllValues());
+        String key = shape.toString();
+        String sql = QUERY_TEMPLATES.get(key);
+        if(sql == null){
+            sql = buildQueryString(sqlQueryStart, groups.values());
+            if(QUERY_TEMPLATES.size() >= MAX_CACHED_TEMPLATES){
+                QUERY_TEMPLATES.clear();
             }
+            QUERY_TEMPLATES.put(key, sql);
+        }
+
+        return new Query(sql, queryParams.toArray());
+    }
+
+    /**
+     * Builds query string for given groups of conditions.
+     * @param sqlQueryStart A query to append generated conditions to.
+     * @param groups Groups of eponymous parameters.
+     * @return SQL query string with values replaced by question marks.
+     */
+    private String buildQueryString(String sqlQueryStart, Collection<ConditionGroup> groups){
+        StringBuilder builder = new StringBuilder(sqlQueryStart);
+        builder.append(" WHERE ");
+        int conditionStart = builder.length();
 
+        for(ConditionGroup group : groups){
+            builder.append("(");
+            group.appendConditions(builder);
             builder.append(" ) ").append(particle).append(" ");
         }
 
@@ -140,8 +276,139 @@ public class Criteria<T extends EntityEnum> {
         } else {
             builder.append("TRUE");
         }
-        return new Query(builder.toString(), queryParams.toArray());
 
+        if(!seekValues.isEmpty()){
+            builder.insert(conditionStart, "(").append(") AND (");
+            appendSeekCondition(builder);
+            builder.append(")");
+        }
+        appendOrderAndLimit(builder);
+
+        return builder.toString();
+    }
+
+    /**
+     * Appends condition that selects rows coming after {@code seekValues}
+     * in order of {@code orders}, by pattern
+     * {@code (a>?) OR (a=? AND b>?) OR ...}, or before them if seeking backward.
+     * @param builder Builder of a query.
+     */
+    private void appendSeekCondition(StringBuilder builder){
+        for(int i = 0; i < orders.size(); i++){
+            if(i > 0){
+                builder.append(" OR ");
+            }
+            builder.append("(");
+            for(int j = 0; j < i; j++){
+                builder.append(orders.get(j).name.getColumn()).append("=? AND ");
+            }
+            Order order = orders.get(i);
+            builder.append(order.name.getColumn())
+                    .append(isReversed(order) ? "<?" : ">?")
+                    .append(")");
+        }
+    }
+
+    /**
+     * Appends ORDER BY and LIMIT clauses, if they are set.
+     * @param builder Builder of a query.
+     */
+    private void appendOrderAndLimit(StringBuilder builder){
+        for(int i = 0; i < orders.size(); i++){
+            builder.append(i == 0 ? " ORDER BY " : ", ")
+                    .append(orders.get(i).name.getColumn())
+                    .append(isReversed(orders.get(i)) ? " DESC" : " ASC");
+        }
+        if(limit != null){
+            builder.append(" LIMIT ?");
+        }
+    }
+
+    /**
+     * @param order Ordering column.
+     * @return {@code true} if rows are to be retrieved in descending order of the column.
+     */
+    private boolean isReversed(Order order){
+        return order.descending != seekingBackward;
+    }
+
+    /**
+     * Inner class that represents conditions of eponymous parameters.
+     * Singular values are kept apart to be collapsed into a single IN condition.
+     * @author Baranovsky E. K.
+     * @version 1.0.0
+     */
+    private class ConditionGroup{
+        /** Column of parameters of this group. */
+        private final String column;
+        /** Values of singular parameters. */
+        private final List<Object> equalValues = new ArrayList<>();
+        /** Parameters other than singular values. */
+        private final List<Parameter> otherParameters = new ArrayList<>();
+
+        ConditionGroup(T name) {
+            this.column = name.getColumn();
+        }
+
+        void add(Parameter parameter){
+            if(parameter.getValue() instanceof SingularValue){
+                equalValues.addAll(parameter.getValue().getAllValues());
+            } else {
+                otherParameters.add(parameter);
+            }
+        }
+
+        /**
+         * Appends description of this group's conditions to shape of criteria.
+         * @param shape Builder of criteria shape.
+         */
+        void appendShape(StringBuilder shape){
+            shape.append('|').append(column).append('=').append(equalValues.size());
+            for(Parameter parameter : otherParameters){
+                shape.append(parameter.generateSqlCondition());
+            }
+        }
+
+        /**
+         * Appends conditions of this group, joined with 'OR'.
+         * @param builder Builder of a query.
+         */
+        void appendConditions(StringBuilder builder){
+            boolean first = true;
+            if(equalValues.size() == 1){
+                builder.append(" (").append(column).append("=?) ");
+                first = false;
+            } else if(equalValues.size() > 1){
+                builder.append(" (").append(column).append(" IN (?");
+                builder.append(",?".repeat(equalValues.size() - 1));
+                builder.append(")) ");
+                first = false;
+            }
+            for(Parameter parameter : otherParameters){
+                if(!first){
+                    builder.append(" OR ");
+                }
+                builder.append(parameter.generateSqlCondition());
+                first = false;
+            }
+        }
+    }
+
+    /**
+     * Inner class that represents a column to order results by.
+     * @author Baranovsky E. K.
+     * @version 1.0.0
+     */
+    @Data
+    public class Order{
+        /**
+         * Name of ordering column: instance of EntityEnum.
+         */
+        private final T name;
+        /**
+         * Whether order is descending.
+         */
+        private final boolean descending;
     }
 
     /**
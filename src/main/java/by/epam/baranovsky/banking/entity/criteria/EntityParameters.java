@@ -12,6 +12,7 @@ public class EntityParameters {
      * @see by.epam.baranovsky.banking.entity.Operation
      */
     public enum OperationParam implements EntityEnum{
+        ID(DBMetadata.OPERATIONS_ID),
         VALUE(DBMetadata.OPERATIONS_VALUE),
         ACCOUNT(DBMetadata.OPERATIONS_ACC_ID),
         TARGET_ACCOUNT(DBMetadata.OPERATIONS_TARGET_ACC_ID),
@@ -20,7 +21,8 @@ public class EntityParameters {
         CARD(DBMetadata.OPERATIONS_CARD_ID),
         TARGET_CARD(DBMetadata.OPERATIONS_TARGET_CARD_ID),
         BILL(DBMetadata.OPERATIONS_BILL_ID),
-        PENALTY(DBMetadata.OPERATIONS_PENALTY_ID);
+        PENALTY(DBMetadata.OPERATIONS_PENALTY_ID),
+        DATE(DBMetadata.OPERATIONS_DATE);
 
         private final String column;
 
@@ -39,6 +41,7 @@ public class EntityParameters {
      * @see by.epam.baranovsky.banking.entity.Bill
      */
     public enum BillParam implements EntityEnum{
+        ID(DBMetadata.BILLS_ID),
         VALUE(DBMetadata.BILLS_VALUE),
         ISSUE_DATE(DBMetadata.BILLS_ISSUE_DATE),
         DUE_DATE(DBMetadata.BILLS_DUE_DATE),
@@ -68,6 +71,7 @@ public class EntityParameters {
      * @see by.epam.baranovsky.banking.entity.Loan
      */
     public enum LoanParams implements EntityEnum{
+        ID(DBMetadata.LOANS_ID),
         SINGLE_PAYMENT_VALUE(DBMetadata.LOANS_SINGLE_PAYMENT_VALUE),
         STARTING_VALUE(DBMetadata.LOANS_STARTING_VALUE),
         TOTAL_PAYMENT(DBMetadata.LOANS_TOTAL_VALUE),
@@ -96,6 +100,7 @@ public class EntityParameters {
      * @see by.epam.baranovsky.banking.entity.Penalty
      */
     public enum PenaltyParams implements EntityEnum{
+        ID(DBMetadata.PENALTIES_ID),
         VALUE(DBMetadata.PENALTIES_VALUE),
         NOTICE(DBMetadata.PENALTIES_NOTICE),
         PAYMENT_ACC(DBMetadata.PENALTIES_PAYMENT_ACC_ID),
@@ -122,6 +127,7 @@ public class EntityParameters {
      * @see by.epam.baranovsky.banking.entity.User
      */
     public enum UserParams implements EntityEnum{
+        ID(DBMetadata.USERS_ID),
         EMAIL(DBMetadata.USERS_EMAIL),
         PASSWORD(DBMetadata.USERS_PASSWORD),
         SURNAME(DBMetadata.USERS_SURNAME),
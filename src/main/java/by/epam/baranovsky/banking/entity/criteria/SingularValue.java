@@ -22,16 +22,24 @@ public class SingularValue<T extends Comparable<T>> implements CriteriaValue<T>{
         this.value = value;
     }
 
+    /**
+     * Returns list with the only value of this.
+     * Swaps java.util.Date for java.sql.Date so JDBC will work correctly.
+     * @return list of values of this.
+     */
     @Override
     public List<Object> getAllValues() {
         List<Object> list = new ArrayList<>();
-        list.add(value);
+        if(value instanceof Date && !(value instanceof java.sql.Date)){
+            list.add(new java.sql.Date(((Date) value).getTime()));
+        } else {
+            list.add(value);
+        }
         return list;
     }
 
     /**
      * Generates SQL conditions by pattern (column_name=?).
-     * Swaps java.util.Date for java.sql.Date so JDBC will work correctly.
      * @param name instance of EntityEnum, from which
      *              column name will be extracted.
      * @return An SQL condition with singular value.
@@ -40,11 +48,6 @@ public class SingularValue<T extends Comparable<T>> implements CriteriaValue<T>{
     public String generateSqlCondition(EntityEnum name) {
         StringBuilder builder =new StringBuilder(" (");
 
-        if(value instanceof Date){
-            Date valueDate = (Date) value;
-            value = (T) new java.sql.Date(valueDate.getTime());
-        }
-
         builder.append(name.getColumn())
                 .append("=?");
         return builder.append(") ").toString();
@@ -19,6 +19,7 @@ public class OperationTransferObject implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
 
+    private Integer id;
     private Date date;
     private String accountNumber;
     private String targetAccountNumber;
@@ -0,0 +1,13 @@
+package by.epam.baranovsky.banking.entity.projection;
+
+/**
+ * Projection of Account that holds only its balance and status.
+ *
+ * @param id ID of account.
+ * @param balance Balance of account.
+ * @param statusId ID of account's status.
+ * @see by.epam.baranovsky.banking.entity.Account
+ * @author Baranovsky E. K.
+ * @version 1.0.0
+ */
+public record AccountBalance(Integer id, Double balance, Integer statusId) {}
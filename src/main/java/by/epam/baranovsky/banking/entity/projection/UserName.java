@@ -0,0 +1,22 @@
+package by.epam.baranovsky.banking.entity.projection;
+
+/**
+ * Projection of User that holds only their name.
+ *
+ * @param id ID of user.
+ * @param firstName First name of user.
+ * @param lastName Last name of user.
+ * @param patronymic Patronymic of user, may be {@code null}.
+ * @see by.epam.baranovsky.banking.entity.User
+ * @author Baranovsky E. K.
+ * @version 1.0.0
+ */
+public record UserName(Integer id, String firstName, String lastName, String patronymic) {
+
+    /**
+     * @return Last name, first name and patronymic of user separated by spaces.
+     */
+    public String fullName() {
+        return lastName + " " + firstName + " " + (patronymic != null ? patronymic : "");
+    }
+}
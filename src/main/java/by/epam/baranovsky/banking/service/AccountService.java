@@ -1,10 +1,14 @@
 package by.epam.baranovsky.banking.service;
 
+import by.epam.baranovsky.banking.dao.query.RowCallback;
 import by.epam.baranovsky.banking.entity.Account;
+import by.epam.baranovsky.banking.entity.projection.AccountBalance;
 import by.epam.baranovsky.banking.service.exception.ServiceException;
 import by.epam.baranovsky.banking.service.exception.ValidationException;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interface for accounts service.
@@ -21,6 +25,14 @@ public interface AccountService {
      */
     Account findById(Integer id) throws ServiceException;
 
+    /**
+     * Retrieves Accounts from data source by their ids, using as few queries as possible.
+     * @param ids ids of Accounts to retrieve.
+     * @return Map of found Accounts by their ids.
+     * @throws ServiceException if DAOException occurs.
+     */
+    Map<Integer, Account> findByIds(Collection<Integer> ids) throws ServiceException;
+
     /**
      * Retrieves Account from data source by its number.
      * @param number number of Account
@@ -37,6 +49,15 @@ public interface AccountService {
      */
     List<Account> findByUserId(Integer id) throws ServiceException;
 
+    /**
+     * Counts Accounts of a user that have given status, without retrieving them.
+     * @param userId id of User
+     * @param statusId id of status of Accounts
+     * @return Number of such Accounts.
+     * @throws ServiceException if DAOException occurs.
+     */
+    Integer countByUserAndStatus(Integer userId, Integer statusId) throws ServiceException;
+
     /**
      * Retrieves Accounts from data source by their status id.
      * @param id id of Account status
@@ -53,6 +74,20 @@ public interface AccountService {
      */
     List<Integer> findUsers(Integer id) throws ServiceException;
 
+    /**
+     * Retrieves balance and status of an Account, without the rest of its data.
+     * @param id id of Account
+     * @return AccountBalance of the Account or {@code null} if not found.
+     * @throws ServiceException if DAOException occurs.
+     */
+    AccountBalance findBalanceById(Integer id) throws ServiceException;
+
+    /**
+     * Adds postings of bank's ledger to balance of bank's own account.
+     * @throws ServiceException if DAOException occurs.
+     */
+    void foldBankLedger() throws ServiceException;
+
     /**
      * Updates Account in data source.
      * @param account Account to update
@@ -95,4 +130,12 @@ public interface AccountService {
      * @throws ServiceException if DAOException occurs.
      */
     List<Account> findAll() throws ServiceException;
+
+    /**
+     * Passes every Account in data source to callback,
+     * without loading all of them into memory at once.
+     * @param callback callback to pass Accounts to
+     * @throws ServiceException if DAOException occurs or callback throws it.
+     */
+    void forEach(RowCallback<? super Account, ServiceException> callback) throws ServiceException;
 }
@@ -1,10 +1,13 @@
 package by.epam.baranovsky.banking.service;
 
+import by.epam.baranovsky.banking.dao.query.RowCallback;
 import by.epam.baranovsky.banking.entity.BankingCard;
 import by.epam.baranovsky.banking.service.exception.ServiceException;
 import by.epam.baranovsky.banking.service.exception.ValidationException;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 /**
  * Interface for bank cards service.
  * @author Baranovsky E. K.
@@ -20,6 +23,14 @@ public interface BankCardService {
      */
     BankingCard findById(Integer id) throws ServiceException;
 
+    /**
+     * Retrieves BankingCards from data source by their ids, using as few queries as possible.
+     * @param ids ids of BankingCards to retrieve.
+     * @return Map of found BankingCards by their ids.
+     * @throws ServiceException if DAOException occurs.
+     */
+    Map<Integer, BankingCard> findByIds(Collection<Integer> ids) throws ServiceException;
+
     /**
      * Retrieves BankingCard from data source by its number and cvc code.
      * @param number Number of bank card
@@ -53,6 +64,14 @@ public interface BankCardService {
      */
     List<BankingCard> findByUser(Integer userId) throws ServiceException;
 
+    /**
+     * Counts BankingCards of a user, without retrieving them.
+     * @param userId BankingCard's user ID
+     * @return Number of BankingCards with this user.
+     * @throws ServiceException if DAOException occurs.
+     */
+    Integer countByUser(Integer userId) throws ServiceException;
+
     /**
      * Retrieves BankingCards from data source by account they are tied to.
      * @param accountId BankingCard's account ID
@@ -104,4 +123,12 @@ public interface BankCardService {
      */
     List<BankingCard> findAll() throws ServiceException;
 
+    /**
+     * Passes every BankingCard in data source to callback,
+     * without loading all of them into memory at once.
+     * @param callback callback to pass BankingCards to
+     * @throws ServiceException if DAOException occurs or callback throws it.
+     */
+    void forEach(RowCallback<? super BankingCard, ServiceException> callback) throws ServiceException;
+
 }
@@ -1,12 +1,15 @@
 package by.epam.baranovsky.banking.service;
 
+import by.epam.baranovsky.banking.dao.query.RowCallback;
 import by.epam.baranovsky.banking.entity.Bill;
 import by.epam.baranovsky.banking.entity.criteria.Criteria;
 import by.epam.baranovsky.banking.entity.criteria.EntityParameters;
 import by.epam.baranovsky.banking.service.exception.ServiceException;
 import by.epam.baranovsky.banking.service.exception.ValidationException;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 /**
  * Interface for bills service.
  * @author Baranovsky E. K.
@@ -22,6 +25,32 @@ public interface BillService {
      */
     List<Bill> findByCriteria(Criteria<? extends EntityParameters.BillParam> criteria) throws ServiceException;
 
+    /**
+     * Sums values of a column over Bills satisfying given criteria, without retrieving them.
+     * @param column Parameter whose column is summed.
+     * @param criteria Criteria to search by.
+     * @return Sum of column values, 0 if no Bills satisfy criteria.
+     * @throws ServiceException if DAOException occurs.
+     */
+    Double sum(EntityParameters.BillParam column,
+               Criteria<? extends EntityParameters.BillParam> criteria) throws ServiceException;
+
+    /**
+     * Counts Bills satisfying given criteria, without retrieving them.
+     * @param criteria Criteria to search by.
+     * @return Number of Bills satisfying criteria.
+     * @throws ServiceException if DAOException occurs.
+     */
+    Integer count(Criteria<? extends EntityParameters.BillParam> criteria) throws ServiceException;
+
+    /**
+     * Checks if any Bills satisfy given criteria.
+     * @param criteria Criteria to search by.
+     * @return {@code true} if at least one of Bills satisfies criteria.
+     * @throws ServiceException if DAOException occurs.
+     */
+    boolean exists(Criteria<? extends EntityParameters.BillParam> criteria) throws ServiceException;
+
     /**
      * Retrieves Bill from data source by its id.
      * @param id id of Bill to retrieve.
@@ -30,6 +59,14 @@ public interface BillService {
      */
     Bill findById(Integer id) throws ServiceException;
 
+    /**
+     * Retrieves Bills from data source by their ids, using as few queries as possible.
+     * @param ids ids of Bills to retrieve.
+     * @return Map of found Bills by their ids.
+     * @throws ServiceException if DAOException occurs.
+     */
+    Map<Integer, Bill> findByIds(Collection<Integer> ids) throws ServiceException;
+
     /**
      * Updates Bill in data source.
      * @param bill Bill to update
@@ -66,6 +103,15 @@ public interface BillService {
      */
     boolean delete(Bill bill) throws ServiceException;
 
+    /**
+     * Deletes Bills from data source in a single batch.
+     * @param bills Bills to delete
+     * @return Number of deleted Bills.
+     * @throws ServiceException if DAOException occurs.
+     * @throws ValidationException if any of passed objects did not pass validation.
+     */
+    int deleteAll(List<Bill> bills) throws ServiceException;
+
     /**
      * Retrieves all Bills from data source.
      * @return List of all Bills stored in data source.
@@ -73,4 +119,12 @@ public interface BillService {
      */
     List<Bill> findAll() throws ServiceException;
 
+    /**
+     * Passes every Bill in data source to callback,
+     * without loading all of them into memory at once.
+     * @param callback callback to pass Bills to
+     * @throws ServiceException if DAOException occurs or callback throws it.
+     */
+    void forEach(RowCallback<? super Bill, ServiceException> callback) throws ServiceException;
+
 }
@@ -1,12 +1,15 @@
 package by.epam.baranovsky.banking.service;
 
+import by.epam.baranovsky.banking.dao.query.RowCallback;
 import by.epam.baranovsky.banking.entity.Loan;
 import by.epam.baranovsky.banking.entity.criteria.Criteria;
 import by.epam.baranovsky.banking.entity.criteria.EntityParameters;
 import by.epam.baranovsky.banking.service.exception.ServiceException;
 import by.epam.baranovsky.banking.service.exception.ValidationException;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interface for loans service.
@@ -23,6 +26,32 @@ public interface LoanService {
      */
     List<Loan> findByCriteria(Criteria<? extends EntityParameters.LoanParams> criteria) throws ServiceException;
 
+    /**
+     * Sums values of a column over Loans satisfying given criteria, without retrieving them.
+     * @param column Parameter whose column is summed.
+     * @param criteria Criteria to search by.
+     * @return Sum of column values, 0 if no Loans satisfy criteria.
+     * @throws ServiceException if DAOException occurs.
+     */
+    Double sum(EntityParameters.LoanParams column,
+               Criteria<? extends EntityParameters.LoanParams> criteria) throws ServiceException;
+
+    /**
+     * Counts Loans satisfying given criteria, without retrieving them.
+     * @param criteria Criteria to search by.
+     * @return Number of Loans satisfying criteria.
+     * @throws ServiceException if DAOException occurs.
+     */
+    Integer count(Criteria<? extends EntityParameters.LoanParams> criteria) throws ServiceException;
+
+    /**
+     * Checks if any Loans satisfy given criteria.
+     * @param criteria Criteria to search by.
+     * @return {@code true} if at least one of Loans satisfies criteria.
+     * @throws ServiceException if DAOException occurs.
+     */
+    boolean exists(Criteria<? extends EntityParameters.LoanParams> criteria) throws ServiceException;
+
     /**
      * Retrieves Loan from data source by its id.
      * @param id id of Loan to retrieve.
@@ -31,6 +60,14 @@ public interface LoanService {
      */
     Loan findById(Integer id) throws ServiceException;
 
+    /**
+     * Retrieves Loans from data source by their ids, using as few queries as possible.
+     * @param ids ids of Loans to retrieve.
+     * @return Map of found Loans by their ids.
+     * @throws ServiceException if DAOException occurs.
+     */
+    Map<Integer, Loan> findByIds(Collection<Integer> ids) throws ServiceException;
+
     /**
      * Updates Loan in data source.
      * @param loan Loan to update
@@ -74,4 +111,12 @@ public interface LoanService {
      */
     List<Loan> findAll() throws ServiceException;
 
+    /**
+     * Passes every Loan in data source to callback,
+     * without loading all of them into memory at once.
+     * @param callback callback to pass Loans to
+     * @throws ServiceException if DAOException occurs or callback throws it.
+     */
+    void forEach(RowCallback<? super Loan, ServiceException> callback) throws ServiceException;
+
 }
@@ -6,7 +6,9 @@ import by.epam.baranovsky.banking.entity.criteria.EntityParameters;
 import by.epam.baranovsky.banking.service.exception.ServiceException;
 import by.epam.baranovsky.banking.service.exception.ValidationException;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 /**
  * Interface for operations service.
  * @author Baranovsky E. K.
@@ -22,6 +24,32 @@ public interface OperationService {
      */
     List<Operation> findByCriteria(Criteria<? extends EntityParameters.OperationParam> criteria) throws ServiceException;
 
+    /**
+     * Sums values of a column over Operations satisfying given criteria, without retrieving them.
+     * @param column Parameter whose column is summed.
+     * @param criteria Criteria to search by.
+     * @return Sum of column values, 0 if no Operations satisfy criteria.
+     * @throws ServiceException if DAOException occurs.
+     */
+    Double sum(EntityParameters.OperationParam column,
+               Criteria<? extends EntityParameters.OperationParam> criteria) throws ServiceException;
+
+    /**
+     * Counts Operations satisfying given criteria, without retrieving them.
+     * @param criteria Criteria to search by.
+     * @return Number of Operations satisfying criteria.
+     * @throws ServiceException if DAOException occurs.
+     */
+    Integer count(Criteria<? extends EntityParameters.OperationParam> criteria) throws ServiceException;
+
+    /**
+     * Checks if any Operations satisfy given criteria.
+     * @param criteria Criteria to search by.
+     * @return {@code true} if at least one of Operations satisfies criteria.
+     * @throws ServiceException if DAOException occurs.
+     */
+    boolean exists(Criteria<? extends EntityParameters.OperationParam> criteria) throws ServiceException;
+
     /**
      * Retrieves Operation from data source by its id.
      * @param id id of Operation to retrieve.
@@ -30,6 +58,14 @@ public interface OperationService {
      */
     Operation findById(Integer id) throws ServiceException;
 
+    /**
+     * Retrieves Operations from data source by their ids, using as few queries as possible.
+     * @param ids ids of Operations to retrieve.
+     * @return Map of found Operations by their ids.
+     * @throws ServiceException if DAOException occurs.
+     */
+    Map<Integer, Operation> findByIds(Collection<Integer> ids) throws ServiceException;
+
     /**
      * Updates Operation in data source.
      * @param operation Operation to update
@@ -44,10 +80,21 @@ public interface OperationService {
      * @param operation Operation to save
      * @return Created Operation if creation is successful, {@code null} otherwise
      * @throws ServiceException if DAOException occurs.
-     * @throws ValidationException if passed object did not pass validation.
+     * @throws ValidationException if passed object did not pass validation,
+     * or if transfer was rejected by data source, e.g. for lack of money.
+     * Message of exception describes the reason then.
      */
     Operation create(Operation operation) throws ServiceException;
 
+    /**
+     * Saves accrual Operations to data source in a single transaction.
+     * @param operations Accrual Operations to save
+     * @return Number of saved Operations
+     * @throws ServiceException if DAOException occurs.
+     * @throws ValidationException if any of passed objects did not pass validation.
+     */
+    int createAccruals(List<Operation> operations) throws ServiceException;
+
     /**
      * Deletes Operation from data source.
      * @param id id of Operation to delete
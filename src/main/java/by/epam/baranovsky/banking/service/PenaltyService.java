@@ -1,12 +1,15 @@
 package by.epam.baranovsky.banking.service;
 
+import by.epam.baranovsky.banking.dao.query.RowCallback;
 import by.epam.baranovsky.banking.entity.Penalty;
 import by.epam.baranovsky.banking.entity.criteria.Criteria;
 import by.epam.baranovsky.banking.entity.criteria.EntityParameters;
 import by.epam.baranovsky.banking.service.exception.ServiceException;
 import by.epam.baranovsky.banking.service.exception.ValidationException;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 /**
  * Interface for penalties service.
  * @author Baranovsky E. K.
@@ -22,6 +25,32 @@ public interface PenaltyService {
      */
     List<Penalty> findByCriteria(Criteria<? extends EntityParameters.PenaltyParams> criteria) throws ServiceException;
 
+    /**
+     * Sums values of a column over Penalties satisfying given criteria, without retrieving them.
+     * @param column Parameter whose column is summed.
+     * @param criteria Criteria to search by.
+     * @return Sum of column values, 0 if no Penalties satisfy criteria.
+     * @throws ServiceException if DAOException occurs.
+     */
+    Double sum(EntityParameters.PenaltyParams column,
+               Criteria<? extends EntityParameters.PenaltyParams> criteria) throws ServiceException;
+
+    /**
+     * Counts Penalties satisfying given criteria, without retrieving them.
+     * @param criteria Criteria to search by.
+     * @return Number of Penalties satisfying criteria.
+     * @throws ServiceException if DAOException occurs.
+     */
+    Integer count(Criteria<? extends EntityParameters.PenaltyParams> criteria) throws ServiceException;
+
+    /**
+     * Checks if any Penalties satisfy given criteria.
+     * @param criteria Criteria to search by.
+     * @return {@code true} if at least one of Penalties satisfies criteria.
+     * @throws ServiceException if DAOException occurs.
+     */
+    boolean exists(Criteria<? extends EntityParameters.PenaltyParams> criteria) throws ServiceException;
+
     /**
      * Retrieves Penalty from data source by its id.
      * @param id id of Penalty to retrieve.
@@ -30,6 +59,14 @@ public interface PenaltyService {
      */
     Penalty findById(Integer id) throws ServiceException;
 
+    /**
+     * Retrieves Penaltys from data source by their ids, using as few queries as possible.
+     * @param ids ids of Penaltys to retrieve.
+     * @return Map of found Penaltys by their ids.
+     * @throws ServiceException if DAOException occurs.
+     */
+    Map<Integer, Penalty> findByIds(Collection<Integer> ids) throws ServiceException;
+
     /**
      * Updates Penalty in data source.
      * @param penalty Penalty to update
@@ -73,4 +110,12 @@ public interface PenaltyService {
      */
     List<Penalty> findAll() throws ServiceException;
 
+    /**
+     * Passes every Penalty in data source to callback,
+     * without loading all of them into memory at once.
+     * @param callback callback to pass Penalties to
+     * @throws ServiceException if DAOException occurs or callback throws it.
+     */
+    void forEach(RowCallback<? super Penalty, ServiceException> callback) throws ServiceException;
+
 }
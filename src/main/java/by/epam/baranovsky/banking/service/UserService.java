@@ -3,11 +3,14 @@ package by.epam.baranovsky.banking.service;
 import by.epam.baranovsky.banking.entity.User;
 import by.epam.baranovsky.banking.entity.criteria.Criteria;
 import by.epam.baranovsky.banking.entity.criteria.EntityParameters;
+import by.epam.baranovsky.banking.entity.projection.UserName;
 import by.epam.baranovsky.banking.service.exception.ServiceException;
 import by.epam.baranovsky.banking.service.exception.ValidationException;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 /**
  * Interface for user service.
  * @author Baranovsky E. K.
@@ -60,6 +63,23 @@ public interface UserService {
      */
     User getById(Integer id) throws ServiceException;
 
+    /**
+     * Retrieves Users from data source by their ids, using as few queries as possible.
+     * @param ids ids of Users to retrieve.
+     * @return Map of found Users by their ids.
+     * @throws ServiceException if DAOException occurs.
+     */
+    Map<Integer, User> getByIds(Collection<Integer> ids) throws ServiceException;
+
+    /**
+     * Retrieves name of User from data source by its id,
+     * without the rest of User's data.
+     * @param id id of User.
+     * @return UserName of User with this id or {@code null} if not found.
+     * @throws ServiceException if DAOException occurs.
+     */
+    UserName getNameById(Integer id) throws ServiceException;
+
     /**
      * Retrieves Users from data source by criteria filled with parameters.
      * @param criteria Criteria to search by.
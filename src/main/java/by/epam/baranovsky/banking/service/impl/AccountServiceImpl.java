@@ -3,13 +3,18 @@ package by.epam.baranovsky.banking.service.impl;
 import by.epam.baranovsky.banking.dao.AccountDAO;
 import by.epam.baranovsky.banking.dao.exception.DAOException;
 import by.epam.baranovsky.banking.dao.factory.impl.SqlDAOFactory;
+import by.epam.baranovsky.banking.dao.query.RowCallback;
 import by.epam.baranovsky.banking.entity.Account;
+import by.epam.baranovsky.banking.entity.projection.AccountBalance;
 import by.epam.baranovsky.banking.service.AccountService;
 import by.epam.baranovsky.banking.service.exception.ServiceException;
 import by.epam.baranovsky.banking.service.exception.ValidationException;
+import by.epam.baranovsky.banking.service.loader.RequestLoaders;
 import by.epam.baranovsky.banking.service.validator.AccountValidator;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation of AccountService.
@@ -31,7 +36,7 @@ public class AccountServiceImpl implements AccountService {
         Account account;
 
         try {
-            account = accountDAO.findEntityById(id);
+            account = RequestLoaders.ACCOUNTS.load(id);
         } catch (DAOException e) {
             throw new ServiceException(e);
         }
@@ -39,6 +44,18 @@ public class AccountServiceImpl implements AccountService {
         return account;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Integer, Account> findByIds(Collection<Integer> ids) throws ServiceException {
+        try{
+            return RequestLoaders.ACCOUNTS.loadAll(ids);
+        } catch (DAOException e) {
+            throw new ServiceException(e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -74,6 +91,18 @@ public class AccountServiceImpl implements AccountService {
         return accounts;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer countByUserAndStatus(Integer userId, Integer statusId) throws ServiceException {
+        try{
+            return accountDAO.countByUserAndStatus(userId, statusId);
+        } catch (DAOException e) {
+            throw new ServiceException(e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -106,6 +135,30 @@ public class AccountServiceImpl implements AccountService {
         return users;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AccountBalance findBalanceById(Integer id) throws ServiceException {
+        try{
+            return accountDAO.findBalanceById(id);
+        } catch (DAOException e) {
+            throw new ServiceException("Unable to retrieve balance of account from DB",e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void foldBankLedger() throws ServiceException {
+        try{
+            accountDAO.foldBankLedger();
+        } catch (DAOException e) {
+            throw new ServiceException("Unable to fold bank ledger",e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -114,6 +167,7 @@ public class AccountServiceImpl implements AccountService {
         Integer result = 0;
 
         try {
+            RequestLoaders.ACCOUNTS.evict(account.getId());
             if(!validator.validate(account)){
                 throw new ValidationException();
             }
@@ -194,4 +248,16 @@ public class AccountServiceImpl implements AccountService {
 
         return accounts;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(RowCallback<? super Account, ServiceException> callback) throws ServiceException {
+        try {
+            accountDAO.forEach(callback);
+        } catch (DAOException e) {
+            throw new ServiceException("Unable to retrieve accounts from DB.", e);
+        }
+    }
 }
@@ -3,14 +3,18 @@ package by.epam.baranovsky.banking.service.impl;
 import by.epam.baranovsky.banking.dao.BankCardDAO;
 import by.epam.baranovsky.banking.dao.exception.DAOException;
 import by.epam.baranovsky.banking.dao.factory.impl.SqlDAOFactory;
+import by.epam.baranovsky.banking.dao.query.RowCallback;
 import by.epam.baranovsky.banking.entity.BankingCard;
 import by.epam.baranovsky.banking.service.BankCardService;
 import by.epam.baranovsky.banking.service.exception.ServiceException;
 import by.epam.baranovsky.banking.service.exception.ValidationException;
+import by.epam.baranovsky.banking.service.loader.RequestLoaders;
 import by.epam.baranovsky.banking.service.validator.BankCardValidator;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation of BankCardService.
@@ -31,13 +35,25 @@ public class BankCardServiceImpl implements BankCardService {
     public BankingCard findById(Integer id) throws ServiceException {
         BankingCard card;
         try {
-            card = cardDAO.findEntityById(id);
+            card = RequestLoaders.CARDS.load(id);
         } catch (DAOException e) {
             throw  new ServiceException(e);
         }
         return card;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Integer, BankingCard> findByIds(Collection<Integer> ids) throws ServiceException {
+        try{
+            return RequestLoaders.CARDS.loadAll(ids);
+        } catch (DAOException e) {
+            throw new ServiceException(e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -89,12 +105,25 @@ public class BankCardServiceImpl implements BankCardService {
         List<BankingCard> cards;
         try {
             cards = cardDAO.findByUser(userId);
+            cards.forEach(card -> RequestLoaders.ACCOUNTS.enqueue(card.getAccountId()));
         } catch (DAOException e) {
             throw  new ServiceException(e);
         }
         return cards;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer countByUser(Integer userId) throws ServiceException {
+        try {
+            return cardDAO.countByUser(userId);
+        } catch (DAOException e) {
+            throw  new ServiceException(e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -116,6 +145,7 @@ public class BankCardServiceImpl implements BankCardService {
     public boolean update(BankingCard card) throws ServiceException {
         Integer result;
         try{
+            RequestLoaders.CARDS.evict(card.getId());
             if(!validator.validate(card)){
                 throw new ValidationException();
             }
@@ -188,4 +218,16 @@ public class BankCardServiceImpl implements BankCardService {
         }
         return cards;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(RowCallback<? super BankingCard, ServiceException> callback) throws ServiceException {
+        try {
+            cardDAO.forEach(callback);
+        } catch (DAOException e) {
+            throw new ServiceException("Unable to retrieve cards from DB.", e);
+        }
+    }
 }
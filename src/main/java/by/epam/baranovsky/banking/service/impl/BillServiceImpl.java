@@ -3,16 +3,20 @@ package by.epam.baranovsky.banking.service.impl;
 import by.epam.baranovsky.banking.dao.BillDAO;
 import by.epam.baranovsky.banking.dao.exception.DAOException;
 import by.epam.baranovsky.banking.dao.factory.impl.SqlDAOFactory;
+import by.epam.baranovsky.banking.dao.query.RowCallback;
 import by.epam.baranovsky.banking.entity.Bill;
 import by.epam.baranovsky.banking.entity.criteria.Criteria;
 import by.epam.baranovsky.banking.entity.criteria.EntityParameters;
 import by.epam.baranovsky.banking.service.BillService;
 import by.epam.baranovsky.banking.service.exception.ServiceException;
 import by.epam.baranovsky.banking.service.exception.ValidationException;
+import by.epam.baranovsky.banking.service.loader.RequestLoaders;
 import by.epam.baranovsky.banking.service.validator.BillValidator;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation of BillService.
@@ -34,12 +38,55 @@ public class BillServiceImpl implements BillService {
         List<Bill> bills = new ArrayList<>();
         try {
             bills = billDAO.findByCriteria(criteria);
+            for (Bill bill : bills) {
+                RequestLoaders.USERS.enqueue(bill.getUserId());
+                RequestLoaders.USERS.enqueue(bill.getBearerId());
+                RequestLoaders.PENALTIES.enqueue(bill.getPenaltyId());
+                RequestLoaders.ACCOUNTS.enqueue(bill.getPaymentAccountId());
+            }
         } catch (DAOException e) {
             throw new ServiceException("Unable to retrieve bills from DB",e);
         }
         return bills;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Double sum(EntityParameters.BillParam column,
+                      Criteria<? extends EntityParameters.BillParam> criteria) throws ServiceException {
+        try {
+            return billDAO.sum(column, criteria);
+        } catch (DAOException e) {
+            throw new ServiceException("Unable to sum bills in DB",e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer count(Criteria<? extends EntityParameters.BillParam> criteria) throws ServiceException {
+        try {
+            return billDAO.count(criteria);
+        } catch (DAOException e) {
+            throw new ServiceException("Unable to count bills in DB",e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean exists(Criteria<? extends EntityParameters.BillParam> criteria) throws ServiceException {
+        try {
+            return billDAO.exists(criteria);
+        } catch (DAOException e) {
+            throw new ServiceException("Unable to check bills in DB",e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -47,13 +94,25 @@ public class BillServiceImpl implements BillService {
     public Bill findById(Integer id) throws ServiceException {
         Bill bill;
         try{
-            bill = billDAO.findEntityById(id);
+            bill = RequestLoaders.BILLS.load(id);
         } catch (DAOException e) {
             throw new ServiceException("Unable to retrieve bill from DB",e);
         }
         return bill;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Integer, Bill> findByIds(Collection<Integer> ids) throws ServiceException {
+        try{
+            return RequestLoaders.BILLS.loadAll(ids);
+        } catch (DAOException e) {
+            throw new ServiceException("Unable to retrieve bills from DB",e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -61,6 +120,7 @@ public class BillServiceImpl implements BillService {
     public boolean update(Bill bill) throws ServiceException {
         Integer result;
         try{
+            RequestLoaders.BILLS.evict(bill.getId());
             if(!validator.validate(bill)){
                 throw new ValidationException("Invalid input!");
             }
@@ -120,6 +180,25 @@ public class BillServiceImpl implements BillService {
         return res>0;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int deleteAll(List<Bill> bills) throws ServiceException {
+        List<Integer> ids = new ArrayList<>();
+        for (Bill bill : bills) {
+            if (!validator.validate(bill)) {
+                throw new ValidationException("Wrong input.");
+            }
+            ids.add(bill.getId());
+        }
+        try {
+            return billDAO.deleteAll(ids);
+        } catch (DAOException e) {
+            throw new ServiceException("Unable to delete bills from DB.", e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -133,4 +212,16 @@ public class BillServiceImpl implements BillService {
         }
         return bills;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(RowCallback<? super Bill, ServiceException> callback) throws ServiceException {
+        try {
+            billDAO.forEach(callback);
+        } catch (DAOException e) {
+            throw new ServiceException("Unable to retrieve bills from DB.", e);
+        }
+    }
 }
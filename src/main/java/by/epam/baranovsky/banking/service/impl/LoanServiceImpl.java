@@ -3,6 +3,7 @@ package by.epam.baranovsky.banking.service.impl;
 import by.epam.baranovsky.banking.dao.LoanDAO;
 import by.epam.baranovsky.banking.dao.exception.DAOException;
 import by.epam.baranovsky.banking.dao.factory.impl.SqlDAOFactory;
+import by.epam.baranovsky.banking.dao.query.RowCallback;
 import by.epam.baranovsky.banking.entity.Loan;
 import by.epam.baranovsky.banking.entity.criteria.Criteria;
 import by.epam.baranovsky.banking.entity.criteria.EntityParameters;
@@ -12,7 +13,9 @@ import by.epam.baranovsky.banking.service.exception.ValidationException;
 import by.epam.baranovsky.banking.service.validator.LoanValidator;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation of LoanService.
@@ -40,6 +43,43 @@ public class LoanServiceImpl implements LoanService {
         return loans;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Double sum(EntityParameters.LoanParams column,
+                      Criteria<? extends EntityParameters.LoanParams> criteria) throws ServiceException {
+        try {
+            return loanDAO.sum(column, criteria);
+        } catch (DAOException e) {
+            throw new ServiceException("Unable to sum loans in DB",e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer count(Criteria<? extends EntityParameters.LoanParams> criteria) throws ServiceException {
+        try {
+            return loanDAO.count(criteria);
+        } catch (DAOException e) {
+            throw new ServiceException("Unable to count loans in DB",e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean exists(Criteria<? extends EntityParameters.LoanParams> criteria) throws ServiceException {
+        try {
+            return loanDAO.exists(criteria);
+        } catch (DAOException e) {
+            throw new ServiceException("Unable to check loans in DB",e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -54,6 +94,18 @@ public class LoanServiceImpl implements LoanService {
         return loan;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Integer, Loan> findByIds(Collection<Integer> ids) throws ServiceException {
+        try{
+            return loanDAO.findByIds(ids);
+        } catch (DAOException e) {
+            throw new ServiceException("Unable to retrieve loans from DB",e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -133,4 +185,16 @@ public class LoanServiceImpl implements LoanService {
         }
         return loans;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(RowCallback<? super Loan, ServiceException> callback) throws ServiceException {
+        try {
+            loanDAO.forEach(callback);
+        } catch (DAOException e) {
+            throw new ServiceException("Unable to retrieve loans from DB.", e);
+        }
+    }
 }
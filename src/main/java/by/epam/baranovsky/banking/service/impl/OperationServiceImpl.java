@@ -1,7 +1,9 @@
 package by.epam.baranovsky.banking.service.impl;
 
+import by.epam.baranovsky.banking.constant.Message;
 import by.epam.baranovsky.banking.dao.OperationDAO;
 import by.epam.baranovsky.banking.dao.exception.DAOException;
+import by.epam.baranovsky.banking.dao.exception.TransferRejectedException;
 import by.epam.baranovsky.banking.dao.factory.impl.SqlDAOFactory;
 import by.epam.baranovsky.banking.entity.Operation;
 import by.epam.baranovsky.banking.entity.criteria.Criteria;
@@ -9,10 +11,13 @@ import by.epam.baranovsky.banking.entity.criteria.EntityParameters;
 import by.epam.baranovsky.banking.service.OperationService;
 import by.epam.baranovsky.banking.service.exception.ServiceException;
 import by.epam.baranovsky.banking.service.exception.ValidationException;
+import by.epam.baranovsky.banking.service.loader.RequestLoaders;
 import by.epam.baranovsky.banking.service.validator.OperationValidator;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation of OperationService.
@@ -34,12 +39,55 @@ public class OperationServiceImpl implements OperationService {
         List<Operation> operations = new ArrayList<>();
         try {
             operations = operationDAO.findByCriteria(criteria);
+            for (Operation operation : operations) {
+                RequestLoaders.ACCOUNTS.enqueue(operation.getAccountId());
+                RequestLoaders.ACCOUNTS.enqueue(operation.getTargetAccountId());
+                RequestLoaders.CARDS.enqueue(operation.getBankCardId());
+                RequestLoaders.CARDS.enqueue(operation.getTargetBankCardId());
+            }
         } catch (DAOException e) {
             throw new ServiceException("Unable to retrieve operations from DB",e);
         }
         return operations;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Double sum(EntityParameters.OperationParam column,
+                      Criteria<? extends EntityParameters.OperationParam> criteria) throws ServiceException {
+        try {
+            return operationDAO.sum(column, criteria);
+        } catch (DAOException e) {
+            throw new ServiceException("Unable to sum operations in DB",e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer count(Criteria<? extends EntityParameters.OperationParam> criteria) throws ServiceException {
+        try {
+            return operationDAO.count(criteria);
+        } catch (DAOException e) {
+            throw new ServiceException("Unable to count operations in DB",e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean exists(Criteria<? extends EntityParameters.OperationParam> criteria) throws ServiceException {
+        try {
+            return operationDAO.exists(criteria);
+        } catch (DAOException e) {
+            throw new ServiceException("Unable to check operations in DB",e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -54,6 +102,18 @@ public class OperationServiceImpl implements OperationService {
         return operation;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Integer, Operation> findByIds(Collection<Integer> ids) throws ServiceException {
+        try{
+            return operationDAO.findByIds(ids);
+        } catch (DAOException e) {
+            throw new ServiceException("Unable to retrieve operations from DB",e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -85,12 +145,52 @@ public class OperationServiceImpl implements OperationService {
                 throw new ValidationException();
             }
             result = operationDAO.findEntityById(operationDAO.create(operation));
+        } catch (TransferRejectedException e) {
+            throw new ValidationException(getRejectionMessage(e.getReason()), e);
         } catch (DAOException e) {
             throw  new ServiceException("Unable to create operation in DB.",e);
         }
         return result;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int createAccruals(List<Operation> operations) throws ServiceException {
+        for (Operation operation : operations) {
+            if (!validator.validate(operation)) {
+                throw new ValidationException("Wrong input.");
+            }
+        }
+        try {
+            return operationDAO.createAccruals(operations);
+        } catch (DAOException e) {
+            throw new ServiceException("Unable to create accruals in DB.", e);
+        }
+    }
+
+    /**
+     * @param reason Reason of transfer rejection.
+     * @return Message describing the reason.
+     */
+    private static String getRejectionMessage(TransferRejectedException.Reason reason) {
+        switch (reason) {
+            case INSUFFICIENT_FUNDS:
+                return Message.NO_MONEY;
+            case ACCOUNT_LOCKED:
+                return Message.ACC_LOCKED;
+            case ACCOUNT_SUSPENDED:
+                return Message.ACC_SUSPENDED;
+            case CARD_LOCKED:
+                return Message.CARD_LOCKED;
+            case CREDIT_CARD:
+                return Message.CREDIT_CARD;
+            default:
+                return Message.OPERATION_ILLEGAL;
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
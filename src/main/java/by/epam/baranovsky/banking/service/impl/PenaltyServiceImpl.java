@@ -3,16 +3,20 @@ package by.epam.baranovsky.banking.service.impl;
 import by.epam.baranovsky.banking.dao.PenaltyDAO;
 import by.epam.baranovsky.banking.dao.exception.DAOException;
 import by.epam.baranovsky.banking.dao.factory.impl.SqlDAOFactory;
+import by.epam.baranovsky.banking.dao.query.RowCallback;
 import by.epam.baranovsky.banking.entity.Penalty;
 import by.epam.baranovsky.banking.entity.criteria.Criteria;
 import by.epam.baranovsky.banking.entity.criteria.EntityParameters;
 import by.epam.baranovsky.banking.service.PenaltyService;
 import by.epam.baranovsky.banking.service.exception.ServiceException;
 import by.epam.baranovsky.banking.service.exception.ValidationException;
+import by.epam.baranovsky.banking.service.loader.RequestLoaders;
 import by.epam.baranovsky.banking.service.validator.PenaltyValidator;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation of PenaltyService.
@@ -34,12 +38,50 @@ public class PenaltyServiceImpl implements PenaltyService {
         List<Penalty> penalties = new ArrayList<>();
         try {
             penalties = penaltyDAO.findByCriteria(criteria);
+            penalties.forEach(penalty -> RequestLoaders.ACCOUNTS.enqueue(penalty.getPaymentAccountId()));
         } catch (DAOException e) {
             throw new ServiceException("Unable to retrieve penalties from DB",e);
         }
         return penalties;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Double sum(EntityParameters.PenaltyParams column,
+                      Criteria<? extends EntityParameters.PenaltyParams> criteria) throws ServiceException {
+        try {
+            return penaltyDAO.sum(column, criteria);
+        } catch (DAOException e) {
+            throw new ServiceException("Unable to sum penalties in DB",e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer count(Criteria<? extends EntityParameters.PenaltyParams> criteria) throws ServiceException {
+        try {
+            return penaltyDAO.count(criteria);
+        } catch (DAOException e) {
+            throw new ServiceException("Unable to count penalties in DB",e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean exists(Criteria<? extends EntityParameters.PenaltyParams> criteria) throws ServiceException {
+        try {
+            return penaltyDAO.exists(criteria);
+        } catch (DAOException e) {
+            throw new ServiceException("Unable to check penalties in DB",e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -47,13 +89,25 @@ public class PenaltyServiceImpl implements PenaltyService {
     public Penalty findById(Integer id) throws ServiceException {
         Penalty penalty;
         try{
-            penalty = penaltyDAO.findEntityById(id);
+            penalty = RequestLoaders.PENALTIES.load(id);
         } catch (DAOException e) {
             throw new ServiceException("Unable to retrieve penalty from DB",e);
         }
         return penalty;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Integer, Penalty> findByIds(Collection<Integer> ids) throws ServiceException {
+        try{
+            return RequestLoaders.PENALTIES.loadAll(ids);
+        } catch (DAOException e) {
+            throw new ServiceException("Unable to retrieve penalties from DB",e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -61,6 +115,7 @@ public class PenaltyServiceImpl implements PenaltyService {
     public boolean update(Penalty penalty) throws ServiceException {
         Integer result;
         try{
+            RequestLoaders.PENALTIES.evict(penalty.getId());
             if(!validator.validate(penalty)){
                 throw new ValidationException("Invalid input!");
             }
@@ -133,4 +188,16 @@ public class PenaltyServiceImpl implements PenaltyService {
         }
         return loans;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(RowCallback<? super Penalty, ServiceException> callback) throws ServiceException {
+        try {
+            penaltyDAO.forEach(callback);
+        } catch (DAOException e) {
+            throw new ServiceException("Unable to retrieve penalties from DB.", e);
+        }
+    }
 }
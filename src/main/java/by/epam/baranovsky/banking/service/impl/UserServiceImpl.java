@@ -8,15 +8,19 @@ import by.epam.baranovsky.banking.dao.factory.impl.SqlDAOFactory;
 import by.epam.baranovsky.banking.entity.User;
 import by.epam.baranovsky.banking.entity.criteria.Criteria;
 import by.epam.baranovsky.banking.entity.criteria.EntityParameters;
+import by.epam.baranovsky.banking.entity.projection.UserName;
 import by.epam.baranovsky.banking.service.UserService;
 import by.epam.baranovsky.banking.service.exception.ServiceException;
 import by.epam.baranovsky.banking.service.exception.ValidationException;
+import by.epam.baranovsky.banking.service.loader.RequestLoaders;
 import by.epam.baranovsky.banking.service.validator.UserValidator;
 import org.mindrot.jbcrypt.BCrypt;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation of UserService.
@@ -120,7 +124,7 @@ public class UserServiceImpl implements UserService {
         User user;
 
         try{
-            user = userDAO.findEntityById(id);
+            user = RequestLoaders.USERS.load(id);
             user.setPassword(null);
         } catch (DAOException e) {
             throw new ServiceException(e);
@@ -129,6 +133,32 @@ public class UserServiceImpl implements UserService {
         return user;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Integer, User> getByIds(Collection<Integer> ids) throws ServiceException {
+        try{
+            Map<Integer, User> users = RequestLoaders.USERS.loadAll(ids);
+            users.values().forEach(user -> user.setPassword(null));
+            return users;
+        } catch (DAOException e) {
+            throw new ServiceException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public UserName getNameById(Integer id) throws ServiceException {
+        try{
+            return userDAO.findNameById(id);
+        } catch (DAOException e) {
+            throw new ServiceException(e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -155,6 +185,7 @@ public class UserServiceImpl implements UserService {
         Integer result = 0;
 
         try{
+            RequestLoaders.USERS.evict(user.getId());
             if(user.getPassword() == null){
                 user.setPassword(userDAO.findEntityById(user.getId()).getPassword());
             }
@@ -0,0 +1,27 @@
+package by.epam.baranovsky.banking.service.loader;
+
+import by.epam.baranovsky.banking.dao.exception.DAOException;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Function that retrieves many entities by their IDs at once.
+ *
+ * @param <T> Type of entities retrieved.
+ * @author Baranovsky E. K.
+ * @version 1.0.0
+ * @see by.epam.baranovsky.banking.dao.AbstractDAO#findByIds(Collection)
+ */
+@FunctionalInterface
+public interface BatchFunction<T> {
+
+    /**
+     * Retrieves entities by their IDs.
+     * @param ids IDs of entities.
+     * @return Map of retrieved entities by their IDs.
+     * IDs that no entities were found for are absent from it.
+     * @throws DAOException
+     */
+    Map<Integer, T> load(Collection<Integer> ids) throws DAOException;
+}
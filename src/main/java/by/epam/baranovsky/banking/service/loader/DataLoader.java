@@ -0,0 +1,187 @@
+package by.epam.baranovsky.banking.service.loader;
+
+import by.epam.baranovsky.banking.dao.connectionpool.ConnectionRouter;
+import by.epam.baranovsky.banking.dao.exception.DAOException;
+import by.epam.baranovsky.banking.entity.Entity;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Request-scoped loader that coalesces retrievals of entities by ID.
+ * <p>
+ *     Within a request scope every entity is retrieved at most once:
+ *     loaded entities, as well as IDs that nothing was found for, are
+ *     remembered until the scope ends. IDs that are known to be needed soon
+ *     may be {@linkplain #enqueue(Integer) enqueued}, so that the next cache miss
+ *     retrieves them together with requested one in a single query.
+ * </p>
+ * <p>
+ *     Loader acts as identity map: the same instance of entity is returned
+ *     for the same ID during the whole request, so changes made to it are
+ *     seen by all its holders. Everything remembered is dropped as soon
+ *     as current thread writes to database, and entity being updated
+ *     should be {@linkplain #evict(Integer) evicted} explicitly,
+ *     as update may be rejected before anything is written.
+ * </p>
+ * <p>
+ *     Outside of request scope loader retrieves entities directly
+ *     and remembers nothing.
+ * </p>
+ *
+ * @param <T> Type of entities loaded.
+ * @author Baranovsky E. K.
+ * @version 1.0.0
+ * @see RequestLoaders
+ */
+public class DataLoader<T extends Entity> {
+
+    private final BatchFunction<T> batchFunction;
+    /** State of current request, {@code null} if there is no request scope. */
+    private final ThreadLocal<Batch<T>> batch = new ThreadLocal<>();
+
+    /**
+     * Constructor.
+     * @param batchFunction Function used to retrieve entities.
+     */
+    public DataLoader(BatchFunction<T> batchFunction) {
+        this.batchFunction = batchFunction;
+    }
+
+    /**
+     * Retrieves entity by its ID, along with all enqueued IDs if it is not loaded yet.
+     * @param id ID of entity.
+     * @return Entity, or {@code null} if ID is {@code null} or nothing was found.
+     * @throws DAOException
+     */
+    public T load(Integer id) throws DAOException {
+        if (id == null) {
+            return null;
+        }
+        Batch<T> current = currentBatch();
+        if (current == null) {
+            return batchFunction.load(Collections.singleton(id)).get(id);
+        }
+        if (!current.loaded.containsKey(id)) {
+            current.pending.add(id);
+            fetchPending(current);
+        }
+        return current.loaded.get(id);
+    }
+
+    /**
+     * Retrieves entities by their IDs, along with all enqueued IDs if some of them are not loaded yet.
+     * @param ids IDs of entities.
+     * @return Map of retrieved entities by their IDs.
+     * IDs that no entities were found for are absent from it.
+     * @throws DAOException
+     */
+    public Map<Integer, T> loadAll(Collection<Integer> ids) throws DAOException {
+        Batch<T> current = currentBatch();
+        if (current == null) {
+            return batchFunction.load(ids);
+        }
+        for (Integer id : ids) {
+            if (id != null && !current.loaded.containsKey(id)) {
+                current.pending.add(id);
+            }
+        }
+        if (!current.pending.isEmpty()) {
+            fetchPending(current);
+        }
+
+        Map<Integer, T> result = new HashMap<>();
+        for (Integer id : ids) {
+            T entity = id == null ? null : current.loaded.get(id);
+            if (entity != null) {
+                result.put(id, entity);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Marks ID as needed soon, so it is retrieved along with the next cache miss.
+     * Does nothing outside of request scope.
+     * @param id ID of entity, may be {@code null}.
+     */
+    public void enqueue(Integer id) {
+        Batch<T> current = currentBatch();
+        if (current != null && id != null && !current.loaded.containsKey(id)) {
+            current.pending.add(id);
+        }
+    }
+
+    /**
+     * Forgets entity, so it is retrieved anew on next request.
+     * @param id ID of entity, may be {@code null}.
+     */
+    public void evict(Integer id) {
+        Batch<T> current = batch.get();
+        if (current != null && id != null) {
+            current.loaded.remove(id);
+        }
+    }
+
+    /**
+     * Starts request scope of this loader on current thread.
+     */
+    void begin() {
+        batch.set(new Batch<>(ConnectionRouter.getWriteCount()));
+    }
+
+    /**
+     * Ends request scope of this loader on current thread, forgetting everything loaded.
+     */
+    void end() {
+        batch.remove();
+    }
+
+    /**
+     * @return State of current request with everything dropped
+     * if current thread has written to database since it was loaded,
+     * or {@code null} if there is no request scope.
+     */
+    private Batch<T> currentBatch() {
+        Batch<T> current = batch.get();
+        if (current != null) {
+            long writeCount = ConnectionRouter.getWriteCount();
+            if (current.writeCount != writeCount) {
+                current.loaded.clear();
+                current.writeCount = writeCount;
+            }
+        }
+        return current;
+    }
+
+    private void fetchPending(Batch<T> current) throws DAOException {
+        Set<Integer> ids = new LinkedHashSet<>(current.pending);
+        current.pending.clear();
+        Map<Integer, T> found = batchFunction.load(ids);
+        for (Integer id : ids) {
+            current.loaded.put(id, found.get(id));
+        }
+    }
+
+    /**
+     * State of loader within a single request.
+     * @param <T> Type of entities loaded.
+     */
+    private static class Batch<T> {
+
+        /** Loaded entities by ID, {@code null} for IDs nothing was found for. */
+        private final Map<Integer, T> loaded = new HashMap<>();
+        /** IDs to be retrieved with the next cache miss. */
+        private final Set<Integer> pending = new LinkedHashSet<>();
+        /** Write count of current thread at the moment entities were loaded. */
+        private long writeCount;
+
+        Batch(long writeCount) {
+            this.writeCount = writeCount;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package by.epam.baranovsky.banking.service.loader;
+
+import by.epam.baranovsky.banking.dao.factory.impl.SqlDAOFactory;
+import by.epam.baranovsky.banking.entity.Account;
+import by.epam.baranovsky.banking.entity.BankingCard;
+import by.epam.baranovsky.banking.entity.Bill;
+import by.epam.baranovsky.banking.entity.Penalty;
+import by.epam.baranovsky.banking.entity.User;
+
+import java.util.List;
+
+/**
+ * Utility class holding request-scoped loaders of entities that are
+ * retrieved by ID most often.
+ * <p>
+ *     {@link #beginRequestScope()} and {@link #endRequestScope()} should wrap
+ *     processing of every request, so that loaders remember nothing between requests.
+ * </p>
+ *
+ * @author Baranovsky E. K.
+ * @version 1.0.0
+ * @see DataLoader
+ */
+public final class RequestLoaders {
+
+    public static final DataLoader<Account> ACCOUNTS
+            = new DataLoader<>(SqlDAOFactory.getInstance().getAccountDAO()::findByIds);
+    public static final DataLoader<BankingCard> CARDS
+            = new DataLoader<>(SqlDAOFactory.getInstance().getBankCardDAO()::findByIds);
+    public static final DataLoader<User> USERS
+            = new DataLoader<>(SqlDAOFactory.getInstance().getUserDAO()::findByIds);
+    public static final DataLoader<Penalty> PENALTIES
+            = new DataLoader<>(SqlDAOFactory.getInstance().getPenaltyDAO()::findByIds);
+    public static final DataLoader<Bill> BILLS
+            = new DataLoader<>(SqlDAOFactory.getInstance().getBillDAO()::findByIds);
+
+    private static final List<DataLoader<?>> ALL = List.of(ACCOUNTS, CARDS, USERS, PENALTIES, BILLS);
+
+    private RequestLoaders() {}
+
+    /**
+     * Starts request scope of all loaders on current thread.
+     */
+    public static void beginRequestScope() {
+        ALL.forEach(DataLoader::begin);
+    }
+
+    /**
+     * Ends request scope of all loaders on current thread.
+     */
+    public static void endRequestScope() {
+        ALL.forEach(DataLoader::end);
+    }
+}
@@ -45,6 +45,7 @@ public class SchedulerThread extends Thread {
             scheduler.scheduleJob(LoanStatusCheck.getDetail(), LoanStatusCheck.getTrigger());
             scheduler.scheduleJob(PenaltyJob.getDetail(), PenaltyJob.getTrigger());
             scheduler.scheduleJob(RemoveHangingBillsJob.getDetail(), RemoveHangingBillsJob.getTrigger());
+            scheduler.scheduleJob(BankLedgerFoldJob.getDetail(), BankLedgerFoldJob.getTrigger());
             readyToShutdown = true;
     }
 
@@ -1,6 +1,7 @@
 package by.epam.baranovsky.banking.service.scheduler.jobs;
 
 import by.epam.baranovsky.banking.constant.DBMetadata;
+import by.epam.baranovsky.banking.dao.connectionpool.ConnectionRouter;
 import by.epam.baranovsky.banking.service.*;
 import by.epam.baranovsky.banking.service.factory.ServiceFactory;
 import by.epam.baranovsky.banking.service.factory.impl.SqlServiceFactory;
@@ -11,6 +12,10 @@ import org.quartz.*;
 /**
  * Abstract parent classfor every jobs.
  * Stores required services and constants.
+ * <p>
+ *     Resets DB connection routing of scheduler thread after every run,
+ *     so that writes of one run do not pin reads of subsequent runs to primary DB.
+ * </p>
  *
  * @author Baranovsky E. K.
  * @version 1.0.0
@@ -20,6 +25,8 @@ public abstract class AbstractJob implements Job {
     private static final ServiceFactory FACTORY = SqlServiceFactory.getInstance();
 
     protected static final String GROUP_NAME = "scheduledJobs";
+    /** Number of streamed entities whose related entities are looked up at once. */
+    protected static final int CHUNK_SIZE = 500;
     protected static final Integer BILL_STATUS_PENDING = DBMetadata.BILL_STATUS_PENDING;
     protected static final Integer BILL_STATUS_CLOSED = DBMetadata.BILL_STATUS_CLOSED;
     protected static final Integer BILL_STATUS_OVERDUE = DBMetadata.BILL_STATUS_OVERDUE;
@@ -58,4 +65,26 @@ public abstract class AbstractJob implements Job {
     protected static final BankCardService bankCardService = FACTORY.getBankCardService();
 
     public static final Logger logger = Logger.getLogger(AbstractJob.class);
+
+    /**
+     * Runs the job, then resets connection routing of current thread.
+     * @param jobExecutionContext context of the job
+     * @throws JobExecutionException if job fails
+     * @see ConnectionRouter#reset()
+     */
+    @Override
+    public final void execute(JobExecutionContext jobExecutionContext) throws JobExecutionException {
+        try {
+            run(jobExecutionContext);
+        } finally {
+            ConnectionRouter.reset();
+        }
+    }
+
+    /**
+     * Does the work of the job.
+     * @param jobExecutionContext context of the job
+     * @throws JobExecutionException if job fails
+     */
+    protected abstract void run(JobExecutionContext jobExecutionContext) throws JobExecutionException;
 }
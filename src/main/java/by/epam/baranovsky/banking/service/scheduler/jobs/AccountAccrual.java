@@ -1,11 +1,11 @@
 package by.epam.baranovsky.banking.service.scheduler.jobs;
 
 import by.epam.baranovsky.banking.constant.DBMetadata;
-import by.epam.baranovsky.banking.entity.Account;
 import by.epam.baranovsky.banking.entity.Operation;
 import by.epam.baranovsky.banking.service.exception.ServiceException;
 import org.quartz.*;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.quartz.CronScheduleBuilder.cronSchedule;
@@ -35,18 +35,18 @@ public class AccountAccrual extends AbstractJob {
     /**
      * Iterates through every unlocked and suspended accounts
      * and modifies their balances according to their interest rate.
+     * Accruals are saved in chunks, each in a single batched transaction.
      * @param jobExecutionContext context of the job
      * @throws JobExecutionException if ServiceException occurs
      */
     @Override
-    public void execute(JobExecutionContext jobExecutionContext) throws JobExecutionException {
+    protected void run(JobExecutionContext jobExecutionContext) throws JobExecutionException {
+        List<Operation> accruals = new ArrayList<>();
         try {
-            List<Account> accountList = accountService.findAll();
-
-            for(Account account : accountList){
+            accountService.forEach(account -> {
                 if(account.getStatusId().equals(DBMetadata.ACCOUNT_STATUS_BLOCKED)
                         || account.getStatusId().equals(ACC_STATUS_PENDING)){
-                    continue;
+                    return;
                 }
 
                 double percentage = Math.pow(1d + (account.getYearlyInterestRate()/100d), 1d/12d);
@@ -58,10 +58,14 @@ public class AccountAccrual extends AbstractJob {
                     operation.setAccountId(account.getId());
                     operation.setTypeId(DBMetadata.OPERATION_TYPE_ACCRUAL);
                     operation.setValue(valueToAdd);
-                    operationService.create(operation);
+                    accruals.add(operation);
                 }
-
-            }
+                if (accruals.size() >= CHUNK_SIZE) {
+                    operationService.createAccruals(accruals);
+                    accruals.clear();
+                }
+            });
+            operationService.createAccruals(accruals);
         } catch (ServiceException e) {
             logger.error("Unable to execute account accrual",e);
             throw new JobExecutionException("Unable to execute account accrual",e);
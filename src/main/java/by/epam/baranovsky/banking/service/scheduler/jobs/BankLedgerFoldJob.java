@@ -0,0 +1,53 @@
+package by.epam.baranovsky.banking.service.scheduler.jobs;
+
+import by.epam.baranovsky.banking.service.exception.ServiceException;
+import org.quartz.*;
+
+import static org.quartz.CronScheduleBuilder.cronSchedule;
+import static org.quartz.TriggerBuilder.newTrigger;
+
+/**
+ * A job that moves postings of bank's ledger, such as commissions and accruals,
+ * to balance of bank's own account.
+ * @author Baranovsky E. K.
+ * @version 1.0.0
+ */
+@DisallowConcurrentExecution
+public class BankLedgerFoldJob extends AbstractJob {
+
+    private static final String NAME = "bankLedgerFold";
+    private static final JobDetail DETAIL = JobBuilder.newJob(BankLedgerFoldJob.class)
+            .withIdentity(NAME, GROUP_NAME)
+            .build();
+    /**
+     * Fires every 10 seconds.
+     */
+    private static final Trigger TRIGGER = newTrigger()
+            .withIdentity(NAME, GROUP_NAME)
+            .withSchedule(cronSchedule("0/10 * * ? * * *"))
+            .forJob(NAME, GROUP_NAME)
+            .build();
+
+    /**
+     * Folds bank's ledger into bank's own account.
+     * @param jobExecutionContext context of the job
+     * @throws JobExecutionException if ServiceException occurs
+     */
+    @Override
+    protected void run(JobExecutionContext jobExecutionContext) throws JobExecutionException {
+        try {
+            accountService.foldBankLedger();
+        } catch (ServiceException e) {
+            logger.error("Unable to fold bank ledger", e);
+            throw new JobExecutionException("Unable to fold bank ledger", e);
+        }
+    }
+
+    public static JobDetail getDetail() {
+        return DETAIL;
+    }
+
+    public static Trigger getTrigger() {
+        return TRIGGER;
+    }
+}
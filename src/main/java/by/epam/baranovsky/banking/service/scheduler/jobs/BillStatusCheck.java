@@ -5,7 +5,6 @@ import by.epam.baranovsky.banking.constant.ConfigParams;
 import by.epam.baranovsky.banking.constant.DBMetadata;
 import by.epam.baranovsky.banking.entity.Account;
 import by.epam.baranovsky.banking.entity.Bill;
-import by.epam.baranovsky.banking.entity.Operation;
 import by.epam.baranovsky.banking.entity.Penalty;
 import by.epam.baranovsky.banking.entity.criteria.Criteria;
 import by.epam.baranovsky.banking.entity.criteria.EntityParameters;
@@ -13,9 +12,12 @@ import by.epam.baranovsky.banking.entity.criteria.SingularValue;
 import by.epam.baranovsky.banking.service.exception.ServiceException;
 import org.quartz.*;
 
-import java.util.Calendar;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.quartz.CronScheduleBuilder.cronSchedule;
 import static org.quartz.TriggerBuilder.newTrigger;
@@ -49,16 +51,17 @@ public class BillStatusCheck extends AbstractJob {
      * @throws JobExecutionException if ServiceException occurs
      */
     @Override
-    public void execute(JobExecutionContext jobExecutionContext) throws JobExecutionException {
+    protected void run(JobExecutionContext jobExecutionContext) throws JobExecutionException {
         try {
-            List<Bill> bills = billService.findAll();
-
-            for(Bill bill : bills){
-                checkOverdue(bill);
-                assignPenalties(bill);
-                checkPayment(bill);
-                checkBillsWithLockedAccs(bill);
-            }
+            List<Bill> chunk = new ArrayList<>(CHUNK_SIZE);
+            billService.forEach(bill -> {
+                chunk.add(bill);
+                if(chunk.size() == CHUNK_SIZE){
+                    checkBills(chunk);
+                    chunk.clear();
+                }
+            });
+            checkBills(chunk);
 
         } catch (ServiceException e) {
             logger.error("Unable to execute bill status check",e);
@@ -66,6 +69,30 @@ public class BillStatusCheck extends AbstractJob {
         }
     }
 
+    /**
+     * Checks and updates a chunk of bills,
+     * retrieving their payment accounts and penalties at once.
+     * @param bills bills to check and update
+     * @throws ServiceException
+     */
+    private void checkBills(List<Bill> bills) throws ServiceException {
+        Set<Integer> accountIds = new HashSet<>();
+        Set<Integer> penaltyIds = new HashSet<>();
+        for(Bill bill : bills){
+            accountIds.add(bill.getPaymentAccountId());
+            penaltyIds.add(bill.getPenaltyId());
+        }
+        Map<Integer, Account> paymentAccounts = accountService.findByIds(accountIds);
+        Map<Integer, Penalty> penalties = penaltyService.findByIds(penaltyIds);
+
+        for(Bill bill : bills){
+            checkOverdue(bill);
+            assignPenalties(bill, penalties.get(bill.getPenaltyId()));
+            checkPayment(bill);
+            checkBillsWithLockedAccs(bill, paymentAccounts.get(bill.getPaymentAccountId()));
+        }
+    }
+
     /**
      * Checks if bill is paid and closes it if is.
      * <p>
@@ -85,10 +112,7 @@ public class BillStatusCheck extends AbstractJob {
                 EntityParameters.OperationParam.TARGET_ACCOUNT,
                 new SingularValue<>(bill.getPaymentAccountId()));
 
-        Double sum = 0d;
-        for(Operation operation : operationService.findByCriteria(criteria)){
-            sum+=operation.getValue();
-        }
+        Double sum = operationService.sum(EntityParameters.OperationParam.VALUE, criteria);
 
         if(sum>=bill.getValue()){
             bill.setStatusId(BILL_STATUS_CLOSED);
@@ -120,13 +144,13 @@ public class BillStatusCheck extends AbstractJob {
     /**
      * Assigns penalties to overdue bills if there are penalties.
      * @param bill bill to check and update
+     * @param penalty penalty of the bill, {@code null} if there is none
      * @throws ServiceException
      */
-    private void assignPenalties(Bill bill) throws ServiceException {
+    private void assignPenalties(Bill bill, Penalty penalty) throws ServiceException {
 
         if(bill.getStatusId().equals(BILL_STATUS_OVERDUE)
                 && bill.getPenaltyId() != null){
-            Penalty penalty = penaltyService.findById(bill.getPenaltyId());
             if(penalty.getStatusId().equals(PENALTY_STATUS_UNASSIGNED)
                 && penalty.getUserId().equals(bill.getUserId())){
                 penalty.setStatusId(PENALTY_STATUS_PENDING);
@@ -151,11 +175,10 @@ public class BillStatusCheck extends AbstractJob {
      *     </ul>
      * </p>
      * @param bill Bill to check and update.
+     * @param paymentAccount Payment account of the bill.
      * @throws ServiceException
      */
-    private void checkBillsWithLockedAccs(Bill bill) throws ServiceException{
-        Account paymentAccount = accountService.findById(bill.getPaymentAccountId());
-
+    private void checkBillsWithLockedAccs(Bill bill, Account paymentAccount) throws ServiceException{
         if(paymentAccount.getStatusId().equals(DBMetadata.ACCOUNT_STATUS_BLOCKED)){
 
             List<Account> accountOfUser = accountService.findByUserId(bill.getBearerId());
@@ -1,13 +1,11 @@
 package by.epam.baranovsky.banking.service.scheduler.jobs;
 
 import by.epam.baranovsky.banking.constant.DBMetadata;
-import by.epam.baranovsky.banking.entity.BankingCard;
 import by.epam.baranovsky.banking.entity.Operation;
 import by.epam.baranovsky.banking.service.exception.ServiceException;
 import org.quartz.*;
 
 import java.util.Date;
-import java.util.List;
 
 import static org.quartz.CronScheduleBuilder.cronSchedule;
 import static org.quartz.TriggerBuilder.newTrigger;
@@ -38,11 +36,9 @@ public class CardExpirationJob extends AbstractJob{
      * @throws JobExecutionException
      */
     @Override
-    public void execute(JobExecutionContext jobExecutionContext) throws JobExecutionException {
+    protected void run(JobExecutionContext jobExecutionContext) throws JobExecutionException {
         try {
-            List<BankingCard> cards = bankCardService.findAll();
-
-            for(BankingCard card : cards){
+            bankCardService.forEach(card -> {
                 Date today = new Date();
                 if(card.getExpirationDate().compareTo(today) < 0){
                     Operation operation = new Operation();
@@ -50,7 +46,7 @@ public class CardExpirationJob extends AbstractJob{
                     operation.setBankCardId(card.getId());
                     operationService.create(operation);
                 }
-            }
+            });
 
         } catch (ServiceException e) {
             logger.error("Unable to execute card expiration check",e);
@@ -11,7 +11,6 @@ import org.quartz.*;
 
 import java.time.LocalDate;
 import java.util.Date;
-import java.util.List;
 
 import static org.quartz.CronScheduleBuilder.cronSchedule;
 import static org.quartz.TriggerBuilder.newTrigger;
@@ -42,11 +41,9 @@ public class LoanBillsAssignment extends AbstractJob{
      * @throws JobExecutionException if ServiceException occurs
      */
     @Override
-    public void execute(JobExecutionContext jobExecutionContext) throws JobExecutionException {
+    protected void run(JobExecutionContext jobExecutionContext) throws JobExecutionException {
         try {
-            List<Loan> loans = loanService.findAll();
-
-            for(Loan loan : loans){
+            loanService.forEach(loan -> {
 
                 if(loan.getStatusId().equals(LOAN_STATUS_PENDING)){
                     assignPayments(loan);
@@ -55,7 +52,7 @@ public class LoanBillsAssignment extends AbstractJob{
                     assignPaymentsOverdue(loan);
                 }
 
-            }
+            });
 
         } catch (ServiceException e) {
             logger.error("Unable to assign new bills for loans",e);
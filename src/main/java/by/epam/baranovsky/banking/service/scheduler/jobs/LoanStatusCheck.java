@@ -1,6 +1,5 @@
 package by.epam.baranovsky.banking.service.scheduler.jobs;
 
-import by.epam.baranovsky.banking.entity.Bill;
 import by.epam.baranovsky.banking.entity.Loan;
 import by.epam.baranovsky.banking.entity.criteria.Criteria;
 import by.epam.baranovsky.banking.entity.criteria.EntityParameters;
@@ -9,7 +8,6 @@ import by.epam.baranovsky.banking.service.exception.ServiceException;
 import org.quartz.*;
 
 import java.util.Date;
-import java.util.List;
 
 import static org.quartz.CronScheduleBuilder.cronSchedule;
 import static org.quartz.TriggerBuilder.newTrigger;
@@ -40,17 +38,15 @@ public class LoanStatusCheck extends AbstractJob{
      * @throws JobExecutionException if ServiceException occurs
      */
     @Override
-    public void execute(JobExecutionContext jobExecutionContext) throws JobExecutionException {
+    protected void run(JobExecutionContext jobExecutionContext) throws JobExecutionException {
 
         try {
-            List<Loan> loans = loanService.findAll();
-
-            for(Loan loan : loans){
+            loanService.forEach(loan -> {
                 if(!loan.getStatusId().equals(LOAN_STATUS_CLOSED)){
                     checkPayment(loan);
                     checkOverdue(loan);
                 }
-            }
+            });
 
         } catch (ServiceException e) {
             logger.error("Unable to execute loan status check",e);
@@ -77,12 +73,7 @@ public class LoanStatusCheck extends AbstractJob{
         criteria.add(EntityParameters.BillParam.VALUE, new SingularValue<>(loan.getSinglePaymentValue()));
         criteria.add(EntityParameters.BillParam.STATUS_ID, new SingularValue<>(BILL_STATUS_CLOSED));
 
-        List<Bill> bills = billService.findByCriteria(criteria);
-
-        Double sum = 0d;
-        for(Bill bill : bills){
-            sum+=bill.getValue();
-        }
+        Double sum = billService.sum(EntityParameters.BillParam.VALUE, criteria);
 
         if(sum>=loan.getTotalPaymentValue()){
             loan.setStatusId(LOAN_STATUS_CLOSED);
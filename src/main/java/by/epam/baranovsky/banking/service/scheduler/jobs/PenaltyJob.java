@@ -8,8 +8,12 @@ import by.epam.baranovsky.banking.entity.criteria.SingularValue;
 import by.epam.baranovsky.banking.service.exception.ServiceException;
 import org.quartz.*;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.quartz.CronScheduleBuilder.cronSchedule;
 import static org.quartz.TriggerBuilder.newTrigger;
@@ -42,25 +46,18 @@ public class PenaltyJob extends AbstractJob {
      * @throws JobExecutionException if ServiceException occurs
      */
     @Override
-    public void execute(JobExecutionContext jobExecutionContext) throws JobExecutionException {
+    protected void run(JobExecutionContext jobExecutionContext) throws JobExecutionException {
 
         try {
-            List<Penalty> penalties = penaltyService.findAll();
-
-            for (Penalty penalty : penalties) {
-
-                if(penalty.getPaymentAccountId() != null){
-                    checkPenaltyWithBlockedAccs(penalty);
-                }
-
-                if(penalty.getStatusId().equals(PENALTY_STATUS_INFLICTED)){
-                    liftPenaltyIfAble(penalty);
+            List<Penalty> chunk = new ArrayList<>(CHUNK_SIZE);
+            penaltyService.forEach(penalty -> {
+                chunk.add(penalty);
+                if(chunk.size() == CHUNK_SIZE){
+                    checkPenalties(chunk);
+                    chunk.clear();
                 }
-
-                if(penalty.getStatusId().equals(PENALTY_STATUS_PENDING)){
-                    inflictPenalty(penalty);
-                }
-            }
+            });
+            checkPenalties(chunk);
 
         } catch (ServiceException e) {
             logger.error("Unable to execute penalty check", e);
@@ -76,15 +73,42 @@ public class PenaltyJob extends AbstractJob {
         return TRIGGER;
     }
 
+    /**
+     * Checks and updates a chunk of penalties,
+     * retrieving their payment accounts at once.
+     * @param penalties penalties to check and update
+     * @throws ServiceException
+     */
+    private void checkPenalties(List<Penalty> penalties) throws ServiceException {
+        Set<Integer> accountIds = new HashSet<>();
+        for(Penalty penalty : penalties){
+            accountIds.add(penalty.getPaymentAccountId());
+        }
+        Map<Integer, Account> paymentAccounts = accountService.findByIds(accountIds);
+
+        for(Penalty penalty : penalties){
+            if(penalty.getPaymentAccountId() != null){
+                checkPenaltyWithBlockedAccs(penalty, paymentAccounts.get(penalty.getPaymentAccountId()));
+            }
+
+            if(penalty.getStatusId().equals(PENALTY_STATUS_INFLICTED)){
+                liftPenaltyIfAble(penalty);
+            }
+
+            if(penalty.getStatusId().equals(PENALTY_STATUS_PENDING)){
+                inflictPenalty(penalty);
+            }
+        }
+    }
+
     /**
      * If penalty's payment account is locked and thus cannot accept payments,
      * changes payment account to bank's own account.
      * @param penalty Penalty to check and update.
+     * @param paymentAccount Payment account of the penalty.
      * @throws ServiceException
      */
-    private void checkPenaltyWithBlockedAccs(Penalty penalty) throws ServiceException {
-        Account paymentAccount = accountService.findById(penalty.getPaymentAccountId());
-
+    private void checkPenaltyWithBlockedAccs(Penalty penalty, Account paymentAccount) throws ServiceException {
         if(paymentAccount.getStatusId().equals(DBMetadata.ACCOUNT_STATUS_BLOCKED)){
             penalty.setPaymentAccountId(DBMetadata.BANK_ACCOUNT_ID);
             penaltyService.update(penalty);
@@ -172,10 +196,7 @@ public class PenaltyJob extends AbstractJob {
                             EntityParameters.OperationParam.TYPE_ID,
                             new SingularValue<>(DBMetadata.OPERATION_TYPE_TRANSFER_C_A));
 
-                    Double sum = 0d;
-                    for (Operation operation : operationService.findByCriteria(criteria)) {
-                        sum += operation.getValue();
-                    }
+                    Double sum = operationService.sum(EntityParameters.OperationParam.VALUE, criteria);
                     if (sum >= penalty.getValue()) {
                         penalty.setStatusId(PENALTY_STATUS_CLOSED);
                         penaltyService.update(penalty);
@@ -46,14 +46,12 @@ public class RemoveHangingBillsJob extends AbstractJob{
      * @throws JobExecutionException if ServiceException occurs
      */
     @Override
-    public void execute(JobExecutionContext jobExecutionContext) throws JobExecutionException {
+    protected void run(JobExecutionContext jobExecutionContext) throws JobExecutionException {
 
         try{
-            for(Bill bill : getPendingBills()){
-                if(isHanging(bill)){
-                    billService.delete(bill);
-                }
-            }
+            List<Bill> bills = getPendingBills();
+            bills.removeIf(bill -> !isHanging(bill));
+            billService.deleteAll(bills);
         } catch (ServiceException e) {
             logger.error("Unable to execute ganging bill removal", e);
             throw new JobExecutionException("Unable to execute ganging bill removal", e);
@@ -8,15 +8,7 @@
 <fmt:setBundle basename="locale.locale"/>
 
 <c:set var="operations" scope="page" value="${OPERATIONS_DATA}"/>
-<c:set var="totalCount" scope="page" value="${fn.length(OPERATIONS_DATA)}"/>
-<c:set var="perPage" scope="page"  value="${5}"/>
-<c:set var="pageStart" value="${param.start}"/>
-<c:if test="${empty pageStart or pageStart < 0}">
-    <c:set var="pageStart" value="0"/>
-</c:if>
-<c:if test="${totalCount < pageStart}">
-    <c:set var="pageStart" value="${pageStart - perPage}"/>
-</c:if>
+<c:set var="pageCount" scope="page" value="${fn:length(OPERATIONS_DATA)}"/>
 
 <html>
 <head>
@@ -34,10 +26,25 @@
         </c:if>
         <c:if test="${USER_DATA != null}">
             <h1><fmt:message key="user.info.operation.history"/></h1>
-            <a href="controller?command=go_to_main_page&start=${pageStart - perPage}"><fmt:message key="home.operations.prev.page"/></a>${pageStart + 1} - ${pageStart + perPage}
-            <a href="controller?command=go_to_main_page&start=${pageStart + perPage}"><fmt:message key="home.operations.next.page"/></a>
+            <c:set var="pageStart" value="${OPERATIONS_PAGE_START}"/>
+            <c:if test="${OPERATIONS_HAS_PREV_PAGE}">
+                <c:choose>
+                    <c:when test="${pageCount > 0}">
+                        <c:set var="firstEntry" value="${OPERATIONS_DATA[0]}"/>
+                        <a href="controller?command=go_to_main_page&before_date=${firstEntry.date.time}&before_id=${firstEntry.id}&start=${pageStart - OPERATIONS_PAGE_SIZE}"><fmt:message key="home.operations.prev.page"/></a>
+                    </c:when>
+                    <c:otherwise>
+                        <a href="controller?command=go_to_main_page"><fmt:message key="home.operations.prev.page"/></a>
+                    </c:otherwise>
+                </c:choose>
+            </c:if>
+            <c:if test="${pageCount > 0}">${pageStart + 1} - ${pageStart + pageCount}</c:if>
+            <c:if test="${pageCount >= OPERATIONS_PAGE_SIZE}">
+                <c:set var="lastEntry" value="${OPERATIONS_DATA[pageCount - 1]}"/>
+                <a href="controller?command=go_to_main_page&after_date=${lastEntry.date.time}&after_id=${lastEntry.id}&start=${pageStart + pageCount}"><fmt:message key="home.operations.next.page"/></a>
+            </c:if>
         </c:if>
-        <c:forEach var="entry" items="${OPERATIONS_DATA}" begin="${pageStart}" end="${pageStart + perPage - 1}">
+        <c:forEach var="entry" items="${OPERATIONS_DATA}">
             <div class="operationbox">
                 <table class="blankTable">
                     <c:choose>
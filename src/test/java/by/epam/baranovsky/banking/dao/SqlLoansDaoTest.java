@@ -99,7 +99,13 @@ public class SqlLoansDaoTest extends SqlDBDaoTest{
 
         assertEquals(toCreate, created);
         assertEquals(expectedBalances[0], bankAcc.getBalance());
+        assertEquals(expectedBalances[0], accountDao.findBalanceById(1).balance());
         assertEquals(expectedBalances[1], receiverAcc.getBalance());
+
+        accountDao.foldBankLedger();
+
+        assertEquals(expectedBalances[0], accountDao.findEntityById(1).getBalance());
+        assertEquals(expectedBalances[0], accountDao.findBalanceById(1).balance());
     }
 
     @Override
@@ -2,7 +2,12 @@ package by.epam.baranovsky.banking.dao;
 
 import by.epam.baranovsky.banking.constant.DBMetadata;
 import by.epam.baranovsky.banking.dao.exception.DAOException;
+import by.epam.baranovsky.banking.dao.exception.GuardFailedException;
+import by.epam.baranovsky.banking.dao.exception.TransferRejectedException;
 import by.epam.baranovsky.banking.dao.factory.impl.SqlDAOFactory;
+import by.epam.baranovsky.banking.dao.query.Query;
+import by.epam.baranovsky.banking.dao.query.TransactionResult;
+import by.epam.baranovsky.banking.dao.query.impl.SqlQueryMaster;
 import by.epam.baranovsky.banking.entity.Account;
 import by.epam.baranovsky.banking.entity.BankingCard;
 import by.epam.baranovsky.banking.entity.Operation;
@@ -97,6 +102,7 @@ public class SqlOperationDaoTest extends SqlDBDaoTest{
         static Account targetAcc;
         static BankingCard card;
         static BankingCard targetCard;
+        static BankingCard extraCard;
 
         @BeforeEach
         void setUpData() throws DAOException {
@@ -167,6 +173,56 @@ public class SqlOperationDaoTest extends SqlDBDaoTest{
             cardDAO.delete(card.getId());
             operationDAO.delete(idOperation);
             operationDAO.delete(idForDeleteTest);
+            if (extraCard != null) {
+                cardDAO.delete(extraCard.getId());
+                extraCard = null;
+            }
+        }
+
+        /**
+         * Runs transfer that must be rejected and checks
+         * that neither balances nor operations are changed.
+         */
+        private void assertRejected(Operation transfer, TransferRejectedException.Reason expectedReason)
+                throws DAOException {
+            OperationDAO dao = SqlDAOFactory.getInstance().getOperationDAO();
+            AccountDAO accountDAO = SqlDAOFactory.getInstance().getAccountDAO();
+            double expectedSenderBalance = accountDAO.findEntityById(acc.getId()).getBalance();
+            double expectedReceiverBalance = accountDAO.findEntityById(targetAcc.getId()).getBalance();
+            int expectedOperations = dao.findAll().size();
+
+            TransferRejectedException e = assertThrows(TransferRejectedException.class, () -> dao.create(transfer));
+
+            assertEquals(expectedReason, e.getReason());
+            assertEquals(expectedOperations, dao.findAll().size());
+            assertEquals(expectedSenderBalance, accountDAO.findEntityById(acc.getId()).getBalance());
+            assertEquals(expectedReceiverBalance, accountDAO.findEntityById(targetAcc.getId()).getBalance());
+        }
+
+        private Operation accountTransfer(double value){
+            Operation transaction = new Operation();
+            transaction.setTypeId(6);
+            transaction.setValue(value);
+            transaction.setAccountId(acc.getId());
+            transaction.setTargetAccountId(targetAcc.getId());
+            return transaction;
+        }
+
+        private BankingCard createExtraCard(int typeId, Integer accountId, Double overdraftMax) throws DAOException {
+            BankingCard extra = new BankingCard();
+            extra.setPin("5678");
+            extra.setNumber("5566778899001122");
+            extra.setCvc("222");
+            extra.setUserId(1);
+            extra.setStatusId(DBMetadata.CARD_STATUS_UNLOCKED);
+            extra.setCardTypeId(typeId);
+            extra.setAccountId(accountId);
+            extra.setOverdraftMax(overdraftMax);
+            extra.setRegistrationDate(new Date());
+            extra.setExpirationDate(new Date(extra.getRegistrationDate().getTime()+126227808000L));
+            extra.setId(SqlDAOFactory.getInstance().getBankCardDAO().create(extra));
+            extraCard = extra;
+            return extra;
         }
 
         @Test
@@ -350,5 +406,91 @@ public class SqlOperationDaoTest extends SqlDBDaoTest{
             assertEquals(expectedRowsAffected, rowsAffected);
         }
 
+        @Test
+        @Order(7)
+        void insufficientFundsRejectedTest() throws DAOException {
+            assertRejected(accountTransfer(acc.getBalance()+1), TransferRejectedException.Reason.INSUFFICIENT_FUNDS);
+        }
+
+        @Test
+        @Order(8)
+        void lockedSenderRejectedTest() throws DAOException {
+            AccountDAO accountDAO = SqlDAOFactory.getInstance().getAccountDAO();
+            acc.setStatusId(DBMetadata.ACCOUNT_STATUS_BLOCKED);
+            accountDAO.update(acc);
+
+            assertRejected(accountTransfer(100d), TransferRejectedException.Reason.ACCOUNT_LOCKED);
+        }
+
+        @Test
+        @Order(9)
+        void lockedReceiverRejectedTest() throws DAOException {
+            AccountDAO accountDAO = SqlDAOFactory.getInstance().getAccountDAO();
+            targetAcc.setStatusId(DBMetadata.ACCOUNT_STATUS_BLOCKED);
+            accountDAO.update(targetAcc);
+
+            assertRejected(accountTransfer(100d), TransferRejectedException.Reason.ACCOUNT_LOCKED);
+        }
+
+        @Test
+        @Order(10)
+        void overdraftLimitRejectedTest() throws DAOException {
+            double overdraftMax = 500d;
+            BankingCard overdraftCard = createExtraCard(DBMetadata.CARD_TYPE_OVERDRAFT, acc.getId(), overdraftMax);
+
+            Operation transaction = new Operation();
+            transaction.setTypeId(8);
+            transaction.setValue(acc.getBalance()+overdraftMax+1);
+            transaction.setBankCardId(overdraftCard.getId());
+            transaction.setTargetAccountId(targetAcc.getId());
+
+            assertRejected(transaction, TransferRejectedException.Reason.INSUFFICIENT_FUNDS);
+        }
+
+        @Test
+        @Order(11)
+        void cardWithoutAccountRejectedTest() throws DAOException {
+            BankingCard creditCard = createExtraCard(DBMetadata.CARD_TYPE_CREDIT, null, null);
+
+            Operation transaction = new Operation();
+            transaction.setTypeId(8);
+            transaction.setValue(100d);
+            transaction.setBankCardId(creditCard.getId());
+            transaction.setTargetAccountId(targetAcc.getId());
+
+            assertRejected(transaction, TransferRejectedException.Reason.CREDIT_CARD);
+        }
+
+        @Test
+        @Order(12)
+        void groupOfTransfersIsolatesFailedTransferTest() throws DAOException {
+            AccountDAO accountDAO = SqlDAOFactory.getInstance().getAccountDAO();
+            String debit = String.format("UPDATE %1$s SET %2$s=%2$s-? WHERE %3$s=? AND %2$s>=?",
+                    DBMetadata.ACCOUNTS_TABLE, DBMetadata.ACCOUNTS_BALANCE, DBMetadata.ACCOUNTS_ID);
+            String credit = String.format("UPDATE %1$s SET %2$s=%2$s+? WHERE %3$s=?",
+                    DBMetadata.ACCOUNTS_TABLE, DBMetadata.ACCOUNTS_BALANCE, DBMetadata.ACCOUNTS_ID);
+            String broken = String.format("UPDATE %s SET no_such_column=? WHERE %s=?",
+                    DBMetadata.ACCOUNTS_TABLE, DBMetadata.ACCOUNTS_ID);
+            double expectedSenderBalance = acc.getBalance()-300d;
+            double expectedReceiverBalance = targetAcc.getBalance()+300d;
+
+            List<TransactionResult> results = new SqlQueryMaster<>(resultSet -> null).executeTransactions(List.of(
+                    List.of(Query.guarded(debit, 100d, acc.getId(), 100d),
+                            new Query(credit, 100d, targetAcc.getId())),
+                    List.of(new Query(credit, 5000d, targetAcc.getId()),
+                            Query.guarded(debit, 5000d, acc.getId(), 5000d)),
+                    List.of(new Query(credit, 400d, targetAcc.getId()),
+                            new Query(broken, 0, acc.getId())),
+                    List.of(Query.guarded(debit, 200d, acc.getId(), 200d),
+                            new Query(credit, 200d, targetAcc.getId()))));
+
+            assertTrue(results.get(0).isSuccessful());
+            assertInstanceOf(GuardFailedException.class, results.get(1).getError());
+            assertFalse(results.get(2).isSuccessful());
+            assertTrue(results.get(3).isSuccessful());
+            assertEquals(expectedSenderBalance, accountDAO.findEntityById(acc.getId()).getBalance());
+            assertEquals(expectedReceiverBalance, accountDAO.findEntityById(targetAcc.getId()).getBalance());
+        }
+
     }
 }
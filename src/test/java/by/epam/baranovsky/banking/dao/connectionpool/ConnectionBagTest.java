@@ -0,0 +1,234 @@
+package by.epam.baranovsky.banking.dao.connectionpool;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConnectionBagTest {
+
+    private static final long SHORT_TIMEOUT = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long LONG_TIMEOUT = TimeUnit.SECONDS.toNanos(5);
+
+    @Test
+    void pollTakesFreeEntryTest() {
+        ConnectionBag<TestEntry> bag = new ConnectionBag<>();
+        TestEntry entry = new TestEntry();
+        bag.add(entry);
+
+        assertSame(entry, bag.poll());
+        assertEquals(ConnectionBag.STATE_IN_USE, entry.getState());
+        assertNull(bag.poll());
+    }
+
+    @Test
+    void pollPrefersLastUsedEntryTest() {
+        ConnectionBag<TestEntry> bag = new ConnectionBag<>();
+        TestEntry first = new TestEntry();
+        TestEntry second = new TestEntry();
+        bag.add(first);
+        bag.add(second);
+
+        TestEntry borrowedFirst = bag.poll();
+        TestEntry borrowedSecond = bag.poll();
+        bag.requite(borrowedFirst);
+        bag.requite(borrowedSecond);
+
+        assertSame(borrowedSecond, bag.poll());
+    }
+
+    @Test
+    void requiteFreesEntryTest() {
+        ConnectionBag<TestEntry> bag = new ConnectionBag<>();
+        TestEntry entry = new TestEntry();
+        bag.add(entry);
+
+        bag.requite(bag.poll());
+
+        assertEquals(ConnectionBag.STATE_FREE, entry.getState());
+        assertEquals(1, bag.count(ConnectionBag.STATE_FREE));
+        assertSame(entry, bag.poll());
+    }
+
+    @Test
+    void borrowTimesOutTest() throws InterruptedException {
+        ConnectionBag<TestEntry> bag = new ConnectionBag<>();
+        bag.add(new TestEntry());
+        bag.poll();
+
+        assertNull(bag.borrow(SHORT_TIMEOUT));
+        assertEquals(0, bag.getWaiters());
+        assertFalse(bag.hasQueuedWaiters());
+    }
+
+    @Test
+    void borrowReceivesHandedOverEntryTest() throws Exception {
+        ConnectionBag<TestEntry> bag = new ConnectionBag<>();
+        TestEntry entry = new TestEntry();
+        bag.add(entry);
+        bag.poll();
+
+        CompletableFuture<TestEntry> waiter = borrowAsync(bag);
+        awaitQueued(bag, 1);
+        bag.requite(entry);
+
+        assertSame(entry, waiter.get(5, TimeUnit.SECONDS));
+        assertEquals(ConnectionBag.STATE_IN_USE, entry.getState());
+    }
+
+    @Test
+    void addHandsNewEntryOverToWaiterTest() throws Exception {
+        ConnectionBag<TestEntry> bag = new ConnectionBag<>();
+
+        CompletableFuture<TestEntry> waiter = borrowAsync(bag);
+        awaitQueued(bag, 1);
+        TestEntry entry = new TestEntry();
+        bag.add(entry);
+
+        assertSame(entry, waiter.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void waitersAreServedInOrderTest() throws Exception {
+        ConnectionBag<TestEntry> bag = new ConnectionBag<>();
+        TestEntry entry = new TestEntry();
+        bag.add(entry);
+        bag.poll();
+
+        CompletableFuture<TestEntry> first = borrowAsync(bag);
+        awaitQueued(bag, 1);
+        CompletableFuture<TestEntry> second = borrowAsync(bag);
+        awaitWaiters(bag, 2);
+
+        bag.requite(entry);
+        assertSame(entry, first.get(5, TimeUnit.SECONDS));
+        assertFalse(second.isDone());
+
+        bag.requite(entry);
+        assertSame(entry, second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void newBorrowerDoesNotOvertakeWaiterTest() throws Exception {
+        ConnectionBag<TestEntry> bag = new ConnectionBag<>();
+        TestEntry waitedFor = new TestEntry();
+        bag.add(waitedFor);
+        bag.poll();
+
+        CompletableFuture<TestEntry> waiter = borrowAsync(bag);
+        awaitQueued(bag, 1);
+        TestEntry free = new TestEntry();
+        free.setState(ConnectionBag.STATE_IN_USE);
+        bag.add(free);
+        free.setState(ConnectionBag.STATE_FREE);
+
+        assertTrue(bag.hasQueuedWaiters());
+        assertNull(bag.borrow(SHORT_TIMEOUT));
+        assertEquals(ConnectionBag.STATE_FREE, free.getState());
+
+        bag.requite(waitedFor);
+        assertSame(waitedFor, waiter.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void handOverReturnsWhenWaiterTimedOutTest() throws Exception {
+        ConnectionBag<TestEntry> bag = new ConnectionBag<>();
+        TestEntry entry = new TestEntry();
+        bag.add(entry);
+        bag.poll();
+
+        assertNull(bag.borrow(SHORT_TIMEOUT));
+        CompletableFuture<Void> requite = CompletableFuture.runAsync(() -> bag.requite(entry));
+
+        requite.get(5, TimeUnit.SECONDS);
+        assertEquals(ConnectionBag.STATE_FREE, entry.getState());
+        assertSame(entry, bag.poll());
+    }
+
+    @Test
+    void reserveTest() {
+        ConnectionBag<TestEntry> bag = new ConnectionBag<>();
+        TestEntry entry = new TestEntry();
+        bag.add(entry);
+
+        assertTrue(bag.reserve(entry));
+        assertFalse(bag.reserve(entry));
+        assertEquals(ConnectionBag.STATE_RESERVED, entry.getState());
+        assertNull(bag.poll());
+
+        bag.requite(entry);
+        assertSame(entry, bag.poll());
+        assertFalse(bag.reserve(entry));
+    }
+
+    @Test
+    void removeTest() {
+        ConnectionBag<TestEntry> bag = new ConnectionBag<>();
+        TestEntry borrowed = new TestEntry();
+        TestEntry reserved = new TestEntry();
+        TestEntry free = new TestEntry();
+        bag.add(borrowed);
+        bag.add(reserved);
+        bag.add(free);
+        bag.reserve(reserved);
+        bag.poll();
+
+        assertFalse(bag.remove(free));
+        assertTrue(bag.remove(borrowed));
+        assertTrue(bag.remove(reserved));
+        assertEquals(ConnectionBag.STATE_REMOVED, borrowed.getState());
+        assertEquals(ConnectionBag.STATE_REMOVED, reserved.getState());
+        assertEquals(List.of(free), bag.values());
+    }
+
+    @Test
+    void drainTest() {
+        ConnectionBag<TestEntry> bag = new ConnectionBag<>();
+        TestEntry free = new TestEntry();
+        TestEntry borrowed = new TestEntry();
+        bag.add(free);
+        bag.add(borrowed);
+        bag.reserve(free);
+        bag.poll();
+
+        List<TestEntry> drained = bag.drain();
+
+        assertEquals(2, drained.size());
+        assertTrue(bag.values().isEmpty());
+        drained.forEach(entry -> assertEquals(ConnectionBag.STATE_REMOVED, entry.getState()));
+    }
+
+    private static CompletableFuture<TestEntry> borrowAsync(ConnectionBag<TestEntry> bag) {
+        CompletableFuture<TestEntry> future = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                future.complete(bag.borrow(LONG_TIMEOUT));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return future;
+    }
+
+    private static void awaitQueued(ConnectionBag<TestEntry> bag, int waiters) throws InterruptedException {
+        awaitWaiters(bag, waiters);
+        while (!bag.hasQueuedWaiters()) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void awaitWaiters(ConnectionBag<TestEntry> bag, int waiters) throws InterruptedException {
+        while (bag.getWaiters() < waiters) {
+            Thread.sleep(1);
+        }
+        Thread.sleep(20);
+    }
+
+    private static class TestEntry extends ConnectionBag.Entry {
+    }
+}
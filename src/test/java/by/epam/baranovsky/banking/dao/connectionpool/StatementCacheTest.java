@@ -0,0 +1,108 @@
+package by.epam.baranovsky.banking.dao.connectionpool;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatementCacheTest {
+
+    private static final String SQL = "SELECT 1";
+
+    private final List<String> events = new ArrayList<>();
+
+    @Test
+    void releaseClosesOpenResultSetTest() throws Exception {
+        StatementCache cache = newCache();
+
+        PreparedStatement statement = cache.prepare(SQL, Statement.NO_GENERATED_KEYS);
+        statement.setFetchSize(Integer.MIN_VALUE);
+        statement.executeQuery();
+        statement.close();
+
+        assertTrue(events.indexOf("closeResultSet") >= 0);
+        assertTrue(events.indexOf("closeResultSet") < events.indexOf("clearParameters"));
+        assertFalse(events.contains("closeStatement"));
+    }
+
+    @Test
+    void releaseClosesGeneratedKeysTest() throws Exception {
+        StatementCache cache = newCache();
+
+        PreparedStatement statement = cache.prepare(SQL, Statement.RETURN_GENERATED_KEYS);
+        statement.executeUpdate();
+        statement.getGeneratedKeys();
+        statement.close();
+
+        assertTrue(events.indexOf("closeResultSet") >= 0);
+        assertTrue(events.indexOf("closeResultSet") < events.indexOf("clearParameters"));
+    }
+
+    @Test
+    void releasedStatementIsReusedTest() throws Exception {
+        LongAdder hits = new LongAdder();
+        StatementCache cache = new StatementCache(fakeConnection(), null, 4, hits, new LongAdder());
+
+        PreparedStatement statement = cache.prepare(SQL, Statement.NO_GENERATED_KEYS);
+        statement.executeQuery();
+        statement.close();
+        cache.prepare(SQL, Statement.NO_GENERATED_KEYS).close();
+
+        assertEquals(1, hits.sum());
+        assertFalse(events.contains("closeStatement"));
+    }
+
+    private StatementCache newCache() {
+        return new StatementCache(fakeConnection(), null, 4, new LongAdder(), new LongAdder());
+    }
+
+    private Connection fakeConnection() {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "prepareStatement" -> {
+                        events.add("prepare");
+                        yield fakeStatement();
+                    }
+                    case "isClosed" -> false;
+                    default -> null;
+                });
+    }
+
+    private PreparedStatement fakeStatement() {
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "executeQuery", "getGeneratedKeys" -> {
+                        events.add(method.getName());
+                        yield fakeResultSet();
+                    }
+                    case "close" -> {
+                        events.add("closeStatement");
+                        yield null;
+                    }
+                    case "isClosed" -> false;
+                    case "executeUpdate" -> 1;
+                    default -> {
+                        events.add(method.getName());
+                        yield null;
+                    }
+                });
+    }
+
+    private ResultSet fakeResultSet() {
+        return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{ResultSet.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("close")) {
+                        events.add("closeResultSet");
+                    }
+                    return method.getName().equals("isClosed") ? Boolean.FALSE : null;
+                });
+    }
+}
@@ -0,0 +1,89 @@
+package by.epam.baranovsky.banking.dao.impl;
+
+import by.epam.baranovsky.banking.constant.DBMetadata;
+import by.epam.baranovsky.banking.dao.AccountDAO;
+import by.epam.baranovsky.banking.dao.connectionpool.ConnectionPool;
+import by.epam.baranovsky.banking.dao.connectionpool.ConnectionPoolException;
+import by.epam.baranovsky.banking.dao.exception.DAOException;
+import by.epam.baranovsky.banking.dao.factory.impl.SqlDAOFactory;
+import by.epam.baranovsky.banking.dao.query.Query;
+import by.epam.baranovsky.banking.dao.query.impl.SqlQueryMaster;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BankLedgerFoldTest {
+
+    private static final String SQL_COUNT_POSTINGS = String.format(
+            "SELECT COUNT(*) FROM %s", DBMetadata.BANK_LEDGER_TABLE);
+
+    @BeforeAll
+    static void initPool() throws ConnectionPoolException {
+        ConnectionPool.getInstance();
+    }
+
+    @AfterAll
+    static void disposePool() throws ConnectionPoolException {
+        ConnectionPool.getInstance().dispose();
+    }
+
+    @Test
+    void postingIsNotBlockedByFoldTest() throws Exception {
+        AccountDAO accountDAO = SqlDAOFactory.getInstance().getAccountDAO();
+        SqlQueryMaster<Object> postingMaster = new SqlQueryMaster<>(resultSet -> null);
+        postingMaster.executeTransaction(List.of(SqlAccountDAO.getBankPosting(0d)));
+        double expectedBalance = accountDAO.findBalanceById(DBMetadata.BANK_ACCOUNT_ID).balance();
+
+        Connection folding = ConnectionPool.getInstance().takeConnection();
+        int isolation = folding.getTransactionIsolation();
+        try {
+            folding.setTransactionIsolation(SqlAccountDAO.FOLD_ISOLATION);
+            folding.setAutoCommit(false);
+            for (Query query : SqlAccountDAO.getFoldQueries()) {
+                execute(folding, query);
+            }
+
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                    postingMaster.executeTransaction(List.of(SqlAccountDAO.getBankPosting(0d))));
+
+            folding.commit();
+        } finally {
+            folding.rollback();
+            folding.setAutoCommit(true);
+            folding.setTransactionIsolation(isolation);
+            folding.close();
+        }
+
+        assertEquals(1, countPostings());
+        assertEquals(expectedBalance, accountDAO.findBalanceById(DBMetadata.BANK_ACCOUNT_ID).balance());
+
+        accountDAO.foldBankLedger();
+
+        assertEquals(0, countPostings());
+        assertEquals(expectedBalance, accountDAO.findBalanceById(DBMetadata.BANK_ACCOUNT_ID).balance());
+    }
+
+    private static void execute(Connection connection, Query query) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(query.getSqlQueryString())) {
+            Object[] parameters = query.getParameters();
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            statement.executeUpdate();
+        }
+    }
+
+    private static int countPostings() throws DAOException {
+        Number count = new SqlQueryMaster<>(resultSet -> null).executeAggregateQuery(SQL_COUNT_POSTINGS);
+        return count == null ? 0 : count.intValue();
+    }
+}
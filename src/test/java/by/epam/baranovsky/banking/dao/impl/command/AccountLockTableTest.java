@@ -0,0 +1,175 @@
+package by.epam.baranovsky.banking.dao.impl.command;
+
+import by.epam.baranovsky.banking.dao.exception.DAOException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccountLockTableTest {
+
+    private static final int STRIPES = 4;
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void releaseHolders() {
+        release.countDown();
+    }
+
+    @Test
+    void sharedStripeIsLockedOnceTest() throws DAOException {
+        AccountLockTable table = new AccountLockTable(true, STRIPES);
+
+        try (AccountLockTable.Lease lease = table.lock(List.of(1, 5, 9))) {
+            assertEquals(1, table.getAcquisitions());
+        }
+        assertNotContended(table, 1);
+    }
+
+    @Test
+    void negativeIdsAreSpreadOverStripesTest() throws DAOException {
+        AccountLockTable table = new AccountLockTable(true, STRIPES);
+
+        try (AccountLockTable.Lease lease = table.lock(List.of(-1, 3))) {
+            assertEquals(1, table.getAcquisitions());
+        }
+    }
+
+    @Test
+    void stripesAreLockedInAscendingOrderTest() throws Exception {
+        AccountLockTable table = new AccountLockTable(true, STRIPES);
+        hold(table, 1);
+
+        CompletableFuture<Void> waiting = lockAsync(table, List.of(7, 5, 1, 3));
+        awaitQueued(table);
+
+        assertNotContended(table, 3);
+        assertFalse(waiting.isDone());
+        release.countDown();
+        waiting.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+    }
+
+    @Test
+    void opposingTransfersDoNotDeadlockTest() {
+        AccountLockTable table = new AccountLockTable(true, STRIPES);
+
+        assertTimeoutPreemptively(TIMEOUT, () -> {
+            CompletableFuture<Void> forward = CompletableFuture.runAsync(() -> lockRepeatedly(table, List.of(1, 2)));
+            CompletableFuture<Void> backward = CompletableFuture.runAsync(() -> lockRepeatedly(table, List.of(6, 5)));
+            CompletableFuture.allOf(forward, backward).get();
+        });
+    }
+
+    @Test
+    void leaseReleasesAllStripesTest() throws DAOException {
+        AccountLockTable table = new AccountLockTable(true, STRIPES);
+
+        table.lock(List.of(0, 1, 2, 3)).close();
+
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            assertNotContended(table, stripe);
+        }
+    }
+
+    @Test
+    void interruptedLockReleasesAcquiredStripesTest() throws Exception {
+        AccountLockTable table = new AccountLockTable(true, STRIPES);
+        hold(table, 3);
+        CompletableFuture<Thread> waiter = new CompletableFuture<>();
+        CompletableFuture<Boolean> interruptedAfterFailure = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            waiter.complete(Thread.currentThread());
+            try {
+                table.lock(List.of(1, 2, 3)).close();
+                interruptedAfterFailure.complete(false);
+            } catch (DAOException e) {
+                interruptedAfterFailure.complete(Thread.currentThread().isInterrupted());
+            }
+        });
+        thread.start();
+        awaitQueued(table);
+
+        waiter.get().interrupt();
+
+        assertTrue(interruptedAfterFailure.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS));
+        assertNotContended(table, 1);
+        assertNotContended(table, 2);
+    }
+
+    @Test
+    void disabledTableLocksNothingTest() throws DAOException {
+        AccountLockTable table = new AccountLockTable(false, STRIPES);
+
+        try (AccountLockTable.Lease lease = table.lock(List.of(1, 2))) {
+            assertEquals(0, table.getAcquisitions());
+        }
+    }
+
+    /**
+     * Locks stripe in another thread until test ends.
+     */
+    private void hold(AccountLockTable table, int stripe) throws Exception {
+        CountDownLatch held = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            try (AccountLockTable.Lease lease = table.lock(List.of(stripe))) {
+                held.countDown();
+                release.await();
+            } catch (DAOException | InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        holder.setDaemon(true);
+        holder.start();
+        assertTrue(held.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS));
+    }
+
+    private static CompletableFuture<Void> lockAsync(AccountLockTable table, List<Integer> accountIds) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                table.lock(accountIds).close();
+                future.complete(null);
+            } catch (DAOException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return future;
+    }
+
+    private static void lockRepeatedly(AccountLockTable table, List<Integer> accountIds) {
+        for (int i = 0; i < 10_000; i++) {
+            try {
+                table.lock(accountIds).close();
+            } catch (DAOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static void awaitQueued(AccountLockTable table) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (table.getQueuedThreads() == 0) {
+            assertTrue(System.nanoTime() < deadline, "No thread is waiting for a lock.");
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Checks that stripe is free by locking it from another thread without contention.
+     */
+    private static void assertNotContended(AccountLockTable table, int stripe) {
+        long contentions = table.getContentions();
+        assertTimeoutPreemptively(TIMEOUT, () -> lockAsync(table, List.of(stripe)).get());
+        assertEquals(contentions, table.getContentions(), "Stripe " + stripe + " is held.");
+    }
+}
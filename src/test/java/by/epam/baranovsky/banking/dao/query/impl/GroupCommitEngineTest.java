@@ -0,0 +1,171 @@
+package by.epam.baranovsky.banking.dao.query.impl;
+
+import by.epam.baranovsky.banking.dao.connectionpool.ConnectionRouter;
+import by.epam.baranovsky.banking.dao.exception.DAOException;
+import by.epam.baranovsky.banking.dao.exception.GuardFailedException;
+import by.epam.baranovsky.banking.dao.query.Query;
+import by.epam.baranovsky.banking.dao.query.QueryMaster;
+import by.epam.baranovsky.banking.dao.query.TransactionResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GroupCommitEngineTest {
+
+    /** Statement that fake query master treats as a guarded update affecting no rows. */
+    private static final String REJECTED = "REJECTED";
+    private static final String ACCEPTED = "ACCEPTED";
+    private static final long TIMEOUT = 5;
+
+    private final List<Integer> groupSizes = Collections.synchronizedList(new ArrayList<>());
+    private final List<Integer> singleKeys = Collections.synchronizedList(new ArrayList<>());
+    private volatile boolean groupFails;
+    private volatile SQLException groupFailure;
+    private GroupCommitEngine engine;
+
+    @AfterEach
+    void shutdown() {
+        if (engine != null) {
+            engine.shutdown();
+        }
+        ConnectionRouter.reset();
+    }
+
+    @Test
+    void failedTransactionDoesNotFailGroupTest() throws Exception {
+        engine = new GroupCommitEngine(fakeQueryMaster(), 3, 1000);
+
+        CompletableFuture<Integer> first = engine.submit(transaction(ACCEPTED, 1));
+        CompletableFuture<Integer> rejected = engine.submit(transaction(REJECTED, 2));
+        CompletableFuture<Integer> third = engine.submit(transaction(ACCEPTED, 3));
+
+        assertEquals(1, first.get(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(3, third.get(TIMEOUT, TimeUnit.SECONDS));
+        assertCause(GuardFailedException.class, rejected);
+        assertEquals(List.of(3), groupSizes);
+        assertTrue(singleKeys.isEmpty());
+        assertEquals(1, engine.getGroupCount());
+        assertEquals(3, engine.getTransactionCount());
+    }
+
+    @Test
+    void failedGroupFallsBackToSingleTransactionsTest() throws Exception {
+        groupFails = true;
+        engine = new GroupCommitEngine(fakeQueryMaster(), 3, 1000);
+
+        CompletableFuture<Integer> first = engine.submit(transaction(ACCEPTED, 1));
+        CompletableFuture<Integer> rejected = engine.submit(transaction(REJECTED, 2));
+        CompletableFuture<Integer> third = engine.submit(transaction(ACCEPTED, 3));
+
+        assertEquals(1, first.get(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(3, third.get(TIMEOUT, TimeUnit.SECONDS));
+        assertCause(GuardFailedException.class, rejected);
+        assertEquals(List.of(3), groupSizes);
+        assertEquals(List.of(1, 3), singleKeys);
+        assertEquals(0, engine.getGroupCount());
+    }
+
+    @Test
+    void failedGroupOfOneIsNotRetriedTest() throws Exception {
+        groupFails = true;
+        engine = new GroupCommitEngine(fakeQueryMaster(), 1, 0);
+
+        CompletableFuture<Integer> future = engine.submit(transaction(ACCEPTED, 1));
+
+        assertCause(DAOException.class, future);
+        assertTrue(singleKeys.isEmpty());
+    }
+
+    @Test
+    void deadlockedGroupOfOneIsExecutedAloneTest() throws Exception {
+        groupFails = true;
+        groupFailure = new SQLException("Deadlock found when trying to get lock", "40001", 1213);
+        engine = new GroupCommitEngine(fakeQueryMaster(), 1, 0);
+
+        CompletableFuture<Integer> future = engine.submit(transaction(ACCEPTED, 1));
+
+        assertEquals(1, future.get(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(List.of(1), singleKeys);
+    }
+
+    @Test
+    void executeThrowsCauseTest() {
+        engine = new GroupCommitEngine(fakeQueryMaster(), 1, 0);
+
+        assertThrows(GuardFailedException.class, () -> engine.execute(transaction(REJECTED, 1)));
+    }
+
+    @Test
+    void submitAfterShutdownFailsTest() throws Exception {
+        engine = new GroupCommitEngine(fakeQueryMaster(), 1, 0);
+        engine.shutdown();
+
+        assertFalse(engine.isEnabled());
+        assertCause(DAOException.class, engine.submit(transaction(ACCEPTED, 1)));
+        assertTrue(groupSizes.isEmpty());
+    }
+
+    private static List<Query> transaction(String sql, int key) {
+        return List.of(new Query(sql, key));
+    }
+
+    private static void assertCause(Class<? extends Throwable> expected, CompletableFuture<Integer> future)
+            throws Exception {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(TIMEOUT, TimeUnit.SECONDS));
+        assertInstanceOf(expected, e.getCause());
+    }
+
+    /**
+     * Executes transaction by returning parameter of its first query as generated key,
+     * or failing its guard if statement is {@link #REJECTED}.
+     */
+    private int execute(List<Query> transaction) throws GuardFailedException {
+        Query first = transaction.get(0);
+        if (REJECTED.equals(first.getSqlQueryString())) {
+            throw new GuardFailedException(first);
+        }
+        return (Integer) first.getParameters()[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    private QueryMaster<Object> fakeQueryMaster() {
+        return (QueryMaster<Object>) Proxy.newProxyInstance(
+                QueryMaster.class.getClassLoader(),
+                new Class<?>[]{QueryMaster.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "executeTransactions":
+                            List<List<Query>> transactions = (List<List<Query>>) args[0];
+                            groupSizes.add(transactions.size());
+                            if (groupFails) {
+                                throw new DAOException("Unable to execute group of transactions.", groupFailure);
+                            }
+                            List<TransactionResult> results = new ArrayList<>();
+                            for (List<Query> transaction : transactions) {
+                                try {
+                                    results.add(new TransactionResult(execute(transaction), null));
+                                } catch (GuardFailedException e) {
+                                    results.add(new TransactionResult(null, e));
+                                }
+                            }
+                            return results;
+                        case "executeTransaction":
+                            int key = execute((List<Query>) args[0]);
+                            singleKeys.add(key);
+                            return key;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
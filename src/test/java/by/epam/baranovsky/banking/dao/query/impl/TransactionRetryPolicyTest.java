@@ -0,0 +1,189 @@
+package by.epam.baranovsky.banking.dao.query.impl;
+
+import by.epam.baranovsky.banking.dao.exception.DAOException;
+import by.epam.baranovsky.banking.dao.exception.GuardFailedException;
+import by.epam.baranovsky.banking.dao.query.Query;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransactionRetryPolicyTest {
+
+    private static final SQLException DEADLOCK =
+            new SQLException("Deadlock found when trying to get lock", "40001", 1213);
+    private static final SQLException LOCK_WAIT_TIMEOUT =
+            new SQLException("Lock wait timeout exceeded", "HY000", 1205);
+    private static final SQLException SERIALIZATION_FAILURE =
+            new SQLException("Serialization failure", "40001", 0);
+    private static final SQLException DUPLICATE_KEY =
+            new SQLException("Duplicate entry", "23000", 1062);
+
+    @Test
+    void deadlockIsRetriedTest() {
+        TransactionRetryPolicy policy = new TransactionRetryPolicy(3, 1);
+
+        assertTrue(policy.shouldRetry(DEADLOCK, 0));
+        assertEquals(1, policy.getDeadlocks());
+        assertEquals(1, policy.getRetries());
+    }
+
+    @Test
+    void lockWaitTimeoutIsRetriedTest() {
+        TransactionRetryPolicy policy = new TransactionRetryPolicy(3, 1);
+
+        assertTrue(policy.shouldRetry(LOCK_WAIT_TIMEOUT, 0));
+        assertEquals(1, policy.getLockWaitTimeouts());
+        assertEquals(0, policy.getDeadlocks());
+    }
+
+    @Test
+    void serializationFailureIsRetriedTest() {
+        TransactionRetryPolicy policy = new TransactionRetryPolicy(3, 1);
+
+        assertTrue(policy.shouldRetry(SERIALIZATION_FAILURE, 0));
+        assertEquals(1, policy.getDeadlocks());
+    }
+
+    @Test
+    void otherErrorsAreNotRetriedTest() {
+        TransactionRetryPolicy policy = new TransactionRetryPolicy(3, 1);
+
+        assertFalse(policy.shouldRetry(DUPLICATE_KEY, 0));
+        assertEquals(0, policy.getRetries());
+        assertEquals(0, policy.getRetriesExhausted());
+    }
+
+    @Test
+    void retryableErrorsTest() {
+        TransactionRetryPolicy policy = new TransactionRetryPolicy(3, 1);
+
+        assertTrue(policy.isRetryable(DEADLOCK));
+        assertTrue(policy.isRetryable(LOCK_WAIT_TIMEOUT));
+        assertTrue(policy.isRetryable(SERIALIZATION_FAILURE));
+        assertFalse(policy.isRetryable(DUPLICATE_KEY));
+        assertFalse(policy.isRetryable(new DAOException("Guarded statement affected no rows")));
+        assertFalse(policy.isRetryable(null));
+        assertEquals(0, policy.getDeadlocks());
+    }
+
+    @Test
+    void retriesStopAtLimitTest() {
+        TransactionRetryPolicy policy = new TransactionRetryPolicy(2, 1);
+
+        assertTrue(policy.shouldRetry(DEADLOCK, 0));
+        assertTrue(policy.shouldRetry(DEADLOCK, 1));
+        assertFalse(policy.shouldRetry(DEADLOCK, 2));
+        assertEquals(2, policy.getRetries());
+        assertEquals(1, policy.getRetriesExhausted());
+    }
+
+    @Test
+    void zeroRetriesTest() {
+        TransactionRetryPolicy policy = new TransactionRetryPolicy(-1, 1);
+
+        assertEquals(0, policy.getMaxRetries());
+        assertFalse(policy.shouldRetry(DEADLOCK, 0));
+    }
+
+    @Test
+    void delayBoundsTest() {
+        long backoff = 10;
+        TransactionRetryPolicy policy = new TransactionRetryPolicy(3, backoff);
+
+        for (int attempt = 0; attempt < 10; attempt++) {
+            long bound = backoff << Math.min(attempt, 6);
+            for (int i = 0; i < 1000; i++) {
+                long delay = policy.getDelay(attempt);
+                assertTrue(delay >= 1 && delay <= bound,
+                        String.format("Delay %d of attempt %d is out of [1, %d]", delay, attempt, bound));
+            }
+        }
+    }
+
+    @Test
+    void delayIsRandomTest() {
+        TransactionRetryPolicy policy = new TransactionRetryPolicy(3, 1000);
+        long first = policy.getDelay(3);
+
+        boolean differs = false;
+        for (int i = 0; i < 100 && !differs; i++) {
+            differs = policy.getDelay(3) != first;
+        }
+
+        assertTrue(differs);
+    }
+
+    @Test
+    void executeRetriesUntilSuccessTest() throws DAOException {
+        TransactionRetryPolicy policy = new TransactionRetryPolicy(3, 1);
+        AtomicInteger executions = new AtomicInteger();
+
+        int result = policy.execute(() -> {
+            if (executions.incrementAndGet() < 3) {
+                throw DEADLOCK;
+            }
+            return 42;
+        });
+
+        assertEquals(42, result);
+        assertEquals(3, executions.get());
+        assertEquals(2, policy.getRetries());
+    }
+
+    @Test
+    void executeGivesUpAtLimitTest() {
+        TransactionRetryPolicy policy = new TransactionRetryPolicy(2, 1);
+        AtomicInteger executions = new AtomicInteger();
+
+        DAOException e = assertThrows(DAOException.class, () -> policy.execute(() -> {
+            executions.incrementAndGet();
+            throw LOCK_WAIT_TIMEOUT;
+        }));
+
+        assertSame(LOCK_WAIT_TIMEOUT, e.getCause());
+        assertEquals(3, executions.get());
+        assertEquals(1, policy.getRetriesExhausted());
+    }
+
+    @Test
+    void executeDoesNotRetryOtherErrorsTest() {
+        TransactionRetryPolicy policy = new TransactionRetryPolicy(3, 1);
+        AtomicInteger executions = new AtomicInteger();
+
+        DAOException e = assertThrows(DAOException.class, () -> policy.execute(() -> {
+            executions.incrementAndGet();
+            throw DUPLICATE_KEY;
+        }));
+
+        assertSame(DUPLICATE_KEY, e.getCause());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void guardFailureIsNeverRetriedTest() {
+        TransactionRetryPolicy policy = new TransactionRetryPolicy(3, 1);
+        AtomicInteger executions = new AtomicInteger();
+        GuardFailedException guardFailed = new GuardFailedException(Query.guarded("UPDATE accounts"));
+
+        GuardFailedException e = assertThrows(GuardFailedException.class, () -> policy.execute(() -> {
+            executions.incrementAndGet();
+            throw guardFailed;
+        }));
+
+        assertSame(guardFailed, e);
+        assertEquals(1, executions.get());
+        assertEquals(0, policy.getRetries());
+    }
+
+    @Test
+    void interruptedBackOffTest() {
+        TransactionRetryPolicy policy = new TransactionRetryPolicy(3, 1000);
+        Thread.currentThread().interrupt();
+
+        assertThrows(DAOException.class, () -> policy.backOff(0));
+        assertTrue(Thread.interrupted());
+    }
+}
@@ -0,0 +1,171 @@
+package by.epam.baranovsky.banking.dao.rowmapper;
+
+import by.epam.baranovsky.banking.dao.rowmapper.impl.AccountRowMapper;
+import by.epam.baranovsky.banking.dao.rowmapper.impl.OperationRowMapper;
+import by.epam.baranovsky.banking.entity.Account;
+import by.epam.baranovsky.banking.entity.Operation;
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AbstractRowMapperTest {
+
+    /** Columns of {@code SELECT * FROM operations LEFT JOIN operation_types}. */
+    private static final String[] OPERATION_COLUMNS = {
+            "id_operations", "value", "id_operation_type", "id_account", "id_target_account",
+            "id_bank_card", "id_target_bank_card", "id_bill", "id_penalty", "operation_date",
+            "commission", "id_operation", "description"};
+
+    /** Columns of {@code SELECT * FROM accounts LEFT JOIN account_status}, where status ID repeats. */
+    private static final String[] ACCOUNT_COLUMNS = {
+            "id_accounts", "account_number", "balance", "yearly_interest_rate",
+            "id_account_status", "id_account_status", "description"};
+
+    private static final Timestamp DATE = new Timestamp(1_600_000_000_000L);
+
+    @Test
+    void selectAllJoinTest() throws SQLException {
+        ArrayResultSet data = new ArrayResultSet(OPERATION_COLUMNS, new Object[][]{
+                {11, 25.5d, 6, 3, 4, null, null, null, null, DATE, 0.5d, 6, "Transfer"},
+                {12, 10d, 8, null, null, 5, 7, 2, null, DATE, null, 8, "Card transfer"}});
+        ResultSet resultSet = data.asResultSet();
+
+        RowMapper<Operation> mapper = new OperationRowMapper().bind(resultSet, "SELECT * operations join");
+        resultSet.next();
+        Operation first = mapper.map(resultSet);
+        resultSet.next();
+        Operation second = mapper.map(resultSet);
+
+        assertEquals(11, first.getId());
+        assertEquals(25.5d, first.getValue());
+        assertEquals(6, first.getTypeId());
+        assertEquals("Transfer", first.getTypeName());
+        assertEquals(3, first.getAccountId());
+        assertEquals(4, first.getTargetAccountId());
+        assertNull(first.getBankCardId());
+        assertNull(first.getBillId());
+        assertEquals(DATE, first.getOperationDate());
+        assertEquals(0.5d, first.getCommission());
+
+        assertEquals(12, second.getId());
+        assertNull(second.getAccountId());
+        assertEquals(5, second.getBankCardId());
+        assertEquals(7, second.getTargetBankCardId());
+        assertEquals(2, second.getBillId());
+        assertNull(second.getCommission());
+        assertEquals("Card transfer", second.getTypeName());
+    }
+
+    @Test
+    void boundMapperMatchesLabelLookupTest() throws SQLException {
+        ArrayResultSet data = new ArrayResultSet(OPERATION_COLUMNS, new Object[][]{
+                {11, 25.5d, 6, 3, 4, 1, 2, 9, 8, DATE, 0.5d, 6, "Transfer"}});
+        ResultSet resultSet = data.asResultSet();
+        resultSet.next();
+        OperationRowMapper mapper = new OperationRowMapper();
+
+        Operation unbound = mapper.map(resultSet);
+        Operation bound = mapper.bind(resultSet, "SELECT bound").map(resultSet);
+
+        assertEquals(unbound, bound);
+        assertEquals(resultSet.getInt("id_penalty"), bound.getPenaltyId());
+        assertEquals(resultSet.getInt("id_target_bank_card"), bound.getTargetBankCardId());
+    }
+
+    @Test
+    void duplicateLabelResolvesToFirstOccurrenceTest() throws SQLException {
+        ArrayResultSet data = new ArrayResultSet(ACCOUNT_COLUMNS, new Object[][]{
+                {3, "BY00", 100d, 5d, 2, null, "Unlocked"}});
+        ResultSet resultSet = data.asResultSet();
+        resultSet.next();
+
+        Account account = new AccountRowMapper().bind(resultSet, "SELECT * accounts join").map(resultSet);
+
+        assertEquals(2, account.getStatusId());
+        assertEquals(resultSet.getInt("id_account_status"), account.getStatusId());
+        assertEquals("Unlocked", account.getStatusName());
+        assertEquals(100d, account.getBalance());
+    }
+
+    @Test
+    void labelIsPreferredToNameTest() throws SQLException {
+        String[] labels = {"id_accounts", "account_number", "balance", "yearly_interest_rate",
+                "id_account_status", "description", "id_account_status"};
+        String[] names = {"id_accounts", "account_number", "balance", "yearly_interest_rate",
+                "id_account_status", "description", "status"};
+        ArrayResultSet data = new ArrayResultSet(labels, names, new Object[][]{
+                {3, "BY00", 100d, 5d, 2, "Unlocked", 7}});
+        ResultSet resultSet = data.asResultSet();
+        resultSet.next();
+
+        Account account = new AccountRowMapper().bind(resultSet, null).map(resultSet);
+
+        assertEquals(2, account.getStatusId());
+    }
+
+    @Test
+    void nameIsUsedIfLabelIsAbsentTest() throws SQLException {
+        String[] labels = {"id", "account_number", "balance", "yearly_interest_rate",
+                "id_account_status", "description"};
+        String[] names = {"id_accounts", "account_number", "balance", "yearly_interest_rate",
+                "id_account_status", "description"};
+        ArrayResultSet data = new ArrayResultSet(labels, names, new Object[][]{
+                {3, "BY00", 100d, 5d, 2, "Unlocked"}});
+        ResultSet resultSet = data.asResultSet();
+        resultSet.next();
+
+        Account account = new AccountRowMapper().bind(resultSet, null).map(resultSet);
+
+        assertEquals(3, account.getId());
+    }
+
+    @Test
+    void layoutIsCachedBySqlTextTest() throws SQLException {
+        AccountRowMapper mapper = new AccountRowMapper();
+        ArrayResultSet data = new ArrayResultSet(ACCOUNT_COLUMNS, new Object[][]{
+                {3, "BY00", 100d, 5d, 2, 2, "Unlocked"}});
+
+        mapper.bind(data.asResultSet(), "SELECT cached");
+        mapper.bind(data.asResultSet(), "SELECT cached");
+        assertEquals(1, data.getMetaDataRequests());
+
+        mapper.bind(data.asResultSet(), null);
+        mapper.bind(data.asResultSet(), null);
+        assertEquals(3, data.getMetaDataRequests());
+    }
+
+    @Test
+    void differentSqlTextsResolveSeparatelyTest() throws SQLException {
+        AccountRowMapper mapper = new AccountRowMapper();
+        ArrayResultSet joined = new ArrayResultSet(ACCOUNT_COLUMNS, new Object[][]{
+                {3, "BY00", 100d, 5d, 2, 2, "Unlocked"}});
+        ArrayResultSet reordered = new ArrayResultSet(
+                new String[]{"description", "id_account_status", "yearly_interest_rate",
+                        "balance", "account_number", "id_accounts"},
+                new Object[][]{{"Locked", 1, 4d, 50d, "BY11", 9}});
+
+        ResultSet first = joined.asResultSet();
+        first.next();
+        Account firstAccount = mapper.bind(first, "SELECT joined").map(first);
+        ResultSet second = reordered.asResultSet();
+        second.next();
+        Account secondAccount = mapper.bind(second, "SELECT reordered").map(second);
+
+        assertEquals(3, firstAccount.getId());
+        assertEquals(9, secondAccount.getId());
+        assertEquals("BY11", secondAccount.getAccountNumber());
+        assertEquals(50d, secondAccount.getBalance());
+        assertEquals("Locked", secondAccount.getStatusName());
+    }
+
+    @Test
+    void missingColumnTest() {
+        ArrayResultSet data = new ArrayResultSet(new String[]{"id_accounts"}, new Object[][]{{1}});
+
+        assertThrows(SQLException.class, () -> new AccountRowMapper().bind(data.asResultSet(), "SELECT missing"));
+    }
+}
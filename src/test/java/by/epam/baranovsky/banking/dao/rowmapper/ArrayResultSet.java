@@ -0,0 +1,143 @@
+package by.epam.baranovsky.banking.dao.rowmapper;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory ResultSet over an array of rows, for testing row mappers without DB.
+ * <p>
+ *     Columns are looked up by label as JDBC drivers do: case-insensitively,
+ *     first occurrence winning, falling back to column name.
+ *     Only getters used by row mappers are supported.
+ * </p>
+ */
+public class ArrayResultSet {
+
+    private final String[] labels;
+    private final String[] names;
+    private final Object[][] rows;
+    private final Map<String, Integer> columnIndexes = new HashMap<>();
+    private int row = -1;
+    private boolean wasNull;
+    private int metaDataRequests;
+
+    /**
+     * @param labels Labels of columns.
+     * @param names Names of columns, as in their tables.
+     * @param rows Rows of values, in order of columns.
+     */
+    public ArrayResultSet(String[] labels, String[] names, Object[][] rows) {
+        this.labels = labels;
+        this.names = names;
+        this.rows = rows;
+        for (int i = names.length - 1; i >= 0; i--) {
+            columnIndexes.put(names[i].toLowerCase(Locale.ROOT), i + 1);
+        }
+        for (int i = labels.length - 1; i >= 0; i--) {
+            columnIndexes.put(labels[i].toLowerCase(Locale.ROOT), i + 1);
+        }
+    }
+
+    /**
+     * @param labels Labels of columns, same as their names.
+     * @param rows Rows of values, in order of columns.
+     */
+    public ArrayResultSet(String[] labels, Object[][] rows) {
+        this(labels, labels, rows);
+    }
+
+    /**
+     * @return Number of times metadata was requested.
+     */
+    public int getMetaDataRequests() {
+        return metaDataRequests;
+    }
+
+    /**
+     * Moves cursor back before the first row.
+     */
+    public void rewind() {
+        row = -1;
+    }
+
+    /**
+     * @return JDBC view of this result set.
+     */
+    public ResultSet asResultSet() {
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next":
+                            return ++row < rows.length;
+                        case "getMetaData":
+                            metaDataRequests++;
+                            return metaData();
+                        case "findColumn":
+                            return findColumn((String) args[0]);
+                        case "wasNull":
+                            return wasNull;
+                        case "getObject":
+                            return value(args[0]);
+                        case "getInt":
+                            Number intValue = (Number) value(args[0]);
+                            return intValue == null ? 0 : intValue.intValue();
+                        case "getDouble":
+                            Number doubleValue = (Number) value(args[0]);
+                            return doubleValue == null ? 0d : doubleValue.doubleValue();
+                        case "getString":
+                            Object stringValue = value(args[0]);
+                            return stringValue == null ? null : stringValue.toString();
+                        case "getTimestamp":
+                            return (Timestamp) value(args[0]);
+                        case "close":
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private Object value(Object column) throws SQLException {
+        int index = column instanceof String ? findColumn((String) column) : (Integer) column;
+        if (index < 1 || index > labels.length) {
+            throw new SQLException("Column index out of range: " + index);
+        }
+        Object value = rows[row][index - 1];
+        wasNull = value == null;
+        return value;
+    }
+
+    private int findColumn(String label) throws SQLException {
+        Integer index = columnIndexes.get(label.toLowerCase(Locale.ROOT));
+        if (index == null) {
+            throw new SQLException(String.format("Column '%s' not found.", label));
+        }
+        return index;
+    }
+
+    private ResultSetMetaData metaData() {
+        return (ResultSetMetaData) Proxy.newProxyInstance(
+                ResultSetMetaData.class.getClassLoader(),
+                new Class<?>[]{ResultSetMetaData.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getColumnCount":
+                            return labels.length;
+                        case "getColumnLabel":
+                            return labels[(Integer) args[0] - 1];
+                        case "getColumnName":
+                            return names[(Integer) args[0] - 1];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,257 @@
+package by.epam.baranovsky.banking.entity.criteria;
+
+import by.epam.baranovsky.banking.dao.query.Query;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CriteriaTest {
+
+    private static final String SELECT = "SELECT * FROM operations";
+
+    @Test
+    void emptyCriteriaSelectsNothingTest() {
+        Criteria<EntityParameters.OperationParam> criteria = new Criteria<>();
+        criteria.orderBy(EntityParameters.OperationParam.ID, false);
+        criteria.setLimit(10);
+
+        Query query = criteria.generateQuery(SELECT);
+
+        assertEquals(SELECT + " WHERE FALSE", query.getSqlQueryString());
+        assertEquals(0, query.getParameters().length);
+    }
+
+    @Test
+    void singleConditionTest() {
+        Criteria<EntityParameters.OperationParam> criteria = new Criteria<>();
+        criteria.add(EntityParameters.OperationParam.ACCOUNT, new SingularValue<>(3));
+
+        Query query = criteria.generateQuery(SELECT);
+
+        assertEquals(SELECT + " WHERE ( (id_account=?)  ) AND TRUE", query.getSqlQueryString());
+        assertArrayEquals(new Object[]{3}, query.getParameters());
+    }
+
+    @Test
+    void orderByAndLimitTest() {
+        Criteria<EntityParameters.OperationParam> criteria = new Criteria<>();
+        criteria.add(EntityParameters.OperationParam.ACCOUNT, new SingularValue<>(3));
+        criteria.orderBy(EntityParameters.OperationParam.DATE, true);
+        criteria.orderBy(EntityParameters.OperationParam.ID, false);
+        criteria.setLimit(5);
+
+        Query query = criteria.generateQuery(SELECT);
+
+        assertEquals(SELECT + " WHERE ( (id_account=?)  ) AND TRUE"
+                        + " ORDER BY operation_date DESC, id_operations ASC LIMIT ?",
+                query.getSqlQueryString());
+        assertArrayEquals(new Object[]{3, 5}, query.getParameters());
+        assertEquals(5, criteria.getLimit());
+    }
+
+    @Test
+    void seekAfterTest() {
+        Criteria<EntityParameters.OperationParam> criteria = pageCriteria();
+        Timestamp date = new Timestamp(1000L);
+        criteria.seekAfter(date, 7);
+
+        Query query = criteria.generateQuery(SELECT);
+
+        assertEquals(SELECT + " WHERE (( (id_account=?)  ) OR FALSE) AND ("
+                        + "(operation_date<?) OR (operation_date=? AND id_operations<?))"
+                        + " ORDER BY operation_date DESC, id_operations DESC LIMIT ?",
+                query.getSqlQueryString());
+        assertArrayEquals(new Object[]{3, date, date, 7, 5}, query.getParameters());
+        assertFalse(criteria.isSeekingBackward());
+    }
+
+    @Test
+    void seekAfterAscendingTest() {
+        Criteria<EntityParameters.OperationParam> criteria = new Criteria<>();
+        criteria.add(EntityParameters.OperationParam.ACCOUNT, new SingularValue<>(3));
+        criteria.orderBy(EntityParameters.OperationParam.VALUE, false);
+        criteria.orderBy(EntityParameters.OperationParam.ID, false);
+        criteria.seekAfter(10d, 2);
+
+        Query query = criteria.generateQuery(SELECT);
+
+        assertEquals(SELECT + " WHERE (( (id_account=?)  ) AND TRUE) AND ("
+                        + "(value>?) OR (value=? AND id_operations>?))"
+                        + " ORDER BY value ASC, id_operations ASC",
+                query.getSqlQueryString());
+        assertArrayEquals(new Object[]{3, 10d, 10d, 2}, query.getParameters());
+    }
+
+    @Test
+    void seekBeforeReversesOrderTest() {
+        Criteria<EntityParameters.OperationParam> criteria = pageCriteria();
+        Timestamp date = new Timestamp(1000L);
+        criteria.seekBefore(date, 7);
+
+        Query query = criteria.generateQuery(SELECT);
+
+        assertEquals(SELECT + " WHERE (( (id_account=?)  ) OR FALSE) AND ("
+                        + "(operation_date>?) OR (operation_date=? AND id_operations>?))"
+                        + " ORDER BY operation_date ASC, id_operations ASC LIMIT ?",
+                query.getSqlQueryString());
+        assertArrayEquals(new Object[]{3, date, date, 7, 5}, query.getParameters());
+        assertTrue(criteria.isSeekingBackward());
+    }
+
+    @Test
+    void seekWithoutValuesStartsFromFirstRowTest() {
+        Criteria<EntityParameters.OperationParam> criteria = pageCriteria();
+        criteria.seekBefore(new Timestamp(1000L), 7);
+        criteria.seekAfter();
+
+        Query query = criteria.generateQuery(SELECT);
+
+        assertEquals(SELECT + " WHERE ( (id_account=?)  ) OR FALSE"
+                        + " ORDER BY operation_date DESC, id_operations DESC LIMIT ?",
+                query.getSqlQueryString());
+        assertArrayEquals(new Object[]{3, 5}, query.getParameters());
+        assertFalse(criteria.isSeekingBackward());
+    }
+
+    @Test
+    void seekConvertsDateToTimestampTest() {
+        Criteria<EntityParameters.OperationParam> criteria = pageCriteria();
+        Date date = new Date(123456789L);
+        criteria.seekAfter(date, 7);
+
+        Object[] parameters = criteria.generateQuery(SELECT).getParameters();
+
+        assertEquals(Timestamp.class, parameters[1].getClass());
+        assertEquals(date.getTime(), ((Timestamp) parameters[1]).getTime());
+        assertEquals(Timestamp.class, parameters[2].getClass());
+    }
+
+    @Test
+    void seekValuesMustMatchOrdersTest() {
+        Criteria<EntityParameters.OperationParam> criteria = pageCriteria();
+        criteria.seekAfter(7);
+
+        assertThrows(IllegalStateException.class, () -> criteria.generateQuery(SELECT));
+    }
+
+    @Test
+    void forwardAndBackwardSeeksDoNotShareTemplateTest() {
+        Criteria<EntityParameters.OperationParam> forward = pageCriteria();
+        forward.seekAfter(new Timestamp(1000L), 7);
+        Criteria<EntityParameters.OperationParam> backward = pageCriteria();
+        backward.seekBefore(new Timestamp(1000L), 7);
+
+        String forwardSql = forward.generateQuery(SELECT).getSqlQueryString();
+        String backwardSql = backward.generateQuery(SELECT).getSqlQueryString();
+
+        assertNotEquals(forwardSql, backwardSql);
+        assertSame(forwardSql, forward.generateQuery(SELECT).getSqlQueryString());
+    }
+
+    @Test
+    void equalValuesCollapseIntoInListTest() {
+        Criteria<EntityParameters.OperationParam> criteria = new Criteria<>(Criteria.SQL_OR);
+        criteria.add(EntityParameters.OperationParam.CARD, new SingularValue<>(1));
+        criteria.add(EntityParameters.OperationParam.ACCOUNT, new SingularValue<>(4));
+        criteria.add(EntityParameters.OperationParam.CARD, new SingularValue<>(2));
+        criteria.add(EntityParameters.OperationParam.ACCOUNT, new SingularValue<>(5));
+        criteria.add(EntityParameters.OperationParam.CARD, new SingularValue<>(3));
+
+        Query query = criteria.generateQuery(SELECT);
+
+        assertEquals(SELECT + " WHERE ( (id_bank_card IN (?,?,?))  ) OR ( (id_account IN (?,?))  ) OR FALSE",
+                query.getSqlQueryString());
+        assertArrayEquals(new Object[]{1, 2, 3, 4, 5}, query.getParameters());
+    }
+
+    @Test
+    void duplicateValuesAreAddedOnceTest() {
+        Criteria<EntityParameters.OperationParam> criteria = new Criteria<>();
+
+        assertTrue(criteria.add(EntityParameters.OperationParam.CARD, new SingularValue<>(1)));
+        assertFalse(criteria.add(EntityParameters.OperationParam.CARD, new SingularValue<>(1)));
+
+        assertArrayEquals(new Object[]{1}, criteria.generateQuery(SELECT).getParameters());
+    }
+
+    @Test
+    void otherValuesFollowInListTest() {
+        Criteria<EntityParameters.OperationParam> criteria = new Criteria<>();
+        criteria.add(EntityParameters.OperationParam.VALUE, new Range<>(10d, 1d));
+        criteria.add(EntityParameters.OperationParam.VALUE, new SingularValue<>(20d));
+        criteria.add(EntityParameters.OperationParam.VALUE, new SingularValue<>(30d));
+        criteria.add(EntityParameters.OperationParam.TYPE_ID, new SingularValue<>(6));
+
+        Query query = criteria.generateQuery(SELECT);
+
+        assertEquals(SELECT + " WHERE ( (value IN (?,?))  OR  (value>=? AND value<=?)  ) AND "
+                        + "( (id_operation_type=?)  ) AND TRUE",
+                query.getSqlQueryString());
+        assertArrayEquals(new Object[]{20d, 30d, 1d, 10d, 6}, query.getParameters());
+    }
+
+    @Test
+    void singularDateIsPassedAsSqlDateTest() {
+        Criteria<EntityParameters.OperationParam> criteria = new Criteria<>();
+        Date date = new Date(123456789L);
+        criteria.add(EntityParameters.OperationParam.DATE, new SingularValue<>(date));
+
+        Object parameter = criteria.generateQuery(SELECT).getParameters()[0];
+
+        assertEquals(java.sql.Date.class, parameter.getClass());
+        assertEquals(date.getTime(), ((java.sql.Date) parameter).getTime());
+    }
+
+    @Test
+    void templateIsReusedForSameShapeTest() {
+        String first = inListQuery(1, 2).getSqlQueryString();
+        String second = inListQuery(8, 9).getSqlQueryString();
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void templateDependsOnInListSizeTest() {
+        Query two = inListQuery(1, 2);
+        Query three = inListQuery(1, 2, 3);
+        Query twoAgain = inListQuery(4, 5);
+
+        assertEquals(SELECT + " WHERE ( (id_account IN (?,?))  ) AND TRUE", two.getSqlQueryString());
+        assertEquals(SELECT + " WHERE ( (id_account IN (?,?,?))  ) AND TRUE", three.getSqlQueryString());
+        assertSame(two.getSqlQueryString(), twoAgain.getSqlQueryString());
+        assertArrayEquals(new Object[]{1, 2, 3}, three.getParameters());
+        assertArrayEquals(new Object[]{4, 5}, twoAgain.getParameters());
+    }
+
+    @Test
+    void templateDependsOnQueryStartTest() {
+        Criteria<EntityParameters.OperationParam> criteria = new Criteria<>();
+        criteria.add(EntityParameters.OperationParam.ACCOUNT, new SingularValue<>(1));
+
+        String select = criteria.generateQuery(SELECT).getSqlQueryString();
+        String count = criteria.generateQuery("SELECT COUNT(*) FROM operations").getSqlQueryString();
+
+        assertTrue(select.startsWith(SELECT));
+        assertTrue(count.startsWith("SELECT COUNT(*) FROM operations"));
+    }
+
+    private static Query inListQuery(Integer... accounts) {
+        Criteria<EntityParameters.OperationParam> criteria = new Criteria<>();
+        for (Integer account : accounts) {
+            criteria.add(EntityParameters.OperationParam.ACCOUNT, new SingularValue<>(account));
+        }
+        return criteria.generateQuery(SELECT);
+    }
+
+    private static Criteria<EntityParameters.OperationParam> pageCriteria() {
+        Criteria<EntityParameters.OperationParam> criteria = new Criteria<>(Criteria.SQL_OR);
+        criteria.add(EntityParameters.OperationParam.ACCOUNT, new SingularValue<>(3));
+        criteria.orderBy(EntityParameters.OperationParam.DATE, true);
+        criteria.orderBy(EntityParameters.OperationParam.ID, true);
+        criteria.setLimit(5);
+        return criteria;
+    }
+}